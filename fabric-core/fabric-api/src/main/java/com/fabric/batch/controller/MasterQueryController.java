@@ -6,7 +6,9 @@ import com.fabric.batch.dto.MasterQueryConfigDTO;
 import com.fabric.batch.dto.MasterQueryCreateRequest;
 import com.fabric.batch.dto.MasterQueryUpdateRequest;
 import com.fabric.batch.repository.MasterQueryRepository;
+import com.fabric.batch.repository.QueryCancellation;
 import com.fabric.batch.service.MasterQueryService;
+import com.fabric.batch.service.MasterQueryStreamWriter;
 import com.fabric.batch.service.MasterQueryValidationService;
 import com.fabric.batch.service.SmartFieldMappingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,20 +20,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 /**
  * =========================================================================
@@ -81,6 +92,9 @@ public class MasterQueryController {
     private final MasterQueryService masterQueryService;
     private final SmartFieldMappingService smartFieldMappingService;
 
+    @Value("${fabric.master-query.stream.timeout-seconds:600}")
+    private long streamTimeoutSeconds;
+
     /**
      * Get all available master query configurations from MASTER_QUERY_CONFIG table.
      */
@@ -338,6 +352,109 @@ public class MasterQueryController {
         }
     }
 
+    /**
+     * Execute a master query and stream its rows as they are fetched.
+     */
+    @PostMapping(value = "/execute/stream", produces = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasAnyRole('JOB_EXECUTOR', 'JOB_VIEWER', 'ADMIN')")
+    @Operation(
+        summary = "Stream Master Query Results",
+        description = "Execute a parameterized master query and stream rows straight from the database cursor " +
+                     "instead of building the whole result in memory. The same security validation as /execute " +
+                     "applies; the row limit is configurable (fabric.master-query.stream.max-rows). " +
+                     "Format 'ndjson' writes a columns line, one line per row and a summary line; format 'json' " +
+                     "writes a single document incrementally. With compact=true rows are value arrays in column " +
+                     "order. Errors after the first byte are reported in-band as an 'error' member, and the " +
+                     "query is cancelled when the client disconnects or the stream times out " +
+                     "(fabric.master-query.stream.timeout-seconds, not the default async request timeout)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Rows are being streamed",
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                examples = @ExampleObject(
+                    name = "Compact NDJSON Stream",
+                    value = """
+                        {"correlationId":"corr_12345678-abcd-1234-5678-123456789012","compact":true,"columns":[{"name":"ACCOUNT_ID","type":"VARCHAR2","order":1},{"name":"TOTAL","type":"NUMBER","order":2}]}
+                        ["ACC123",1500.00]
+                        ["ACC456",2300.50]
+                        {"summary":{"executionStatus":"SUCCESS","rowCount":2,"truncated":false}}
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid query request, format or row limit"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions for query execution")
+    })
+    public ResponseEntity<StreamingResponseBody> streamQuery(
+            @Valid @RequestBody MasterQueryRequest request,
+            @Parameter(description = "Wire format: ndjson or json")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Write rows as value arrays in column order")
+            @RequestParam(defaultValue = "false") boolean compact,
+            @Parameter(description = "Maximum rows to stream, capped by the configured maximum")
+            @RequestParam(required = false) Integer maxRows,
+            @Parameter(description = "User role extracted from JWT token", hidden = true) 
+            @RequestHeader(value = "X-User-Role", defaultValue = "JOB_EXECUTOR") String userRole,
+            HttpServletRequest httpRequest) {
+        
+        log.info("Received streamed master query execution request - ID: {}, Format: {}, Compact: {}, User: {}", 
+                request.getMasterQueryId(), format, compact, userRole);
+        
+        try {
+            MasterQueryStreamWriter.Format wireFormat = MasterQueryStreamWriter.Format.fromParameter(format);
+            String correlationId = masterQueryService.prepareStreamedQuery(request, userRole, maxRows);
+            
+            // The container reports a dropped connection or async timeout here while the
+            // streaming thread may still be blocked on the database
+            QueryCancellation cancellation = new QueryCancellation();
+            WebAsyncUtils.getAsyncManager(httpRequest).registerCallableInterceptor(
+                "masterQueryStream", new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        // Runs before async processing starts, so this replaces the default
+                        // async request timeout (30s on most containers) for this stream only
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(streamTimeoutSeconds * 1000);
+                        }
+                    }
+                    
+                    @Override
+                    public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                        cancellation.cancel();
+                        return RESULT_NONE;
+                    }
+                    
+                    @Override
+                    public <T> Object handleError(NativeWebRequest webRequest, Callable<T> task, Throwable t) {
+                        cancellation.cancel();
+                        return RESULT_NONE;
+                    }
+                });
+            
+            StreamingResponseBody body = outputStream -> masterQueryService.streamQuery(
+                request, userRole, correlationId, maxRows, wireFormat, compact, cancellation, outputStream);
+            
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(wireFormat.getMediaType()))
+                .header("X-Correlation-ID", correlationId)
+                .body(body);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid streamed query request - ID: {}, Error: {}", request.getMasterQueryId(), e.getMessage());
+            
+            return ResponseEntity.badRequest().build();
+            
+        } catch (MasterQueryRepository.QuerySecurityException e) {
+            log.warn("Access denied for streamed query - ID: {}, User: {}, Error: {}", 
+                    request.getMasterQueryId(), userRole, e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     /**
      * Validate a master query without executing it.
      */
@@ -478,6 +595,47 @@ public class MasterQueryController {
         }
     }
 
+    /**
+     * Estimate the row count of a query.
+     */
+    @PostMapping("/row-count")
+    @PreAuthorize("hasAnyRole('JOB_VIEWER', 'JOB_CREATOR', 'JOB_MODIFIER', 'ADMIN')")
+    @Operation(
+        summary = "Estimate Query Row Count",
+        description = "Count the rows a master query would return without returning them. " +
+                     "Recent estimates for the same SQL, parameters and role are served from cache."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Row count estimated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid row count request"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<Map<String, Object>> estimateQueryRowCount(
+            @Valid @RequestBody MasterQueryRequest request,
+            @Parameter(description = "User role extracted from JWT token", hidden = true)
+            @RequestHeader(value = "X-User-Role", defaultValue = "JOB_VIEWER") String userRole) {
+
+        log.info("Received row count request - ID: {}, User: {}",
+                request.getMasterQueryId(), userRole);
+
+        try {
+            Long rowCount = masterQueryService.estimateQueryRowCount(request, userRole);
+            if (rowCount == null) {
+                // The repository logs and returns null when the count query fails
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(Map.of(
+                "masterQueryId", String.valueOf(request.getMasterQueryId()),
+                "estimatedRowCount", rowCount,
+                "estimatedAt", Instant.now()
+            ));
+
+        } catch (Exception e) {
+            log.error("Error estimating row count - ID: {}", request.getMasterQueryId(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Test database connectivity.
      */
@@ -6,6 +6,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -473,6 +475,9 @@ public class TemplateController {
             List<FieldTemplate> updated = templateService.bulkUpdateFieldTemplates(fileType, fields);
             log.info("Bulk updated {} field templates for fileType: {}", fields.size(), fileType);
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Bulk update conflict for fileType: {}: {}", fileType, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             log.error("Error bulk updating field templates for fileType: {}", fileType, e);
             return ResponseEntity.internalServerError().build();
@@ -530,6 +535,9 @@ public class TemplateController {
             List<FieldTemplate> reordered = templateService.reorderFieldTemplates(fileType, fieldOrders, modifiedBy);
             log.info("Reordered {} field templates for fileType: {}", fieldOrders.size(), fileType);
             return ResponseEntity.ok(reordered);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Reorder conflict for fileType: {}: {}", fileType, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             log.error("Error reordering field templates for fileType: {}", fileType, e);
             return ResponseEntity.internalServerError().build();
@@ -597,6 +605,8 @@ public class TemplateController {
         field.setRequired((String) data.getOrDefault("required", "N"));
         field.setDescription((String) data.get("description"));
         field.setEnabled((String) data.getOrDefault("enabled", "Y"));
+        // Version the client read; checked on update when present
+        field.setVersion(data.get("version") instanceof Number version ? version.intValue() : null);
         return field;
     }
 
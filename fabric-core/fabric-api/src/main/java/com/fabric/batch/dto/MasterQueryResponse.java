@@ -40,7 +40,7 @@ import java.util.Map;
  * =========================================================================
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Master Query Response DTO with banking-grade security and SOX compliance")
@@ -3,6 +3,7 @@ package com.fabric.batch.repository;
 import com.fabric.batch.entity.ExecutionAuditEntity;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,12 @@ public class ExecutionAuditRepository {
         return entity;
     }
     
+    public List<ExecutionAuditEntity> saveAll(Iterable<ExecutionAuditEntity> entities) {
+        List<ExecutionAuditEntity> saved = new ArrayList<>();
+        entities.forEach(saved::add);
+        return saved;
+    }
+    
     public void deleteById(String id) {
         // Stub implementation
     }
@@ -5,9 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +24,9 @@ import lombok.extern.slf4j.Slf4j;
 @Repository
 public class FieldTemplateRepository {
 
+    // Rows per JDBC batch for bulk template writes
+    private static final int WRITE_BATCH_SIZE = 500;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -154,7 +160,12 @@ public class FieldTemplateRepository {
                 entity.setId("generated_" + System.currentTimeMillis()); // Generate a temporary ID
                 entity.setDefaultValue(null);
                 entity.setValidationRule(null);
-                entity.setVersion(1);
+                try {
+                    Integer version = rs.getObject("VERSION", Integer.class);
+                    entity.setVersion(version != null ? version : 1);
+                } catch (SQLException e) {
+                    entity.setVersion(1);
+                }
 
                 // Try to map new fields if they exist in the RS (depends on query)
                 try {
@@ -269,7 +280,7 @@ public class FieldTemplateRepository {
             // Use specific column list instead of SELECT * to avoid ORA-17006 errors
             String sql = "SELECT FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
                     "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, " +
-                    "MODIFIED_BY, MODIFIED_DATE " +
+                    "MODIFIED_BY, MODIFIED_DATE, VERSION " +
                     "FROM cm3int.field_templates " +
                     "WHERE FILE_TYPE = ? AND TRANSACTION_TYPE = ? AND (ENABLED = ? OR ENABLED IS NULL) " +
                     "ORDER BY TARGET_POSITION";
@@ -345,6 +356,30 @@ public class FieldTemplateRepository {
         }
     }
 
+    /**
+     * All enabled field templates in one query, with the same columns and enabled filter as
+     * {@link #findByFileTypeAndTransactionTypeAndEnabledOrderByTargetPosition}. Errors are
+     * not swallowed, so callers can tell an empty table from an unavailable one.
+     */
+    public List<FieldTemplateEntity> findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition() {
+        String sql = "SELECT FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
+                "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, " +
+                "MODIFIED_BY, MODIFIED_DATE, VERSION " +
+                "FROM cm3int.field_templates " +
+                "WHERE (ENABLED = 'Y' OR ENABLED IS NULL) " +
+                "ORDER BY FILE_TYPE, TRANSACTION_TYPE, TARGET_POSITION";
+        return jdbcTemplate.query(sql, createBasicRowMapper());
+    }
+
+    /**
+     * Cheap marker that changes whenever a field template is inserted, updated or deleted.
+     */
+    public String findChangeMarker() {
+        String sql = "SELECT COUNT(*) || ':' || TO_CHAR(CAST(MAX(NVL(MODIFIED_DATE, CREATED_DATE)) AS TIMESTAMP), 'YYYYMMDDHH24MISSFF3') " +
+                "FROM cm3int.field_templates";
+        return jdbcTemplate.queryForObject(sql, String.class);
+    }
+
     public List<String> findTransactionTypesByFileType(String fileType) {
         try {
             String sql = "SELECT DISTINCT TRANSACTION_TYPE FROM cm3int.field_templates WHERE FILE_TYPE = ? AND ENABLED = 'Y' ORDER BY TRANSACTION_TYPE";
@@ -372,7 +407,7 @@ public class FieldTemplateRepository {
         try {
             String sql = "SELECT FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
                     "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, " +
-                    "MODIFIED_BY, MODIFIED_DATE " +
+                    "MODIFIED_BY, MODIFIED_DATE, VERSION " +
                     "FROM cm3int.field_templates " +
                     "WHERE FILE_TYPE = ? AND TRANSACTION_TYPE = ? AND FIELD_NAME = ?";
             List<FieldTemplateEntity> results = jdbcTemplate.query(sql, createBasicRowMapper(), fileType,
@@ -405,7 +440,7 @@ public class FieldTemplateRepository {
         try {
             String sql = "SELECT FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
                     "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, " +
-                    "MODIFIED_BY, MODIFIED_DATE " +
+                    "MODIFIED_BY, MODIFIED_DATE, VERSION " +
                     "FROM cm3int.field_templates " +
                     "WHERE FILE_TYPE = ? AND ENABLED = 'Y' " +
                     "ORDER BY TRANSACTION_TYPE, TARGET_POSITION";
@@ -416,6 +451,102 @@ public class FieldTemplateRepository {
         }
     }
 
+    /**
+     * Every field template of a file type, disabled ones included, as the bulk writes need
+     * to know every stored key and position. Errors are not swallowed.
+     */
+    public List<FieldTemplateEntity> findAllByFileType(String fileType) {
+        String sql = "SELECT FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
+                "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, " +
+                "MODIFIED_BY, MODIFIED_DATE, VERSION " +
+                "FROM cm3int.field_templates " +
+                "WHERE FILE_TYPE = ? " +
+                "ORDER BY TRANSACTION_TYPE, TARGET_POSITION";
+        return jdbcTemplate.query(sql, createBasicRowMapper(), fileType);
+    }
+
+    /**
+     * Insert or update field templates, keyed by file type, transaction type and field name,
+     * with one MERGE round trip per batch of {@value #WRITE_BATCH_SIZE} templates. A template
+     * carrying a version only updates a row still at that version. Rows are stamped with the
+     * template's modifiedBy, or createdBy when that is not set. A template without an enabled
+     * flag keeps the stored flag, and is inserted enabled. Columns the template editor does
+     * not manage (default value, transformation settings, ...) keep their stored values.
+     *
+     * @return per template, the rows written: 1, or 0 when the stored version did not match
+     */
+    @Transactional
+    public int[] upsertAll(List<FieldTemplateEntity> templates) {
+        String sql = "MERGE INTO cm3int.field_templates t " +
+                "USING (SELECT ? AS FILE_TYPE, ? AS TRANSACTION_TYPE, ? AS FIELD_NAME, ? AS TARGET_POSITION, " +
+                "? AS LENGTH, ? AS DATA_TYPE, ? AS FORMAT, ? AS REQUIRED, ? AS DESCRIPTION, ? AS ENABLED, " +
+                "? AS EXPECTED_VERSION, ? AS CHANGED_BY FROM dual) s " +
+                "ON (t.FILE_TYPE = s.FILE_TYPE AND t.TRANSACTION_TYPE = s.TRANSACTION_TYPE AND t.FIELD_NAME = s.FIELD_NAME) " +
+                "WHEN MATCHED THEN UPDATE SET t.TARGET_POSITION = s.TARGET_POSITION, t.LENGTH = s.LENGTH, " +
+                "t.DATA_TYPE = s.DATA_TYPE, t.FORMAT = s.FORMAT, t.REQUIRED = s.REQUIRED, " +
+                "t.DESCRIPTION = s.DESCRIPTION, t.ENABLED = NVL(s.ENABLED, t.ENABLED), t.MODIFIED_BY = s.CHANGED_BY, " +
+                "t.MODIFIED_DATE = SYSDATE, t.VERSION = NVL(t.VERSION, 0) + 1 " +
+                "WHERE s.EXPECTED_VERSION IS NULL OR t.VERSION = s.EXPECTED_VERSION " +
+                "WHEN NOT MATCHED THEN INSERT (FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, " +
+                "DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, ENABLED, CREATED_BY, CREATED_DATE, VERSION) " +
+                "VALUES (s.FILE_TYPE, s.TRANSACTION_TYPE, s.FIELD_NAME, s.TARGET_POSITION, s.LENGTH, " +
+                "s.DATA_TYPE, s.FORMAT, s.REQUIRED, s.DESCRIPTION, NVL(s.ENABLED, 'Y'), s.CHANGED_BY, SYSDATE, 1)";
+
+        int[][] counts = jdbcTemplate.batchUpdate(sql, templates, WRITE_BATCH_SIZE, (ps, entity) -> {
+            ps.setString(1, entity.getFileType());
+            ps.setString(2, entity.getTransactionType());
+            ps.setString(3, entity.getFieldName());
+            ps.setObject(4, entity.getTargetPosition(), Types.INTEGER);
+            ps.setObject(5, entity.getLength(), Types.INTEGER);
+            ps.setString(6, entity.getDataType());
+            ps.setString(7, entity.getFormat());
+            ps.setString(8, entity.getRequired());
+            ps.setString(9, entity.getDescription());
+            ps.setString(10, entity.getEnabled());
+            ps.setObject(11, entity.getVersion(), Types.INTEGER);
+            ps.setString(12, entity.getModifiedBy() != null ? entity.getModifiedBy() : entity.getCreatedBy());
+        });
+        return flatten(counts, templates.size());
+    }
+
+    /**
+     * Move field templates to new target positions with one UPDATE round trip per batch.
+     * Each entity supplies file type, transaction type, field name and the new position; a
+     * non-null version is checked in the same statement.
+     *
+     * @return per template, the rows updated: 1, or 0 when missing or at another version
+     */
+    @Transactional
+    public int[] updatePositions(List<FieldTemplateEntity> templates, String modifiedBy) {
+        String sql = "UPDATE cm3int.field_templates SET TARGET_POSITION = ?, MODIFIED_BY = ?, " +
+                "MODIFIED_DATE = SYSDATE, VERSION = NVL(VERSION, 0) + 1 " +
+                "WHERE FILE_TYPE = ? AND TRANSACTION_TYPE = ? AND FIELD_NAME = ? " +
+                "AND (? IS NULL OR VERSION = ?)";
+
+        int[][] counts = jdbcTemplate.batchUpdate(sql, templates, WRITE_BATCH_SIZE, (ps, entity) -> {
+            ps.setObject(1, entity.getTargetPosition(), Types.INTEGER);
+            ps.setString(2, modifiedBy);
+            ps.setString(3, entity.getFileType());
+            ps.setString(4, entity.getTransactionType());
+            ps.setString(5, entity.getFieldName());
+            ps.setObject(6, entity.getVersion(), Types.INTEGER);
+            ps.setObject(7, entity.getVersion(), Types.INTEGER);
+        });
+        return flatten(counts, templates.size());
+    }
+
+    private static int[] flatten(int[][] batchCounts, int size) {
+        int[] counts = new int[size];
+        int i = 0;
+        for (int[] batch : batchCounts) {
+            for (int count : batch) {
+                // Drivers that cannot report per-row counts in a batch only report success
+                counts[i++] = count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return counts;
+    }
+
     public void deleteByFileTypeAndTransactionTypeAndFieldName(String fileType, String transactionType,
             String fieldName) {
         String sql = "DELETE FROM cm3int.field_templates WHERE FILE_TYPE = ? AND TRANSACTION_TYPE = ? AND FIELD_NAME = ?";
@@ -100,6 +100,15 @@ public class FileTypeTemplateRepository {
         return jdbcTemplate.query(sql, rowMapper);
     }
     
+    /**
+     * Cheap marker that changes whenever a file type template is inserted, updated or deleted.
+     */
+    public String findChangeMarker() {
+        String sql = "SELECT COUNT(*) || ':' || TO_CHAR(CAST(MAX(NVL(MODIFIED_DATE, CREATED_DATE)) AS TIMESTAMP), 'YYYYMMDDHH24MISSFF3') " +
+                "FROM cm3int.file_type_templates";
+        return jdbcTemplate.queryForObject(sql, String.class);
+    }
+    
     public Optional<FileTypeTemplateEntity> findByFileTypeAndEnabled(String fileType, String enabled) {
         String sql = "SELECT * FROM cm3int.file_type_templates WHERE FILE_TYPE = ? AND ENABLED = ?";
         List<FileTypeTemplateEntity> results = jdbcTemplate.query(sql, rowMapper, fileType, enabled);
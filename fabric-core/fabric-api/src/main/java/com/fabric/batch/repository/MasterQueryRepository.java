@@ -54,6 +54,26 @@ public interface MasterQueryRepository {
                                    Map<String, Object> parameters, String userRole, 
                                    String correlationId);
 
+    /**
+     * Execute a master query and hand its rows to a sink as they are fetched,
+     * without collecting them in memory.
+     * 
+     * @param masterQueryId The unique master query identifier
+     * @param querySql The SQL query to execute (SELECT/WITH only)
+     * @param parameters Query parameters for parameterized execution
+     * @param userRole User role for authorization
+     * @param correlationId Correlation ID for audit trail
+     * @param maxRows Maximum number of rows to stream
+     * @param cancellation Handle through which another thread may cancel the query
+     * @param sink Receiver of the column metadata and rows
+     * @return Number of rows streamed
+     * @throws QuerySecurityException if query fails security validation
+     * @throws QueryExecutionException if query execution fails or is cancelled
+     */
+    long streamQuery(String masterQueryId, String querySql, Map<String, Object> parameters,
+                     String userRole, String correlationId, int maxRows,
+                     QueryCancellation cancellation, MasterQueryRowSink sink);
+
     /**
      * Validate query syntax and security without execution.
      * 
@@ -0,0 +1,36 @@
+package com.fabric.batch.repository;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives master query results row by row while the result set is still open.
+ *
+ * The repository calls {@link #start} once with the column metadata, {@link #row} for every
+ * row, and {@link #finish} when the result set is exhausted or the row limit was reached.
+ * An IOException from any call (typically the client going away) cancels the query.
+ */
+public interface MasterQueryRowSink {
+
+    /**
+     * Called once before the first row.
+     *
+     * @param columnMetadata Column metadata in result set order
+     * @param columnLabels Column labels in result set order
+     */
+    void start(List<Map<String, Object>> columnMetadata, String[] columnLabels) throws IOException;
+
+    /**
+     * Called for each row. The array is reused between rows and must not be kept.
+     */
+    void row(Object[] values) throws IOException;
+
+    /**
+     * Called after the last row.
+     *
+     * @param rowCount Number of rows handed to {@link #row}
+     * @param truncated Whether the query had more rows than the limit
+     */
+    void finish(long rowCount, boolean truncated) throws IOException;
+}
@@ -0,0 +1,66 @@
+package com.fabric.batch.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets another thread cancel a running master query, for example when the client of a
+ * streamed execution disconnects or the async request times out.
+ *
+ * Cancelling before the statement is attached is remembered, and the statement is cancelled
+ * as soon as it is attached.
+ */
+@Slf4j
+public class QueryCancellation {
+
+    private volatile boolean cancelled;
+    private Statement statement;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel the query; safe to call from any thread and more than once.
+     */
+    public void cancel() {
+        cancelled = true;
+        Statement running;
+        synchronized (this) {
+            running = statement;
+        }
+        cancelStatement(running);
+    }
+
+    /**
+     * Attach the statement that is about to run.
+     */
+    public void attach(Statement statement) {
+        synchronized (this) {
+            this.statement = statement;
+        }
+        if (cancelled) {
+            cancelStatement(statement);
+        }
+    }
+
+    /**
+     * Detach the statement before it is closed.
+     */
+    public synchronized void detach() {
+        this.statement = null;
+    }
+
+    private static void cancelStatement(Statement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("Could not cancel master query statement: {}", e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.fabric.batch.repository.impl;
 import com.fabric.batch.dto.MasterQueryResponse;
 import com.fabric.batch.dto.MasterQueryConfigDTO;
 import com.fabric.batch.repository.MasterQueryRepository;
+import com.fabric.batch.repository.MasterQueryRowSink;
+import com.fabric.batch.repository.QueryCancellation;
 import com.fabric.batch.repository.QuerySecurityException;
 import com.fabric.batch.repository.QueryExecutionException;
 import com.fabric.batch.security.service.QuerySecurityValidator;
@@ -12,10 +14,19 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -64,6 +75,7 @@ public class MasterQueryRepositoryImpl implements MasterQueryRepository {
 
     private static final int MAX_QUERY_TIMEOUT_SECONDS = 30;
     private static final int MAX_RESULT_ROWS = 100;
+    private static final int STREAM_FETCH_SIZE = 500;
     private static final String AUDIT_LOGGER_NAME = "AUDIT.MasterQueryRepository";
     
     private final org.slf4j.Logger auditLogger = org.slf4j.LoggerFactory.getLogger(AUDIT_LOGGER_NAME);
@@ -221,6 +233,122 @@ public class MasterQueryRepositoryImpl implements MasterQueryRepository {
         }
     }
 
+    @Override
+    public long streamQuery(String masterQueryId, String querySql, Map<String, Object> parameters,
+                            String userRole, String correlationId, int maxRows,
+                            QueryCancellation cancellation, MasterQueryRowSink sink) {
+        
+        MDC.put("correlationId", correlationId);
+        Instant startTime = Instant.now();
+        
+        try {
+            log.info("Starting streamed master query execution - ID: {}, User: {}, Max rows: {}, Correlation: {}", 
+                    masterQueryId, userRole, maxRows, correlationId);
+            
+            // 1. Basic security validation (same rules as buffered execution)
+            validateBasicSecurity(querySql, userRole, correlationId);
+            
+            // 2. Resolve named parameters once; the statement is built here rather than through the
+            //    shared template so its row cap and fetch size do not leak into other executions
+            SqlParameterSource parameterSource = new MapSqlParameterSource(
+                    parameters != null ? parameters : Map.of());
+            ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(querySql);
+            String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, parameterSource);
+            Object[] arguments = NamedParameterUtils.buildValueArray(parsedSql, parameterSource, null);
+            
+            // 3. Stream rows straight from the cursor
+            Long rowCount = readOnlyJdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setQueryTimeout(MAX_QUERY_TIMEOUT_SECONDS);
+                    statement.setFetchSize(STREAM_FETCH_SIZE);
+                    // One row past the limit tells us the result was truncated
+                    statement.setMaxRows(maxRows + 1);
+                    new ArgumentPreparedStatementSetter(arguments).setValues(statement);
+                    
+                    cancellation.attach(statement);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return streamRows(rs, maxRows, cancellation, sink, correlationId);
+                    } catch (IOException e) {
+                        // Client went away - stop the database working on rows nobody will read
+                        cancellation.cancel();
+                        throw new QueryExecutionException(
+                            "Client disconnected during streamed execution", correlationId, "CANCELLED", e);
+                    } finally {
+                        cancellation.detach();
+                    }
+                }
+            });
+            
+            long executionTimeMs = java.time.Duration.between(startTime, Instant.now()).toMillis();
+            auditLogger.info("Streamed query execution SUCCESS - ID: {}, Rows: {}, Time: {}ms, User: {}, Correlation: {}", 
+                           masterQueryId, rowCount, executionTimeMs, userRole, correlationId);
+            
+            return rowCount != null ? rowCount : 0L;
+            
+        } catch (QuerySecurityException e) {
+            auditLogger.error("Query security validation FAILED - ID: {}, User: {}, Correlation: {}, Error: {}", 
+                            masterQueryId, userRole, correlationId, e.getMessage());
+            throw e;
+            
+        } catch (QueryExecutionException e) {
+            auditLogger.error("Streamed query execution {} - ID: {}, User: {}, Correlation: {}, Time: {}ms", 
+                            e.getErrorCode(), masterQueryId, userRole, correlationId,
+                            java.time.Duration.between(startTime, Instant.now()).toMillis());
+            throw e;
+            
+        } catch (DataAccessException e) {
+            long executionTimeMs = java.time.Duration.between(startTime, Instant.now()).toMillis();
+            String errorCode = cancellation.isCancelled() ? "CANCELLED"
+                    : e instanceof QueryTimeoutException ? "TIMEOUT" : classifyDatabaseError(e);
+            
+            auditLogger.error("Streamed query execution {} - ID: {}, User: {}, Correlation: {}, Time: {}ms", 
+                            errorCode, masterQueryId, userRole, correlationId, executionTimeMs);
+            
+            throw new QueryExecutionException(
+                "Query execution failed: " + getSafeErrorMessage(e), 
+                correlationId, errorCode, e
+            );
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+
+    /**
+     * Hand the rows of an open result set to the sink, resolving column metadata only once.
+     */
+    private long streamRows(ResultSet rs, int maxRows, QueryCancellation cancellation,
+                            MasterQueryRowSink sink, String correlationId) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columnLabels[i - 1] = metaData.getColumnLabel(i);
+        }
+        sink.start(extractColumnMetadata(metaData), columnLabels);
+        
+        Object[] values = new Object[columnCount];
+        long rowCount = 0;
+        boolean truncated = false;
+        while (rs.next()) {
+            if (cancellation.isCancelled()) {
+                throw new QueryExecutionException("Streamed execution cancelled", correlationId, "CANCELLED");
+            }
+            if (rowCount == maxRows) {
+                truncated = true;
+                break;
+            }
+            for (int i = 1; i <= columnCount; i++) {
+                values[i - 1] = JdbcUtils.getResultSetValue(rs, i);
+            }
+            sink.row(values);
+            rowCount++;
+        }
+        
+        sink.finish(rowCount, truncated);
+        return rowCount;
+    }
+
     @Override
     public Map<String, Object> validateQuery(String querySql, Map<String, Object> parameters, 
                                            String userRole, String correlationId) {
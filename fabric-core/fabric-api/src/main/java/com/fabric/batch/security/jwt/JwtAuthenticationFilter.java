@@ -30,7 +30,7 @@ import java.util.stream.Collectors;
  * 
  * Security Features:
  * - Bearer token extraction from Authorization header
- * - JWT token validation and claim extraction
+ * - JWT token validation and claim extraction, cached per token until it expires
  * - Token blacklist verification for logout security
  * - Correlation ID propagation for audit trails
  * - Role and permission-based authority mapping
@@ -98,14 +98,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private void authenticateWithJwt(String jwt, HttpServletRequest request, HttpServletResponse response) {
         try {
+            // Hash once for the blacklist check and the verified token cache
+            String tokenHash = jwtTokenService.generateTokenHash(jwt);
+            
             // Check if token is blacklisted
-            if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
+            if (tokenBlacklistService.isTokenHashBlacklisted(tokenHash)) {
                 log.warn("Attempted access with blacklisted token");
                 return;
             }
             
-            // Validate token and extract claims
-            Claims claims = jwtTokenService.validateToken(jwt);
+            // Validate token and extract claims (cached after the first request with this token)
+            Claims claims = jwtTokenService.validateToken(jwt, tokenHash);
             
             // Validate token type (must be ACCESS token)
             String tokenType = claims.get(JwtTokenService.CLAIM_TOKEN_TYPE, String.class);
@@ -2,9 +2,11 @@ package com.fabric.batch.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -28,6 +30,7 @@ import com.fabric.batch.security.jwt.UserTokenDetails;
  * - Token blacklisting support for secure logout
  * - Comprehensive claim validation and extraction
  * - Correlation ID propagation for audit trails
+ * - Verified tokens cached until they expire, so each token is parsed and verified once
  * 
  * @author Claude Code
  * @version 1.0
@@ -35,8 +38,14 @@ import com.fabric.batch.security.jwt.UserTokenDetails;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtTokenService {
     
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    // Built once from jwtSecret on first use
+    private volatile SecretKey signingKey;
+    
     // Token configuration
     @Value("${fabric.security.jwt.secret:fabric-jwt-secret-key-minimum-256-bits-required-for-hmac-sha}")
     private String jwtSecret;
@@ -148,6 +157,39 @@ public class JwtTokenService {
      * @throws JwtTokenException if token is invalid
      */
     public Claims validateToken(String token) {
+        return validateToken(token, StringUtils.hasText(token) ? generateTokenHash(token) : null);
+    }
+    
+    /**
+     * Validates a JWT token whose hash the caller already computed, e.g. for the blacklist check.
+     * Tokens that passed validation before are served from the verified token cache until they expire.
+     * 
+     * @param token JWT token to validate
+     * @param tokenHash Hash of the token from {@link #generateTokenHash(String)}
+     * @return Token claims if valid
+     * @throws JwtTokenException if token is invalid
+     */
+    public Claims validateToken(String token, String tokenHash) {
+        Claims cached = verifiedTokenCache.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = parseAndValidateToken(token);
+        verifiedTokenCache.put(tokenHash, claims);
+        return claims;
+    }
+    
+    /**
+     * Drops a token from the verified token cache, e.g. after it was blacklisted
+     * 
+     * @param tokenHash Hash of the token from {@link #generateTokenHash(String)}
+     */
+    public void evictVerifiedToken(String tokenHash) {
+        verifiedTokenCache.invalidate(tokenHash);
+    }
+    
+    private Claims parseAndValidateToken(String token) {
         try {
             Claims claims = Jwts.parser()
                 .verifyWith(getSigningKey())
@@ -191,11 +233,7 @@ public class JwtTokenService {
      */
     public String extractUsername(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parseClaims(token);
             return claims.getSubject();
         } catch (Exception e) {
             log.debug("Could not extract username from token: {}", e.getMessage());
@@ -211,11 +249,7 @@ public class JwtTokenService {
      */
     public String extractCorrelationId(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parseClaims(token);
             return claims.get(CLAIM_CORRELATION_ID, String.class);
         } catch (Exception e) {
             log.debug("Could not extract correlation ID from token: {}", e.getMessage());
@@ -231,11 +265,7 @@ public class JwtTokenService {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parseClaims(token);
             return claims.getExpiration().before(new Date());
         } catch (ExpiredJwtException e) {
             return true;
@@ -252,11 +282,7 @@ public class JwtTokenService {
      */
     public long getTimeUntilExpiration(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parseClaims(token);
             long expirationTime = claims.getExpiration().getTime();
             long currentTime = System.currentTimeMillis();
             return Math.max(0, (expirationTime - currentTime) / 1000);
@@ -269,8 +295,31 @@ public class JwtTokenService {
     // Private helper methods
     
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            // Racing threads build equal keys; any of them may win
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+    
+    /**
+     * Claims of a signed token without the issuer, audience and claim checks of validateToken.
+     * Tokens that already passed those checks come from the verified token cache.
+     */
+    private Claims parseClaims(String token) {
+        if (StringUtils.hasText(token)) {
+            Claims cached = verifiedTokenCache.get(generateTokenHash(token));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return Jwts.parser()
+            .verifyWith(getSigningKey())
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
     }
     
     private Map<String, Object> buildAccessTokenClaims(UserTokenDetails userDetails) {
@@ -391,17 +440,9 @@ public class JwtTokenService {
         try {
             java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
+            return HexFormat.of().formatHex(hash);
         } catch (Exception e) {
             throw new JwtTokenException("Failed to generate token hash", e);
         }
     }
-    
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.fabric.batch.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Verified Token Cache
+ *
+ * Bounded cache of tokens that passed full validation in {@link JwtTokenService}, so the
+ * signature and claims of a token are checked once per token lifetime instead of on every
+ * request. Entries are keyed by the SHA-256 of the token (the same hash the blacklist uses),
+ * so raw bearer tokens are not retained, and expire at the token's {@code exp} claim.
+ * Tokens without an expiration are never cached.
+ *
+ * The least recently used entry is evicted once the cache is full.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    public VerifiedTokenCache(
+            @Value("${fabric.security.jwt.verification-cache.enabled:true}") boolean enabled,
+            @Value("${fabric.security.jwt.verification-cache.max-entries:10000}") int maxEntries) {
+        this(enabled, maxEntries, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(boolean enabled, int maxEntries, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * Claims of a previously verified token that has not expired yet
+     *
+     * @param tokenHash SHA-256 of the token
+     * @return Cached claims, or null if the token has to be verified
+     */
+    public Claims get(String tokenHash) {
+        if (!enabled || tokenHash == null) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(tokenHash);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() < entry.expiresAtMillis()) {
+                return entry.claims();
+            }
+            entries.remove(tokenHash);
+            return null;
+        }
+    }
+
+    /**
+     * Remembers the claims of a token that passed full validation
+     *
+     * @param tokenHash SHA-256 of the token
+     * @param claims Validated token claims
+     */
+    public void put(String tokenHash, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (!enabled || tokenHash == null || expiration == null || expiration.getTime() <= clock.getAsLong()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(tokenHash, new Entry(claims, expiration.getTime()));
+            while (entries.size() > maxEntries) {
+                var eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops a token, e.g. after it was blacklisted
+     *
+     * @param tokenHash SHA-256 of the token
+     */
+    public void invalidate(String tokenHash) {
+        if (tokenHash == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(tokenHash);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+}
@@ -6,10 +6,17 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 
 /**
  * Enterprise Rate Limiting Service.
@@ -19,7 +26,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * resource management for banking applications.
  * 
  * Key Features:
- * - Sliding window rate limiting algorithm
+ * - Sliding window rate limiting (lock-free GCRA buckets)
  * - Per-user and per-endpoint rate limiting
  * - Configurable rate limits and time windows
  * - Burst capacity handling
@@ -45,9 +52,18 @@ import java.util.concurrent.atomic.AtomicLong;
 @Slf4j
 public class RateLimitingService {
 
+    // Idle buckets are dropped after this long, they are full again and hold no state
+    private static final long BUCKET_IDLE_EXPIRY_NANOS = TimeUnit.HOURS.toNanos(1);
+
     // Rate limiting storage - In production, this would be Redis or Hazelcast
     private final Map<String, RateLimitBucket> rateLimitBuckets = new ConcurrentHashMap<>();
-    private final Map<String, RateLimitStatistics> statisticsMap = new ConcurrentHashMap<>();
+
+    // Request counters, striped so concurrent checks do not contend on one counter
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    private final LongSupplier nanoClock;
+    private final ExpiryWheel expiryWheel;
 
     @Value("${fabric.security.ratelimit.enabled:true}")
     private boolean rateLimitingEnabled;
@@ -77,9 +93,18 @@ public class RateLimitingService {
         "ADMIN", new RateLimitConfig(500, 15, 1000)           // High limits for admins
     );
 
+    public RateLimitingService() {
+        this(System::nanoTime);
+    }
+
+    RateLimitingService(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.expiryWheel = new ExpiryWheel(nanoClock.getAsLong());
+    }
+
     /**
      * Check if a request is within rate limits.
-     * 
+     *
      * @param userId the user making the request
      * @param endpoint the endpoint being accessed
      * @param userRole the user's role
@@ -93,25 +118,39 @@ public class RateLimitingService {
         log.debug("Checking rate limit for user: {}, endpoint: {}, role: {}", userId, endpoint, userRole);
 
         try {
+            long now = nanoClock.getAsLong();
+
             // Get rate limit configuration
             RateLimitConfig config = determineRateLimitConfig(endpoint, userRole);
-            
+
             // Create bucket key (user + endpoint combination)
             String bucketKey = createBucketKey(userId, endpoint);
-            
+
             // Get or create rate limit bucket
-            RateLimitBucket bucket = rateLimitBuckets.computeIfAbsent(
-                bucketKey, k -> new RateLimitBucket(config, LocalDateTime.now()));
+            RateLimitBucket bucket = rateLimitBuckets.get(bucketKey);
+            if (bucket == null) {
+                bucket = rateLimitBuckets.computeIfAbsent(bucketKey, key -> {
+                    RateLimitBucket created = new RateLimitBucket(config, now);
+                    expiryWheel.schedule(key, created.getExpiryTime());
+                    return created;
+                });
+            }
 
             // Check if request is allowed
-            RateLimitResult result = bucket.allowRequest(config);
-            
+            RateLimitResult result = bucket.allowRequest(now);
+
             // Update statistics
-            updateStatistics(userId, endpoint, userRole, result);
-            
+            totalRequests.increment();
+            if (!result.isAllowed()) {
+                rejectedRequests.increment();
+            }
+
+            // Expire idle buckets whose wheel slot has come round; one thread sweeps, the rest skip
+            expiryWheel.advance(now, key -> expireIfIdle(key, now));
+
             // Check for suspicious activity
             if (!result.isAllowed() && result.getCurrentUsage() > config.getBurstLimit()) {
-                log.warn("Suspicious activity detected - user: {}, endpoint: {}, usage: {}/{}", 
+                log.warn("Suspicious activity detected - user: {}, endpoint: {}, usage: {}/{}",
                         userId, endpoint, result.getCurrentUsage(), config.getBurstLimit());
                 // TODO: Send security alert
             }
@@ -127,7 +166,8 @@ public class RateLimitingService {
 
     /**
      * Reset rate limits for a specific user (admin function).
-     * 
+     * Request counters are service wide and are not reset.
+     *
      * @param userId the user ID to reset
      * @return reset result
      */
@@ -136,7 +176,7 @@ public class RateLimitingService {
 
         try {
             int resetCount = 0;
-            
+
             // Find and reset all buckets for this user
             for (String key : rateLimitBuckets.keySet()) {
                 if (key.startsWith(userId + ":")) {
@@ -145,9 +185,6 @@ public class RateLimitingService {
                 }
             }
 
-            // Reset statistics
-            statisticsMap.entrySet().removeIf(entry -> entry.getKey().startsWith(userId + ":"));
-
             log.info("Successfully reset {} rate limit buckets for user: {}", resetCount, userId);
 
             return RateLimitResetResult.builder()
@@ -159,7 +196,7 @@ public class RateLimitingService {
 
         } catch (Exception e) {
             log.error("Failed to reset rate limits for user {}: {}", userId, e.getMessage());
-            
+
             return RateLimitResetResult.builder()
                     .userId(userId)
                     .success(false)
@@ -171,33 +208,29 @@ public class RateLimitingService {
 
     /**
      * Get rate limit statistics for monitoring.
-     * 
+     *
      * @return overall rate limiting statistics
      */
     public RateLimitingStatistics getStatistics() {
         log.debug("Retrieving rate limiting statistics");
 
+        long now = nanoClock.getAsLong();
         long totalBuckets = rateLimitBuckets.size();
         long activeBuckets = rateLimitBuckets.values().stream()
-                .mapToLong(bucket -> bucket.getCurrentUsage() > 0 ? 1 : 0)
-                .sum();
-
-        long totalRequests = statisticsMap.values().stream()
-                .mapToLong(RateLimitStatistics::getTotalRequests)
+                .mapToLong(bucket -> bucket.getCurrentUsage(now) > 0 ? 1 : 0)
                 .sum();
 
-        long rejectedRequests = statisticsMap.values().stream()
-                .mapToLong(RateLimitStatistics::getRejectedRequests)
-                .sum();
+        long total = totalRequests.sum();
+        long rejected = rejectedRequests.sum();
 
-        double rejectionRate = totalRequests > 0 ? (double) rejectedRequests / totalRequests * 100 : 0.0;
+        double rejectionRate = total > 0 ? (double) rejected / total * 100 : 0.0;
 
         return RateLimitingStatistics.builder()
                 .enabled(rateLimitingEnabled)
                 .totalBuckets(totalBuckets)
                 .activeBuckets(activeBuckets)
-                .totalRequests(totalRequests)
-                .rejectedRequests(rejectedRequests)
+                .totalRequests(total)
+                .rejectedRequests(rejected)
                 .rejectionRate(rejectionRate)
                 .lastUpdated(LocalDateTime.now())
                 .build();
@@ -205,28 +238,31 @@ public class RateLimitingService {
 
     /**
      * Get rate limit status for a specific user.
-     * 
+     * The window reported is the sliding window ending now.
+     *
      * @param userId the user ID to check
      * @return user's rate limit status
      */
     public UserRateLimitStatus getUserRateLimitStatus(String userId) {
         log.debug("Retrieving rate limit status for user: {}", userId);
 
+        long now = nanoClock.getAsLong();
+        LocalDateTime wallNow = LocalDateTime.now();
         Map<String, RateLimitBucketStatus> endpointStatuses = new ConcurrentHashMap<>();
-        
+
         for (Map.Entry<String, RateLimitBucket> entry : rateLimitBuckets.entrySet()) {
             String key = entry.getKey();
             if (key.startsWith(userId + ":")) {
                 String endpoint = key.substring(userId.length() + 1);
                 RateLimitBucket bucket = entry.getValue();
-                
+
                 endpointStatuses.put(endpoint, RateLimitBucketStatus.builder()
                         .endpoint(endpoint)
-                        .currentUsage(bucket.getCurrentUsage())
+                        .currentUsage(bucket.getCurrentUsage(now))
                         .limit(bucket.getLimit())
-                        .windowStart(bucket.getWindowStart())
-                        .windowEnd(bucket.getWindowStart().plus(bucket.getWindowMinutes(), ChronoUnit.MINUTES))
-                        .resetTime(bucket.getNextResetTime())
+                        .windowStart(wallNow.minus(bucket.getWindowMinutes(), ChronoUnit.MINUTES))
+                        .windowEnd(wallNow)
+                        .resetTime(bucket.getResetTime(now))
                         .build());
             }
         }
@@ -240,30 +276,14 @@ public class RateLimitingService {
 
     /**
      * Clean up expired rate limit buckets (maintenance operation).
+     * Only the buckets in the expiry wheel slots that have come due are examined;
+     * request checks advance the wheel too, so calling this is optional.
      */
     public void cleanupExpiredBuckets() {
         log.debug("Cleaning up expired rate limit buckets");
 
-        LocalDateTime now = LocalDateTime.now();
-        int removedCount = 0;
-
-        // Remove buckets that are older than their window + buffer time
-        rateLimitBuckets.entrySet().removeIf(entry -> {
-            RateLimitBucket bucket = entry.getValue();
-            LocalDateTime expiryTime = bucket.getWindowStart().plus(
-                bucket.getWindowMinutes() + 60, ChronoUnit.MINUTES); // 1 hour buffer
-            
-            if (now.isAfter(expiryTime)) {
-                return true;
-            }
-            return false;
-        });
-
-        // Remove old statistics
-        statisticsMap.entrySet().removeIf(entry -> {
-            RateLimitStatistics stats = entry.getValue();
-            return now.minus(24, ChronoUnit.HOURS).isAfter(stats.getLastUpdated());
-        });
+        long now = nanoClock.getAsLong();
+        int removedCount = expiryWheel.advance(now, key -> expireIfIdle(key, now));
 
         if (removedCount > 0) {
             log.info("Cleaned up {} expired rate limit buckets", removedCount);
@@ -272,6 +292,24 @@ public class RateLimitingService {
 
     // Private helper methods
 
+    /**
+     * Removes the bucket if it has been idle long enough, otherwise puts it back on the wheel.
+     * A request racing the removal may be counted against the removed bucket; as the bucket
+     * was full, that costs the user nothing.
+     */
+    private boolean expireIfIdle(String key, long now) {
+        RateLimitBucket bucket = rateLimitBuckets.get(key);
+        if (bucket == null) {
+            return false;
+        }
+        long expiryTime = bucket.getExpiryTime();
+        if (now - expiryTime >= 0) {
+            return rateLimitBuckets.remove(key, bucket);
+        }
+        expiryWheel.schedule(key, expiryTime);
+        return false;
+    }
+
     private RateLimitConfig determineRateLimitConfig(String endpoint, String userRole) {
         // First check endpoint-specific limits
         RateLimitConfig endpointConfig = ENDPOINT_RATE_LIMITS.get(endpoint);
@@ -286,7 +324,7 @@ public class RateLimitingService {
         }
 
         // Default configuration
-        return new RateLimitConfig(defaultRequestsPerWindow, defaultWindowMinutes, 
+        return new RateLimitConfig(defaultRequestsPerWindow, defaultWindowMinutes,
                                    (int)(defaultRequestsPerWindow * burstMultiplier));
     }
 
@@ -294,19 +332,6 @@ public class RateLimitingService {
         return userId + ":" + endpoint;
     }
 
-    private void updateStatistics(String userId, String endpoint, String userRole, RateLimitResult result) {
-        String statsKey = createBucketKey(userId, endpoint);
-        
-        statisticsMap.compute(statsKey, (key, stats) -> {
-            if (stats == null) {
-                stats = new RateLimitStatistics(userId, endpoint, userRole);
-            }
-            
-            stats.recordRequest(result.isAllowed());
-            return stats;
-        });
-    }
-
     // Data classes for rate limiting
 
     /**
@@ -329,91 +354,136 @@ public class RateLimitingService {
     }
 
     /**
-     * Rate limit bucket for tracking usage.
+     * Rate limit bucket using the generic cell rate algorithm (GCRA).
+     *
+     * The whole state is one theoretical arrival time: the instant at which the bucket would
+     * be empty again. Every admitted request pushes it one emission interval (window / limit)
+     * further; a request is refused when that would put it more than a window ahead of now.
+     * This admits up to the limit in a burst and then one request per interval, the same as a
+     * sliding window, and is updated with a single compare-and-set instead of a lock.
      */
     private static class RateLimitBucket {
-        private final AtomicInteger currentUsage = new AtomicInteger(0);
-        private final AtomicLong lastResetTime = new AtomicLong();
-        private volatile LocalDateTime windowStart;
+        private final AtomicLong theoreticalArrival;
+        // Refusals since the last admitted request, reported as usage beyond the limit
+        private final AtomicInteger rejectedStreak = new AtomicInteger(0);
         private final int limit;
         private final int windowMinutes;
+        private final long emissionIntervalNanos;
+        private final long windowNanos;
 
-        public RateLimitBucket(RateLimitConfig config, LocalDateTime now) {
-            this.limit = config.getRequestsPerWindow();
+        public RateLimitBucket(RateLimitConfig config, long now) {
+            this.limit = Math.max(1, config.getRequestsPerWindow());
             this.windowMinutes = config.getWindowMinutes();
-            this.windowStart = now;
-            this.lastResetTime.set(System.currentTimeMillis());
+            this.emissionIntervalNanos = Math.max(1, TimeUnit.MINUTES.toNanos(windowMinutes) / limit);
+            this.windowNanos = emissionIntervalNanos * limit;
+            this.theoreticalArrival = new AtomicLong(now);
         }
 
-        public synchronized RateLimitResult allowRequest(RateLimitConfig config) {
-            LocalDateTime now = LocalDateTime.now();
-            
-            // Check if we need to reset the window
-            if (now.isAfter(windowStart.plus(windowMinutes, ChronoUnit.MINUTES))) {
-                resetWindow(now);
-            }
+        public RateLimitResult allowRequest(long now) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
 
-            int current = currentUsage.get();
-            
-            // Check burst limit first
-            if (current >= config.getBurstLimit()) {
-                return RateLimitResult.rejected(current, config.getBurstLimit(), getNextResetTime());
-            }
+                if (next - now > windowNanos) {
+                    int streak = rejectedStreak.incrementAndGet();
+                    return RateLimitResult.rejected(limit + streak, limit, toDateTime(next - windowNanos, now));
+                }
 
-            // Check regular limit
-            if (current >= limit) {
-                return RateLimitResult.rejected(current, limit, getNextResetTime());
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    if (rejectedStreak.get() != 0) {
+                        rejectedStreak.set(0);
+                    }
+                    return RateLimitResult.allowed(usage(next, now), limit, toDateTime(next, now));
+                }
             }
+        }
 
-            // Allow request
-            currentUsage.incrementAndGet();
-            return RateLimitResult.allowed(current + 1, limit, getNextResetTime());
+        /**
+         * Requests counted in the sliding window ending now.
+         */
+        private int usage(long arrival, long now) {
+            long pending = arrival - now;
+            if (pending <= 0) {
+                return 0;
+            }
+            return (int) Math.min(limit, (pending + emissionIntervalNanos - 1) / emissionIntervalNanos);
         }
 
-        private void resetWindow(LocalDateTime now) {
-            windowStart = now;
-            currentUsage.set(0);
-            lastResetTime.set(System.currentTimeMillis());
+        private static LocalDateTime toDateTime(long nanos, long now) {
+            return LocalDateTime.now().plusNanos(Math.max(0, nanos - now));
         }
 
-        public int getCurrentUsage() { return currentUsage.get(); }
+        public int getCurrentUsage(long now) { return usage(theoreticalArrival.get(), now); }
         public int getLimit() { return limit; }
         public int getWindowMinutes() { return windowMinutes; }
-        public LocalDateTime getWindowStart() { return windowStart; }
-        public LocalDateTime getNextResetTime() { 
-            return windowStart.plus(windowMinutes, ChronoUnit.MINUTES); 
-        }
+        public LocalDateTime getResetTime(long now) { return toDateTime(theoreticalArrival.get(), now); }
+        public long getExpiryTime() { return theoreticalArrival.get() + BUCKET_IDLE_EXPIRY_NANOS; }
     }
 
     /**
-     * Rate limit statistics tracking.
+     * Hashed timing wheel of bucket keys by expiry minute.
+     *
+     * Expiry is checked only for the keys in slots whose minute has passed, so cleanup cost
+     * follows the number of buckets coming due rather than the number of buckets. Slots hold
+     * keys from later rotations too; those, and buckets used since they were scheduled, are
+     * rescheduled by the expiry callback.
      */
-    private static class RateLimitStatistics {
-        private final String userId;
-        private final String endpoint;
-        private final String userRole;
-        private final AtomicLong totalRequests = new AtomicLong(0);
-        private final AtomicLong rejectedRequests = new AtomicLong(0);
-        private volatile LocalDateTime lastUpdated;
-
-        public RateLimitStatistics(String userId, String endpoint, String userRole) {
-            this.userId = userId;
-            this.endpoint = endpoint;
-            this.userRole = userRole;
-            this.lastUpdated = LocalDateTime.now();
+    private static final class ExpiryWheel {
+        private static final int SLOTS = 128;
+        private static final long TICK_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final Set<String>[] slots;
+        private final long originNanos;
+        private final AtomicLong sweptTick = new AtomicLong(0);
+        private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+        @SuppressWarnings("unchecked")
+        ExpiryWheel(long originNanos) {
+            this.originNanos = originNanos;
+            this.slots = new Set[SLOTS];
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = ConcurrentHashMap.newKeySet();
+            }
+        }
+
+        void schedule(String key, long deadlineNanos) {
+            long tick = Math.max(tickOf(deadlineNanos), sweptTick.get() + 1);
+            slots[(int) (tick & (SLOTS - 1))].add(key);
         }
 
-        public void recordRequest(boolean allowed) {
-            totalRequests.incrementAndGet();
-            if (!allowed) {
-                rejectedRequests.incrementAndGet();
+        /**
+         * Sweep the slots due up to now, returning how many keys the callback expired.
+         */
+        int advance(long now, Predicate<String> expire) {
+            long current = tickOf(now);
+            long swept = sweptTick.get();
+            if (current <= swept || !sweeping.compareAndSet(false, true)) {
+                return 0;
             }
-            lastUpdated = LocalDateTime.now();
+            int expired = 0;
+            try {
+                // After a long pause one pass over every slot is enough
+                for (long tick = Math.max(swept + 1, current - SLOTS + 1); tick <= current; tick++) {
+                    sweptTick.set(tick);
+                    Set<String> slot = slots[(int) (tick & (SLOTS - 1))];
+                    for (Iterator<String> keys = slot.iterator(); keys.hasNext(); ) {
+                        String key = keys.next();
+                        keys.remove();
+                        if (expire.test(key)) {
+                            expired++;
+                        }
+                    }
+                }
+                sweptTick.set(current);
+            } finally {
+                sweeping.set(false);
+            }
+            return expired;
         }
 
-        public long getTotalRequests() { return totalRequests.get(); }
-        public long getRejectedRequests() { return rejectedRequests.get(); }
-        public LocalDateTime getLastUpdated() { return lastUpdated; }
+        private long tickOf(long nanos) {
+            return Math.max(0, (nanos - originNanos) / TICK_NANOS);
+        }
     }
 
     /**
@@ -31,6 +31,7 @@ public class TokenBlacklistService {
         try {
             String tokenHash = jwtTokenService.generateTokenHash(token);
             blacklistedTokens.add(tokenHash);
+            jwtTokenService.evictVerifiedToken(tokenHash);
             log.info("Token blacklisted for user {} - Reason: {}", userId, reason);
         } catch (Exception e) {
             log.error("Failed to blacklist token for user {}: {}", userId, e.getMessage());
@@ -41,6 +42,10 @@ public class TokenBlacklistService {
      * Checks if a token is blacklisted
      */
     public boolean isTokenBlacklisted(String token) {
+        if (blacklistedTokens.isEmpty()) {
+            // Nothing blacklisted yet, no need to hash the token
+            return false;
+        }
         try {
             String tokenHash = jwtTokenService.generateTokenHash(token);
             return blacklistedTokens.contains(tokenHash);
@@ -50,6 +55,14 @@ public class TokenBlacklistService {
         }
     }
     
+    /**
+     * Checks if a token is blacklisted, for callers that already hashed it
+     * with {@link JwtTokenService#generateTokenHash(String)}
+     */
+    public boolean isTokenHashBlacklisted(String tokenHash) {
+        return tokenHash != null && blacklistedTokens.contains(tokenHash);
+    }
+    
     /**
      * Alias method for isTokenBlacklisted
      */
@@ -1 +1,91 @@
-// Placeholder for FileConsolidationService.java
+package com.fabric.batch.service;
+
+import com.fabric.batch.writer.PartFileConsolidator;
+import com.fabric.batch.writer.PartFileConsolidator.ConsolidationRequest;
+import com.fabric.batch.writer.PartFileConsolidator.ConsolidationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Consolidates partition part files into the single output file expected by downstream
+ * consumers.
+ *
+ * The batch job consolidates automatically after its partition step; this service covers
+ * operator-driven consolidation, e.g. re-running a merge after a failed step. Part files
+ * follow the {@code <outputPath>.part-<file>-<slice>} naming used by GenericPartitioner, so
+ * sorting them by name yields key order.
+ */
+@Service
+@Slf4j
+public class FileConsolidationService {
+
+    private static final String PART_MARKER = ".part-";
+
+    /**
+     * Finds the part files left next to an output path, in concatenation order.
+     */
+    public List<Path> findPartFiles(String outputPath) throws IOException {
+        Path target = Paths.get(outputPath).toAbsolutePath();
+        Path directory = target.getParent();
+        String prefix = target.getFileName() + PART_MARKER;
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Consolidates all part files found for the output path.
+     *
+     * @param headerTemplate  optional header record template, e.g. {@code HDR{date}{fileName:20}}
+     * @param trailerTemplate optional trailer record template, e.g. {@code TRL{recordCount:10}{hashTotal:18}}
+     * @param hashTotalStart  1-based start column of the field summed into {@code hashTotal}; 0 for none
+     * @param hashTotalLength length of the hash total field
+     */
+    public ConsolidationResult consolidate(String outputPath, String headerTemplate, String trailerTemplate,
+                                           int hashTotalStart, int hashTotalLength) throws IOException {
+        List<Path> parts = findPartFiles(outputPath);
+        if (parts.isEmpty()) {
+            throw new IllegalStateException("No part files found for " + outputPath);
+        }
+        return consolidate(outputPath, parts, headerTemplate, trailerTemplate, hashTotalStart, hashTotalLength);
+    }
+
+    /**
+     * Consolidates the given part files, in the given order, into the output path and
+     * deletes the parts afterwards. Record counts and hash totals for the header/trailer
+     * are computed from the parts.
+     */
+    public ConsolidationResult consolidate(String outputPath, List<Path> parts, String headerTemplate,
+                                           String trailerTemplate, int hashTotalStart,
+                                           int hashTotalLength) throws IOException {
+        Path target = Paths.get(outputPath);
+        if (parts.stream().anyMatch(p -> p.toAbsolutePath().equals(target.toAbsolutePath()))) {
+            throw new IllegalArgumentException("Output file cannot be one of its own parts: " + outputPath);
+        }
+
+        log.info("Consolidating {} part files into {}", parts.size(), outputPath);
+        return PartFileConsolidator.consolidate(ConsolidationRequest.builder()
+                .target(target)
+                .parts(parts)
+                .headerTemplate(headerTemplate)
+                .trailerTemplate(trailerTemplate)
+                .hashTotalStart(hashTotalStart)
+                .hashTotalLength(hashTotalLength)
+                .attributes(Map.of())
+                .build());
+    }
+}
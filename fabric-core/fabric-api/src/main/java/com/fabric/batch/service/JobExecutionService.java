@@ -476,7 +476,8 @@ public class JobExecutionService {
                             batchConfigId,
                             masterQuerySql,
                             executionParameters,
-                            result.getExecutionId()
+                            result.getExecutionId(),
+                            this::reportBatchProgress
                     );
 
             log.info("Batch module returned status: {} [execution: {}]",
@@ -576,6 +577,19 @@ public class JobExecutionService {
         executionRepository.updateExecutionStatus(executionId, status, null);
     }
 
+    /**
+     * Persists incremental counters reported by the streaming batch execution.
+     * Failures are logged only; progress tracking must never abort the running job.
+     */
+    private void reportBatchProgress(String executionId, long recordsProcessed, long recordsSuccess, long recordsError) {
+        try {
+            executionRepository.updateExecutionProgress(executionId, recordsProcessed, recordsSuccess, recordsError);
+            log.debug("Execution {} progress: {} records processed", executionId, recordsProcessed);
+        } catch (Exception e) {
+            log.warn("Failed to update progress for execution {}: {}", executionId, e.getMessage());
+        }
+    }
+
     private String getStackTrace(Exception e) {
         try {
             java.io.StringWriter sw = new java.io.StringWriter();
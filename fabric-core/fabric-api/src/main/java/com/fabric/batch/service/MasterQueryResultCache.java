@@ -0,0 +1,267 @@
+package com.fabric.batch.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * =========================================================================
+ * MASTER QUERY RESULT CACHE
+ * =========================================================================
+ *
+ * Purpose: Keep repeated master query executions, column metadata lookups and row count
+ * estimates off the read-only database while users iterate on the same query
+ * - Keys combine the kind of lookup, a SHA-256 of the normalized SQL, the bound
+ *   parameters (sorted by name) and the user role
+ * - Size-bounded LRU eviction with a TTL per kind of lookup
+ * - Cleared whenever a master query configuration is created, updated or deleted
+ * - Hit, miss, eviction and invalidation counters with hit ratio
+ *
+ * SQL normalization only collapses whitespace outside string literals and drops a trailing
+ * semicolon, so queries that differ only in layout share an entry while literal values and
+ * identifier case are kept as written.
+ *
+ * A load that started before an invalidation is returned to its caller but not cached,
+ * so a configuration change is never masked by a result computed against the old one.
+ *
+ * @since Phase 1 - Master Query Integration
+ * =========================================================================
+ */
+@Component
+@Slf4j
+public class MasterQueryResultCache {
+
+    /**
+     * What was looked up; each kind has its own TTL.
+     */
+    public enum Kind {
+        RESULT,
+        COLUMN_METADATA,
+        ROW_COUNT
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Map<Kind, Long> ttlNanos = new EnumMap<>(Kind.class);
+    private final LongSupplier nanoClock;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<Kind, LongAdder> hits = new EnumMap<>(Kind.class);
+    private final Map<Kind, LongAdder> misses = new EnumMap<>(Kind.class);
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public MasterQueryResultCache(
+            @Value("${fabric.master-query.cache.enabled:true}") boolean enabled,
+            @Value("${fabric.master-query.cache.max-entries:500}") int maxEntries,
+            @Value("${fabric.master-query.cache.result-ttl-seconds:60}") long resultTtlSeconds,
+            @Value("${fabric.master-query.cache.metadata-ttl-seconds:600}") long metadataTtlSeconds,
+            @Value("${fabric.master-query.cache.row-count-ttl-seconds:300}") long rowCountTtlSeconds) {
+        this(enabled, maxEntries, resultTtlSeconds, metadataTtlSeconds, rowCountTtlSeconds, System::nanoTime);
+    }
+
+    MasterQueryResultCache(boolean enabled, int maxEntries, long resultTtlSeconds, long metadataTtlSeconds,
+                           long rowCountTtlSeconds, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos.put(Kind.RESULT, TimeUnit.SECONDS.toNanos(resultTtlSeconds));
+        this.ttlNanos.put(Kind.COLUMN_METADATA, TimeUnit.SECONDS.toNanos(metadataTtlSeconds));
+        this.ttlNanos.put(Kind.ROW_COUNT, TimeUnit.SECONDS.toNanos(rowCountTtlSeconds));
+        this.nanoClock = nanoClock;
+        for (Kind kind : Kind.values()) {
+            hits.put(kind, new LongAdder());
+            misses.put(kind, new LongAdder());
+        }
+    }
+
+    /**
+     * Return the cached value for the lookup, or load and cache it.
+     * A null value from the loader is returned but not cached.
+     */
+    public <T> T getOrLoad(Kind kind, String querySql, Map<String, Object> parameters, String userRole,
+                           Supplier<T> loader) {
+        return getOrLoad(kind, querySql, parameters, userRole, loader, value -> true);
+    }
+
+    /**
+     * Return the cached value for the lookup, or load it and cache it when {@code cacheable}
+     * accepts it, e.g. to keep failed executions out of the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(Kind kind, String querySql, Map<String, Object> parameters, String userRole,
+                           Supplier<T> loader, Predicate<? super T> cacheable) {
+        if (!enabled || ttlNanos.get(kind) <= 0) {
+            return loader.get();
+        }
+
+        CacheKey key = CacheKey.of(kind, querySql, parameters, userRole);
+        long now = nanoClock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAtNanos() < 0) {
+                    hits.get(kind).increment();
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            loadGeneration = generation.get();
+        }
+        misses.get(kind).increment();
+
+        // Loaded outside the lock; concurrent misses for one key may both query the database
+        T value = loader.get();
+        if (value == null || !cacheable.test(value)) {
+            return value;
+        }
+
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(key, new CacheEntry(value, nanoClock.getAsLong() + ttlNanos.get(kind)));
+                while (entries.size() > maxEntries) {
+                    var eldest = entries.entrySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop every cached entry, e.g. after a master query configuration changed.
+     */
+    public void invalidateAll(String reason) {
+        int dropped;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            dropped = entries.size();
+            entries.clear();
+        }
+        invalidations.increment();
+        log.debug("Master query result cache invalidated - Reason: {}, Entries dropped: {}", reason, dropped);
+    }
+
+    /**
+     * Hit ratio and counters per kind of lookup.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long totalHits = 0;
+        long totalMisses = 0;
+        for (Kind kind : Kind.values()) {
+            long kindHits = hits.get(kind).sum();
+            long kindMisses = misses.get(kind).sum();
+            totalHits += kindHits;
+            totalMisses += kindMisses;
+
+            Map<String, Object> kindStats = new HashMap<>();
+            kindStats.put("hits", kindHits);
+            kindStats.put("misses", kindMisses);
+            kindStats.put("hitRatio", hitRatio(kindHits, kindMisses));
+            kindStats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos.get(kind)));
+            stats.put(kind.name().toLowerCase(), kindStats);
+        }
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("enabled", enabled);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", totalHits);
+        stats.put("misses", totalMisses);
+        stats.put("hitRatio", hitRatio(totalHits, totalMisses));
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Collapse whitespace outside string literals and drop a trailing semicolon.
+     */
+    static String normalizeSql(String querySql) {
+        if (querySql == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(querySql.length());
+        boolean inLiteral = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < querySql.length(); i++) {
+            char c = querySql.charAt(i);
+            if (!inLiteral && Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                // A doubled quote inside a literal toggles twice and stays in the literal
+                inLiteral = !inLiteral;
+            }
+            normalized.append(c);
+        }
+        int end = normalized.length();
+        while (end > 0 && (normalized.charAt(end - 1) == ';' || normalized.charAt(end - 1) == ' ')) {
+            end--;
+        }
+        normalized.setLength(end);
+        return normalized.toString();
+    }
+
+    static String hashSql(String querySql) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalizeSql(querySql).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CacheKey(Kind kind, String sqlHash, Map<String, String> parameters, String userRole) {
+
+        static CacheKey of(Kind kind, String querySql, Map<String, Object> parameters, String userRole) {
+            // Values are compared by type and text so that 1 and "1" bind differently
+            Map<String, String> boundParameters = new TreeMap<>();
+            if (parameters != null) {
+                parameters.forEach((name, value) -> boundParameters.put(name, value == null ? null
+                        : value.getClass().getName() + ":" + value));
+            }
+            return new CacheKey(kind, hashSql(querySql), boundParameters, Objects.toString(userRole, ""));
+        }
+    }
+
+    private record CacheEntry(Object value, long expiresAtNanos) {
+    }
+}
@@ -2,11 +2,16 @@ package com.fabric.batch.service;
 
 import com.fabric.batch.dto.*;
 import com.fabric.batch.repository.MasterQueryRepository;
+import com.fabric.batch.repository.QueryCancellation;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -50,6 +55,11 @@ public class MasterQueryService {
 
     private final MasterQueryRepository masterQueryRepository;
     private final MasterQueryValidationService validationService;
+    private final MasterQueryResultCache resultCache;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${fabric.master-query.stream.max-rows:50000}")
+    private int streamMaxRows;
     
     private static final String AUDIT_LOGGER_NAME = "AUDIT.MasterQueryService";
     private final org.slf4j.Logger auditLogger = org.slf4j.LoggerFactory.getLogger(AUDIT_LOGGER_NAME);
@@ -75,15 +85,28 @@ public class MasterQueryService {
             // 2. Apply business rules and security policies
             applyBusinessRules(request, userRole, correlationId);
             
-            // 3. Execute query through repository
-            MasterQueryResponse response = masterQueryRepository.executeQuery(
-                request.getMasterQueryId(),
+            // 3. Execute query through repository, or reuse a recent result for the same SQL, parameters and role
+            MasterQueryResponse response = resultCache.getOrLoad(
+                MasterQueryResultCache.Kind.RESULT,
                 request.getQuerySql(),
                 request.getQueryParameters(),
                 userRole,
-                correlationId
+                () -> masterQueryRepository.executeQuery(
+                    request.getMasterQueryId(),
+                    request.getQuerySql(),
+                    request.getQueryParameters(),
+                    userRole,
+                    correlationId
+                ),
+                MasterQueryResponse::isSuccessful
             );
-            
+
+            // Post-processing below sets per-request fields, so never hand out the cached instance
+            response = response.toBuilder().build();
+            if (!correlationId.equals(response.getCorrelationId())) {
+                markCacheHit(response, request, correlationId);
+            }
+
             // 4. Post-process results
             response = postProcessResults(response, request, userRole, correlationId);
             
@@ -105,6 +128,79 @@ public class MasterQueryService {
         }
     }
 
+    /**
+     * Validate a request for streamed execution. Runs before the response is committed,
+     * so a rejected request still gets a proper status code.
+     * 
+     * @param request Master query execution request
+     * @param userRole User role for authorization
+     * @param maxRows Requested row limit, or null for the configured maximum
+     * @return Correlation ID for the streamed execution
+     */
+    public String prepareStreamedQuery(MasterQueryRequest request, String userRole, Integer maxRows) {
+        String correlationId = generateCorrelationId();
+        validateQueryRequest(request, userRole, correlationId);
+        applyBusinessRules(request, userRole, correlationId);
+        resolveStreamRowLimit(maxRows);
+        return correlationId;
+    }
+
+    /**
+     * Execute a master query and write its rows to the output stream as they are fetched.
+     * Failures after the response has started are reported in-band by the writer; a query
+     * cancelled because the client went away writes nothing further.
+     * 
+     * @param request Master query execution request, already checked by {@link #prepareStreamedQuery}
+     * @param userRole User role for authorization
+     * @param correlationId Correlation ID returned by {@link #prepareStreamedQuery}
+     * @param maxRows Requested row limit, or null for the configured maximum
+     * @param format Wire format
+     * @param compact Whether rows are written as value arrays instead of objects
+     * @param cancellation Handle through which the query may be cancelled
+     * @param outputStream Response body
+     */
+    public void streamQuery(MasterQueryRequest request, String userRole, String correlationId, Integer maxRows,
+                            MasterQueryStreamWriter.Format format, boolean compact,
+                            QueryCancellation cancellation, OutputStream outputStream) throws IOException {
+        MDC.put("correlationId", correlationId);
+        MasterQueryStreamWriter writer = new MasterQueryStreamWriter(
+                objectMapper, outputStream, format, compact, correlationId);
+        
+        try {
+            log.info("Processing streamed master query execution - ID: {}, User: {}, Format: {}, Correlation: {}", 
+                    request.getMasterQueryId(), userRole, format, correlationId);
+            
+            long rowCount = masterQueryRepository.streamQuery(
+                request.getMasterQueryId(),
+                request.getQuerySql(),
+                request.getQueryParameters(),
+                userRole,
+                correlationId,
+                resolveStreamRowLimit(maxRows),
+                cancellation,
+                writer
+            );
+            
+            auditLogger.info("Streamed master query execution completed - ID: {}, Rows: {}, User: {}, Correlation: {}", 
+                           request.getMasterQueryId(), rowCount, userRole, correlationId);
+            
+        } catch (MasterQueryRepository.QueryExecutionException e) {
+            auditLogger.error("Streamed master query execution failed - ID: {}, User: {}, Correlation: {}, Error: {}", 
+                            request.getMasterQueryId(), userRole, correlationId, e.getErrorCode());
+            if (!cancellation.isCancelled()) {
+                writer.error(e.getErrorCode(), e.getMessage());
+            }
+            
+        } catch (MasterQueryRepository.QuerySecurityException e) {
+            auditLogger.error("Streamed master query rejected - ID: {}, User: {}, Correlation: {}, Error: {}", 
+                            request.getMasterQueryId(), userRole, correlationId, e.getMessage());
+            writer.error("SECURITY_VIOLATION", e.getMessage());
+            
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+
     /**
      * Validate a master query without executing it.
      * 
@@ -175,10 +271,52 @@ public class MasterQueryService {
                 throw new IllegalArgumentException("Query SQL is required for metadata extraction");
             }
             
-            return masterQueryRepository.getQueryColumnMetadata(
+            return resultCache.getOrLoad(
+                MasterQueryResultCache.Kind.COLUMN_METADATA,
                 request.getQuerySql(),
                 request.getQueryParameters(),
-                correlationId
+                userRole,
+                () -> masterQueryRepository.getQueryColumnMetadata(
+                    request.getQuerySql(),
+                    request.getQueryParameters(),
+                    correlationId
+                )
+            );
+            
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+
+    /**
+     * Estimate the number of rows a query would return.
+     * 
+     * @param request Master query request
+     * @param userRole User role for authorization
+     * @return Estimated row count
+     */
+    public Long estimateQueryRowCount(MasterQueryRequest request, String userRole) {
+        String correlationId = generateCorrelationId();
+        MDC.put("correlationId", correlationId);
+        
+        try {
+            log.info("Estimating row count for query - ID: {}, User: {}, Correlation: {}", 
+                    request.getMasterQueryId(), userRole, correlationId);
+            
+            if (request.getQuerySql() == null || request.getQuerySql().trim().isEmpty()) {
+                throw new IllegalArgumentException("Query SQL is required for row count estimation");
+            }
+            
+            return resultCache.getOrLoad(
+                MasterQueryResultCache.Kind.ROW_COUNT,
+                request.getQuerySql(),
+                request.getQueryParameters(),
+                userRole,
+                () -> masterQueryRepository.estimateQueryRowCount(
+                    request.getQuerySql(),
+                    request.getQueryParameters(),
+                    correlationId
+                )
             );
             
         } finally {
@@ -231,7 +369,10 @@ public class MasterQueryService {
                 throw new IllegalArgumentException("Statistics period cannot exceed 90 days in the past");
             }
             
-            return masterQueryRepository.getExecutionStatistics(startTime, endTime, correlationId);
+            Map<String, Object> statistics = new HashMap<>(
+                masterQueryRepository.getExecutionStatistics(startTime, endTime, correlationId));
+            statistics.put("resultCache", resultCache.getStatistics());
+            return statistics;
             
         } finally {
             MDC.remove("correlationId");
@@ -530,6 +671,23 @@ public class MasterQueryService {
         return response;
     }
 
+    /**
+     * Re-stamp a cached response for the current request, keeping a pointer to the execution it came from.
+     */
+    private void markCacheHit(MasterQueryResponse response, MasterQueryRequest request, String correlationId) {
+        Map<String, Object> performanceMetrics = response.getPerformanceMetrics() != null
+            ? new HashMap<>(response.getPerformanceMetrics()) : new HashMap<>();
+        performanceMetrics.put("resultCacheHit", true);
+        performanceMetrics.put("cachedCorrelationId", response.getCorrelationId());
+        performanceMetrics.put("cachedAt", response.getExecutionEndTime());
+        response.setPerformanceMetrics(performanceMetrics);
+        response.setMasterQueryId(request.getMasterQueryId());
+        response.setCorrelationId(correlationId);
+        
+        log.debug("Serving master query from result cache - ID: {}, Cached correlation: {}, Correlation: {}", 
+                 request.getMasterQueryId(), performanceMetrics.get("cachedCorrelationId"), correlationId);
+    }
+
     /**
      * Build error response for failed query executions.
      */
@@ -560,6 +718,19 @@ public class MasterQueryService {
             .build();
     }
 
+    /**
+     * Resolve the row limit of a streamed execution against the configured maximum.
+     */
+    private int resolveStreamRowLimit(Integer maxRows) {
+        if (maxRows == null) {
+            return streamMaxRows;
+        }
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("Maximum rows must be at least 1");
+        }
+        return Math.min(maxRows, streamMaxRows);
+    }
+
     /**
      * Generate unique correlation ID for audit trail.
      */
@@ -635,6 +806,7 @@ public class MasterQueryService {
                 extractUsernameFromRole(userRole),
                 correlationId
             );
+            resultCache.invalidateAll("master query created: " + created.getId());
             
             // 5. Audit successful creation
             auditLogger.info("Master query created successfully - ID: {}, Name: {}, System: {}, User: {}, Correlation: {}, Justification: {}", 
@@ -726,6 +898,7 @@ public class MasterQueryService {
                 request.isMajorChange(),
                 correlationId
             );
+            resultCache.invalidateAll("master query updated: " + updated.getId());
             
             // 6. Audit successful update
             auditLogger.info("Master query updated successfully - ID: {}, Version: {} -> {}, Fields: {}, User: {}, Correlation: {}, Justification: {}", 
@@ -795,6 +968,7 @@ public class MasterQueryService {
             if (!deleted) {
                 throw new RuntimeException("Failed to delete master query - repository operation failed");
             }
+            resultCache.invalidateAll("master query deleted: " + id);
             
             // 5. Audit successful deletion
             auditLogger.info("Master query soft deleted - ID: {}, Name: {}, System: {}, User: {}, Correlation: {}, Justification: {}", 
@@ -0,0 +1,182 @@
+package com.fabric.batch.service;
+
+import com.fabric.batch.repository.MasterQueryRowSink;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes streamed master query results to an HTTP response body as they arrive.
+ *
+ * Two wire formats are supported:
+ * - NDJSON: a {"columns": [...]} line, one line per row, then a {"summary": {...}} line
+ * - JSON: a single {"columns": [...], "rows": [...], "summary": {...}} document, written incrementally
+ *
+ * In compact mode rows are arrays of values in column order instead of objects keyed by
+ * column label, which keeps wide results from repeating every label on every row.
+ * Output is flushed every {@link #FLUSH_INTERVAL_ROWS} rows so clients see rows while the
+ * query is still running.
+ */
+public class MasterQueryStreamWriter implements MasterQueryRowSink {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        JSON("application/json");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public static Format fromParameter(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unsupported stream format: " + value
+                        + " (expected ndjson or json)");
+            }
+        }
+    }
+
+    static final int FLUSH_INTERVAL_ROWS = 256;
+
+    private final JsonGenerator generator;
+    private final Format format;
+    private final boolean compact;
+    private final String correlationId;
+    private String[] columnLabels;
+    private long rowsSinceFlush;
+
+    public MasterQueryStreamWriter(ObjectMapper objectMapper, OutputStream outputStream,
+                                   Format format, boolean compact, String correlationId) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        // The controller owns the response stream; lines are separated explicitly, not by Jackson
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.format = format;
+        this.compact = compact;
+        this.correlationId = correlationId;
+    }
+
+    @Override
+    public void start(List<Map<String, Object>> columnMetadata, String[] columnLabels) throws IOException {
+        this.columnLabels = columnLabels.clone();
+
+        generator.writeStartObject();
+        generator.writeStringField("correlationId", correlationId);
+        generator.writeBooleanField("compact", compact);
+        generator.writeFieldName("columns");
+        generator.writeObject(columnMetadata);
+        if (format == Format.NDJSON) {
+            generator.writeEndObject();
+            endLine();
+        } else {
+            generator.writeArrayFieldStart("rows");
+        }
+        generator.flush();
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        if (compact) {
+            generator.writeStartArray();
+            for (Object value : values) {
+                generator.writeObject(value);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columnLabels[i]);
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+        }
+        if (format == Format.NDJSON) {
+            endLine();
+        }
+
+        if (++rowsSinceFlush >= FLUSH_INTERVAL_ROWS) {
+            rowsSinceFlush = 0;
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void finish(long rowCount, boolean truncated) throws IOException {
+        if (format == Format.NDJSON) {
+            generator.writeStartObject();
+        } else {
+            generator.writeEndArray();
+        }
+        generator.writeObjectFieldStart("summary");
+        generator.writeStringField("executionStatus", "SUCCESS");
+        generator.writeNumberField("rowCount", rowCount);
+        generator.writeBooleanField("truncated", truncated);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        if (format == Format.NDJSON) {
+            endLine();
+        }
+        generator.flush();
+    }
+
+    /**
+     * Report a failure after the response has started. For NDJSON this is a final
+     * {"error": {...}} line; a JSON document is closed with an "error" member so it stays parseable.
+     */
+    public void error(String errorCode, String errorMessage) throws IOException {
+        if (format == Format.JSON) {
+            // Close whatever is open down to the document object
+            while (!generator.getOutputContext().inRoot()
+                    && !generator.getOutputContext().getParent().inRoot()) {
+                closeCurrent();
+            }
+            if (generator.getOutputContext().inRoot()) {
+                generator.writeStartObject();
+                generator.writeStringField("correlationId", correlationId);
+            }
+        } else {
+            if (!generator.getOutputContext().inRoot()) {
+                // Failed half way through a line
+                while (!generator.getOutputContext().inRoot()) {
+                    closeCurrent();
+                }
+                endLine();
+            }
+            generator.writeStartObject();
+        }
+        generator.writeObjectFieldStart("error");
+        generator.writeStringField("errorCode", errorCode);
+        generator.writeStringField("errorMessage", errorMessage);
+        generator.writeStringField("correlationId", correlationId);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        if (format == Format.NDJSON) {
+            endLine();
+        }
+        generator.flush();
+    }
+
+    private void closeCurrent() throws IOException {
+        if (generator.getOutputContext().inArray()) {
+            generator.writeEndArray();
+        } else {
+            generator.writeEndObject();
+        }
+    }
+
+    private void endLine() throws IOException {
+        generator.writeRaw('\n');
+    }
+}
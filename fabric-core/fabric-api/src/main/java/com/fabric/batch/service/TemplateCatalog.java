@@ -0,0 +1,300 @@
+package com.fabric.batch.service;
+
+import com.fabric.batch.entity.FieldTemplateEntity;
+import com.fabric.batch.entity.FileTypeTemplateEntity;
+import com.fabric.batch.repository.FieldTemplateRepository;
+import com.fabric.batch.repository.FileTypeTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, read-mostly copy of the file type and field template catalogs.
+ *
+ * Readers get an immutable {@link Snapshot} that is swapped atomically when the catalog is
+ * reloaded; the entities it returns are copies. Template writes through
+ * {@link com.fabric.batch.service.impl.TemplateServiceImpl} invalidate the snapshot, again
+ * once the surrounding transaction has completed, so the next read reloads it from
+ * committed data. Changes made by other nodes are picked up by
+ * comparing a cheap change marker (row count and latest modification time) at most once
+ * per poll interval.
+ *
+ * When the catalog cannot be loaded, {@link #snapshot()} is empty and callers read the
+ * repositories directly, as they did before the catalog existed.
+ */
+@Component
+@Slf4j
+public class TemplateCatalog {
+
+    private static final long DEFAULT_FAILURE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final FileTypeTemplateRepository fileTypeTemplateRepository;
+    private final FieldTemplateRepository fieldTemplateRepository;
+    private final boolean enabled;
+    private final long pollIntervalNanos;
+    private final long failureBackoffNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private volatile long snapshotInvalidation = -1;
+    private volatile long lastCheckNanos;
+    private volatile long lastFailureNanos;
+    private volatile boolean failed;
+
+    public TemplateCatalog(
+            FileTypeTemplateRepository fileTypeTemplateRepository,
+            FieldTemplateRepository fieldTemplateRepository,
+            @Value("${fabric.templates.catalog.enabled:true}") boolean enabled,
+            @Value("${fabric.templates.catalog.poll-interval-seconds:30}") long pollIntervalSeconds) {
+        this(fileTypeTemplateRepository, fieldTemplateRepository, enabled, pollIntervalSeconds, System::nanoTime);
+    }
+
+    TemplateCatalog(FileTypeTemplateRepository fileTypeTemplateRepository,
+                    FieldTemplateRepository fieldTemplateRepository,
+                    boolean enabled, long pollIntervalSeconds, LongSupplier nanoClock) {
+        this.fileTypeTemplateRepository = fileTypeTemplateRepository;
+        this.fieldTemplateRepository = fieldTemplateRepository;
+        this.enabled = enabled;
+        this.pollIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, pollIntervalSeconds));
+        this.failureBackoffNanos = pollIntervalNanos > 0 ? pollIntervalNanos : DEFAULT_FAILURE_BACKOFF_NANOS;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * The current catalog, reloading it first if it was invalidated or changed on another node.
+     *
+     * @return the catalog, or empty when it is disabled or could not be loaded
+     */
+    public Optional<Snapshot> snapshot() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long now = nanoClock.getAsLong();
+        if (needsReload()) {
+            if (inFailureBackoff(now)) {
+                // Don't retry a failed load on every request
+                return Optional.empty();
+            }
+            reloadLock.lock();
+            try {
+                if (needsReload() && !inFailureBackoff(now)) {
+                    reload(snapshot == null ? "initial load" : failed ? "retry after failure" : "invalidated");
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        } else if (pollIntervalNanos > 0 && now - lastCheckNanos >= pollIntervalNanos && reloadLock.tryLock()) {
+            // Only one reader checks the marker; the others keep using the current snapshot
+            try {
+                if (now - lastCheckNanos >= pollIntervalNanos) {
+                    lastCheckNanos = now;
+                    checkForChanges(snapshot);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return needsReload() ? Optional.empty() : Optional.of(snapshot);
+    }
+
+    /**
+     * Mark the catalog stale after a template write. Inside a transaction the catalog is
+     * marked stale again once it completes, so a reload cannot keep pre-commit data.
+     */
+    public void invalidate(String reason) {
+        invalidations.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                }
+            });
+        }
+        log.debug("Template catalog invalidated - {}", reason);
+    }
+
+    private boolean needsReload() {
+        return snapshot == null || failed || snapshotInvalidation != invalidations.get();
+    }
+
+    private boolean inFailureBackoff(long now) {
+        return failed && now - lastFailureNanos < failureBackoffNanos;
+    }
+
+    private void checkForChanges(Snapshot current) {
+        try {
+            String marker = readChangeMarker();
+            if (!marker.equals(current.changeMarker())) {
+                reload("changed on another node");
+            }
+        } catch (Exception e) {
+            log.warn("Template catalog change check failed, keeping version {}: {}", current.version(), e.getMessage());
+        }
+    }
+
+    private void reload(String reason) {
+        long invalidation = invalidations.get();
+        long started = nanoClock.getAsLong();
+        try {
+            // Read the marker first, so changes made during the load are seen by the next check
+            String marker = readChangeMarker();
+            List<FileTypeTemplateEntity> fileTypes = fileTypeTemplateRepository.findAllEnabled();
+            List<FieldTemplateEntity> fields =
+                    fieldTemplateRepository.findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition();
+
+            long version = snapshot != null ? snapshot.version() + 1 : 1;
+            snapshot = Snapshot.of(version, marker, fileTypes, fields);
+            snapshotInvalidation = invalidation;
+            lastCheckNanos = started;
+            failed = false;
+            log.info("Template catalog loaded - Version: {}, File types: {}, Field templates: {}, Reason: {}, Took: {} ms",
+                    version, fileTypes.size(), fields.size(), reason,
+                    TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - started));
+        } catch (Exception e) {
+            failed = true;
+            lastFailureNanos = started;
+            log.warn("Template catalog could not be loaded, reading templates from the database: {}", e.getMessage());
+        }
+    }
+
+    private String readChangeMarker() {
+        return fileTypeTemplateRepository.findChangeMarker() + "/" + fieldTemplateRepository.findChangeMarker();
+    }
+
+    /**
+     * Immutable view of the catalog at one point in time. The snapshot is shared between
+     * readers, so every entity it returns is a copy the caller may modify.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final String changeMarker;
+        private final LocalDateTime loadedAt;
+        private final List<FileTypeTemplateEntity> fileTypes;
+        private final Map<String, FileTypeTemplateEntity> fileTypesByName;
+        private final Map<String, List<String>> transactionTypesByFileType;
+        private final Map<String, Map<String, List<FieldTemplateEntity>>> fieldsByFileType;
+
+        private Snapshot(long version, String changeMarker, List<FileTypeTemplateEntity> fileTypes,
+                         Map<String, FileTypeTemplateEntity> fileTypesByName,
+                         Map<String, List<String>> transactionTypesByFileType,
+                         Map<String, Map<String, List<FieldTemplateEntity>>> fieldsByFileType) {
+            this.version = version;
+            this.changeMarker = changeMarker;
+            this.loadedAt = LocalDateTime.now();
+            this.fileTypes = fileTypes;
+            this.fileTypesByName = fileTypesByName;
+            this.transactionTypesByFileType = transactionTypesByFileType;
+            this.fieldsByFileType = fieldsByFileType;
+        }
+
+        static Snapshot of(long version, String changeMarker, List<FileTypeTemplateEntity> fileTypes,
+                           List<FieldTemplateEntity> fields) {
+            // Private copies, so callers holding the loaded entities cannot change the snapshot
+            List<FileTypeTemplateEntity> ownFileTypes = fileTypes.stream().map(Snapshot::copy).toList();
+            Map<String, FileTypeTemplateEntity> byName = new HashMap<>();
+            for (FileTypeTemplateEntity fileType : ownFileTypes) {
+                if (fileType.getFileType() != null) {
+                    byName.putIfAbsent(fileType.getFileType(), fileType);
+                }
+            }
+
+            // Rows arrive ordered by file type, transaction type and position
+            Map<String, Map<String, List<FieldTemplateEntity>>> grouped = new HashMap<>();
+            Map<String, TreeSet<String>> transactionTypes = new HashMap<>();
+            for (FieldTemplateEntity field : fields) {
+                if (field.getFileType() == null || field.getTransactionType() == null) {
+                    // Never matched by the per file type and transaction type queries either
+                    continue;
+                }
+                grouped.computeIfAbsent(field.getFileType(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(field.getTransactionType(), k -> new ArrayList<>())
+                        .add(copy(field));
+                // Transaction types only count explicitly enabled rows, as in the repository query
+                if ("Y".equals(field.getEnabled())) {
+                    transactionTypes.computeIfAbsent(field.getFileType(), k -> new TreeSet<>())
+                            .add(field.getTransactionType());
+                }
+            }
+
+            Map<String, Map<String, List<FieldTemplateEntity>>> fieldsByFileType = new HashMap<>();
+            grouped.forEach((fileType, byTransactionType) -> {
+                Map<String, List<FieldTemplateEntity>> copy = new HashMap<>();
+                byTransactionType.forEach((transactionType, list) -> copy.put(transactionType, List.copyOf(list)));
+                fieldsByFileType.put(fileType, copy);
+            });
+            Map<String, List<String>> transactionTypesByFileType = new HashMap<>();
+            transactionTypes.forEach((fileType, types) -> transactionTypesByFileType.put(fileType, List.copyOf(types)));
+
+            return new Snapshot(version, changeMarker, ownFileTypes, Map.copyOf(byName),
+                    Map.copyOf(transactionTypesByFileType), Map.copyOf(fieldsByFileType));
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public String changeMarker() {
+            return changeMarker;
+        }
+
+        public LocalDateTime loadedAt() {
+            return loadedAt;
+        }
+
+        public List<FileTypeTemplateEntity> getFileTypes() {
+            return fileTypes.stream().map(Snapshot::copy).collect(Collectors.toList());
+        }
+
+        public Optional<FileTypeTemplateEntity> getFileType(String fileType) {
+            return Optional.ofNullable(fileType == null ? null : fileTypesByName.get(fileType)).map(Snapshot::copy);
+        }
+
+        public List<String> getTransactionTypes(String fileType) {
+            return fileType == null ? List.of() : transactionTypesByFileType.getOrDefault(fileType, List.of());
+        }
+
+        public List<FieldTemplateEntity> getFields(String fileType, String transactionType) {
+            Map<String, List<FieldTemplateEntity>> byTransactionType =
+                    fileType == null ? null : fieldsByFileType.get(fileType);
+            if (byTransactionType == null || transactionType == null) {
+                return new ArrayList<>();
+            }
+            return byTransactionType.getOrDefault(transactionType, List.of()).stream()
+                    .map(Snapshot::copy)
+                    .collect(Collectors.toList());
+        }
+
+        private static FileTypeTemplateEntity copy(FileTypeTemplateEntity entity) {
+            FileTypeTemplateEntity copy = new FileTypeTemplateEntity();
+            BeanUtils.copyProperties(entity, copy);
+            return copy;
+        }
+
+        private static FieldTemplateEntity copy(FieldTemplateEntity entity) {
+            FieldTemplateEntity copy = new FieldTemplateEntity();
+            BeanUtils.copyProperties(entity, copy);
+            return copy;
+        }
+    }
+}
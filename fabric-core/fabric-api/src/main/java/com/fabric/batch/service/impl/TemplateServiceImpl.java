@@ -1,10 +1,12 @@
 package com.fabric.batch.service.impl;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,14 +14,24 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 //Apache POI imports for Excel processing
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 //Spring transaction support
@@ -27,6 +39,8 @@ import org.springframework.transaction.annotation.Transactional;
 // JPA dependencies removed - now using JdbcTemplate
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import com.fabric.batch.entity.FieldTemplateEntity;
 import com.fabric.batch.entity.FileTypeTemplateEntity;
@@ -40,6 +54,7 @@ import com.fabric.batch.model.ValidationResult;
 import com.fabric.batch.repository.FieldTemplateRepository;
 import com.fabric.batch.repository.FileTypeTemplateRepository;
 import com.fabric.batch.service.AuditService;
+import com.fabric.batch.service.TemplateCatalog;
 import com.fabric.batch.service.TemplateService;
 import com.fabric.batch.service.TemplateSourceMappingService;
 import com.fabric.batch.dto.TemplateSourceMappingResponse;
@@ -56,6 +71,10 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class TemplateServiceImpl implements TemplateService {
 
+	// Expected column headers for template import
+	private static final String[] EXCEL_HEADERS = { "Field Name", "Target Position", "Length", "Data Type", "Format",
+			"Required", "Description", "Transaction Type" };
+
 	@Autowired
 	private FieldTemplateRepository fieldTemplateRepository;
 
@@ -203,6 +222,10 @@ public class TemplateServiceImpl implements TemplateService {
 	@Autowired
 	private TemplateSourceMappingService templateSourceMappingService;
 
+	// Read paths are served from memory; every template write below invalidates it
+	@Autowired
+	private TemplateCatalog templateCatalog;
+
 	// Constructor to verify injection
 	public TemplateServiceImpl(FieldTemplateRepository fieldTemplateRepository,
 			FileTypeTemplateRepository fileTypeTemplateRepository,
@@ -216,13 +239,18 @@ public class TemplateServiceImpl implements TemplateService {
 
 	@Override
 	public List<FileTypeTemplate> getAllFileTypes() {
-		return fileTypeTemplateRepository.findAllEnabled().stream().map(this::convertToFileTypeTemplate)
+		List<FileTypeTemplateEntity> entities = templateCatalog.snapshot()
+				.map(TemplateCatalog.Snapshot::getFileTypes)
+				.orElseGet(fileTypeTemplateRepository::findAllEnabled);
+		return entities.stream().map(this::convertToFileTypeTemplate)
 				.collect(Collectors.toList());
 	}
 
 	@Override
 	public Optional<FileTypeTemplate> getFileTypeTemplate(String fileType) {
-		Optional<FileTypeTemplateEntity> entity = fileTypeTemplateRepository.findByFileTypeAndEnabled(fileType, "Y");
+		Optional<FileTypeTemplateEntity> entity = templateCatalog.snapshot()
+				.map(catalog -> catalog.getFileType(fileType))
+				.orElseGet(() -> fileTypeTemplateRepository.findByFileTypeAndEnabled(fileType, "Y"));
 		if (entity.isPresent()) {
 			FileTypeTemplate template = convertToFileTypeTemplate(entity.get());
 			// Get all transaction types for this file type
@@ -242,8 +270,11 @@ public class TemplateServiceImpl implements TemplateService {
 		log.debug("Getting field templates for fileType: {}, transactionType: {}", fileType, transactionType);
 
 		try {
-			List<FieldTemplateEntity> entities = fieldTemplateRepository
-					.findByFileTypeAndTransactionTypeAndEnabledOrderByTargetPosition(fileType, transactionType, "Y");
+			List<FieldTemplateEntity> entities = templateCatalog.snapshot()
+					.map(catalog -> catalog.getFields(fileType, transactionType))
+					.orElseGet(() -> fieldTemplateRepository
+							.findByFileTypeAndTransactionTypeAndEnabledOrderByTargetPosition(fileType, transactionType,
+									"Y"));
 
 			log.debug("Found {} field template entities for {}/{}", entities.size(), fileType, transactionType);
 
@@ -271,7 +302,9 @@ public class TemplateServiceImpl implements TemplateService {
 
 	@Override
 	public List<String> getTransactionTypesByFileType(String fileType) {
-		return fieldTemplateRepository.findTransactionTypesByFileType(fileType);
+		return templateCatalog.snapshot()
+				.map(catalog -> catalog.getTransactionTypes(fileType))
+				.orElseGet(() -> fieldTemplateRepository.findTransactionTypesByFileType(fileType));
 	}
 
 	@Override
@@ -670,6 +703,7 @@ public class TemplateServiceImpl implements TemplateService {
 
 			if (rowsInserted > 0) {
 				log.info("✅ Successfully saved file type template: {} using JDBC", entity.getFileType());
+				templateCatalog.invalidate("file type created: " + entity.getFileType());
 
 				// Create a FileTypeTemplate to return
 				FileTypeTemplate result = new FileTypeTemplate();
@@ -702,6 +736,7 @@ public class TemplateServiceImpl implements TemplateService {
 			entity.setModifiedDate(LocalDateTime.now());
 
 			FileTypeTemplateEntity saved = fileTypeTemplateRepository.save(entity);
+			templateCatalog.invalidate("file type updated: " + saved.getFileType());
 			auditService.logUpdate(saved.getFileType(), oldTemplate, template, modifiedBy,
 					"File type template updated");
 			return convertToFileTypeTemplate(saved);
@@ -716,6 +751,7 @@ public class TemplateServiceImpl implements TemplateService {
 		if (existing.isPresent()) {
 			FileTypeTemplate template = convertToFileTypeTemplate(existing.get());
 			fileTypeTemplateRepository.deleteById(fileType);
+			templateCatalog.invalidate("file type deleted: " + fileType);
 			auditService.logDelete(fileType, template, deletedBy, "File type template deleted");
 		}
 	}
@@ -760,6 +796,7 @@ public class TemplateServiceImpl implements TemplateService {
 			if (rowsInserted > 0) {
 				log.info("Successfully created field template: {}/{}/{} using JDBC", template.getFileType(),
 						template.getTransactionType(), template.getFieldName());
+				templateCatalog.invalidate("field template created: " + template.getFileType());
 				String auditKey = template.getFileType() + "/" + template.getTransactionType() + "/"
 						+ template.getFieldName();
 				auditService.logCreate(auditKey, template, createdBy, "Field template created");
@@ -820,6 +857,7 @@ public class TemplateServiceImpl implements TemplateService {
 			if (rowsUpdated > 0) {
 				log.info("Successfully updated field template: {}/{}/{} using JDBC", template.getFileType(),
 						template.getTransactionType(), template.getFieldName());
+				templateCatalog.invalidate("field template updated: " + template.getFileType());
 				String auditKey = template.getFileType() + "/" + template.getTransactionType() + "/"
 						+ template.getFieldName();
 				auditService.logUpdate(auditKey, template, template, modifiedBy, "Field template updated");
@@ -884,49 +922,50 @@ public class TemplateServiceImpl implements TemplateService {
 	}
 
 	/**
-	 * Helper method to safely extract integer value from Excel cell
+	 * Trimmed text of a cell, or null when the row has no such cell
 	 */
-	private Integer getCellIntegerValue(Row row, int cellIndex) {
-		Cell cell = row.getCell(cellIndex);
-		if (cell == null)
+	private static String getCellText(String[] cells, int cellIndex) {
+		if (cellIndex >= cells.length || cells[cellIndex] == null) {
 			return null;
+		}
+		return cells[cellIndex].trim();
+	}
 
-		switch (cell.getCellType()) {
-			case NUMERIC:
-				return (int) cell.getNumericCellValue();
-			case STRING:
-				try {
-					return Integer.parseInt(cell.getStringCellValue().trim());
-				} catch (NumberFormatException e) {
-					throw new IllegalArgumentException(String.format("Invalid number format in cell %d: '%s'",
-							cellIndex + 1, cell.getStringCellValue()));
-				}
-			case FORMULA:
-				try {
-					return (int) cell.getNumericCellValue();
-				} catch (Exception e) {
-					throw new IllegalArgumentException(
-							String.format("Cannot evaluate formula in cell %d", cellIndex + 1));
-				}
-			default:
-				return null;
+	/**
+	 * Helper method to safely extract integer value from Excel cell text
+	 */
+	private static Integer getCellIntegerValue(String[] cells, int cellIndex) {
+		String value = getCellText(cells, cellIndex);
+		if (value == null || value.isEmpty()) {
+			return null;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			try {
+				// Numeric cells may be rendered with a fraction, e.g. "12.0"
+				return (int) Double.parseDouble(value);
+			} catch (NumberFormatException notNumeric) {
+				throw new IllegalArgumentException(
+						String.format("Invalid number format in cell %d: '%s'", cellIndex + 1, value));
+			}
 		}
 	}
 
 	/**
 	 * Parse a single Excel row into a FieldTemplate object
 	 */
-	private FieldTemplate parseFieldFromRow(Row row, String fileType, int rowNum) {
+	private FieldTemplate parseFieldFromRow(String[] cells, String fileType, int rowNum) {
 		try {
 			// Extract values from each column with validation
-			String fieldName = getCellStringValue(row, 0);
-			Integer targetPosition = getCellIntegerValue(row, 1);
-			Integer length = getCellIntegerValue(row, 2);
-			String dataType = getCellStringValue(row, 3);
-			String format = getCellStringValue(row, 4);
-			String required = getCellStringValue(row, 5);
-			String description = getCellStringValue(row, 6);
-			String transactionType = getCellStringValue(row, 7);
+			String fieldName = getCellText(cells, 0);
+			Integer targetPosition = getCellIntegerValue(cells, 1);
+			Integer length = getCellIntegerValue(cells, 2);
+			String dataType = getCellText(cells, 3);
+			String format = getCellText(cells, 4);
+			String required = getCellText(cells, 5);
+			String description = getCellText(cells, 6);
+			String transactionType = getCellText(cells, 7);
 
 			// Required field validation
 			if (fieldName == null || fieldName.trim().isEmpty()) {
@@ -1054,8 +1093,12 @@ public class TemplateServiceImpl implements TemplateService {
 	/**
 	 * Complete importFromExcel implementation - replace the TODO in
 	 * TemplateServiceImpl
+	 *
+	 * The sheet is parsed outside any transaction (.xlsx files are streamed row by
+	 * row); only the batched upsert of the parsed fields runs in one.
 	 */
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public TemplateImportResult importFromExcel(MultipartFile file, String fileType, String createdBy) {
 		log.info("Starting Excel import for file type: {} by user: {}", fileType, createdBy);
 
@@ -1079,44 +1122,28 @@ public class TemplateServiceImpl implements TemplateService {
 			return new TemplateImportResult(false, fileType, 0, 0, errors, warnings, "Invalid file format");
 		}
 
-		try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-			Sheet sheet = workbook.getSheetAt(0);
+		try {
+			ExcelFieldCollector collector = new ExcelFieldCollector(fileType);
+			try (InputStream in = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+				if (FileMagic.valueOf(in) == FileMagic.OOXML) {
+					readXlsxRows(in, collector);
+				} else {
+					readXlsRows(in, collector);
+				}
+			}
 
 			// Validate Excel structure
-			ValidationResult structureValidation = validateExcelStructure(sheet);
+			ValidationResult structureValidation = collector.structureValidation();
 			if (!structureValidation.isValid()) {
 				return new TemplateImportResult(false, fileType, 0, 0, structureValidation.getErrors(), warnings,
 						"Excel structure validation failed");
 			}
 
 			warnings.addAll(structureValidation.getWarnings());
-
-			// Parse field data
-			int totalRows = sheet.getLastRowNum();
-			log.info("Processing {} data rows for file type: {}", totalRows, fileType);
-
-			for (int rowNum = 1; rowNum <= totalRows; rowNum++) {
-				Row row = sheet.getRow(rowNum);
-				if (row == null || isEmptyRow(row)) {
-					warnings.add(String.format("Row %d is empty and will be skipped", rowNum + 1));
-					continue;
-				}
-
-				try {
-					FieldTemplate field = parseFieldFromRow(row, fileType, rowNum);
-					if (field != null) {
-						importedFields.add(field);
-					}
-
-					// Progress logging for large files
-					if (rowNum % 50 == 0) {
-						log.info("Processed {}/{} rows", rowNum, totalRows);
-					}
-
-				} catch (Exception e) {
-					errors.add(String.format("Row %d: %s", rowNum + 1, e.getMessage()));
-				}
-			}
+			warnings.addAll(collector.warnings);
+			errors.addAll(collector.errors);
+			importedFields.addAll(collector.fields);
+			log.info("Processed {} data rows for file type: {}", collector.lastRowNum, fileType);
 
 			// Validate parsed fields
 			validateFieldCollection(importedFields, errors, warnings);
@@ -1155,46 +1182,185 @@ public class TemplateServiceImpl implements TemplateService {
 	}
 
 	/**
-	 * Validate Excel file structure and headers
+	 * Stream the first sheet of an .xlsx file through the SAX event API, so only
+	 * the current row is held in memory
 	 */
-	private ValidationResult validateExcelStructure(Sheet sheet) {
-		List<String> errors = new ArrayList<>();
-		List<String> warnings = new ArrayList<>();
+	private void readXlsxRows(InputStream in, ExcelFieldCollector collector) throws Exception {
+		OPCPackage pkg = OPCPackage.open(in);
+		try {
+			XSSFReader reader = new XSSFReader(pkg);
+			ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+			XMLReader parser = XMLHelper.newXMLReader();
+			parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+					new XlsxRowHandler(collector), new RawNumberFormatter(), false));
+
+			Iterator<InputStream> sheets = reader.getSheetsData();
+			if (sheets.hasNext()) {
+				try (InputStream sheet = sheets.next()) {
+					parser.parse(new InputSource(sheet));
+				}
+			}
+		} finally {
+			// Opened read-only from a stream; nothing to write back
+			pkg.revert();
+		}
+	}
 
-		// Check if sheet has data
-		if (sheet.getLastRowNum() < 1) {
-			errors.add("Excel file must contain at least one data row (plus header row)");
-			return new ValidationResult(false, errors);
+	/**
+	 * Renders numeric .xlsx cells as their plain value rather than through the cell's number
+	 * format, so "#,##0" cells read as 1200, not "1,200", the same as the .xls path
+	 */
+	private static final class RawNumberFormatter extends DataFormatter {
+		@Override
+		public String formatRawCellContents(double value, int formatIndex, String formatString,
+				boolean use1904Windowing) {
+			return NumberToTextConverter.toText(value);
 		}
+	}
 
-		// Validate header row
-		Row headerRow = sheet.getRow(0);
-		if (headerRow == null) {
-			errors.add("Excel file must have a header row");
-			return new ValidationResult();
+	/**
+	 * Read the first sheet of a legacy .xls file
+	 */
+	private void readXlsRows(InputStream in, ExcelFieldCollector collector) throws Exception {
+		try (Workbook workbook = WorkbookFactory.create(in)) {
+			Sheet sheet = workbook.getSheetAt(0);
+			for (Row row : sheet) {
+				String[] cells = new String[EXCEL_HEADERS.length];
+				for (int i = 0; i < cells.length; i++) {
+					cells[i] = getCellStringValue(row, i);
+				}
+				collector.row(row.getRowNum(), cells);
+			}
 		}
+	}
 
-		// Expected column headers for template import
-		String[] expectedHeaders = { "Field Name", "Target Position", "Length", "Data Type", "Format", "Required",
-				"Description", "Transaction Type" };
+	/**
+	 * Validate Excel header row
+	 */
+	private ValidationResult validateExcelHeaders(String[] headerRow) {
+		List<String> errors = new ArrayList<>();
+		List<String> warnings = new ArrayList<>();
 
 		// Check each required column
-		for (int i = 0; i < expectedHeaders.length; i++) {
-			Cell cell = headerRow.getCell(i);
-			String actualHeader = cell != null ? getCellStringValue(headerRow, i) : "";
+		for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+			String actualHeader = getCellText(headerRow, i);
 
 			if (actualHeader == null || actualHeader.isEmpty()) {
-				errors.add(String.format("Column %d: Missing header (expected '%s')", i + 1, expectedHeaders[i]));
-			} else if (!expectedHeaders[i].equalsIgnoreCase(actualHeader)) {
+				errors.add(String.format("Column %d: Missing header (expected '%s')", i + 1, EXCEL_HEADERS[i]));
+			} else if (!EXCEL_HEADERS[i].equalsIgnoreCase(actualHeader)) {
 				// Flexible header matching (warn but don't fail)
 				warnings.add(String.format("Column %d: Expected '%s', found '%s' (will proceed)", i + 1,
-						expectedHeaders[i], actualHeader));
+						EXCEL_HEADERS[i], actualHeader));
 			}
 		}
 
 		return new ValidationResult(errors.isEmpty(), errors, warnings, warnings, warnings, warnings, warnings);
 	}
 
+	/**
+	 * Collects parsed fields, row errors and warnings while the sheet is read.
+	 * Rows arrive in order; row 0 is the header.
+	 */
+	private final class ExcelFieldCollector {
+		private final String fileType;
+		private final List<FieldTemplate> fields = new ArrayList<>();
+		private final List<String> errors = new ArrayList<>();
+		private final List<String> warnings = new ArrayList<>();
+		private ValidationResult headerValidation;
+		private int lastRowNum = -1;
+
+		private ExcelFieldCollector(String fileType) {
+			this.fileType = fileType;
+		}
+
+		void row(int rowNum, String[] cells) {
+			// Rows absent from the sheet are empty rows too
+			for (int missing = Math.max(lastRowNum + 1, 1); missing < rowNum; missing++) {
+				warnings.add(String.format("Row %d is empty and will be skipped", missing + 1));
+			}
+			lastRowNum = rowNum;
+
+			if (rowNum == 0) {
+				headerValidation = validateExcelHeaders(cells);
+				return;
+			}
+			if (headerValidation == null || !headerValidation.isValid()) {
+				// The import is rejected on its structure; don't parse the data rows
+				return;
+			}
+			if (isEmptyRow(cells)) {
+				warnings.add(String.format("Row %d is empty and will be skipped", rowNum + 1));
+				return;
+			}
+
+			try {
+				FieldTemplate field = parseFieldFromRow(cells, fileType, rowNum);
+				if (field != null) {
+					fields.add(field);
+				}
+
+				// Progress logging for large files
+				if (rowNum % 50 == 0) {
+					log.info("Processed {} rows", rowNum);
+				}
+
+			} catch (Exception e) {
+				errors.add(String.format("Row %d: %s", rowNum + 1, e.getMessage()));
+			}
+		}
+
+		ValidationResult structureValidation() {
+			List<String> structureErrors = new ArrayList<>();
+
+			// Check if sheet has data
+			if (lastRowNum < 1) {
+				structureErrors.add("Excel file must contain at least one data row (plus header row)");
+				return new ValidationResult(false, structureErrors);
+			}
+
+			if (headerValidation == null) {
+				structureErrors.add("Excel file must have a header row");
+				return new ValidationResult(false, structureErrors);
+			}
+
+			return headerValidation;
+		}
+	}
+
+	/**
+	 * Turns the SAX cell events of one .xlsx sheet into positional rows
+	 */
+	private static final class XlsxRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+		private final ExcelFieldCollector collector;
+		private String[] cells;
+		private int nextColumn;
+
+		private XlsxRowHandler(ExcelFieldCollector collector) {
+			this.collector = collector;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			cells = new String[EXCEL_HEADERS.length];
+			nextColumn = 0;
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			// The reference is optional in the file format; cells without one follow the previous cell
+			int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+			if (column < cells.length) {
+				cells[column] = formattedValue;
+			}
+			nextColumn = column + 1;
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			collector.row(rowNum, cells);
+		}
+	}
+
 	/**
 	 * Validate collection of parsed fields for business rules
 	 */
@@ -1238,57 +1404,34 @@ public class TemplateServiceImpl implements TemplateService {
 	}
 
 	/**
-	 * Save imported fields to database with transaction support
+	 * Save imported fields to database as one batched upsert; fields that already
+	 * exist are updated rather than rejected as duplicates
 	 */
-	@Transactional
 	private int saveImportedFields(List<FieldTemplate> fields, String fileType, String createdBy) {
 		try {
-			log.info("Saving {} field templates using JdbcTemplate approach", fields.size());
+			log.info("Saving {} field templates as a batched upsert", fields.size());
 
-			// Use direct JDBC insert to bypass broken JPA transaction management
-			String insertSql = """
-						INSERT INTO CM3INT.FIELD_TEMPLATES
-						(FILE_TYPE, TRANSACTION_TYPE, FIELD_NAME, TARGET_POSITION, LENGTH, DATA_TYPE, FORMAT, REQUIRED, DESCRIPTION, CREATED_BY, CREATED_DATE, VERSION, ENABLED)
-						VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-					""";
-
-			int savedCount = 0;
 			LocalDateTime now = LocalDateTime.now();
-
+			List<FieldTemplateEntity> entities = new ArrayList<>(fields.size());
 			for (FieldTemplate field : fields) {
-				try {
-					int rowsInserted = jdbcTemplate.update(insertSql,
-							field.getFileType(),
-							field.getTransactionType(),
-							field.getFieldName(),
-							field.getTargetPosition(),
-							field.getLength(),
-							field.getDataType(),
-							field.getFormat(),
-							field.getRequired() != null ? field.getRequired() : "N",
-							field.getDescription(),
-							createdBy,
-							java.sql.Timestamp.valueOf(now),
-							1, // version
-							field.getEnabled() != null ? field.getEnabled() : "Y");
-
-					if (rowsInserted > 0) {
-						savedCount++;
-						log.debug("Saved field template: {}/{}/{}", field.getFileType(), field.getTransactionType(),
-								field.getFieldName());
-					} else {
-						log.warn("Failed to insert field template: {}/{}/{}", field.getFileType(),
-								field.getTransactionType(), field.getFieldName());
-					}
-				} catch (Exception e) {
-					log.error("Failed to save individual field template: {}/{}/{}", field.getFileType(),
-							field.getTransactionType(), field.getFieldName(), e);
-					throw new RuntimeException("Failed to save field: " + field.getFieldName() + " - " + e.getMessage(),
-							e);
+				FieldTemplateEntity entity = convertToFieldTemplateEntity(field, createdBy, now);
+				// The sheet has no enabled column; new fields are enabled, disabled ones stay disabled
+				entity.setEnabled(null);
+				if (entity.getRequired() == null) {
+					entity.setRequired("N");
 				}
+				// The sheet carries no versions; imported rows overwrite what is stored
+				entity.setVersion(null);
+				entities.add(entity);
+			}
+
+			int savedCount = 0;
+			for (int count : fieldTemplateRepository.upsertAll(entities)) {
+				savedCount += count;
 			}
 
 			log.info("Successfully saved {} field templates for file type: {} using JDBC", savedCount, fileType);
+			templateCatalog.invalidate("field templates imported: " + fileType);
 
 			// Create audit entry
 			/*
@@ -1360,14 +1503,11 @@ public class TemplateServiceImpl implements TemplateService {
 				&& (filename.toLowerCase().endsWith(".xlsx") || filename.toLowerCase().endsWith(".xls"));
 	}
 
-	private boolean isEmptyRow(Row row) {
-		for (int i = 0; i < 8; i++) { // Check first 8 columns
-			Cell cell = row.getCell(i);
-			if (cell != null && cell.getCellType() != CellType.BLANK) {
-				String value = getCellStringValue(row, i);
-				if (value != null && !value.trim().isEmpty()) {
-					return false;
-				}
+	private static boolean isEmptyRow(String[] cells) {
+		for (int i = 0; i < EXCEL_HEADERS.length; i++) { // Check first 8 columns
+			String value = getCellText(cells, i);
+			if (value != null && !value.isEmpty()) {
+				return false;
 			}
 		}
 		return true;
@@ -1415,6 +1555,7 @@ public class TemplateServiceImpl implements TemplateService {
 
 			// Save and audit
 			FieldTemplateEntity saved = fieldTemplateRepository.save(entity);
+			templateCatalog.invalidate("field template saved: " + saved.getFileType());
 			// auditService.logCreate("FIELD_TEMPLATE", saved.getFieldName(),
 			// fieldTemplate.getCreatedBy());
 
@@ -1460,6 +1601,7 @@ public class TemplateServiceImpl implements TemplateService {
 
 			// Save and audit
 			FieldTemplateEntity saved = fieldTemplateRepository.save(entity);
+			templateCatalog.invalidate("field template saved: " + saved.getFileType());
 			auditService.logUpdate("FIELD_TEMPLATE", saved.getFieldName(),
 					oldValue, saved.toString(), fieldTemplate.getModifiedBy());
 
@@ -1494,6 +1636,7 @@ public class TemplateServiceImpl implements TemplateService {
 			entity.setVersion(entity.getVersion() + 1);
 
 			fieldTemplateRepository.save(entity);
+			templateCatalog.invalidate("field template deleted: " + fileType);
 			auditService.logDelete("FIELD_TEMPLATE", fieldName, oldValue, deletedBy);
 
 			log.info("Deleted field template: {} for {}/{}", fieldName, fileType, transactionType);
@@ -1534,27 +1677,59 @@ public class TemplateServiceImpl implements TemplateService {
 	@Transactional
 	public List<FieldTemplate> bulkUpdateFieldTemplates(String fileType, List<FieldTemplate> fields) {
 		try {
-			List<FieldTemplate> results = new ArrayList<>();
-
+			// One read of the stored layout replaces the per-field existence and position lookups
+			Map<String, FieldTemplateEntity> existing = loadFieldsByKey(fileType);
+			Map<String, String> occupiedPositions = new HashMap<>();
+			existing.values().forEach(entity -> occupiedPositions.put(
+					positionKey(entity.getTransactionType(), entity.getTargetPosition()), entity.getFieldName()));
+			Set<String> batchKeys = fields.stream()
+					.map(field -> fieldKey(field.getTransactionType(), field.getFieldName()))
+					.collect(Collectors.toSet());
+
+			List<FieldTemplateEntity> entities = new ArrayList<>();
 			for (FieldTemplate field : fields) {
 				field.setFileType(fileType);
 
-				// Check if field exists
-				Optional<FieldTemplateEntity> existing = fieldTemplateRepository
-						.findByFileTypeAndTransactionTypeAndFieldName(
-								fileType, field.getTransactionType(), field.getFieldName());
-
-				if (existing.isPresent()) {
-					// Update existing
-					results.add(updateFieldTemplate(field));
-				} else {
-					// Create new
-					results.add(createFieldTemplate(field));
+				if (!existing.containsKey(fieldKey(field.getTransactionType(), field.getFieldName()))) {
+					// New fields get the same checks as createFieldTemplate
+					ValidationResult validation = validateFieldTemplate(field);
+					if (!validation.isValid()) {
+						throw new IllegalArgumentException(
+								"Invalid field template: " + String.join(", ", validation.getErrors()));
+					}
+					String occupant = occupiedPositions
+							.get(positionKey(field.getTransactionType(), field.getTargetPosition()));
+					if (occupant != null && !batchKeys.contains(fieldKey(field.getTransactionType(), occupant))) {
+						throw new IllegalArgumentException("Position already occupied: " + field.getTargetPosition());
+					}
 				}
+
+				FieldTemplateEntity entity = convertToFieldTemplateEntity(field);
+				// Without an enabled flag a stored field stays as it is; a new one is enabled
+				entity.setEnabled(field.getEnabled());
+				// A version sent by the client is checked by the MERGE itself
+				entity.setVersion(field.getVersion());
+				entities.add(entity);
 			}
 
+			int[] counts = fieldTemplateRepository.upsertAll(entities);
+			rejectVersionConflicts(entities, counts);
+			templateCatalog.invalidate("field templates bulk updated: " + fileType);
+
+			List<FieldTemplateEntity> previous = entities.stream()
+					.map(entity -> existing.get(fieldKey(entity.getTransactionType(), entity.getFieldName())))
+					.filter(entity -> entity != null)
+					.toList();
+			String changedBy = fields.isEmpty() ? null : fields.get(0).getModifiedBy();
+			auditService.logUpdate("FIELD_TEMPLATE/" + fileType, previous, fields, changedBy,
+					"Bulk updated " + fields.size() + " field templates");
+
+			List<FieldTemplate> results = reloadFields(fileType, entities);
 			log.info("Bulk updated {} field templates for fileType: {}", fields.size(), fileType);
 			return results;
+		} catch (OptimisticLockingFailureException e) {
+			// Callers report a concurrent edit as a conflict, not as a server failure
+			throw e;
 		} catch (Exception e) {
 			log.error("Error bulk updating field templates for fileType: {}", fileType, e);
 			throw new RuntimeException("Failed to bulk update field templates", e);
@@ -1566,36 +1741,98 @@ public class TemplateServiceImpl implements TemplateService {
 	public List<FieldTemplate> reorderFieldTemplates(String fileType, List<Map<String, Object>> fieldOrders,
 			String modifiedBy) {
 		try {
-			List<FieldTemplate> results = new ArrayList<>();
-
+			List<FieldTemplateEntity> moves = new ArrayList<>();
 			for (Map<String, Object> order : fieldOrders) {
-				String fieldName = (String) order.get("fieldName");
-				Integer newPosition = (Integer) order.get("newPosition");
-				String transactionType = (String) order.getOrDefault("transactionType", "default");
-
-				Optional<FieldTemplateEntity> existing = fieldTemplateRepository
-						.findByFileTypeAndTransactionTypeAndFieldName(fileType, transactionType, fieldName);
-
-				if (existing.isPresent()) {
-					FieldTemplateEntity entity = existing.get();
-					entity.setTargetPosition(newPosition);
-					entity.setModifiedBy(modifiedBy);
-					entity.setModifiedDate(LocalDateTime.now());
-					entity.setVersion(entity.getVersion() + 1);
-
-					FieldTemplateEntity saved = fieldTemplateRepository.save(entity);
-					results.add(convertToFieldTemplate(saved));
+				FieldTemplateEntity move = new FieldTemplateEntity();
+				move.setFileType(fileType);
+				move.setFieldName((String) order.get("fieldName"));
+				move.setTargetPosition((Integer) order.get("newPosition"));
+				move.setTransactionType((String) order.getOrDefault("transactionType", "default"));
+				// Optional; when present the UPDATE only applies to a row still at this version
+				move.setVersion(order.get("version") instanceof Number version ? version.intValue() : null);
+				moves.add(move);
+			}
+
+			int[] counts = fieldTemplateRepository.updatePositions(moves, modifiedBy);
+			Map<String, FieldTemplateEntity> stored = loadFieldsByKey(fileType);
+
+			List<FieldTemplateEntity> moved = new ArrayList<>();
+			List<String> conflicts = new ArrayList<>();
+			for (int i = 0; i < moves.size(); i++) {
+				FieldTemplateEntity move = moves.get(i);
+				if (counts[i] > 0) {
+					moved.add(move);
+				} else if (move.getVersion() != null
+						&& stored.containsKey(fieldKey(move.getTransactionType(), move.getFieldName()))) {
+					conflicts.add(move.getTransactionType() + "/" + move.getFieldName());
 				}
+				// Unknown fields are skipped, as before
 			}
+			if (!conflicts.isEmpty()) {
+				throw new OptimisticLockingFailureException(
+						"Field templates were changed by another user: " + String.join(", ", conflicts));
+			}
+			templateCatalog.invalidate("field templates reordered: " + fileType);
+
+			List<FieldTemplate> results = moved.stream()
+					.map(move -> stored.get(fieldKey(move.getTransactionType(), move.getFieldName())))
+					.filter(entity -> entity != null)
+					.map(this::convertToFieldTemplate)
+					.collect(Collectors.toList());
 
 			log.info("Reordered {} field templates for fileType: {}", fieldOrders.size(), fileType);
 			return results;
+		} catch (OptimisticLockingFailureException e) {
+			// Callers report a concurrent edit as a conflict, not as a server failure
+			throw e;
 		} catch (Exception e) {
 			log.error("Error reordering field templates for fileType: {}", fileType, e);
 			throw new RuntimeException("Failed to reorder field templates", e);
 		}
 	}
 
+	private Map<String, FieldTemplateEntity> loadFieldsByKey(String fileType) {
+		Map<String, FieldTemplateEntity> fields = new HashMap<>();
+		// Disabled fields included: they still own their key and position
+		for (FieldTemplateEntity entity : fieldTemplateRepository.findAllByFileType(fileType)) {
+			fields.put(fieldKey(entity.getTransactionType(), entity.getFieldName()), entity);
+		}
+		return fields;
+	}
+
+	/**
+	 * Read the written fields back in one query, so callers see the stored versions.
+	 */
+	private List<FieldTemplate> reloadFields(String fileType, List<FieldTemplateEntity> written) {
+		Map<String, FieldTemplateEntity> stored = loadFieldsByKey(fileType);
+		return written.stream()
+				.map(entity -> stored.getOrDefault(fieldKey(entity.getTransactionType(), entity.getFieldName()),
+						entity))
+				.map(this::convertToFieldTemplate)
+				.collect(Collectors.toList());
+	}
+
+	private void rejectVersionConflicts(List<FieldTemplateEntity> entities, int[] counts) {
+		List<String> conflicts = new ArrayList<>();
+		for (int i = 0; i < entities.size(); i++) {
+			if (counts[i] == 0) {
+				conflicts.add(entities.get(i).getTransactionType() + "/" + entities.get(i).getFieldName());
+			}
+		}
+		if (!conflicts.isEmpty()) {
+			throw new OptimisticLockingFailureException(
+					"Field templates were changed by another user: " + String.join(", ", conflicts));
+		}
+	}
+
+	private static String fieldKey(String transactionType, String fieldName) {
+		return transactionType + "/" + fieldName;
+	}
+
+	private static String positionKey(String transactionType, Integer targetPosition) {
+		return transactionType + "/" + targetPosition;
+	}
+
 	@Override
 	public ValidationResult validateFieldTemplate(FieldTemplate fieldTemplate) {
 		ValidationResult result = new ValidationResult();
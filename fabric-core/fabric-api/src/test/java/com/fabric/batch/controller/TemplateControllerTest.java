@@ -0,0 +1,102 @@
+package com.fabric.batch.controller;
+
+import com.fabric.batch.entity.FieldTemplateEntity;
+import com.fabric.batch.repository.FieldTemplateRepository;
+import com.fabric.batch.repository.FileTypeTemplateRepository;
+import com.fabric.batch.service.AuditService;
+import com.fabric.batch.service.TemplateCatalog;
+import com.fabric.batch.service.impl.TemplateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateControllerTest {
+
+    @Mock FieldTemplateRepository fieldTemplateRepository;
+    @Mock FileTypeTemplateRepository fileTypeTemplateRepository;
+    @Mock AuditService auditService;
+    @Mock TemplateCatalog templateCatalog;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TemplateServiceImpl service = new TemplateServiceImpl(fieldTemplateRepository, fileTypeTemplateRepository,
+                auditService);
+        ReflectionTestUtils.setField(service, "templateCatalog", templateCatalog);
+        TemplateController controller = new TemplateController();
+        ReflectionTestUtils.setField(controller, "templateService", service);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void bulkUpdateFields_staleVersion_returnsConflict() throws Exception {
+        when(fieldTemplateRepository.findAllByFileType("ATOCTRAN")).thenReturn(List.of(stored(4)));
+        // Another user saved the row first, so the versioned MERGE matches nothing
+        when(fieldTemplateRepository.upsertAll(anyList())).thenReturn(new int[] {0});
+
+        mockMvc.perform(put("/admin/templates/ATOCTRAN/fields/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fields":[{"fieldName":"AMOUNT","targetPosition":3,"length":10,
+                                "dataType":"String","transactionType":"default","version":3}]}
+                                """))
+                .andExpect(status().isConflict());
+
+        verify(templateCatalog, never()).invalidate(anyString());
+    }
+
+    @Test
+    void reorderFields_staleVersion_returnsConflict() throws Exception {
+        when(fieldTemplateRepository.updatePositions(anyList(), eq("system"))).thenReturn(new int[] {0});
+        when(fieldTemplateRepository.findAllByFileType("ATOCTRAN")).thenReturn(List.of(stored(4)));
+
+        mockMvc.perform(post("/admin/templates/ATOCTRAN/fields/reorder")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fieldOrders":[{"fieldName":"AMOUNT","newPosition":1,"version":3}]}
+                                """))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void reorderFields_repositoryFailure_returnsServerError() throws Exception {
+        when(fieldTemplateRepository.updatePositions(anyList(), eq("system")))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        mockMvc.perform(post("/admin/templates/ATOCTRAN/fields/reorder")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fieldOrders":[{"fieldName":"AMOUNT","newPosition":1}]}
+                                """))
+                .andExpect(status().isInternalServerError());
+    }
+
+    private static FieldTemplateEntity stored(int version) {
+        FieldTemplateEntity entity = new FieldTemplateEntity();
+        entity.setFileType("ATOCTRAN");
+        entity.setTransactionType("default");
+        entity.setFieldName("AMOUNT");
+        entity.setTargetPosition(3);
+        entity.setLength(10);
+        entity.setDataType("String");
+        entity.setEnabled("Y");
+        entity.setVersion(version);
+        return entity;
+    }
+}
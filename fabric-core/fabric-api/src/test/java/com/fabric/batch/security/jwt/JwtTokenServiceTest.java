@@ -0,0 +1,104 @@
+package com.fabric.batch.security.jwt;
+
+import com.fabric.batch.security.service.TokenBlacklistService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(true, 2, clock::get);
+    private JwtTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JwtTokenService(cache);
+        ReflectionTestUtils.setField(service, "jwtSecret", "test-jwt-secret-key-minimum-256-bits-required-for-hmac-sha");
+        ReflectionTestUtils.setField(service, "accessTokenExpirationSeconds", 900);
+        ReflectionTestUtils.setField(service, "refreshTokenExpirationSeconds", 28800);
+        ReflectionTestUtils.setField(service, "issuer", "fabric-platform");
+        ReflectionTestUtils.setField(service, "audience", "fabric-users");
+    }
+
+    @Test
+    void validateToken_sameTokenTwice_verifiesOnce() {
+        String token = accessToken("alice");
+
+        Claims first = service.validateToken(token);
+        Claims second = service.validateToken(token);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+        assertEquals(List.of("JOB_VIEWER"), service.getUserRolesFromToken(token));
+        assertEquals("alice", service.extractUsername(token));
+    }
+
+    @Test
+    void validateToken_pastCachedExpiration_verifiesAgain() {
+        String token = accessToken("alice");
+        Claims first = service.validateToken(token);
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(901));
+
+        assertNotSame(first, service.validateToken(token));
+    }
+
+    @Test
+    void validateToken_foreignSignature_isRejectedAndNotCached() {
+        String token = accessToken("alice");
+        ReflectionTestUtils.setField(service, "jwtSecret", "other-jwt-secret-key-minimum-256-bits-required-for-hmac-sha");
+        ReflectionTestUtils.setField(service, "signingKey", null);
+
+        assertThrows(JwtTokenException.class, () -> service.validateToken(token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void validateToken_overCapacity_evictsLeastRecentlyUsed() {
+        String alice = accessToken("alice");
+        String bob = accessToken("bob");
+        String carol = accessToken("carol");
+
+        Claims aliceClaims = service.validateToken(alice);
+        Claims bobClaims = service.validateToken(bob);
+        service.validateToken(alice);
+        service.validateToken(carol);
+
+        assertEquals(2, cache.size());
+        assertSame(aliceClaims, service.validateToken(alice));
+        assertNotSame(bobClaims, service.validateToken(bob));
+    }
+
+    @Test
+    void blacklistToken_dropsVerifiedToken() {
+        TokenBlacklistService blacklistService = new TokenBlacklistService(service);
+        String token = accessToken("alice");
+        String tokenHash = service.generateTokenHash(token);
+        service.validateToken(token);
+
+        assertFalse(blacklistService.isTokenHashBlacklisted(tokenHash));
+        blacklistService.blacklistToken(token, "U1", "logout", "alice");
+
+        assertTrue(blacklistService.isTokenHashBlacklisted(tokenHash));
+        assertTrue(blacklistService.isTokenBlacklisted(token));
+        assertEquals(0, cache.size());
+    }
+
+    private String accessToken(String username) {
+        return service.generateAccessToken(UserTokenDetails.builder()
+                .userId("U-" + username)
+                .username(username)
+                .roles(List.of("JOB_VIEWER"))
+                .permissions(List.of())
+                .correlationId("corr-" + username)
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.fabric.batch.security.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JMH measurement of {@link RateLimitingService#checkRateLimit} under contention: eight threads
+ * either all hitting one user's bucket or each hitting its own, admitted and refused alike.
+ *
+ * Run from fabric-api after test-compile:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.fabric.batch.security.service.RateLimitingServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitingServiceBenchmark {
+
+	private RateLimitingService service;
+
+	@State(Scope.Thread)
+	public static class ThreadUser {
+		private static final AtomicInteger NEXT = new AtomicInteger();
+		String userId = "user-" + NEXT.incrementAndGet();
+	}
+
+	@Setup
+	public void setUp() {
+		service = new RateLimitingService();
+		ReflectionTestUtils.setField(service, "rateLimitingEnabled", true);
+		ReflectionTestUtils.setField(service, "defaultRequestsPerWindow", 1_000_000);
+		ReflectionTestUtils.setField(service, "defaultWindowMinutes", 1);
+		ReflectionTestUtils.setField(service, "burstMultiplier", 2.0);
+	}
+
+	@Benchmark
+	public boolean sharedBucket() {
+		return service.checkRateLimit("shared", "/api/v2/jobs", "API_CLIENT").isAllowed();
+	}
+
+	@Benchmark
+	public boolean bucketPerThread(ThreadUser user) {
+		return service.checkRateLimit(user.userId, "/api/v2/jobs", "API_CLIENT").isAllowed();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(RateLimitingServiceBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}
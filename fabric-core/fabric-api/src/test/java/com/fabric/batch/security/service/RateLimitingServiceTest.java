@@ -0,0 +1,69 @@
+package com.fabric.batch.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private RateLimitingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RateLimitingService(clock::get);
+        ReflectionTestUtils.setField(service, "rateLimitingEnabled", true);
+        ReflectionTestUtils.setField(service, "defaultRequestsPerWindow", 100);
+        ReflectionTestUtils.setField(service, "defaultWindowMinutes", 15);
+        ReflectionTestUtils.setField(service, "burstMultiplier", 2.0);
+    }
+
+    @Test
+    void checkRateLimit_burstThenOneRequestPerInterval() {
+        // Login allows 5 requests per 15 minutes: one every 3 minutes once the burst is spent
+        for (int i = 1; i <= 5; i++) {
+            RateLimitingService.RateLimitResult result = service.checkRateLimit("alice", "/api/auth/login", "JOB_VIEWER");
+            assertTrue(result.isAllowed());
+            assertEquals(i, result.getCurrentUsage());
+        }
+        RateLimitingService.RateLimitResult rejected = service.checkRateLimit("alice", "/api/auth/login", "JOB_VIEWER");
+        assertFalse(rejected.isAllowed());
+        assertEquals(6, rejected.getCurrentUsage());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        assertTrue(service.checkRateLimit("alice", "/api/auth/login", "JOB_VIEWER").isAllowed());
+        assertFalse(service.checkRateLimit("alice", "/api/auth/login", "JOB_VIEWER").isAllowed());
+
+        // Other users have their own buckets
+        assertTrue(service.checkRateLimit("bob", "/api/auth/login", "JOB_VIEWER").isAllowed());
+
+        RateLimitingService.RateLimitingStatistics statistics = service.getStatistics();
+        assertEquals(9, statistics.getTotalRequests());
+        assertEquals(2, statistics.getRejectedRequests());
+        assertEquals(2, statistics.getTotalBuckets());
+    }
+
+    @Test
+    void cleanupExpiredBuckets_removesOnlyIdleBuckets() {
+        service.checkRateLimit("alice", "/api/jobs", "JOB_VIEWER");
+        service.checkRateLimit("bob", "/api/jobs", "JOB_VIEWER");
+
+        // Bob keeps using his bucket, Alice goes idle
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(50));
+        service.checkRateLimit("bob", "/api/jobs", "JOB_VIEWER");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(20));
+        service.cleanupExpiredBuckets();
+        assertEquals(1, service.getStatistics().getTotalBuckets());
+        assertEquals(1, service.getUserRateLimitStatus("bob").getEndpointStatuses().size());
+        assertTrue(service.getUserRateLimitStatus("alice").getEndpointStatuses().isEmpty());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(60));
+        service.cleanupExpiredBuckets();
+        assertEquals(0, service.getStatistics().getTotalBuckets());
+    }
+}
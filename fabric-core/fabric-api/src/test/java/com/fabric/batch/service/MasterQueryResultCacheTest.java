@@ -0,0 +1,80 @@
+package com.fabric.batch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MasterQueryResultCacheTest {
+
+    private static final String SQL = "SELECT account_id FROM accounts WHERE batch_date = :batchDate";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final MasterQueryResultCache cache = new MasterQueryResultCache(true, 2, 60, 600, 300, clock::get);
+
+    @Test
+    void getOrLoad_sameSqlDifferentLayout_servesFromCache() {
+        load(SQL, Map.of("batchDate", "2025-08-18"), "JOB_VIEWER");
+        load("  SELECT account_id\n  FROM accounts\n WHERE batch_date = :batchDate ;", Map.of("batchDate", "2025-08-18"), "JOB_VIEWER");
+
+        assertEquals(1, loads.get());
+        assertEquals(0.5, (double) cache.getStatistics().get("hitRatio"));
+    }
+
+    @Test
+    void getOrLoad_differentParametersOrRole_loadsAgain() {
+        load(SQL, Map.of("batchDate", "2025-08-18"), "JOB_VIEWER");
+        load(SQL, Map.of("batchDate", "2025-08-19"), "JOB_VIEWER");
+        load(SQL, Map.of("batchDate", "2025-08-18"), "ADMIN");
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getOrLoad_afterTtl_loadsAgain() {
+        load(SQL, Map.of(), "JOB_VIEWER");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        load(SQL, Map.of(), "JOB_VIEWER");
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.getStatistics().get("expirations"));
+    }
+
+    @Test
+    void getOrLoad_overCapacity_evictsLeastRecentlyUsed() {
+        load("SELECT 1 FROM dual", Map.of(), "JOB_VIEWER");
+        load("SELECT 2 FROM dual", Map.of(), "JOB_VIEWER");
+        load("SELECT 1 FROM dual", Map.of(), "JOB_VIEWER");
+        load("SELECT 3 FROM dual", Map.of(), "JOB_VIEWER");
+        load("SELECT 1 FROM dual", Map.of(), "JOB_VIEWER");
+
+        assertEquals(3, loads.get());
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+    }
+
+    @Test
+    void invalidateAll_duringLoad_doesNotCacheStaleValue() {
+        cache.getOrLoad(MasterQueryResultCache.Kind.RESULT, SQL, Map.of(), "JOB_VIEWER", () -> {
+            cache.invalidateAll("test");
+            return loads.incrementAndGet();
+        });
+        load(SQL, Map.of(), "JOB_VIEWER");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void normalizeSql_whitespaceInsideLiteral_isPreserved() {
+        assertEquals("SELECT * FROM t WHERE name = 'a  b'",
+                MasterQueryResultCache.normalizeSql("SELECT *\n FROM t  WHERE name = 'a  b';"));
+    }
+
+    private Integer load(String sql, Map<String, Object> parameters, String userRole) {
+        return cache.getOrLoad(MasterQueryResultCache.Kind.RESULT, sql, parameters, userRole, loads::incrementAndGet);
+    }
+}
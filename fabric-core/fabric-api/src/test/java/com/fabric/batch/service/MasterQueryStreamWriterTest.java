@@ -0,0 +1,81 @@
+package com.fabric.batch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MasterQueryStreamWriterTest {
+
+    private static final List<Map<String, Object>> COLUMNS = List.of(
+            Map.of("name", "ACCOUNT_ID", "order", 1),
+            Map.of("name", "TOTAL", "order", 2));
+    private static final String[] LABELS = {"ACCOUNT_ID", "TOTAL"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    void ndjson_rowsAndSummary_writesOneJsonDocumentPerLine() throws Exception {
+        MasterQueryStreamWriter writer = writer(MasterQueryStreamWriter.Format.NDJSON, false);
+
+        writer.start(COLUMNS, LABELS);
+        writer.row(new Object[] {"ACC123", 1500});
+        writer.row(new Object[] {"ACC456", null});
+        writer.finish(2, true);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("TOTAL", objectMapper.readTree(lines[0]).path("columns").get(1).path("name").asText());
+        assertEquals("ACC123", objectMapper.readTree(lines[1]).path("ACCOUNT_ID").asText());
+        assertTrue(objectMapper.readTree(lines[2]).path("TOTAL").isNull());
+        assertTrue(objectMapper.readTree(lines[3]).path("summary").path("truncated").asBoolean());
+    }
+
+    @Test
+    void jsonCompact_rowsAndSummary_writesValueArraysInOneDocument() throws Exception {
+        MasterQueryStreamWriter writer = writer(MasterQueryStreamWriter.Format.JSON, true);
+
+        writer.start(COLUMNS, LABELS);
+        writer.row(new Object[] {"ACC123", 1500});
+        writer.finish(1, false);
+
+        JsonNode document = objectMapper.readTree(out.toByteArray());
+        assertEquals("[\"ACC123\",1500]", document.path("rows").get(0).toString());
+        assertEquals(1, document.path("summary").path("rowCount").asInt());
+    }
+
+    @Test
+    void json_errorMidStream_closesDocumentWithErrorMember() throws Exception {
+        MasterQueryStreamWriter writer = writer(MasterQueryStreamWriter.Format.JSON, false);
+
+        writer.start(COLUMNS, LABELS);
+        writer.row(new Object[] {"ACC123", 1500});
+        writer.error("TIMEOUT", "Query execution timeout");
+
+        JsonNode document = objectMapper.readTree(out.toByteArray());
+        assertEquals(1, document.path("rows").size());
+        assertEquals("TIMEOUT", document.path("error").path("errorCode").asText());
+    }
+
+    @Test
+    void ndjson_errorBeforeStart_writesSingleErrorLine() throws Exception {
+        MasterQueryStreamWriter writer = writer(MasterQueryStreamWriter.Format.NDJSON, false);
+
+        writer.error("SYNTAX_ERROR", "Query execution failed");
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertEquals("corr_test", objectMapper.readTree(lines[0]).path("error").path("correlationId").asText());
+    }
+
+    private MasterQueryStreamWriter writer(MasterQueryStreamWriter.Format format, boolean compact) throws Exception {
+        return new MasterQueryStreamWriter(objectMapper, out, format, compact, "corr_test");
+    }
+}
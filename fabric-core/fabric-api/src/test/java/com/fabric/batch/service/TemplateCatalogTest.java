@@ -0,0 +1,196 @@
+package com.fabric.batch.service;
+
+import com.fabric.batch.entity.FieldTemplateEntity;
+import com.fabric.batch.entity.FileTypeTemplateEntity;
+import com.fabric.batch.model.FieldTemplate;
+import com.fabric.batch.repository.FieldTemplateRepository;
+import com.fabric.batch.repository.FileTypeTemplateRepository;
+import com.fabric.batch.service.impl.TemplateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateCatalogTest {
+
+    private static final String FILE_TYPE = "ATOCTRAN";
+
+    @Mock FileTypeTemplateRepository fileTypeTemplateRepository;
+    @Mock FieldTemplateRepository fieldTemplateRepository;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private TemplateCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TemplateCatalog(fileTypeTemplateRepository, fieldTemplateRepository, true, 30, clock::get);
+    }
+
+    @Test
+    void snapshot_repeatedReads_loadsOnce() {
+        givenCatalog(List.of(field("ACCOUNT_ID", 1), field("AMOUNT", 2)));
+
+        TemplateCatalog.Snapshot first = catalog.snapshot().orElseThrow();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        TemplateCatalog.Snapshot second = catalog.snapshot().orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, first.version());
+        assertEquals(List.of("default"), first.getTransactionTypes(FILE_TYPE));
+        assertEquals(2, first.getFields(FILE_TYPE, "default").size());
+        verify(fieldTemplateRepository, times(1)).findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition();
+    }
+
+    @Test
+    void invalidate_outsideTransaction_reloadsOnNextRead() {
+        givenCatalog(List.of(field("AMOUNT", 2)));
+        catalog.snapshot();
+
+        catalog.invalidate("field template saved");
+
+        assertEquals(2, catalog.snapshot().orElseThrow().version());
+        verify(fieldTemplateRepository, times(2)).findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition();
+    }
+
+    @Test
+    void invalidate_insideTransaction_reloadsAgainAfterCompletion() {
+        givenCatalog(List.of(field("AMOUNT", 2)));
+        catalog.snapshot();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalog.invalidate("field template saved");
+            // A read inside the transaction loads rows that are not committed yet
+            assertEquals(2, catalog.snapshot().orElseThrow().version());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(3, catalog.snapshot().orElseThrow().version());
+        verify(fieldTemplateRepository, times(3)).findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition();
+    }
+
+    @Test
+    void snapshot_changeMarker_checkedOncePerPollInterval() {
+        givenCatalog(List.of(field("AMOUNT", 2)));
+        // Load, unchanged check, changed check, reload
+        when(fieldTemplateRepository.findChangeMarker()).thenReturn("1:A", "1:A", "2:B", "2:B");
+        catalog.snapshot();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(1, catalog.snapshot().orElseThrow().version());
+        verify(fieldTemplateRepository, times(1)).findChangeMarker();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(25));
+        assertEquals(1, catalog.snapshot().orElseThrow().version());
+        verify(fieldTemplateRepository, times(2)).findChangeMarker();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        TemplateCatalog.Snapshot reloaded = catalog.snapshot().orElseThrow();
+        assertEquals(2, reloaded.version());
+        assertEquals("1:F/2:B", reloaded.changeMarker());
+        verify(fieldTemplateRepository, times(2)).findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition();
+    }
+
+    @Test
+    void snapshot_loadFails_emptyUntilBackoffHasPassed() {
+        when(fileTypeTemplateRepository.findChangeMarker()).thenReturn("1:F");
+        when(fieldTemplateRepository.findChangeMarker()).thenReturn("1:A");
+        when(fileTypeTemplateRepository.findAllEnabled())
+                .thenThrow(new DataAccessResourceFailureException("ORA-12541: TNS:no listener"))
+                .thenReturn(List.of(fileType()));
+        when(fieldTemplateRepository.findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition())
+                .thenReturn(List.of(field("AMOUNT", 2)));
+
+        assertTrue(catalog.snapshot().isEmpty());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(catalog.snapshot().isEmpty());
+        verify(fileTypeTemplateRepository, times(1)).findAllEnabled();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(25));
+        assertEquals(1, catalog.snapshot().orElseThrow().version());
+        verify(fileTypeTemplateRepository, times(2)).findAllEnabled();
+    }
+
+    @Test
+    void snapshot_disabled_neverReadsRepositories() {
+        TemplateCatalog disabled = new TemplateCatalog(fileTypeTemplateRepository, fieldTemplateRepository, false, 30,
+                clock::get);
+
+        assertTrue(disabled.snapshot().isEmpty());
+        verifyNoInteractions(fileTypeTemplateRepository, fieldTemplateRepository);
+    }
+
+    @Test
+    void snapshot_entitiesChangedByCallers_leaveSnapshotUnchanged() {
+        FieldTemplateEntity loaded = field("AMOUNT", 2);
+        givenCatalog(List.of(loaded));
+        TemplateCatalog.Snapshot snapshot = catalog.snapshot().orElseThrow();
+
+        loaded.setLength(99);
+        snapshot.getFields(FILE_TYPE, "default").get(0).setLength(50);
+        snapshot.getFileType(FILE_TYPE).orElseThrow().setDescription("changed");
+        snapshot.getFileTypes().get(0).setRecordLength(1);
+
+        assertEquals(10, snapshot.getFields(FILE_TYPE, "default").get(0).getLength());
+        assertEquals("Account transactions", snapshot.getFileType(FILE_TYPE).orElseThrow().getDescription());
+        assertEquals(120, snapshot.getFileTypes().get(0).getRecordLength());
+    }
+
+    @Test
+    void templateService_catalogUnavailable_readsRepository() {
+        when(fileTypeTemplateRepository.findChangeMarker())
+                .thenThrow(new DataAccessResourceFailureException("ORA-00942: table or view does not exist"));
+        when(fieldTemplateRepository.findByFileTypeAndTransactionTypeAndEnabledOrderByTargetPosition(FILE_TYPE, "default", "Y"))
+                .thenReturn(List.of(field("ACCOUNT_ID", 1)));
+        TemplateServiceImpl service = new TemplateServiceImpl(fieldTemplateRepository, fileTypeTemplateRepository,
+                mock(AuditService.class));
+        ReflectionTestUtils.setField(service, "templateCatalog", catalog);
+
+        List<FieldTemplate> fields = service.getFieldTemplatesByFileTypeAndTransactionType(FILE_TYPE, "default");
+
+        assertEquals(List.of("ACCOUNT_ID"), fields.stream().map(FieldTemplate::getFieldName).toList());
+    }
+
+    private void givenCatalog(List<FieldTemplateEntity> fields) {
+        lenient().when(fileTypeTemplateRepository.findChangeMarker()).thenReturn("1:F");
+        lenient().when(fieldTemplateRepository.findChangeMarker()).thenReturn("1:A");
+        when(fileTypeTemplateRepository.findAllEnabled()).thenReturn(List.of(fileType()));
+        when(fieldTemplateRepository.findAllEnabledOrderByFileTypeAndTransactionTypeAndTargetPosition()).thenReturn(fields);
+    }
+
+    private static FileTypeTemplateEntity fileType() {
+        return FileTypeTemplateEntity.builder()
+                .fileType(FILE_TYPE)
+                .description("Account transactions")
+                .recordLength(120)
+                .enabled("Y")
+                .build();
+    }
+
+    private static FieldTemplateEntity field(String fieldName, int position) {
+        FieldTemplateEntity entity = new FieldTemplateEntity();
+        entity.setFileType(FILE_TYPE);
+        entity.setTransactionType("default");
+        entity.setFieldName(fieldName);
+        entity.setTargetPosition(position);
+        entity.setLength(10);
+        entity.setEnabled("Y");
+        return entity;
+    }
+}
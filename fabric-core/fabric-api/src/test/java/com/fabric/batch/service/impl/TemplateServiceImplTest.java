@@ -0,0 +1,203 @@
+package com.fabric.batch.service.impl;
+
+import com.fabric.batch.entity.FieldTemplateEntity;
+import com.fabric.batch.model.FieldTemplate;
+import com.fabric.batch.model.TemplateImportResult;
+import com.fabric.batch.repository.FieldTemplateRepository;
+import com.fabric.batch.repository.FileTypeTemplateRepository;
+import com.fabric.batch.service.AuditService;
+import com.fabric.batch.service.TemplateCatalog;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateServiceImplTest {
+
+    private static final String FILE_TYPE = "ATOCTRAN";
+
+    @Mock FieldTemplateRepository fieldTemplateRepository;
+    @Mock FileTypeTemplateRepository fileTypeTemplateRepository;
+    @Mock AuditService auditService;
+    @Mock TemplateCatalog templateCatalog;
+
+    @Captor ArgumentCaptor<List<FieldTemplateEntity>> written;
+
+    private TemplateServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TemplateServiceImpl(fieldTemplateRepository, fileTypeTemplateRepository, auditService);
+        ReflectionTestUtils.setField(service, "templateCatalog", templateCatalog);
+    }
+
+    @Test
+    void bulkUpdate_staleVersion_rejectsWithoutInvalidatingCatalog() {
+        when(fieldTemplateRepository.findAllByFileType(FILE_TYPE)).thenReturn(List.of(stored("AMOUNT", 3, "Y", 4)));
+        when(fieldTemplateRepository.upsertAll(anyList())).thenReturn(new int[] {0});
+
+        OptimisticLockingFailureException e = assertThrows(OptimisticLockingFailureException.class,
+                () -> service.bulkUpdateFieldTemplates(FILE_TYPE, List.of(field("AMOUNT", 3, null, 3))));
+
+        assertTrue(e.getMessage().contains("default/AMOUNT"));
+        verify(fieldTemplateRepository).upsertAll(written.capture());
+        assertEquals(3, written.getValue().get(0).getVersion());
+        verify(templateCatalog, never()).invalidate(anyString());
+    }
+
+    @Test
+    void bulkUpdate_disabledField_updatesStoredRowAndKeepsItDisabled() {
+        when(fieldTemplateRepository.findAllByFileType(FILE_TYPE)).thenReturn(List.of(stored("OLD_CODE", 5, "N", 2)));
+        when(fieldTemplateRepository.upsertAll(anyList())).thenReturn(new int[] {1});
+
+        // Length 0 would fail the checks for new fields; a stored field skips them
+        List<FieldTemplate> results = service.bulkUpdateFieldTemplates(FILE_TYPE, List.of(field("OLD_CODE", 5, null, 2)));
+
+        verify(fieldTemplateRepository).upsertAll(written.capture());
+        FieldTemplateEntity entity = written.getValue().get(0);
+        assertNull(entity.getEnabled());
+        assertEquals(2, entity.getVersion());
+        assertEquals(1, results.size());
+        assertEquals("N", results.get(0).getEnabled());
+    }
+
+    @Test
+    void bulkUpdate_newFieldOnDisabledFieldsPosition_isRejected() {
+        when(fieldTemplateRepository.findAllByFileType(FILE_TYPE)).thenReturn(List.of(stored("OLD_CODE", 5, "N", 2)));
+        FieldTemplate newField = field("NEW_CODE", 5, null, null);
+        newField.setLength(10);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.bulkUpdateFieldTemplates(FILE_TYPE, List.of(newField)));
+
+        assertEquals("Position already occupied: 5", e.getCause().getMessage());
+        verify(fieldTemplateRepository, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void importFromExcel_sameSheetTwice_upsertsWithoutVersionOrEnabledFlag() throws IOException {
+        when(fieldTemplateRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            int[] counts = new int[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        MockMultipartFile file = excelFile("fields.xlsx", new XSSFWorkbook());
+
+        TemplateImportResult first = service.importFromExcel(file, FILE_TYPE, "tester");
+        TemplateImportResult second = service.importFromExcel(file, FILE_TYPE, "tester");
+
+        assertTrue(first.isSuccess(), () -> String.valueOf(first.getErrors()));
+        assertTrue(second.isSuccess(), () -> String.valueOf(second.getErrors()));
+        assertEquals(2, second.getFieldsSkipped());
+        verify(fieldTemplateRepository, times(2)).upsertAll(written.capture());
+        for (FieldTemplateEntity entity : written.getValue()) {
+            // Stored rows are overwritten whatever their version and keep their enabled flag
+            assertNull(entity.getVersion());
+            assertNull(entity.getEnabled());
+            assertEquals("tester", entity.getModifiedBy());
+        }
+        verify(templateCatalog, times(2)).invalidate(anyString());
+    }
+
+    @Test
+    void importFromExcel_formattedNumericCells_readTheSameFromXlsxAndXls() throws IOException {
+        when(fieldTemplateRepository.upsertAll(anyList())).thenReturn(new int[] {1, 1});
+
+        for (MockMultipartFile file : List.of(excelFile("fields.xlsx", new XSSFWorkbook()),
+                excelFile("fields.xls", new HSSFWorkbook()))) {
+            TemplateImportResult result = service.importFromExcel(file, FILE_TYPE, "tester");
+
+            assertTrue(result.isSuccess(), () -> file.getOriginalFilename() + ": " + result.getErrors());
+        }
+
+        verify(fieldTemplateRepository, times(2)).upsertAll(written.capture());
+        for (List<FieldTemplateEntity> entities : written.getAllValues()) {
+            FieldTemplateEntity balance = entities.get(1);
+            assertEquals("BALANCE", balance.getFieldName());
+            assertEquals(2, balance.getTargetPosition());
+            assertEquals(1200, balance.getLength());
+        }
+    }
+
+    /**
+     * A template sheet whose BALANCE row has a "0.00" position and a "#,##0" length, which
+     * Excel shows as 2.00 and 1,200
+     */
+    private static MockMultipartFile excelFile(String name, Workbook workbook) throws IOException {
+        try (workbook; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Fields");
+            Object[][] rows = {
+                    {"Field Name", "Target Position", "Length", "Data Type", "Format", "Required", "Description", "Transaction Type"},
+                    {"ACCOUNT_ID", 1, 10, "String", "", "Y", "Account", "default"},
+                    {"BALANCE", 2, 1200, "Numeric", "", "N", "Balance", "default"}};
+            CellStyle decimals = workbook.createCellStyle();
+            decimals.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            CellStyle thousands = workbook.createCellStyle();
+            thousands.setDataFormat(workbook.createDataFormat().getFormat("#,##0"));
+
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    Cell cell = row.createCell(c);
+                    if (rows[r][c] instanceof Integer number) {
+                        cell.setCellValue(number);
+                        cell.setCellStyle(c == 1 ? decimals : thousands);
+                    } else {
+                        cell.setCellValue((String) rows[r][c]);
+                    }
+                }
+            }
+            workbook.write(out);
+            return new MockMultipartFile("file", name, "application/octet-stream", out.toByteArray());
+        }
+    }
+
+    private static FieldTemplateEntity stored(String fieldName, int position, String enabled, int version) {
+        FieldTemplateEntity entity = new FieldTemplateEntity();
+        entity.setFileType(FILE_TYPE);
+        entity.setTransactionType("default");
+        entity.setFieldName(fieldName);
+        entity.setTargetPosition(position);
+        entity.setLength(10);
+        entity.setDataType("String");
+        entity.setEnabled(enabled);
+        entity.setVersion(version);
+        return entity;
+    }
+
+    private static FieldTemplate field(String fieldName, int position, String enabled, Integer version) {
+        FieldTemplate field = new FieldTemplate();
+        field.setTransactionType("default");
+        field.setFieldName(fieldName);
+        field.setTargetPosition(position);
+        field.setLength(0);
+        field.setDataType("String");
+        field.setEnabled(enabled);
+        field.setVersion(version);
+        field.setModifiedBy("tester");
+        return field;
+    }
+}
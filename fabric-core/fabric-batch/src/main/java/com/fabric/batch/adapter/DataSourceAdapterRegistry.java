@@ -127,10 +127,11 @@ public class DataSourceAdapterRegistry {
 	private void registerAdapterFormats(DataSourceAdapter adapter) {
 		// ✅ FIXED: Extended format list to include 'database', 'sql', etc.
 		String[] commonFormats = { "jdbc", "database", "sql", // Database formats - FIXED: added 'database'
+				"keyset", "jdbc-keyset", // Keyset-paged JDBC extracts
 				"rest", "api", "http", "https", // REST API formats
 				"kafka", "stream", // Streaming formats
 				"s3", "aws", // Cloud storage formats
-				"csv", "excel", "json", "xml" // File formats
+				"csv", "delimited", "fixed", "excel", "json", "xml" // File formats
 		};
 
 		System.out.println("🔍 FIXED Testing adapter " + adapter.getAdapterName() + " against " + commonFormats.length
@@ -0,0 +1,64 @@
+package com.fabric.batch.adapter;
+
+import java.io.File;
+import java.util.Map;
+
+import org.springframework.batch.item.ItemReader;
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.reader.ExcelFileReader;
+import com.fabric.batch.reader.StreamingExcelReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSourceAdapter for Excel workbooks.
+ *
+ * .xlsx files are streamed row by row with {@link StreamingExcelReader}; legacy .xls files,
+ * or any workbook with {@code streaming: false}, are read into memory with
+ * {@link ExcelFileReader}. Configuration:
+ * format: excel
+ * sheets: Accounts,Balances   (sheet names, * for all; default the first sheet)
+ * streaming: true
+ */
+@Component
+@Slf4j
+public class ExcelDataSourceAdapter implements DataSourceAdapter {
+
+    @Override
+    public boolean supports(String format) {
+        return "excel".equalsIgnoreCase(format);
+    }
+
+    @Override
+    public ItemReader<Map<String, Object>> createReader(FileConfig fileConfig) {
+        String path = fileConfig.getInputPath();
+        boolean streaming = !"false".equalsIgnoreCase(fileConfig.getParams().get("streaming"))
+                && !path.toLowerCase().endsWith(".xls");
+        if (!streaming) {
+            log.info("📗 Creating in-memory Excel reader for {}", path);
+            return new ExcelFileReader(fileConfig);
+        }
+        log.info("📗 Creating streaming Excel reader for {} (sheets={})",
+                path, fileConfig.getParams().getOrDefault("sheets", "first"));
+        return new StreamingExcelReader(fileConfig);
+    }
+
+    @Override
+    public void validateConfiguration(FileConfig fileConfig) {
+        String path = fileConfig.getInputPath();
+        if (path == null || path.trim().isEmpty()) {
+            throw new IllegalArgumentException("Excel adapter requires 'inputPath'");
+        }
+        if (!new File(path).isFile()) {
+            throw new IllegalArgumentException("Excel file not found: " + path);
+        }
+        log.debug("✅ Excel configuration validation passed for: {}", path);
+    }
+
+    @Override
+    public int getPriority() {
+        return 50;
+    }
+}
@@ -0,0 +1,216 @@
+package com.fabric.batch.adapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.ItemReader;
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.mapping.MappingPlan;
+import com.fabric.batch.mapping.YamlMappingService;
+import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.reader.KeysetPagingRecordReader;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSourceAdapter for high-volume JDBC extracts using keyset pagination.
+ *
+ * Selected with {@code format: keyset} (or {@code jdbc-keyset}). Parameters:
+ * <ul>
+ * <li>{@code keyColumns} - required, comma separated unique ordering key, e.g. {@code ACCT_NUM,TXN_SEQ}</li>
+ * <li>{@code query} - optional source query; otherwise {@code target} is read as a table</li>
+ * <li>{@code columns} - explicit select list, or {@code mapping} to select only the source
+ * fields referenced by the file's YAML mapping (default {@code *})</li>
+ * <li>{@code pageSize} (5000), {@code fetchSize} (1000), {@code adaptiveFetch} (true),
+ * {@code fetchTargetBytes} (1 MB per round trip), {@code queryTimeoutSeconds} (0 = none)</li>
+ * </ul>
+ * Combined with a sub-partitioning strategy ({@code partitionFilter}) each partition runs
+ * its own keyset cursor over a disjoint slice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeysetJdbcDataSourceAdapter implements DataSourceAdapter {
+
+	private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$#]*(\\.[A-Za-z_][A-Za-z0-9_$#]*)?");
+
+	private final DataSource dataSource;
+	private final YamlMappingService yamlMappingService;
+
+	@Override
+	public boolean supports(String format) {
+		return "keyset".equalsIgnoreCase(format) || "jdbc-keyset".equalsIgnoreCase(format);
+	}
+
+	@Override
+	public ItemReader<Map<String, Object>> createReader(FileConfig fileConfig) {
+		Map<String, String> params = fileConfig.getParams();
+		List<String> keyColumns = splitIdentifiers(params.get("keyColumns"));
+		String query = params.get("query");
+
+		String relation = query != null && !query.isBlank()
+				? "(" + query.trim() + ") fabric_ks"
+				: fileConfig.getTarget();
+
+		List<String> filters = new ArrayList<>();
+		Map<String, Object> sqlParams = new HashMap<>();
+		String dateParam = params.get("batchDateParam");
+		if (query != null && !query.isBlank()) {
+			if (query.contains(":batchDate")) {
+				sqlParams.put("batchDate", params.get("batchDateValue"));
+			}
+		} else if (dateParam != null) {
+			filters.add(dateParam + " = :batchDate");
+			sqlParams.put("batchDate", params.get("batchDateValue"));
+		}
+		if (params.get("partitionFilter") != null) {
+			filters.add(params.get("partitionFilter"));
+		}
+
+		String selectList = selectList(fileConfig, keyColumns);
+		log.info("🗝️  Creating keyset JDBC reader for {} (keys={}, columns={})",
+				fileConfig.getTarget(), keyColumns, selectList);
+
+		return new KeysetPagingRecordReader(dataSource, selectList, relation, filters, sqlParams, keyColumns,
+				intParam(params, "pageSize", 5000),
+				intParam(params, "fetchSize", 1000),
+				Boolean.parseBoolean(params.getOrDefault("adaptiveFetch", "true")),
+				intParam(params, "fetchTargetBytes", 1 << 20),
+				Integer.parseInt(params.getOrDefault("queryTimeoutSeconds", "0")));
+	}
+
+	@Override
+	public void validateConfiguration(FileConfig fileConfig) {
+		Map<String, String> params = fileConfig.getParams();
+		String query = params.get("query");
+		if ((query == null || query.isBlank())
+				&& (fileConfig.getTarget() == null || !IDENTIFIER.matcher(fileConfig.getTarget().trim()).matches())) {
+			throw new IllegalArgumentException("Keyset adapter requires a 'query' or a valid 'target' table name");
+		}
+		if (splitIdentifiers(params.get("keyColumns")).isEmpty()) {
+			throw new IllegalArgumentException("Keyset adapter requires 'keyColumns' (unique ordering key)");
+		}
+		String columns = params.get("columns");
+		if (columns != null && !"*".equals(columns.trim()) && !"mapping".equalsIgnoreCase(columns.trim())) {
+			splitIdentifiers(columns);
+		}
+		intParam(params, "pageSize", 5000);
+		intParam(params, "fetchSize", 1000);
+		intParam(params, "fetchTargetBytes", 1 << 20);
+
+		log.debug("✅ Keyset configuration validation passed for target: {}", fileConfig.getTarget());
+	}
+
+	@Override
+	public int getPriority() {
+		return 100;
+	}
+
+	/**
+	 * Builds the select list; key columns are always selected so the next page can seek.
+	 */
+	private String selectList(FileConfig fileConfig, List<String> keyColumns) {
+		String columns = fileConfig.getParams().getOrDefault("columns", "*").trim();
+		Set<String> selected;
+		if ("*".equals(columns)) {
+			return "*";
+		} else if ("mapping".equalsIgnoreCase(columns)) {
+			selected = mappingSourceColumns(fileConfig);
+			if (selected == null) {
+				return "*";
+			}
+		} else {
+			selected = new LinkedHashSet<>(splitIdentifiers(columns));
+		}
+
+		Set<String> upper = selected.stream().map(c -> c.toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+		for (String key : keyColumns) {
+			if (upper.add(key.toUpperCase(Locale.ROOT))) {
+				selected.add(key);
+			}
+		}
+		return String.join(", ", selected);
+	}
+
+	/**
+	 * Source fields referenced by the mapping, or null when the mapping reads fields that
+	 * cannot be determined up front (conditional expressions) and every column is needed.
+	 */
+	private Set<String> mappingSourceColumns(FileConfig fileConfig) {
+		MappingPlan plan;
+		try {
+			plan = yamlMappingService.getMappingPlan(fileConfig.getTemplate(), fileConfig.getTransactionType());
+		} catch (RuntimeException e) {
+			log.warn("⚠️  Could not resolve mapping for column projection, selecting all columns: {}", e.getMessage());
+			return null;
+		}
+		Set<String> columns = new LinkedHashSet<>();
+		for (FieldMapping field : plan.getFields()) {
+			String type = field.getTransformationType() == null ? "" : field.getTransformationType().toLowerCase(Locale.ROOT);
+			switch (type) {
+				case "source":
+					addIdentifier(columns, field.getSourceField());
+					break;
+				case "composite":
+					if (field.getSources() != null) {
+						field.getSources().forEach(source -> addIdentifier(columns, source.get("sourceField")));
+					}
+					break;
+				case "conditional":
+					return null;
+				default:
+					break;
+			}
+		}
+		return columns.isEmpty() ? null : columns;
+	}
+
+	private static void addIdentifier(Set<String> columns, String name) {
+		if (name != null && IDENTIFIER.matcher(name.trim()).matches()) {
+			columns.add(name.trim());
+		}
+	}
+
+	private static List<String> splitIdentifiers(String value) {
+		if (value == null || value.isBlank()) {
+			return List.of();
+		}
+		List<String> names = Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+				.collect(Collectors.toList());
+		for (String name : names) {
+			if (!IDENTIFIER.matcher(name).matches()) {
+				throw new IllegalArgumentException("Invalid column name: " + name);
+			}
+		}
+		return names;
+	}
+
+	private static int intParam(Map<String, String> params, String name, int defaultValue) {
+		String value = params.get(name);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			int parsed = Integer.parseInt(value.trim());
+			if (parsed <= 0) {
+				throw new IllegalArgumentException(name + " must be positive, got: " + parsed);
+			}
+			return parsed;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + " must be a valid integer, got: " + value);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.fabric.batch.adapter;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.batch.item.ItemReader;
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.reader.DelimitedOrFixedWidthReader;
+import com.fabric.batch.reader.MappedFlatFileReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSourceAdapter for delimited and fixed-width inbound files.
+ *
+ * Reads through {@link MappedFlatFileReader}, which tokenizes the memory-mapped file in
+ * place and decodes only the fields a mapping uses. Configuration:
+ * format: csv | delimited | fixed
+ * columnNames: ACCT_NUM,BAL,STATUS
+ * delimiter: "|"             (delimited, single byte, default ",")
+ * quoteCharacter: '"'        (delimited, empty to disable)
+ * columnRanges: 1-10,11-25,26  (fixed, 1-based inclusive; a bare start runs to end of line)
+ * encoding: UTF-8
+ * mapWindowMb: 256           (size of each mapped region)
+ * mmap: false                (fall back to the FlatFileItemReader based reader)
+ *
+ * Multi-byte delimiters, charsets that are not ASCII compatible, and fixed-width files in
+ * multi-byte charsets fall back to {@link DelimitedOrFixedWidthReader}.
+ */
+@Component
+@Slf4j
+public class MappedFileDataSourceAdapter implements DataSourceAdapter {
+
+    private static final long DEFAULT_WINDOW_MB = 256;
+
+    @Override
+    public boolean supports(String format) {
+        return "csv".equalsIgnoreCase(format) ||
+               "delimited".equalsIgnoreCase(format) ||
+               "fixed".equalsIgnoreCase(format);
+    }
+
+    @Override
+    public ItemReader<Map<String, Object>> createReader(FileConfig fileConfig) {
+        Map<String, String> params = fileConfig.getParams();
+        boolean fixed = "fixed".equalsIgnoreCase(params.get("format"));
+        Charset charset = Charset.forName(params.getOrDefault("encoding", StandardCharsets.UTF_8.name()));
+        String delimiter = params.getOrDefault("delimiter", ",");
+        String quote = params.getOrDefault("quoteCharacter", "\"");
+
+        String fallbackReason = null;
+        if ("false".equalsIgnoreCase(params.get("mmap"))) {
+            fallbackReason = "disabled by configuration";
+        } else if (!asciiCompatible(charset)) {
+            fallbackReason = "charset " + charset + " is not ASCII compatible";
+        } else if (fixed && charset.newEncoder().maxBytesPerChar() > 1) {
+            fallbackReason = "fixed-width columns in multi-byte charset " + charset;
+        } else if (!fixed && (singleByte(delimiter, charset) == null || !quote.isEmpty() && singleByte(quote, charset) == null)) {
+            fallbackReason = "multi-byte delimiter or quote";
+        }
+        if (fallbackReason != null) {
+            log.info("📄 Using FlatFileItemReader for {} ({})", fileConfig.getInputPath(), fallbackReason);
+            return new DelimitedOrFixedWidthReader(fileConfig);
+        }
+
+        RecordSchema schema = new RecordSchema(params.get("columnNames").split(","));
+        long windowSize = Math.max(1, Long.parseLong(params.getOrDefault("mapWindowMb", String.valueOf(DEFAULT_WINDOW_MB)))) << 20;
+        log.info("🗺️  Creating memory-mapped {} reader for {} ({} columns)",
+                fixed ? "fixed-width" : "delimited", fileConfig.getInputPath(), schema.size());
+
+        if (fixed) {
+            String[] ranges = params.get("columnRanges").split(",");
+            int[] starts = new int[ranges.length];
+            int[] ends = new int[ranges.length];
+            for (int i = 0; i < ranges.length; i++) {
+                String[] bounds = ranges[i].trim().split("-");
+                starts[i] = Integer.parseInt(bounds[0].trim()) - 1;
+                ends[i] = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : Integer.MAX_VALUE;
+            }
+            return MappedFlatFileReader.fixedWidth(Paths.get(fileConfig.getInputPath()), schema, charset,
+                    windowSize, starts, ends);
+        }
+        byte quoteByte = quote.isEmpty() ? 0 : singleByte(quote, charset);
+        return MappedFlatFileReader.delimited(Paths.get(fileConfig.getInputPath()), schema, charset,
+                windowSize, singleByte(delimiter, charset), quoteByte);
+    }
+
+    @Override
+    public void validateConfiguration(FileConfig fileConfig) {
+        Map<String, String> params = fileConfig.getParams();
+
+        if (fileConfig.getInputPath() == null || fileConfig.getInputPath().trim().isEmpty()) {
+            throw new IllegalArgumentException("File adapter requires 'inputPath' to be specified");
+        }
+        String columnNames = params.get("columnNames");
+        if (columnNames == null || columnNames.trim().isEmpty()) {
+            throw new IllegalArgumentException("File adapter requires 'columnNames' parameter");
+        }
+        if ("fixed".equalsIgnoreCase(params.get("format"))) {
+            String columnRanges = params.get("columnRanges");
+            if (columnRanges == null || columnRanges.trim().isEmpty()) {
+                throw new IllegalArgumentException("Fixed-width files require 'columnRanges' parameter");
+            }
+            if (columnRanges.split(",").length != columnNames.split(",").length) {
+                throw new IllegalArgumentException("'columnRanges' and 'columnNames' must have the same number of entries");
+            }
+            for (String range : columnRanges.split(",")) {
+                if (!range.trim().matches("\\d+(-\\d+)?")) {
+                    throw new IllegalArgumentException("Invalid column range: " + range);
+                }
+            }
+        }
+        String window = params.get("mapWindowMb");
+        if (window != null && !window.matches("\\d+")) {
+            throw new IllegalArgumentException("mapWindowMb must be a positive integer, got: " + window);
+        }
+
+        log.debug("✅ File configuration validation passed for: {}", fileConfig.getInputPath());
+    }
+
+    @Override
+    public int getPriority() {
+        return 50;
+    }
+
+    /**
+     * True when newline, common delimiters and quotes encode as their single ASCII bytes,
+     * which is what the byte-level scanner relies on.
+     */
+    private static boolean asciiCompatible(Charset charset) {
+        return Arrays.equals("\n,|\t\"".getBytes(charset), new byte[] { '\n', ',', '|', '\t', '"' });
+    }
+
+    private static Byte singleByte(String value, Charset charset) {
+        byte[] bytes = value.getBytes(charset);
+        return bytes.length == 1 ? bytes[0] : null;
+    }
+}
@@ -15,12 +15,17 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * Supports reading data from HTTP/HTTPS REST endpoints that return JSON.
  * This is our first "new" source type beyond the existing JDBC/file support.
+ * Responses are streamed record by record; see {@link RestApiReader} for the
+ * pagination, retry and rate-limit parameters.
  * 
  * Configuration example:
  * format: rest
  * baseUrl: https://api.example.com
  * endpoint: /users
  * authToken: Bearer xyz123
+ * itemsPath: data
+ * pagination: cursor
+ * cursorPath: meta.next_cursor
  */
 @Component
 @Slf4j
@@ -75,6 +80,38 @@ public class RestApiDataSourceAdapter implements DataSourceAdapter {
             }
         }
         
+        String pagination = params.get("pagination");
+        try {
+            RestApiReader.pagination(pagination);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("pagination must be one of none, page, cursor or link, got: " + pagination);
+        }
+        
+        for (String name : new String[] {"pageSize", "firstPage", "maxRetries", "retryBackoffMs"}) {
+            String value = params.get(name);
+            if (value != null && !value.trim().isEmpty()) {
+                try {
+                    if (Long.parseLong(value.trim()) < 0) {
+                        throw new IllegalArgumentException(name + " must not be negative, got: " + value);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " must be a valid integer, got: " + value);
+                }
+            }
+        }
+        if ("page".equalsIgnoreCase(pagination) && "0".equals(params.get("pageSize"))) {
+            throw new IllegalArgumentException("page pagination requires a positive pageSize");
+        }
+        
+        String maxRequestsPerSecond = params.get("maxRequestsPerSecond");
+        if (maxRequestsPerSecond != null && !maxRequestsPerSecond.trim().isEmpty()) {
+            try {
+                Double.parseDouble(maxRequestsPerSecond);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("maxRequestsPerSecond must be a number, got: " + maxRequestsPerSecond);
+            }
+        }
+        
         log.debug("✅ REST API configuration validation passed for: {}{}", baseUrl, endpoint);
     }
     
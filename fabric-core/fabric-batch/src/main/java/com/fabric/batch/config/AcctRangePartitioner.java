@@ -11,6 +11,12 @@ import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+/**
+ * @deprecated limited to ACCT_NUM and not wired into any job; configure
+ *             {@code partitionStrategy: range} on the file instead, see
+ *             {@link com.fabric.batch.partition.KeyRangePartitionStrategy}.
+ */
+@Deprecated
 class AcctRangePartitioner implements Partitioner {
 
     private static final Logger log = LoggerFactory.getLogger(AcctRangePartitioner.class);
@@ -15,20 +15,22 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
 
 import com.fabric.batch.adapter.DataSourceAdapterRegistry;
+import com.fabric.batch.executor.ExecutorProfileRegistry;
 import com.fabric.batch.listener.GenericJobListener;
 import com.fabric.batch.listener.GenericStepListener;
 import com.fabric.batch.mapping.YamlMappingService;
 import com.fabric.batch.model.BatchJobProperties;
 import com.fabric.batch.model.FileConfig;
 import com.fabric.batch.partition.GenericPartitioner;
+import com.fabric.batch.partition.PartitionStrategyRegistry;
 import com.fabric.batch.processor.GenericProcessor;
 import com.fabric.batch.reader.GenericReader;
 import com.fabric.batch.tasklet.LoadBatchDateTasklet;
+import com.fabric.batch.tasklet.PartFileMergeTasklet;
 import com.fabric.batch.writer.GenericWriter;
 
 import lombok.RequiredArgsConstructor;
@@ -46,7 +48,8 @@ public class GenericJobConfig extends org.springframework.batch.core.configurati
 	private final BatchJobProperties config;
 	private final GenericJobListener jobListener;
 	private final GenericStepListener stepListener;
-	private final TaskExecutor taskExecutor;
+	// Partitions run on the executor profile mapped to their source system
+	private final ExecutorProfileRegistry executorProfileRegistry;
 	private final LoadBatchDateTasklet loadBatchDateTasklet;
 	// private final SimpleExecutionMonitor executionMonitor;
 	private final DynamicBatchConfigLoader configLoader;
@@ -54,6 +57,9 @@ public class GenericJobConfig extends org.springframework.batch.core.configurati
 	// ✅ NEW: Inject the adapter registry 6/11/25
 	private final DataSourceAdapterRegistry adapterRegistry;
 
+	// Sub-partitioning strategies (range / hash / histogram) selected per file
+	private final PartitionStrategyRegistry partitionStrategyRegistry;
+
 	@Override
 	protected Isolation getIsolationLevelForCreate() {
 		return Isolation.READ_COMMITTED;
@@ -74,6 +80,7 @@ public class GenericJobConfig extends org.springframework.batch.core.configurati
 				// .listener(executionMonitor)
 				.start(loadBatchDateStep())
 				.next(filePartitionStep(null, null))
+				.next(partFileMergeStep(null, null))
 				.build();
 	}
 
@@ -89,6 +96,31 @@ public class GenericJobConfig extends org.springframework.batch.core.configurati
 
 		log.info("🔥 Creating partition step for job: {}.{}", sourceSystem, jobName);
 
+		try {
+			// Create partitioned step - key change: use string name, not bean reference
+			return new StepBuilder(jobName + "PartitionStep", jobRepository())
+					.partitioner("workerStep", filePartitioner(null, null)) // ← String reference
+					.step(createWorkerStep(jobName)) // ← Method call, not bean
+					.gridSize(config.getGridSize())
+					.taskExecutor(executorProfileRegistry.getExecutorForSource(sourceSystem))
+					.build();
+
+		} catch (Exception e) {
+			log.error("❌ Failed to create partition step for {}.{}", sourceSystem, jobName, e);
+			throw new RuntimeException("Configuration loading failed", e);
+		}
+	}
+
+	/**
+	 * Job-scoped partitioner shared by the partition step and the part-file merge step,
+	 * so the merge sees exactly the part files this job execution created.
+	 */
+	@Bean
+	@JobScope
+	public GenericPartitioner filePartitioner(
+			@Value("#{jobParameters['jobName']}") String jobName,
+			@Value("#{jobParameters['sourceSystem']}") String sourceSystem) {
+
 		try {
 			// Load dynamic configuration
 			var systemConfig = configLoader.getSourceSystemConfig(sourceSystem);
@@ -97,27 +129,33 @@ public class GenericJobConfig extends org.springframework.batch.core.configurati
 			log.info("✅ Loaded configuration for {}.{}", sourceSystem, jobName);
 
 			// Create partitioner with context
-			GenericPartitioner partitioner = new GenericPartitioner(
+			return new GenericPartitioner(
 					mappingService,
 					systemConfig,
 					jobConfig,
 					sourceSystem,
-					jobName);
-
-			// Create partitioned step - key change: use string name, not bean reference
-			return new StepBuilder(jobName + "PartitionStep", jobRepository())
-					.partitioner("workerStep", partitioner) // ← String reference
-					.step(createWorkerStep(jobName)) // ← Method call, not bean
-					.gridSize(config.getGridSize())
-					.taskExecutor(taskExecutor)
-					.build();
+					jobName,
+					partitionStrategyRegistry);
 
 		} catch (Exception e) {
-			log.error("❌ Failed to create partition step for {}.{}", sourceSystem, jobName, e);
+			log.error("❌ Failed to create partitioner for {}.{}", sourceSystem, jobName, e);
 			throw new RuntimeException("Configuration loading failed", e);
 		}
 	}
 
+	/**
+	 * Concatenates sub-partition part files into their final output files, in slice order.
+	 */
+	@Bean
+	@JobScope
+	public Step partFileMergeStep(
+			@Value("#{jobParameters['jobName']}") String jobName,
+			@Value("#{jobParameters['sourceSystem']}") String sourceSystem) {
+		return new StepBuilder(jobName + "PartFileMergeStep", jobRepository())
+				.tasklet(new PartFileMergeTasklet(jobExplorer()), getTransactionManager())
+				.build();
+	}
+
 	/**
 	 * Creates the worker step that will be executed by each partition.
 	 * This is NOT a Spring bean - it's a method that creates Step instances.
@@ -2,17 +2,20 @@ package com.fabric.batch.config;
 
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
-import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.fabric.batch.executor.ExecutorProfileProperties;
+import com.fabric.batch.executor.ExecutorProfileRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
 @EnableBatchProcessing
+@EnableConfigurationProperties(ExecutorProfileProperties.class)
 @Slf4j
 public class TaskExecutorConfig {
 
@@ -20,42 +23,35 @@ public class TaskExecutorConfig {
     private Environment environment;
 
     @Bean
-    public TaskExecutor taskExecutor() {
-        if (isDebugMode()) {
+    public ExecutorProfileRegistry executorProfileRegistry(ExecutorProfileProperties properties) {
+        boolean debugMode = isDebugMode();
+        if (debugMode) {
             // ✅ SYNCHRONOUS EXECUTOR - No thread pool, no parallel execution
             log.info("🐛 DEBUG MODE: Using SyncTaskExecutor (truly single-threaded)");
-            return new SyncTaskExecutor();
         } else {
-            // Normal parallel execution
-            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-            executor.setCorePoolSize(4);
-            executor.setMaxPoolSize(10);
-            executor.setQueueCapacity(100);
-            executor.setThreadNamePrefix("batch-");
-            executor.setWaitForTasksToCompleteOnShutdown(true);
-            executor.setAwaitTerminationSeconds(60);
-            executor.initialize();
-            log.info("🚀 PRODUCTION MODE: Using ThreadPoolTaskExecutor (parallel execution)");
-            return executor;
+            log.info("🚀 PRODUCTION MODE: Using executor profiles (parallel execution)");
         }
+        return new ExecutorProfileRegistry(properties, debugMode);
+    }
+
+    /**
+     * Executor of the default profile, for steps not bound to a source system.
+     */
+    @Bean
+    public TaskExecutor taskExecutor(ExecutorProfileRegistry executorProfileRegistry) {
+        return executorProfileRegistry.getDefaultExecutor();
     }
-    
+
     /**
-     * Detects if we're running in debug mode
+     * Single-threaded execution is only used when explicitly requested; attaching
+     * a debugger or running from the IDE no longer changes the executor.
      */
     private boolean isDebugMode() {
-        boolean debugJVM = java.lang.management.ManagementFactory.getRuntimeMXBean()
-            .getInputArguments().toString().contains("-agentlib:jdwp");
-        
         boolean debugProp = "true".equals(System.getProperty("debug.batch"));
         boolean debugEnv = "true".equals(System.getenv("DEBUG_BATCH"));
         boolean debugProfile = java.util.Arrays.asList(environment.getActiveProfiles()).contains("debug");
         boolean debugConfig = environment.getProperty("batch.debug.enabled", Boolean.class, false);
-        boolean ideDebug = System.getProperty("java.class.path").contains("idea_rt.jar");
-        
-        // Also check if gridSize=1 was explicitly set
-        boolean singleThreaded = environment.getProperty("batch.gridSize", Integer.class, 10) == 1;
-        
-        return debugJVM || debugProp || debugEnv || debugProfile || debugConfig || ideDebug || singleThreaded;
+
+        return debugProp || debugEnv || debugProfile || debugConfig;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.fabric.batch.executor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named executor profiles for partitioned batch steps.
+ *
+ * <pre>
+ * fabric:
+ *   batch:
+ *     executors:
+ *       default-profile: cpu
+ *       profiles:
+ *         cpu:        { kind: CPU }
+ *         rest-io:    { kind: VIRTUAL, max-concurrency: 50 }
+ *       source-systems:
+ *         PARTNER_API: rest-io
+ * </pre>
+ *
+ * Source systems without a mapping use the default profile. Profiles marked as bulkheads
+ * get a separate executor per source system, so one slow source cannot take the threads
+ * of another.
+ */
+@Data
+@ConfigurationProperties(prefix = "fabric.batch.executors")
+public class ExecutorProfileProperties {
+
+    public enum Kind {
+        /** Pool sized to the available processors, for transformation work */
+        CPU,
+        /** Bounded platform thread pool, for blocking JDBC/REST reads */
+        IO,
+        /** One virtual thread per task, bounded by max concurrency; requires Java 21 */
+        VIRTUAL
+    }
+
+    /**
+     * Profile used for source systems without an explicit mapping.
+     */
+    private String defaultProfile = "default";
+
+    /**
+     * Profiles by name. A "default" profile matching the former fixed pool
+     * (4 core, 10 max, queue 100) is added when not configured.
+     */
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    /**
+     * Profile name by source system.
+     */
+    private Map<String, String> sourceSystems = new LinkedHashMap<>();
+
+    @Data
+    public static class Profile {
+
+        private Kind kind = Kind.IO;
+
+        /**
+         * Core threads; CPU profiles default to the available processors.
+         */
+        private Integer corePoolSize;
+
+        /**
+         * Maximum threads; CPU profiles default to the core size.
+         */
+        private Integer maxPoolSize;
+
+        /**
+         * Tasks queued before the pool grows past its core size.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Concurrent tasks allowed on a VIRTUAL profile.
+         */
+        private int maxConcurrency = 64;
+
+        /**
+         * Give every source system mapped to this profile its own executor.
+         */
+        private boolean bulkhead = false;
+
+        private int awaitTerminationSeconds = 60;
+    }
+}
@@ -0,0 +1,181 @@
+package com.fabric.batch.executor;
+
+import com.fabric.batch.executor.ExecutorProfileProperties.Kind;
+import com.fabric.batch.executor.ExecutorProfileProperties.Profile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and hands out the executors of the configured executor profiles.
+ *
+ * Executors are created on first use: one per profile, or one per profile and source system
+ * for bulkhead profiles. In synchronous mode every lookup returns a {@link SyncTaskExecutor},
+ * for stepping through partitions in a debugger.
+ */
+@Slf4j
+public class ExecutorProfileRegistry implements DisposableBean {
+
+    public static final String DEFAULT_PROFILE = "default";
+
+    private final ExecutorProfileProperties properties;
+    private final boolean synchronous;
+    private final Map<String, ProfiledTaskExecutor> executors = new ConcurrentHashMap<>();
+
+    public ExecutorProfileRegistry(ExecutorProfileProperties properties, boolean synchronous) {
+        this.properties = properties;
+        this.synchronous = synchronous;
+        properties.getProfiles().computeIfAbsent(DEFAULT_PROFILE, name -> {
+            Profile profile = new Profile();
+            profile.setCorePoolSize(4);
+            profile.setMaxPoolSize(10);
+            return profile;
+        });
+        if (!properties.getProfiles().containsKey(properties.getDefaultProfile())) {
+            throw new IllegalArgumentException(unknownProfile(properties.getDefaultProfile()));
+        }
+        properties.getSourceSystems().forEach((sourceSystem, profile) -> {
+            if (!properties.getProfiles().containsKey(profile)) {
+                throw new IllegalArgumentException(unknownProfile(profile) + " (source system " + sourceSystem + ")");
+            }
+        });
+        log.info("🧵 Executor profiles: {}, source systems: {}, synchronous: {}",
+                properties.getProfiles().keySet(), properties.getSourceSystems(), synchronous);
+    }
+
+    /**
+     * Executor of the default profile.
+     */
+    public TaskExecutor getDefaultExecutor() {
+        return getExecutor(properties.getDefaultProfile());
+    }
+
+    /**
+     * @throws IllegalArgumentException if no profile is configured under the name
+     */
+    public TaskExecutor getExecutor(String profileName) {
+        return executorFor(profileName, null);
+    }
+
+    /**
+     * Executor of the profile mapped to the source system, or of the default profile.
+     */
+    public TaskExecutor getExecutorForSource(String sourceSystem) {
+        String profileName = sourceSystem != null
+                ? properties.getSourceSystems().getOrDefault(sourceSystem, properties.getDefaultProfile())
+                : properties.getDefaultProfile();
+        return executorFor(profileName, sourceSystem);
+    }
+
+    /**
+     * Saturation, queue wait and rejection statistics by executor name.
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        return executors.values().stream()
+                .collect(Collectors.toMap(ProfiledTaskExecutor::getName, ProfiledTaskExecutor::getStatistics,
+                        (a, b) -> a, TreeMap::new));
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(executor -> {
+            log.info("🛑 Shutting down executor {}: {}", executor.getName(), executor.getStatistics());
+            executor.close();
+        });
+        executors.clear();
+    }
+
+    private TaskExecutor executorFor(String profileName, String sourceSystem) {
+        if (synchronous) {
+            return new SyncTaskExecutor();
+        }
+        Profile profile = properties.getProfiles().get(profileName);
+        if (profile == null) {
+            throw new IllegalArgumentException(unknownProfile(profileName));
+        }
+        String name = profile.isBulkhead() && sourceSystem != null ? profileName + "-" + sourceSystem : profileName;
+        return executors.computeIfAbsent(name, key -> createExecutor(key, profile));
+    }
+
+    private ProfiledTaskExecutor createExecutor(String name, Profile profile) {
+        if (profile.getKind() == Kind.VIRTUAL) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                int maxConcurrency = Math.max(1, profile.getMaxConcurrency());
+                Semaphore permits = new Semaphore(maxConcurrency);
+                log.info("🧵 Executor {}: virtual threads, max concurrency {}", name, maxConcurrency);
+                return new ProfiledTaskExecutor(name, Kind.VIRTUAL.name(), virtual, maxConcurrency, permits,
+                        permits::getQueueLength, () -> shutdown(virtual, profile.getAwaitTerminationSeconds()));
+            }
+            log.warn("⚠️ Executor {}: virtual threads need Java 21, running {}; using a pool of {} threads",
+                    name, Runtime.version().feature(), profile.getMaxConcurrency());
+        }
+
+        int core;
+        int max;
+        if (profile.getKind() == Kind.CPU) {
+            core = profile.getCorePoolSize() != null ? profile.getCorePoolSize() : Runtime.getRuntime().availableProcessors();
+            max = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : core;
+        } else if (profile.getKind() == Kind.VIRTUAL) {
+            core = Math.max(1, profile.getMaxConcurrency());
+            max = core;
+        } else {
+            core = profile.getCorePoolSize() != null ? profile.getCorePoolSize() : 4;
+            max = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : core;
+        }
+        max = Math.max(core, max);
+
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(core);
+        pool.setMaxPoolSize(max);
+        pool.setQueueCapacity(profile.getQueueCapacity());
+        pool.setThreadNamePrefix("batch-" + name + "-");
+        pool.setWaitForTasksToCompleteOnShutdown(true);
+        pool.setAwaitTerminationSeconds(profile.getAwaitTerminationSeconds());
+        pool.initialize();
+        log.info("🧵 Executor {}: {} pool, {} core / {} max threads, queue {}",
+                name, profile.getKind(), core, max, profile.getQueueCapacity());
+        return new ProfiledTaskExecutor(name, profile.getKind().name(), pool, max, null,
+                () -> pool.getThreadPoolExecutor().getQueue().size(), pool::shutdown);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when running on Java 21 or later. Looked up
+     * reflectively so the module still compiles for Java 17; the java21 build profile targets 21.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static void shutdown(ExecutorService executor, int awaitTerminationSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private String unknownProfile(String name) {
+        return String.format("No executor profile '%s'. Configured profiles: %s", name, properties.getProfiles().keySet());
+    }
+}
@@ -0,0 +1,122 @@
+package com.fabric.batch.executor;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Task executor of one executor profile, recording saturation, queue wait and rejections.
+ *
+ * Queue wait runs from submission until the task starts, including any wait for a
+ * concurrency permit. Virtual thread executors are unbounded, so they pass a permit
+ * semaphore that caps the tasks running at once.
+ */
+public class ProfiledTaskExecutor implements TaskExecutor, AutoCloseable {
+
+    private final String name;
+    private final String kind;
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final IntSupplier queueDepth;
+    private final Runnable shutdown;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    public ProfiledTaskExecutor(String name, String kind, Executor delegate, int maxConcurrency,
+                                Semaphore permits, IntSupplier queueDepth, Runnable shutdown) {
+        this.name = name;
+        this.kind = kind;
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = permits;
+        this.queueDepth = queueDepth;
+        this.shutdown = shutdown;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+        submitted.incrementAndGet();
+        try {
+            delegate.execute(() -> run(task, submittedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new TaskRejectedException("Executor profile " + name + " rejected task: saturated at "
+                    + active.get() + "/" + maxConcurrency + " active, " + queueDepth.getAsInt() + " queued", e);
+        }
+    }
+
+    private void run(Runnable task, long submittedAt) {
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.incrementAndGet();
+                return;
+            }
+        }
+        long waited = System.nanoTime() - submittedAt;
+        queueWaitNanos.addAndGet(waited);
+        maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            task.run();
+            completed.incrementAndGet();
+        } catch (RuntimeException | Error e) {
+            failed.incrementAndGet();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getStatistics() {
+        long started = completed.get() + failed.get() + active.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("name", name);
+        stats.put("kind", kind);
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("active", active.get());
+        stats.put("peakActive", peakActive.get());
+        stats.put("saturation", maxConcurrency > 0 ? (double) active.get() / maxConcurrency : 0.0);
+        stats.put("queued", queueDepth.getAsInt());
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("averageQueueWaitMs", started > 0
+                ? TimeUnit.NANOSECONDS.toMicros(queueWaitNanos.get()) / 1000.0 / started : 0.0);
+        stats.put("maxQueueWaitMs", TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get()));
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        shutdown.run();
+    }
+}
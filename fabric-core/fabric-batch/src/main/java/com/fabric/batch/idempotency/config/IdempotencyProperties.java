@@ -272,6 +272,18 @@ public class IdempotencyProperties {
          * Whether to enable compression for large payloads.
          */
         private boolean compressionEnabled = false;
+        
+        /**
+         * Capacity of the write-behind queues for audit entries and last accessed updates.
+         */
+        @Min(1)
+        private int writeBehindQueueCapacity = 10000;
+        
+        /**
+         * How long a write-behind batch may wait before it is written (in milliseconds).
+         */
+        @Min(1)
+        private long writeBehindLingerMs = 500;
     }
     
     /**
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -131,6 +132,29 @@ public interface FabricIdempotencyKeyRepository extends JpaRepository<FabricIdem
         @Param("expectedVersion") Integer expectedVersion
     );
     
+    /**
+     * Mark as failed in one statement, clearing any previous response and counting the attempt.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE FabricIdempotencyKeyEntity i 
+        SET i.processingState = 'FAILED',
+            i.errorDetails = :errorDetails,
+            i.responsePayload = NULL,
+            i.completedDate = CURRENT_TIMESTAMP,
+            i.retryCount = i.retryCount + 1,
+            i.lockVersion = i.lockVersion + 1,
+            i.lastAccessed = CURRENT_TIMESTAMP
+        WHERE i.idempotencyKey = :idempotencyKey
+        AND i.lockVersion = :expectedVersion
+        """)
+    int markFailedWithDetails(
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("errorDetails") String errorDetails,
+        @Param("expectedVersion") Integer expectedVersion
+    );
+    
     /**
      * Increment retry count and update state.
      */
@@ -202,6 +226,18 @@ public interface FabricIdempotencyKeyRepository extends JpaRepository<FabricIdem
         """)
     int updateLastAccessed(@Param("idempotencyKey") String idempotencyKey);
     
+    /**
+     * Update last accessed timestamp for a batch of keys touched since the last flush.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE FabricIdempotencyKeyEntity i 
+        SET i.lastAccessed = CURRENT_TIMESTAMP
+        WHERE i.idempotencyKey IN :idempotencyKeys
+        """)
+    int updateLastAccessedBatch(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+    
     // ============================================================================
     // Query and Reporting Operations
     // ============================================================================
@@ -0,0 +1,297 @@
+package com.fabric.batch.idempotency.service;
+
+import com.fabric.batch.audit.AuditWriteBuffer;
+import com.fabric.batch.audit.AuditWriteBuffer.OverflowPolicy;
+import com.fabric.batch.idempotency.config.IdempotencyProperties;
+import com.fabric.batch.idempotency.entity.FabricIdempotencyAuditEntity;
+import com.fabric.batch.idempotency.entity.FabricIdempotencyKeyEntity;
+import com.fabric.batch.idempotency.entity.FabricIdempotencyKeyEntity.ProcessingState;
+import com.fabric.batch.idempotency.repository.FabricIdempotencyAuditRepository;
+import com.fabric.batch.idempotency.repository.FabricIdempotencyKeyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tiered store for idempotency keys in front of {@link FabricIdempotencyKeyRepository}.
+ * Keeps the per-request database work of an idempotent call to one statement where possible:
+ * <ul>
+ *   <li>completed keys and keys claimed on this node are answered from a local cache;</li>
+ *   <li>new keys are claimed with a single INSERT, the primary key deciding between racing callers;
+ *       the INSERT is flushed in its own transaction, so it is not deferred to the caller's
+ *       commit and a lost race does not mark the caller's transaction rollback-only;</li>
+ *   <li>the final state is written with one versioned UPDATE;</li>
+ *   <li>last accessed timestamps and audit entries are written behind in batches.</li>
+ * </ul>
+ * Only completed and locally claimed keys are cached: completed records do not change until
+ * they expire, and an in-progress key is dropped from the cache once this node finishes it.
+ *
+ * @author Fabric Platform Team
+ * @version 1.0
+ * @since 2025-08
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyStore {
+
+    // Oracle rejects IN lists longer than 1000 entries
+    private static final int MAX_IN_LIST_SIZE = 1000;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    private final FabricIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate claimTransaction;
+    private final boolean cacheEnabled;
+    private final long cacheMaxSize;
+    private final long cacheTtlMillis;
+    private final int flushBatchSize;
+
+    private final Map<String, CachedKey> localKeys = new ConcurrentHashMap<>();
+    private final AuditWriteBuffer<FabricIdempotencyAuditEntity> auditBuffer;
+    private final AuditWriteBuffer<String> lastAccessedBuffer;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder claimConflicts = new LongAdder();
+
+    public IdempotencyKeyStore(
+            FabricIdempotencyKeyRepository idempotencyKeyRepository,
+            FabricIdempotencyAuditRepository idempotencyAuditRepository,
+            IdempotencyProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheEnabled = properties.getCache().isEnabled();
+        this.cacheMaxSize = properties.getCache().getMaxSize();
+        this.cacheTtlMillis = properties.getCache().getExpireAfterWrite().toMillis();
+        this.flushBatchSize = Math.min(properties.getDatabase().getBatchSize(), MAX_IN_LIST_SIZE);
+
+        int capacity = properties.getPerformance().getWriteBehindQueueCapacity();
+        long lingerMs = properties.getPerformance().getWriteBehindLingerMs();
+        this.auditBuffer = new AuditWriteBuffer<>("idempotency-audit",
+                idempotencyAuditRepository::saveAll, capacity, flushBatchSize, lingerMs,
+                OverflowPolicy.BLOCK, lingerMs);
+        this.lastAccessedBuffer = new AuditWriteBuffer<>("idempotency-last-accessed",
+                this::writeLastAccessed, capacity, flushBatchSize, lingerMs,
+                OverflowPolicy.DROP_NEWEST, 0);
+    }
+
+    /**
+     * Look up a key in the local cache, without touching the database.
+     */
+    public Optional<FabricIdempotencyKeyEntity> findCached(String idempotencyKey) {
+        if (!cacheEnabled) {
+            return Optional.empty();
+        }
+        CachedKey cached = localKeys.get(idempotencyKey);
+        if (cached == null) {
+            cacheMisses.increment();
+            return Optional.empty();
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            localKeys.remove(idempotencyKey, cached);
+            cacheMisses.increment();
+            return Optional.empty();
+        }
+        cacheHits.increment();
+        return Optional.of(cached.entity());
+    }
+
+    /**
+     * Claim a new key with a single INSERT. When another caller already holds the key, the
+     * existing record is returned instead and nothing is written.
+     *
+     * The INSERT is flushed and committed in a new transaction even when called inside one,
+     * e.g. from a tasklet's step transaction: otherwise it would only reach the database at
+     * the caller's commit, after both racing callers believed they had won, and the
+     * duplicate key failure would leave the caller's transaction rollback-only.
+     *
+     * @param entity a new record, already in the state it should be claimed in
+     * @return the claimed record, or the record that won the race
+     */
+    public ClaimResult claim(FabricIdempotencyKeyEntity entity) {
+        // A null version makes save() persist with one INSERT instead of merging after a SELECT
+        entity.setLockVersion(null);
+        try {
+            FabricIdempotencyKeyEntity claimed =
+                    claimTransaction.execute(status -> idempotencyKeyRepository.saveAndFlush(entity));
+            claims.increment();
+            cache(claimed);
+            return new ClaimResult(claimed, true);
+        } catch (DataIntegrityViolationException e) {
+            Optional<FabricIdempotencyKeyEntity> existing =
+                    idempotencyKeyRepository.findById(entity.getIdempotencyKey());
+            if (existing.isEmpty()) {
+                // Not a duplicate key, so a genuine constraint failure
+                throw e;
+            }
+            claimConflicts.increment();
+            log.debug("Idempotency key already claimed: {}", entity.getIdempotencyKey());
+            if (existing.get().getProcessingState() == ProcessingState.COMPLETED) {
+                cache(existing.get());
+            }
+            return new ClaimResult(existing.get(), false);
+        }
+    }
+
+    /**
+     * Move a claimed record to COMPLETED with one versioned UPDATE.
+     *
+     * @return false when the record was changed concurrently and was not updated
+     */
+    public boolean complete(FabricIdempotencyKeyEntity entity, String responsePayload) {
+        int updated = idempotencyKeyRepository.markCompletedWithPayload(
+                entity.getIdempotencyKey(), responsePayload, entity.getLockVersion());
+        if (updated == 0) {
+            localKeys.remove(entity.getIdempotencyKey());
+            return false;
+        }
+        entity.markCompleted(responsePayload);
+        entity.setLockVersion(entity.getLockVersion() + 1);
+        cache(entity);
+        return true;
+    }
+
+    /**
+     * Move a claimed record to FAILED with one versioned UPDATE. Failed keys are not cached,
+     * so the next attempt reads the retry count from the database.
+     *
+     * @return false when the record was changed concurrently and was not updated
+     */
+    public boolean fail(FabricIdempotencyKeyEntity entity, String errorDetails) {
+        localKeys.remove(entity.getIdempotencyKey());
+        int updated = idempotencyKeyRepository.markFailedWithDetails(
+                entity.getIdempotencyKey(), errorDetails, entity.getLockVersion());
+        if (updated == 0) {
+            return false;
+        }
+        entity.markFailed(errorDetails);
+        entity.setLockVersion(entity.getLockVersion() + 1);
+        return true;
+    }
+
+    /**
+     * Record an access; repeated accesses to a key are coalesced into one UPDATE per flush.
+     */
+    public void touch(String idempotencyKey) {
+        lastAccessedBuffer.offer(idempotencyKey);
+    }
+
+    /**
+     * Queue an audit entry to be written with the next batch.
+     */
+    public void audit(FabricIdempotencyAuditEntity audit) {
+        auditBuffer.offer(audit);
+    }
+
+    /**
+     * Write all queued audit entries and last accessed updates.
+     *
+     * @return true when everything was written within the timeout
+     */
+    public boolean flush() {
+        boolean audits = auditBuffer.flush(FLUSH_TIMEOUT_MS);
+        return lastAccessedBuffer.flush(FLUSH_TIMEOUT_MS) && audits;
+    }
+
+    /**
+     * Drop a key from the local cache, e.g. after it was changed outside this store.
+     */
+    public void evict(String idempotencyKey) {
+        localKeys.remove(idempotencyKey);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        auditBuffer.close();
+        lastAccessedBuffer.close();
+        log.info("Idempotency key store stopped - {}", getStatistics());
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cachedKeys", localKeys.size());
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("cacheMisses", cacheMisses.sum());
+        stats.put("claims", claims.sum());
+        stats.put("claimConflicts", claimConflicts.sum());
+        stats.put("auditBuffer", auditBuffer.getStatistics());
+        stats.put("lastAccessedBuffer", lastAccessedBuffer.getStatistics());
+        return stats;
+    }
+
+    private void cache(FabricIdempotencyKeyEntity entity) {
+        if (!cacheEnabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long cachedUntil = now + cacheTtlMillis;
+        if (entity.getExpiresAt() != null) {
+            long untilExpiry = now + Duration.between(LocalDateTime.now(), entity.getExpiresAt()).toMillis();
+            cachedUntil = Math.min(cachedUntil, untilExpiry);
+        }
+        if (cachedUntil <= now) {
+            return;
+        }
+        if (localKeys.size() >= cacheMaxSize && !localKeys.containsKey(entity.getIdempotencyKey())) {
+            makeRoom(now);
+        }
+        // Cache a copy, so callers can go on changing their instance without racing readers
+        localKeys.put(entity.getIdempotencyKey(), new CachedKey(entity.toBuilder().build(), cachedUntil));
+    }
+
+    /**
+     * Drop expired entries, or an arbitrary completed one when none has expired.
+     */
+    private void makeRoom(long now) {
+        if (localKeys.values().removeIf(cached -> cached.isExpired(now))) {
+            return;
+        }
+        Iterator<CachedKey> iterator = localKeys.values().iterator();
+        while (iterator.hasNext()) {
+            // Keys still in progress here guard against duplicate local execution, keep them
+            if (iterator.next().entity().getProcessingState() == ProcessingState.COMPLETED) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    private void writeLastAccessed(List<String> idempotencyKeys) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(idempotencyKeys));
+        for (int from = 0; from < distinct.size(); from += flushBatchSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + flushBatchSize, distinct.size()));
+            idempotencyKeyRepository.updateLastAccessedBatch(chunk);
+        }
+    }
+
+    /**
+     * Outcome of {@link #claim}: the record now held for the key, and whether this caller won it.
+     */
+    public record ClaimResult(FabricIdempotencyKeyEntity entity, boolean claimed) {
+    }
+
+    private record CachedKey(FabricIdempotencyKeyEntity entity, long cachedUntilMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= cachedUntilMillis;
+        }
+    }
+}
@@ -9,18 +9,13 @@ import com.fabric.batch.idempotency.entity.FabricIdempotencyConfigEntity;
 import com.fabric.batch.idempotency.entity.FabricIdempotencyConfigEntity.ConfigType;
 import com.fabric.batch.idempotency.exception.IdempotencyException;
 import com.fabric.batch.idempotency.model.*;
-import com.fabric.batch.idempotency.repository.FabricIdempotencyKeyRepository;
-import com.fabric.batch.idempotency.repository.FabricIdempotencyAuditRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 /**
@@ -28,17 +23,20 @@ import java.util.function.Supplier;
  * Provides comprehensive idempotency guarantees for batch jobs and API requests
  * with enterprise-grade state management, audit trails, and performance optimization.
  * 
+ * Keys are read and written through {@link IdempotencyKeyStore}, so a call costs one INSERT
+ * to claim its key and one UPDATE to record the outcome, and repeats of a completed call are
+ * answered locally. There is deliberately no surrounding transaction: each store operation
+ * commits on its own, which makes a claim visible to other nodes as soon as it is made.
+ * 
  * @author Fabric Platform Team
  * @version 1.0
  * @since 2025-08
  */
 @Service
-@Transactional
 @Slf4j
 public class IdempotencyService {
     
-    private final FabricIdempotencyKeyRepository idempotencyKeyRepository;
-    private final FabricIdempotencyAuditRepository idempotencyAuditRepository;
+    private final IdempotencyKeyStore keyStore;
     private final IdempotencyKeyGenerator keyGenerator;
     private final IdempotencyConfigService configService;
     private final ObjectMapper objectMapper;
@@ -46,18 +44,15 @@ public class IdempotencyService {
     
     // Configuration constants
     private static final int STALE_TIMEOUT_MINUTES = 30;
-    private static final int MAX_OPTIMISTIC_LOCK_RETRIES = 3;
     private static final int PROCESSING_TIMEOUT_MINUTES = 60;
     
     public IdempotencyService(
-            FabricIdempotencyKeyRepository idempotencyKeyRepository,
-            FabricIdempotencyAuditRepository idempotencyAuditRepository,
+            IdempotencyKeyStore keyStore,
             IdempotencyKeyGenerator keyGenerator,
             IdempotencyConfigService configService,
             ObjectMapper objectMapper,
             ApplicationEventPublisher eventPublisher) {
-        this.idempotencyKeyRepository = idempotencyKeyRepository;
-        this.idempotencyAuditRepository = idempotencyAuditRepository;
+        this.keyStore = keyStore;
         this.keyGenerator = keyGenerator;
         this.configService = configService;
         this.objectMapper = objectMapper;
@@ -116,21 +111,27 @@ public class IdempotencyService {
             // Generate or extract idempotency key
             String idempotencyKey = keyGenerator.generateKey(request);
             
-            // Check for existing processing
-            Optional<FabricIdempotencyKeyEntity> existing = 
-                idempotencyKeyRepository.findById(idempotencyKey);
-            
-            if (existing.isPresent()) {
-                return handleExistingRequest(existing.get(), request, responseType, startTime);
+            // Hot keys are answered without a database round trip
+            Optional<FabricIdempotencyKeyEntity> cached = keyStore.findCached(idempotencyKey);
+            if (cached.isPresent()) {
+                return handleExistingRequest(cached.get(), request, responseType, startTime);
             }
             
-            // Create new idempotency record
-            FabricIdempotencyKeyEntity idempotencyEntity = createIdempotencyRecord(
+            // Claim the key; losing the race hands back the existing record
+            IdempotencyKeyStore.ClaimResult claim = keyStore.claim(createIdempotencyRecord(
                 idempotencyKey, request, correlationId, configType
-            );
+            ));
+            
+            if (!claim.claimed()) {
+                return handleExistingRequest(claim.entity(), request, responseType, startTime);
+            }
+            
+            auditStateChange(claim.entity(), null, ProcessingState.IN_PROGRESS, 
+                    "Idempotency record claimed", getCurrentRequestContext());
+            log.debug("Claimed new idempotency record: {}", claim.entity().getSummary());
             
             // Execute business logic with error handling
-            return executeBusinessLogic(idempotencyEntity, businessLogic, responseType, startTime);
+            return executeBusinessLogic(claim.entity(), businessLogic, responseType, startTime);
             
         } catch (Exception e) {
             log.error("Error in idempotent processing for correlation ID: {} - {}", 
@@ -207,13 +208,6 @@ public class IdempotencyService {
         String idempotencyKey = idempotencyEntity.getIdempotencyKey();
         
         try {
-            // Update state to IN_PROGRESS
-            updateIdempotencyState(
-                idempotencyEntity, 
-                ProcessingState.IN_PROGRESS, 
-                "Business logic execution started"
-            );
-            
             log.debug("Executing business logic for key: {}", idempotencyKey);
             
             // Execute business logic
@@ -256,7 +250,9 @@ public class IdempotencyService {
     }
     
     /**
-     * Creates a new idempotency record with proper configuration.
+     * Creates a new idempotency record with proper configuration, ready to be claimed.
+     * The record starts out IN_PROGRESS so that claiming it is the only write before
+     * the business logic runs.
      */
     private FabricIdempotencyKeyEntity createIdempotencyRecord(
             String idempotencyKey,
@@ -277,7 +273,7 @@ public class IdempotencyService {
                 .transactionId(request.getTransactionId())
                 .fileHash(request.getFileHash())
                 .requestHash(request.getRequestHash())
-                .processingState(ProcessingState.STARTED)
+                .processingState(ProcessingState.IN_PROGRESS)
                 .correlationId(correlationId)
                 .ttlSeconds(ttlSeconds)
                 .createdDate(now)
@@ -287,7 +283,6 @@ public class IdempotencyService {
                 .createdBy(getCurrentUserId())
                 .lastAccessed(now)
                 .processingNode(getCurrentProcessingNode())
-                .lockVersion(0)
                 .build();
         
         // Store request payload if configured
@@ -295,92 +290,25 @@ public class IdempotencyService {
             entity.setRequestPayload(request.getRequestPayload());
         }
         
-        entity = idempotencyKeyRepository.save(entity);
-        
-        // Create initial audit entry
-        auditStateChange(entity, null, ProcessingState.STARTED, 
-                "Idempotency record created", getCurrentRequestContext());
-        
-        log.debug("Created new idempotency record: {}", entity.getSummary());
         return entity;
     }
     
     /**
-     * Update idempotency state with comprehensive audit trail.
+     * Update to completed state with optimistic locking.
      */
-    private void updateIdempotencyState(
-            FabricIdempotencyKeyEntity entity,
-            ProcessingState newState,
-            String reason) {
+    private boolean updateToCompletedState(FabricIdempotencyKeyEntity entity, String responsePayload) {
+        if (!keyStore.complete(entity, responsePayload)) {
+            log.warn("Optimistic locking failure completing key: {} - concurrent modification", 
+                    entity.getIdempotencyKey());
+            return false;
+        }
         
-        ProcessingState oldState = entity.getProcessingState();
-        entity.setProcessingState(newState);
-        entity.setLastAccessed(LocalDateTime.now());
+        auditStateChange(entity, ProcessingState.IN_PROGRESS, ProcessingState.COMPLETED,
+                "Business logic execution completed successfully", getCurrentRequestContext());
         
-        if (newState == ProcessingState.COMPLETED || newState == ProcessingState.FAILED) {
-            entity.setCompletedDate(LocalDateTime.now());
-        }
+        publishStateChangeEvent(entity, ProcessingState.IN_PROGRESS, ProcessingState.COMPLETED);
         
-        try {
-            idempotencyKeyRepository.save(entity);
-            auditStateChange(entity, oldState, newState, reason, getCurrentRequestContext());
-            
-            // Publish event for monitoring
-            publishStateChangeEvent(entity, oldState, newState);
-            
-        } catch (OptimisticLockingFailureException e) {
-            log.warn("Optimistic locking failure updating state for key: {} - concurrent modification", 
-                    entity.getIdempotencyKey());
-            // Let caller handle this appropriately
-            throw e;
-        }
-    }
-    
-    /**
-     * Update to completed state with optimistic locking and retry logic.
-     */
-    private boolean updateToCompletedState(FabricIdempotencyKeyEntity entity, String responsePayload) {
-        int attempts = 0;
-        while (attempts < MAX_OPTIMISTIC_LOCK_RETRIES) {
-            try {
-                entity.setProcessingState(ProcessingState.COMPLETED);
-                entity.setCompletedDate(LocalDateTime.now());
-                entity.setResponsePayload(responsePayload);
-                entity.setErrorDetails(null); // Clear any previous errors
-                
-                idempotencyKeyRepository.save(entity);
-                
-                auditStateChange(entity, ProcessingState.IN_PROGRESS, ProcessingState.COMPLETED,
-                        "Business logic execution completed successfully", getCurrentRequestContext());
-                
-                publishStateChangeEvent(entity, ProcessingState.IN_PROGRESS, ProcessingState.COMPLETED);
-                
-                return true;
-                
-            } catch (OptimisticLockingFailureException e) {
-                attempts++;
-                log.warn("Optimistic locking failure (attempt {}/{}) for key: {}", 
-                        attempts, MAX_OPTIMISTIC_LOCK_RETRIES, entity.getIdempotencyKey());
-                
-                if (attempts >= MAX_OPTIMISTIC_LOCK_RETRIES) {
-                    log.error("Failed to update to completed state after {} attempts for key: {}", 
-                            MAX_OPTIMISTIC_LOCK_RETRIES, entity.getIdempotencyKey());
-                    return false;
-                }
-                
-                // Refresh entity and try again
-                Optional<FabricIdempotencyKeyEntity> refreshed = 
-                        idempotencyKeyRepository.findById(entity.getIdempotencyKey());
-                if (refreshed.isPresent()) {
-                    entity = refreshed.get();
-                } else {
-                    log.error("Entity no longer exists during optimistic lock retry: {}", 
-                            entity.getIdempotencyKey());
-                    return false;
-                }
-            }
-        }
-        return false;
+        return true;
     }
     
     /**
@@ -388,13 +316,11 @@ public class IdempotencyService {
      */
     private void updateToFailedState(FabricIdempotencyKeyEntity entity, Exception error) {
         try {
-            entity.setProcessingState(ProcessingState.FAILED);
-            entity.setCompletedDate(LocalDateTime.now());
-            entity.setErrorDetails(formatException(error));
-            entity.setResponsePayload(null); // Clear any previous response
-            entity.incrementRetryCount();
-            
-            idempotencyKeyRepository.save(entity);
+            if (!keyStore.fail(entity, formatException(error))) {
+                log.warn("Optimistic locking failure failing key: {} - concurrent modification", 
+                        entity.getIdempotencyKey());
+                return;
+            }
             
             auditStateChange(entity, ProcessingState.IN_PROGRESS, ProcessingState.FAILED,
                     "Business logic execution failed: " + error.getMessage(), getCurrentRequestContext());
@@ -467,11 +393,8 @@ public class IdempotencyService {
     }
     
     private void updateLastAccessed(String idempotencyKey) {
-        try {
-            idempotencyKeyRepository.updateLastAccessed(idempotencyKey);
-        } catch (Exception e) {
-            log.warn("Failed to update last accessed timestamp for key: {}", idempotencyKey, e);
-        }
+        // Written behind and coalesced with other accesses to the same key
+        keyStore.touch(idempotencyKey);
     }
     
     private void auditStateChange(FabricIdempotencyKeyEntity entity, ProcessingState oldState,
@@ -490,7 +413,7 @@ public class IdempotencyService {
                 .processingContext(createProcessingContext(entity, context))
                 .build();
                 
-            idempotencyAuditRepository.save(audit);
+            keyStore.audit(audit);
         } catch (Exception e) {
             log.error("Failed to create audit trail for key: {}", entity.getIdempotencyKey(), e);
         }
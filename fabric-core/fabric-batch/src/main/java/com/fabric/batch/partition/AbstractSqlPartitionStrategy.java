@@ -0,0 +1,117 @@
+package com.fabric.batch.partition;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fabric.batch.model.FileConfig;
+
+/**
+ * Shared plumbing for strategies that express slices as SQL predicates: resolving the source
+ * relation (custom query or target table), validating identifiers that are spliced into
+ * SQL, rendering boundary literals and turning cut points into half-open range slices.
+ */
+public abstract class AbstractSqlPartitionStrategy implements PartitionStrategy {
+
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$#]*");
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$#]*(\\.[A-Za-z_][A-Za-z0-9_$#]*)?");
+
+    /**
+     * @return the configured query as an inline view, or the validated target table
+     */
+    protected String sourceRelation(FileConfig fileConfig) {
+        String query = fileConfig.getParams().get("query");
+        if (query != null && !query.isBlank()) {
+            return "(" + query.trim() + ") fabric_src";
+        }
+        String table = fileConfig.getTarget();
+        if (table == null || !TABLE_NAME.matcher(table.trim()).matches()) {
+            throw new IllegalArgumentException("Invalid table name for partitioning: " + table);
+        }
+        return table.trim();
+    }
+
+    /**
+     * @return named parameters referenced by the source query (currently {@code :batchDate})
+     */
+    protected Map<String, Object> sourceParameters(FileConfig fileConfig) {
+        Map<String, Object> params = new HashMap<>();
+        String batchDateValue = fileConfig.getParams().get("batchDateValue");
+        if (batchDateValue != null) {
+            params.put("batchDate", batchDateValue);
+        }
+        return params;
+    }
+
+    /**
+     * @return the validated {@code partitionColumn} param, or the fallback when not configured
+     */
+    protected String partitionColumn(FileConfig fileConfig, String fallback) {
+        String column = fileConfig.getParams().getOrDefault("partitionColumn", fallback);
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("partitionColumn is required for partition strategy '"
+                    + getName() + "' on target " + fileConfig.getTarget());
+        }
+        column = column.trim();
+        if (!COLUMN_NAME.matcher(column).matches()) {
+            throw new IllegalArgumentException("Invalid partition column: " + column);
+        }
+        return column;
+    }
+
+    /**
+     * Builds half-open slices {@code [cut(i-1), cut(i))} from ascending, distinct cut points.
+     * The first slice is unbounded below and also takes NULL keys; the last is unbounded above.
+     */
+    protected static List<PartitionSlice> rangeSlices(String column, List<String> cutPoints) {
+        if (cutPoints.isEmpty()) {
+            return Collections.singletonList(PartitionSlice.all());
+        }
+        int count = cutPoints.size() + 1;
+        List<PartitionSlice> slices = new ArrayList<>(count);
+        slices.add(new PartitionSlice(0, count,
+                "(" + column + " < " + cutPoints.get(0) + " OR " + column + " IS NULL)"));
+        for (int i = 1; i < cutPoints.size(); i++) {
+            slices.add(new PartitionSlice(i, count,
+                    column + " >= " + cutPoints.get(i - 1) + " AND " + column + " < " + cutPoints.get(i)));
+        }
+        slices.add(new PartitionSlice(count - 1, count, column + " >= " + cutPoints.get(cutPoints.size() - 1)));
+        return slices;
+    }
+
+    /**
+     * Renders a boundary value read from the database as a SQL literal.
+     */
+    protected static String toLiteral(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString()).toPlainString();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return "TIMESTAMP '" + timestamp + "'";
+        }
+        if (value instanceof java.sql.Date date) {
+            return "DATE '" + date + "'";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP '" + Timestamp.valueOf(dateTime) + "'";
+        }
+        if (value instanceof LocalDate date) {
+            return "DATE '" + date + "'";
+        }
+        if (value instanceof CharSequence text) {
+            return "'" + text.toString().replace("'", "''") + "'";
+        }
+        throw new IllegalArgumentException("Unsupported partition key type: "
+                + (value != null ? value.getClass().getName() : "null"));
+    }
+}
@@ -1,6 +1,10 @@
 package com.fabric.batch.partition;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.batch.core.partition.support.Partitioner;
@@ -10,28 +14,67 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fabric.batch.mapping.YamlMappingService;
 import com.fabric.batch.model.FileConfig;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Creates one partition per configured file, optionally splitting a file into several
+ * sub-partitions with a {@link PartitionStrategy} selected by its {@code partitionStrategy}
+ * param.
+ *
+ * Partitions write their own part file whenever the output has to be consolidated: the
+ * file is sub-partitioned, several file configs share one output path (e.g. one file per
+ * transaction type), or a header/trailer record is configured, so partitions never contend
+ * for one writer. Each such partition records its final output and its position within it
+ * ({@link #PART_TARGET_KEY}, {@link #PART_ORDER_KEY}) in its step execution context; the
+ * merge step rebuilds the part list from there, so it also works when a restarted job skips
+ * the completed partition step.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class GenericPartitioner implements Partitioner {
 
+    private static final String PART_FILE_SUFFIX = ".part-%03d-%05d";
+
+    /** Step context key: final output path the partition's part file is consolidated into */
+    public static final String PART_TARGET_KEY = "partFileTarget";
+    /** Step context key: position of the partition's part file within its final output */
+    public static final String PART_ORDER_KEY = "partFileOrder";
+
     private final YamlMappingService mappingService;
     private final Map<String, Object> systemConfig;
     private final Map<String, Object> jobConfig;
     private final String sourceSystem;
     private final String jobName;
+    private final PartitionStrategyRegistry strategyRegistry;
+
+    /** Final output path -> part files in concatenation order, published after partition() */
+    private volatile Map<String, List<String>> partFiles = Collections.emptyMap();
+
+    public GenericPartitioner(YamlMappingService mappingService, Map<String, Object> systemConfig,
+                              Map<String, Object> jobConfig, String sourceSystem, String jobName) {
+        this(mappingService, systemConfig, jobConfig, sourceSystem, jobName, null);
+    }
+
+    public GenericPartitioner(YamlMappingService mappingService, Map<String, Object> systemConfig,
+                              Map<String, Object> jobConfig, String sourceSystem, String jobName,
+                              PartitionStrategyRegistry strategyRegistry) {
+        this.mappingService = mappingService;
+        this.systemConfig = systemConfig;
+        this.jobConfig = jobConfig;
+        this.sourceSystem = sourceSystem;
+        this.jobName = jobName;
+        this.strategyRegistry = strategyRegistry;
+    }
 
     @Override
     public Map<String, ExecutionContext> partition(int gridSize) {
         Map<String, ExecutionContext> partitions = new HashMap<>();
-        
+        Map<String, List<String>> parts = new LinkedHashMap<>();
+
         try {
             // Extract files list from job configuration
             @SuppressWarnings("unchecked")
             var files = (java.util.List<Map<String, Object>>) jobConfig.get("files");
-            
+
             if (files == null || files.isEmpty()) {
                 throw new IllegalArgumentException("No files configured for job: " + jobName);
             }
@@ -39,14 +82,32 @@ public class GenericPartitioner implements Partitioner {
             ObjectMapper objectMapper = new ObjectMapper();
             int partitionIndex = 0;
 
-            // ✅ FIX: Process each file config exactly once - no YAML scanning
+            // Resolve output paths once so files sharing a path can be detected
+            List<FileConfig> fileConfigs = new ArrayList<>(files.size());
+            List<String> outputPaths = new ArrayList<>(files.size());
+            Map<String, Integer> pathUsage = new HashMap<>();
             for (Map<String, Object> fileMap : files) {
                 FileConfig fileConfig = objectMapper.convertValue(fileMap, FileConfig.class);
-                
+
                 // Set dynamic context
                 fileConfig.setSourceSystem(sourceSystem);
                 fileConfig.setJobName(jobName);
-                
+
+                String outputPath = fileConfig.getParams() != null && fileConfig.getParams().get("outputPath") != null
+                        ? fileConfig.getResolvedOutputPath() : null;
+                fileConfigs.add(fileConfig);
+                outputPaths.add(outputPath);
+                if (outputPath != null) {
+                    pathUsage.merge(outputPath, 1, Integer::sum);
+                }
+            }
+
+            // ✅ FIX: Process each file config exactly once - no YAML scanning
+            for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+                Map<String, Object> fileMap = files.get(fileIndex);
+                FileConfig fileConfig = fileConfigs.get(fileIndex);
+                String outputPath = outputPaths.get(fileIndex);
+
                 // Use the explicitly configured transaction type
                 String transactionType = fileConfig.getTransactionType();
                 if (transactionType == null || transactionType.isEmpty()) {
@@ -54,25 +115,54 @@ public class GenericPartitioner implements Partitioner {
                 }
 
                 // Create partition key
-                String partitionKey = String.format("partition_%d_%s_%s", 
+                String partitionKey = String.format("partition_%d_%s_%s",
                         partitionIndex++, jobName, transactionType);
 
-                // Create execution context for this partition
-                ExecutionContext executionContext = new ExecutionContext();
-                executionContext.put("fileConfig", fileConfig);
-                executionContext.put("sourceSystem", sourceSystem);
-                executionContext.put("jobName", jobName);
-                executionContext.put("transactionType", transactionType);
-                
-                partitions.put(partitionKey, executionContext);
-
-                log.info("📝 Created partition: {} for txnType: {}, outputPath: {}", 
-                        partitionKey, transactionType, fileConfig.getParams().get("outputPath"));
+                List<PartitionSlice> slices = resolveSlices(fileConfig, gridSize);
+                boolean consolidate = outputPath != null && (slices.size() > 1
+                        || pathUsage.get(outputPath) > 1 || hasFraming(fileConfig));
+                if (!consolidate) {
+                    partitions.put(partitionKey, createContext(fileConfig, transactionType));
+
+                    log.info("📝 Created partition: {} for txnType: {}, outputPath: {}",
+                            partitionKey, transactionType, fileConfig.getParams().get("outputPath"));
+                    continue;
+                }
+
+                // Partitions write part files that are concatenated in file/slice order afterwards
+                List<String> filePartPaths = parts.computeIfAbsent(outputPath, k -> new ArrayList<>());
+                for (PartitionSlice slice : slices) {
+                    FileConfig sliceConfig = objectMapper.convertValue(fileMap, FileConfig.class);
+                    sliceConfig.setSourceSystem(sourceSystem);
+                    sliceConfig.setJobName(jobName);
+
+                    String partPath = outputPath + String.format(PART_FILE_SUFFIX, fileIndex, slice.getIndex());
+                    Map<String, String> params = new HashMap<>(sliceConfig.getParams());
+                    params.put("outputPath", partPath);
+                    if (slice.getFilter() != null) {
+                        params.put("partitionFilter", slice.getFilter());
+                    }
+                    sliceConfig.setParams(params);
+                    filePartPaths.add(partPath);
+
+                    String sliceKey = partitionKey + "_slice" + slice.getIndex();
+                    ExecutionContext executionContext = createContext(sliceConfig, transactionType);
+                    executionContext.putInt("sliceIndex", slice.getIndex());
+                    executionContext.putInt("sliceCount", slice.getCount());
+                    executionContext.putString(PART_TARGET_KEY, outputPath);
+                    executionContext.putLong(PART_ORDER_KEY, partOrder(fileIndex, slice.getIndex()));
+                    partitions.put(sliceKey, executionContext);
+
+                    log.info("📝 Created sub-partition: {} for txnType: {}, filter: {}",
+                            sliceKey, transactionType, slice.getFilter());
+                }
             }
 
-            log.info("🎯 Total partitions created: {} for job: {}.{}", 
+            partFiles = Collections.unmodifiableMap(parts);
+
+            log.info("🎯 Total partitions created: {} for job: {}.{}",
                     partitions.size(), sourceSystem, jobName);
-            
+
             return partitions;
 
         } catch (Exception e) {
@@ -80,4 +170,59 @@ public class GenericPartitioner implements Partitioner {
             throw new RuntimeException("Partitioning failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return part files per final output path, in concatenation order, from the last
+     *         partition() call on this instance; empty when no output needs consolidation
+     */
+    public Map<String, List<String>> getPartFiles() {
+        return partFiles;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getSourceSystem() {
+        return sourceSystem;
+    }
+
+    /**
+     * Sort key of a part file within its output: file config order, then slice order.
+     */
+    static long partOrder(int fileIndex, int sliceIndex) {
+        return (long) fileIndex * 100_000L + sliceIndex;
+    }
+
+    private static boolean hasFraming(FileConfig fileConfig) {
+        Map<String, String> params = fileConfig.getParams();
+        return params.get("headerRecord") != null || params.get("trailerRecord") != null;
+    }
+
+    private List<PartitionSlice> resolveSlices(FileConfig fileConfig, int gridSize) {
+        String strategyName = fileConfig.getParams().get("partitionStrategy");
+        if (strategyName == null || strategyName.isBlank() || "none".equalsIgnoreCase(strategyName.trim())) {
+            return Collections.singletonList(PartitionSlice.all());
+        }
+        if (strategyRegistry == null) {
+            throw new IllegalStateException("partitionStrategy '" + strategyName
+                    + "' configured but no PartitionStrategyRegistry available");
+        }
+        String configured = fileConfig.getParams().get("partitions");
+        int count = configured != null && !configured.isBlank() ? Integer.parseInt(configured.trim()) : gridSize;
+        if (count <= 1) {
+            return Collections.singletonList(PartitionSlice.all());
+        }
+        return strategyRegistry.getStrategy(strategyName).split(fileConfig, count);
+    }
+
+    private ExecutionContext createContext(FileConfig fileConfig, String transactionType) {
+        // Create execution context for this partition
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.put("fileConfig", fileConfig);
+        executionContext.put("sourceSystem", sourceSystem);
+        executionContext.put("jobName", jobName);
+        executionContext.put("transactionType", transactionType);
+        return executionContext;
+    }
+}
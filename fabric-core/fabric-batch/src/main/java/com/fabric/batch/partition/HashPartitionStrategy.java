@@ -0,0 +1,40 @@
+package com.fabric.batch.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.model.FileConfig;
+
+/**
+ * Splits rows by hash bucket of a column using Oracle's {@code ORA_HASH(expr, n - 1)}.
+ *
+ * Needs no boundary query and balances well for any key distribution, but every slice
+ * scans the whole source. Without a custom query the column defaults to ROWID; rows with
+ * a NULL key are assigned to the first slice.
+ */
+@Component
+public class HashPartitionStrategy extends AbstractSqlPartitionStrategy {
+
+    @Override
+    public String getName() {
+        return "hash";
+    }
+
+    @Override
+    public List<PartitionSlice> split(FileConfig fileConfig, int partitions) {
+        String query = fileConfig.getParams().get("query");
+        String column = partitionColumn(fileConfig, query == null || query.isBlank() ? "ROWID" : null);
+
+        List<PartitionSlice> slices = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            String filter = String.format("ORA_HASH(%s, %d) = %d", column, partitions - 1, i);
+            if (i == 0) {
+                filter = "(" + filter + " OR " + column + " IS NULL)";
+            }
+            slices.add(new PartitionSlice(i, partitions, filter));
+        }
+        return slices;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fabric.batch.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.model.FileConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits a key into ranges holding roughly equal row counts using {@code NTILE}.
+ *
+ * The lowest key of each bucket becomes a cut point, so skewed keys still produce balanced
+ * slices. Works for numeric, character and date keys. The boundary query sorts the whole
+ * source once, which pays off only for extracts large enough to need partitioning.
+ */
+@Component
+@Slf4j
+public class HistogramPartitionStrategy extends AbstractSqlPartitionStrategy {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public HistogramPartitionStrategy(DataSource dataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String getName() {
+        return "histogram";
+    }
+
+    @Override
+    public List<PartitionSlice> split(FileConfig fileConfig, int partitions) {
+        String column = partitionColumn(fileConfig, null);
+        String sql = String.format(
+                "SELECT MIN(%1$s) AS CUT_KEY FROM ("
+                        + "SELECT %1$s, NTILE(%2$d) OVER (ORDER BY %1$s) AS FABRIC_BUCKET FROM %3$s WHERE %1$s IS NOT NULL"
+                        + ") fabric_hist GROUP BY FABRIC_BUCKET ORDER BY FABRIC_BUCKET",
+                column, partitions, sourceRelation(fileConfig));
+
+        List<Object> bucketMinimums = jdbc.queryForList(sql, sourceParameters(fileConfig), Object.class);
+
+        // The first bucket starts at the global minimum and needs no cut point
+        List<String> cutPoints = new ArrayList<>(Math.max(bucketMinimums.size() - 1, 0));
+        for (int i = 1; i < bucketMinimums.size(); i++) {
+            String literal = toLiteral(bucketMinimums.get(i));
+            if (cutPoints.isEmpty() || !cutPoints.get(cutPoints.size() - 1).equals(literal)) {
+                cutPoints.add(literal);
+            }
+        }
+
+        log.info("📊 Histogram partitioning {} on {} into {} slices",
+                column, fileConfig.getTarget(), cutPoints.size() + 1);
+        return rangeSlices(column, cutPoints);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fabric.batch.partition;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fabric.batch.model.FileConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits a numeric key into equal-width ranges between its MIN and MAX values.
+ *
+ * Generalises AcctRangePartitioner to any numeric column and to custom queries. One cheap
+ * MIN/MAX query is issued per file; slices are balanced only if keys are evenly spread,
+ * use {@link HistogramPartitionStrategy} for skewed keys.
+ */
+@Component
+@Slf4j
+public class KeyRangePartitionStrategy extends AbstractSqlPartitionStrategy {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public KeyRangePartitionStrategy(DataSource dataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String getName() {
+        return "range";
+    }
+
+    @Override
+    public List<PartitionSlice> split(FileConfig fileConfig, int partitions) {
+        String column = partitionColumn(fileConfig, null);
+        String sql = String.format("SELECT MIN(%s) AS MIN_KEY, MAX(%s) AS MAX_KEY FROM %s",
+                column, column, sourceRelation(fileConfig));
+
+        Map<String, Object> bounds = jdbc.queryForMap(sql, sourceParameters(fileConfig));
+        Object minKey = bounds.get("MIN_KEY");
+        Object maxKey = bounds.get("MAX_KEY");
+        if (minKey == null || maxKey == null) {
+            log.info("📭 No keys found for {} on {}, using a single partition", column, fileConfig.getTarget());
+            return Collections.singletonList(PartitionSlice.all());
+        }
+        if (!(minKey instanceof Number) || !(maxKey instanceof Number)) {
+            throw new IllegalArgumentException("Range partitioning requires a numeric column, " + column
+                    + " is " + minKey.getClass().getSimpleName() + "; use the histogram strategy instead");
+        }
+
+        BigDecimal min = new BigDecimal(minKey.toString());
+        BigDecimal max = new BigDecimal(maxKey.toString());
+        boolean integral = isIntegral(min) && isIntegral(max);
+        BigDecimal step = max.subtract(min).divide(BigDecimal.valueOf(partitions), MathContext.DECIMAL64);
+
+        List<String> cutPoints = new ArrayList<>(partitions - 1);
+        BigDecimal previous = min;
+        for (int i = 1; i < partitions; i++) {
+            BigDecimal cut = min.add(step.multiply(BigDecimal.valueOf(i)));
+            if (integral) {
+                cut = cut.setScale(0, RoundingMode.CEILING);
+            }
+            // Narrow ranges collapse into fewer slices rather than producing empty ones
+            if (cut.compareTo(previous) > 0 && cut.compareTo(max) <= 0) {
+                cutPoints.add(cut.toPlainString());
+                previous = cut;
+            }
+        }
+
+        log.info("📐 Range partitioning {} on {}: [{}, {}] into {} slices",
+                column, fileConfig.getTarget(), min, max, cutPoints.size() + 1);
+        return rangeSlices(column, cutPoints);
+    }
+
+    private static boolean isIntegral(BigDecimal value) {
+        return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+}
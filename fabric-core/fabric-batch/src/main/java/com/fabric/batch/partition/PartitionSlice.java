@@ -0,0 +1,36 @@
+package com.fabric.batch.partition;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One sub-partition of a single file configuration.
+ *
+ * The filter is a SQL predicate (e.g. {@code ACCT_NUM >= 1000 AND ACCT_NUM < 2000}) that
+ * JdbcRecordReader applies on top of the configured query or table; a null filter selects
+ * every row. Slices of one file are disjoint and together cover all rows, including rows
+ * whose partition key is NULL.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PartitionSlice implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Zero-based position of the slice; part files are concatenated in this order */
+    private final int index;
+
+    /** Total number of slices produced for the file */
+    private final int count;
+
+    /** SQL predicate selecting the rows of this slice, or null for all rows */
+    private final String filter;
+
+    public static PartitionSlice all() {
+        return new PartitionSlice(0, 1, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.fabric.batch.partition;
+
+import java.util.List;
+
+import com.fabric.batch.model.FileConfig;
+
+/**
+ * Strategy for splitting the rows of one file configuration into parallel slices.
+ *
+ * Implementations are discovered as Spring beans by {@link PartitionStrategyRegistry} and
+ * selected per file with the {@code partitionStrategy} param in the batch-props YAML:
+ * <pre>
+ * params:
+ *   partitionStrategy: range        # range | hash | histogram
+ *   partitionColumn:   ACCT_NUM
+ *   partitions:        "8"          # defaults to batch.gridSize
+ * </pre>
+ */
+public interface PartitionStrategy {
+
+    /**
+     * @return the name used in the {@code partitionStrategy} param (case-insensitive)
+     */
+    String getName();
+
+    /**
+     * Splits the file's source rows into at most {@code partitions} disjoint slices.
+     * Implementations may return fewer slices (e.g. for empty or narrow key ranges) but
+     * never an empty list.
+     */
+    List<PartitionSlice> split(FileConfig fileConfig, int partitions);
+}
@@ -0,0 +1,42 @@
+package com.fabric.batch.partition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of {@link PartitionStrategy} beans, keyed by strategy name.
+ */
+@Component
+@Slf4j
+public class PartitionStrategyRegistry {
+
+    private final Map<String, PartitionStrategy> strategiesByName = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PartitionStrategyRegistry(List<PartitionStrategy> strategies) {
+        for (PartitionStrategy strategy : strategies) {
+            strategiesByName.put(strategy.getName().toLowerCase(), strategy);
+        }
+        log.info("🧩 Partition strategies registered: {}", strategiesByName.keySet());
+    }
+
+    /**
+     * @throws IllegalArgumentException if no strategy is registered under the name
+     */
+    public PartitionStrategy getStrategy(String name) {
+        PartitionStrategy strategy = name != null ? strategiesByName.get(name.trim().toLowerCase()) : null;
+        if (strategy == null) {
+            String supported = strategiesByName.keySet().stream().sorted().collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(String.format(
+                    "No partition strategy '%s'. Supported strategies: [%s]", name, supported));
+        }
+        return strategy;
+    }
+}
@@ -1,19 +1,14 @@
 package com.fabric.batch.processor;
 
 
-import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
 
+import com.fabric.batch.mapping.MappingPlan;
 import com.fabric.batch.mapping.YamlMappingService;
-import com.fabric.batch.model.FieldMapping;
 import com.fabric.batch.model.FileConfig;
-import com.fabric.batch.model.YamlMapping;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,11 +19,11 @@ import lombok.extern.slf4j.Slf4j;
  *
  * This processor:
  *  1. Extracts the transactionType (if any) from the record context.
- *  2. Retrieves the corresponding YamlMapping document for the given template and transactionType.
- *  3. Sorts the FieldMapping rules by their configured targetPosition.
- *  4. Applies each FieldMapping (constant, source, composite, conditional) via the mappingService,
+ *  2. Resolves the compiled MappingPlan for the given template and transactionType once per step;
+ *     the plan already holds the FieldMapping rules sorted by targetPosition.
+ *  3. Applies each FieldMapping (constant, source, composite, conditional) via the mappingService,
  *     which pads, formats, and defaults the values as defined.
- *  5. Builds a LinkedHashMap to preserve the exact field order for downstream writers.
+ *  4. Builds a LinkedHashMap to preserve the exact field order for downstream writers.
  */
 @Slf4j
 @StepScope
@@ -37,6 +32,7 @@ public class GenericProcessor implements ItemProcessor<Map<String, Object>, Map<
 
     private final FileConfig fileConfig;
     private final YamlMappingService mappingService;
+    private MappingPlan plan;
 
     /**
      * Processes one input item by applying the appropriate mapping rules.
@@ -49,22 +45,17 @@ public class GenericProcessor implements ItemProcessor<Map<String, Object>, Map<
     @Override
     public Map<String, Object> process(Map<String, Object> item) throws Exception {
     	log.debug("🔍 Input item: {}", item);
-        // 1) Extract transactionType from the record, or null if not provided
-        String txnType = fileConfig.getTransactionType();
-        // 2) Fetch the YAML mapping document matching template and transactionType
-        YamlMapping mapping = mappingService.getMapping(fileConfig.getTemplate(), txnType);
-        // 3) Extract and sort the FieldMapping entries by targetPosition to enforce output order
-        List<FieldMapping> fields = mapping.getFields().entrySet().stream()
-            .map(Map.Entry::getValue)
-            .sorted(Comparator.comparingInt(FieldMapping::getTargetPosition))
-            .collect(Collectors.toList());
-        // 4) Iterate over each FieldMapping, transform the raw value (padding/formatting), and collect into output
-        Map<String, Object> output = new LinkedHashMap<>();
-        for (FieldMapping m : fields) {
-            String value = mappingService.transformField(item, m);
-            log.debug("Field {}: '{}' -> '{}'", m.getTargetField(), 
-                    item.get(m.getSourceField()), value);
-            output.put(m.getTargetField(), value != null ? value : m.getDefaultValue());
+        // 1) Resolve the compiled plan once; it is immutable and valid for the whole step
+        if (plan == null) {
+            plan = mappingService.getMappingPlan(fileConfig.getTemplate(), fileConfig.getTransactionType());
+        }
+        // 2) Apply each pre-sorted field handler (padding/formatting) in output order
+        Map<String, Object> output = plan.transform(item);
+        if (log.isDebugEnabled()) {
+            for (int i = 0; i < plan.size(); i++) {
+                log.debug("Field {}: '{}' -> '{}'", plan.getTargetField(i),
+                        item.get(plan.getField(i).getSourceField()), output.get(plan.getTargetField(i)));
+            }
         }
         return output;
     }
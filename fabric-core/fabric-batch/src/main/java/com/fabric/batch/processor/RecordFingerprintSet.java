@@ -0,0 +1,83 @@
+package com.fabric.batch.processor;
+
+/**
+ * Set of 64-bit record fingerprints for duplicate detection across partitions.
+ *
+ * Fingerprints live in a primitive open-addressing table, about 16 bytes per record instead
+ * of a canonical string per record. Fingerprints taken from a keyed record MAC collide with
+ * probability around n^2 / 2^65, negligible for any batch size, whereas a Bloom filter of the
+ * same footprint would report false duplicates and fail valid merges.
+ *
+ * Not thread safe; the merger adds fingerprints under the session lock.
+ */
+public final class RecordFingerprintSet {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    // Zero marks a free slot, so a zero fingerprint is tracked separately
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    public RecordFingerprintSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public RecordFingerprintSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+    }
+
+    /**
+     * @return false when the fingerprint was already present
+     */
+    public boolean add(long fingerprint) {
+        if (fingerprint == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        if (!insert(table, fingerprint)) {
+            return false;
+        }
+        size++;
+        if (size * 2L > table.length) {
+            resize();
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] grown = new long[table.length << 1];
+        for (long fingerprint : table) {
+            if (fingerprint != 0) {
+                insert(grown, fingerprint);
+            }
+        }
+        table = grown;
+    }
+
+    private static boolean insert(long[] slots, long fingerprint) {
+        int mask = slots.length - 1;
+        // Fingerprints are already uniformly distributed, so the low bits index the table directly
+        int index = (int) fingerprint & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == fingerprint) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = fingerprint;
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.fabric.batch.processor;
+
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Order independent integrity digest of a set of records.
+ *
+ * Every record is reduced to its HMAC and the MACs are added modulo 2^256, so the digest is
+ * 40 bytes however many records it covers, and digests of partitions can be folded together
+ * in whatever order the partitions complete. Because the record MACs are keyed, records
+ * cannot be crafted to cancel each other out.
+ *
+ * Not thread safe; each partition builds its own digest and the merger folds them under the
+ * session lock.
+ */
+public final class RecordSetDigest {
+
+    /** Length in bytes of the record MACs this digest accepts (HmacSHA256) */
+    public static final int MAC_LENGTH = 32;
+
+    // Little-endian 64-bit limbs of the running sum
+    private final long[] sum = new long[MAC_LENGTH / Long.BYTES];
+    private long count;
+
+    /**
+     * Adds one record, given as its MAC.
+     */
+    public void add(byte[] recordMac) {
+        if (recordMac.length != MAC_LENGTH) {
+            throw new IllegalArgumentException("Record MAC must be " + MAC_LENGTH + " bytes, was " + recordMac.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(recordMac);
+        long carry = 0;
+        for (int i = 0; i < sum.length; i++) {
+            carry = addLimb(i, buffer.getLong(MAC_LENGTH - (i + 1) * Long.BYTES), carry);
+        }
+        count++;
+    }
+
+    /**
+     * Adds every record of another digest to this one.
+     */
+    public void fold(RecordSetDigest other) {
+        long carry = 0;
+        for (int i = 0; i < sum.length; i++) {
+            carry = addLimb(i, other.sum[i], carry);
+        }
+        count += other.count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * MAC of the record count and sum, Base64 encoded. The MAC is reset afterwards.
+     */
+    public String seal(Mac mac) {
+        ByteBuffer state = ByteBuffer.allocate(Long.BYTES + MAC_LENGTH);
+        state.putLong(count);
+        for (int i = sum.length - 1; i >= 0; i--) {
+            state.putLong(sum[i]);
+        }
+        return Base64.getEncoder().encodeToString(mac.doFinal(state.array()));
+    }
+
+    private long addLimb(int index, long value, long carry) {
+        long current = sum[index];
+        long partial = current + value;
+        long total = partial + carry;
+        sum[index] = total;
+        return (Long.compareUnsigned(partial, current) < 0 || Long.compareUnsigned(total, partial) < 0) ? 1 : 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fabric.batch.processor;
 
+import com.fabric.batch.audit.AuditWriteBuffer;
 import com.fabric.batch.entity.BatchProcessingStatusEntity;
 import com.fabric.batch.entity.BatchTempStagingEntity;
 import com.fabric.batch.entity.ExecutionAuditEntity;
@@ -8,12 +9,16 @@ import com.fabric.batch.repository.BatchTempStagingRepository;
 import com.fabric.batch.repository.ExecutionAuditRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -23,7 +28,6 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
  * Epic 2: Transaction Result Merger responsible for aggregating results from parallel
@@ -56,6 +60,24 @@ public class TransactionResultMerger {
     @Autowired
     private ExecutionAuditRepository auditRepository;
 
+    @Value("${audit.async.buffer-capacity:10000}")
+    private int auditBufferCapacity;
+
+    @Value("${audit.async.batch-size:200}")
+    private int auditBatchSize;
+
+    @Value("${audit.async.linger-ms:200}")
+    private long auditLingerMs;
+
+    @Value("${audit.async.overflow-policy:BLOCK}")
+    private AuditWriteBuffer.OverflowPolicy auditOverflowPolicy;
+
+    @Value("${audit.async.block-timeout-ms:1000}")
+    private long auditBlockTimeoutMs;
+
+    // Merge audit events are batch-inserted off the partition threads
+    private AuditWriteBuffer<ExecutionAuditEntity> auditBuffer;
+
     // Thread-safe collections for aggregation
     private final ConcurrentHashMap<String, MergeSession> activeSessions = new ConcurrentHashMap<>();
     private final AtomicLong sessionCounter = new AtomicLong(0);
@@ -64,6 +86,27 @@ public class TransactionResultMerger {
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final String INTEGRITY_KEY = "Epic2IntegrityKey123"; // TODO: Use proper key management
 
+    // Mac instances are not thread safe; partitions are digested concurrently
+    private static final ThreadLocal<Mac> INTEGRITY_MAC = ThreadLocal.withInitial(TransactionResultMerger::newIntegrityMac);
+
+    @PostConstruct
+    public void initializeAuditBuffer() {
+        auditBuffer = new AuditWriteBuffer<>("merge", auditRepository::saveAll, auditBufferCapacity,
+                auditBatchSize, auditLingerMs, auditOverflowPolicy, auditBlockTimeoutMs);
+    }
+
+    @PreDestroy
+    public void closeAuditBuffer() {
+        auditBuffer.close();
+    }
+
+    /**
+     * Buffer and write statistics of the merge audit pipeline.
+     */
+    public Map<String, Object> getAuditBufferStatistics() {
+        return auditBuffer.getStatistics();
+    }
+
     /**
      * Initiates a new merge session for aggregating parallel processing results.
      * Returns a session ID for tracking the merge operation.
@@ -136,9 +179,14 @@ public class TransactionResultMerger {
                     return false;
                 }
                 
-                // Thread-safe addition to results
+                // Digest the partition on this thread, then fold it into the session
+                RecordSetDigest partitionDigest = new RecordSetDigest();
+                long[] fingerprints = digestRecords(partitionResult.getProcessedRecords(), partitionDigest);
+                
+                // Thread-safe addition to results; the session keeps no records once they are digested
                 synchronized (session.getResults()) {
-                    session.addResult(partitionResult);
+                    session.foldPartition(partitionResult, partitionDigest, fingerprints);
+                    session.addResult(partitionResult.withoutRecords());
                 }
                 
                 // Update aggregated metrics
@@ -180,7 +228,7 @@ public class TransactionResultMerger {
             ConsolidatedResult consolidatedResult = consolidateResults(session);
             
             // 2. Perform data integrity verification
-            IntegrityVerificationResult integrityResult = verifyDataIntegrity(consolidatedResult);
+            IntegrityVerificationResult integrityResult = verifyDataIntegrity(session, consolidatedResult);
             if (!integrityResult.isValid()) {
                 return handleIntegrityFailure(session, integrityResult);
             }
@@ -220,69 +268,73 @@ public class TransactionResultMerger {
             session.setStatus(MergeStatus.FAILED);
             session.addError("Finalization failed: " + e.getMessage());
             return false;
+        } finally {
+            // The session's audit trail is complete once it is finalized
+            auditBuffer.flush(auditBlockTimeoutMs + auditLingerMs + 30000);
         }
     }
 
     /**
-     * Consolidates all partition results into a single coherent result set
+     * Consolidates all partition results into a single coherent result set.
+     * Counts and the integrity digest were folded in as partitions completed,
+     * so no records are copied here.
      */
     private ConsolidatedResult consolidateResults(MergeSession session) {
-        List<PartitionResult> results = session.getResults();
-        
-        // Aggregate processed records
-        List<Map<String, Object>> allProcessedRecords = results.stream()
-                .flatMap(result -> result.getProcessedRecords().stream())
-                .collect(Collectors.toList());
-        
-        // Aggregate error records
-        List<Map<String, Object>> allErrorRecords = results.stream()
-                .flatMap(result -> result.getErrorRecords().stream())
-                .collect(Collectors.toList());
-        
-        // Calculate totals
-        long totalProcessed = allProcessedRecords.size();
-        long totalErrors = allErrorRecords.size();
+        long totalProcessed;
+        long totalErrors;
+        String integrityHash;
+        synchronized (session.getResults()) {
+            totalProcessed = session.getProcessedDigest().getCount();
+            totalErrors = session.getErrorRecordCount();
+            integrityHash = session.getProcessedDigest().seal(INTEGRITY_MAC.get());
+        }
         
         return ConsolidatedResult.builder()
                 .sessionId(session.getSessionId())
                 .executionId(session.getExecutionId())
-                .processedRecords(allProcessedRecords)
-                .errorRecords(allErrorRecords)
                 .totalProcessed(totalProcessed)
                 .totalErrors(totalErrors)
                 .successRate(totalProcessed > 0 ? ((totalProcessed - totalErrors) * 100.0) / totalProcessed : 0.0)
                 .consolidationTimestamp(Instant.now())
-                .dataIntegrityHash(generateConsolidatedHash(allProcessedRecords))
+                .dataIntegrityHash(integrityHash)
                 .build();
     }
 
     /**
-     * Verifies data integrity across all consolidated results
+     * Verifies data integrity across all consolidated results: the record and error counts
+     * each partition reported in its metrics must match the records actually received, and
+     * no record may appear twice. The integrity hash itself is only sealed here; there is
+     * no independent hash of the output to compare it with.
      */
-    private IntegrityVerificationResult verifyDataIntegrity(ConsolidatedResult consolidatedResult) {
+    private IntegrityVerificationResult verifyDataIntegrity(MergeSession session, ConsolidatedResult consolidatedResult) {
         try {
-            // Verify record count consistency
-            boolean recordCountValid = consolidatedResult.getTotalProcessed() == 
-                                     consolidatedResult.getProcessedRecords().size();
+            long reportedProcessed;
+            long reportedErrors;
+            long duplicateRecords;
+            synchronized (session.getResults()) {
+                reportedProcessed = session.getReportedRecordCount();
+                reportedErrors = session.getReportedErrorCount();
+                duplicateRecords = session.getDuplicateRecordCount();
+            }
             
-            // Verify data hash integrity
-            String computedHash = generateConsolidatedHash(consolidatedResult.getProcessedRecords());
-            boolean hashValid = computedHash.equals(consolidatedResult.getDataIntegrityHash());
+            // Verify record count consistency against what the partitions reported
+            boolean recordCountValid = consolidatedResult.getTotalProcessed() == reportedProcessed
+                    && consolidatedResult.getTotalErrors() == reportedErrors;
             
             // Check for duplicate records (business rule validation)
-            boolean noDuplicates = hasDuplicateRecords(consolidatedResult.getProcessedRecords());
+            boolean noDuplicates = duplicateRecords == 0;
             
             IntegrityVerificationResult result = IntegrityVerificationResult.builder()
-                    .valid(recordCountValid && hashValid && !noDuplicates)
+                    .valid(recordCountValid && noDuplicates)
                     .recordCountValid(recordCountValid)
-                    .hashValid(hashValid)
-                    .noDuplicates(!noDuplicates)
+                    .noDuplicates(noDuplicates)
                     .verificationTimestamp(Instant.now())
                     .build();
             
             if (!result.isValid()) {
-                log.warn("⚠️ Data integrity verification failed: recordCount={}, hash={}, duplicates={}", 
-                        recordCountValid, hashValid, noDuplicates);
+                log.warn("⚠️ Data integrity verification failed: received {}/{} records and {}/{} errors reported by partitions, duplicates={}", 
+                        consolidatedResult.getTotalProcessed(), reportedProcessed,
+                        consolidatedResult.getTotalErrors(), reportedErrors, duplicateRecords);
             }
             
             return result;
@@ -331,46 +383,48 @@ public class TransactionResultMerger {
                 System.currentTimeMillis());
     }
 
-    private String generateConsolidatedHash(List<Map<String, Object>> records) {
-        try {
-            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-            SecretKeySpec keySpec = new SecretKeySpec(INTEGRITY_KEY.getBytes(), HMAC_ALGORITHM);
-            mac.init(keySpec);
-            
-            String concatenated = records.stream()
-                    .map(record -> record.entrySet().stream()
-                            .sorted(Map.Entry.comparingByKey())
-                            .map(entry -> entry.getKey() + "=" + entry.getValue())
-                            .collect(Collectors.joining("|")))
-                    .collect(Collectors.joining("||"));
-            
-            byte[] hash = mac.doFinal(concatenated.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-            
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            log.error("❌ Failed to generate consolidated hash: {}", e.getMessage());
-            return "hash_generation_failed_" + System.currentTimeMillis();
+    /**
+     * Adds each record's MAC to the digest and returns the record fingerprints
+     * for duplicate detection.
+     */
+    private long[] digestRecords(List<Map<String, Object>> records, RecordSetDigest digest) {
+        Mac mac = INTEGRITY_MAC.get();
+        long[] fingerprints = new long[records.size()];
+        int index = 0;
+        for (Map<String, Object> record : records) {
+            byte[] recordMac = generateRecordMac(mac, record);
+            digest.add(recordMac);
+            fingerprints[index++] = ByteBuffer.wrap(recordMac).getLong();
         }
+        return fingerprints;
     }
 
-    private boolean hasDuplicateRecords(List<Map<String, Object>> records) {
-        Set<String> recordHashes = new HashSet<>();
-        
-        for (Map<String, Object> record : records) {
-            String recordHash = generateRecordHash(record);
-            if (!recordHashes.add(recordHash)) {
-                return true; // Duplicate found
+    /**
+     * MAC of the record's sorted key=value pairs, streamed into the Mac without
+     * building the canonical string.
+     */
+    private byte[] generateRecordMac(Mac mac, Map<String, Object> record) {
+        String[] keys = record.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                mac.update((byte) '|');
             }
+            mac.update(keys[i].getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '=');
+            mac.update(String.valueOf(record.get(keys[i])).getBytes(StandardCharsets.UTF_8));
         }
-        
-        return false;
+        return mac.doFinal();
     }
 
-    private String generateRecordHash(Map<String, Object> record) {
-        return record.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> entry.getKey() + "=" + entry.getValue())
-                .collect(Collectors.joining("|"));
+    private static Mac newIntegrityMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(INTEGRITY_KEY.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Failed to initialize integrity MAC: " + e.getMessage(), e);
+        }
     }
 
     // Additional helper methods would be implemented here...
@@ -414,7 +468,7 @@ public class TransactionResultMerger {
                 .correlationId(sessionId)
                 .build();
         
-        auditRepository.save(audit);
+        auditBuffer.offer(audit);
     }
 
     /**
@@ -446,11 +500,38 @@ public class TransactionResultMerger {
         private AggregatedMetrics metrics;
         private ConsolidatedResult consolidatedResult;
         private ProcessingStatistics finalStatistics;
+        // Streaming merge state, folded in as partitions complete
+        @lombok.Builder.Default
+        private RecordSetDigest processedDigest = new RecordSetDigest();
+        @lombok.Builder.Default
+        private RecordFingerprintSet recordFingerprints = new RecordFingerprintSet();
+        private long errorRecordCount;
+        private long duplicateRecordCount;
+        // Counts the partitions reported in their metrics, checked against the records received
+        private long reportedRecordCount;
+        private long reportedErrorCount;
 
         public void addResult(PartitionResult result) {
             this.results.add(result);
         }
 
+        /**
+         * Folds a digested partition into the running merge state. Callers hold the results lock.
+         */
+        public void foldPartition(PartitionResult result, RecordSetDigest digest, long[] fingerprints) {
+            processedDigest.fold(digest);
+            reportedRecordCount += result.getMetrics().getRecordsProcessed();
+            reportedErrorCount += result.getMetrics().getErrors();
+            for (long fingerprint : fingerprints) {
+                if (!recordFingerprints.add(fingerprint)) {
+                    duplicateRecordCount++;
+                }
+            }
+            if (result.getErrorRecords() != null) {
+                errorRecordCount += result.getErrorRecords().size();
+            }
+        }
+
         public void addError(String error) {
             this.errors.add(error);
         }
@@ -477,6 +558,18 @@ public class TransactionResultMerger {
         private List<Map<String, Object>> processedRecords;
         private List<Map<String, Object>> errorRecords;
         private PartitionMetrics metrics;
+
+        /**
+         * Copy without the record lists, which is all a merge session keeps once the
+         * partition has been digested.
+         */
+        public PartitionResult withoutRecords() {
+            return PartitionResult.builder()
+                    .partitionId(partitionId)
+                    .executionId(executionId)
+                    .metrics(metrics)
+                    .build();
+        }
     }
 
     @lombok.Data
@@ -486,8 +579,6 @@ public class TransactionResultMerger {
     public static class ConsolidatedResult {
         private String sessionId;
         private String executionId;
-        private List<Map<String, Object>> processedRecords;
-        private List<Map<String, Object>> errorRecords;
         private long totalProcessed;
         private long totalErrors;
         private double successRate;
@@ -518,7 +609,6 @@ public class TransactionResultMerger {
     public static class IntegrityVerificationResult {
         private boolean valid;
         private boolean recordCountValid;
-        private boolean hashValid;
         private boolean noDuplicates;
         private String errorMessage;
         private Instant verificationTimestamp;
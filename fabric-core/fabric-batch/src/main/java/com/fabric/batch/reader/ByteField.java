@@ -0,0 +1,103 @@
+package com.fabric.batch.reader;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A field value that still points into the mapped input file. The bytes are decoded, trimmed
+ * and (for quoted fields) unescaped the first time the value is used as text, so columns the
+ * mapping never touches are never decoded.
+ *
+ * Behaves like the trimmed String that FieldSet.readString would have returned; it is
+ * serialized as that String.
+ */
+final class ByteField implements CharSequence, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ByteBuffer buffer;
+    private final transient Charset charset;
+    private final int start;
+    private final int end;
+    private final byte quote;
+    private String decoded;
+
+    /**
+     * @param quote the quote byte when the slice is the inside of a quoted field, otherwise 0
+     */
+    ByteField(ByteBuffer buffer, int start, int end, Charset charset, byte quote) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.charset = charset;
+        this.quote = quote;
+    }
+
+    @Override
+    public String toString() {
+        String value = decoded;
+        if (value == null) {
+            value = decode();
+            decoded = value;
+        }
+        return value;
+    }
+
+    private String decode() {
+        int from = start;
+        int to = end;
+        if (quote == 0) {
+            // Bytes <= 0x20 are ASCII whitespace in every ASCII-compatible charset
+            while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+                from++;
+            }
+            while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+                to--;
+            }
+        }
+        if (from == to) {
+            return "";
+        }
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        String value = new String(bytes, charset);
+        if (quote != 0) {
+            String q = String.valueOf((char) quote);
+            value = value.replace(q + q, q).trim();
+            if (value.indexOf('\r') >= 0) {
+                // FlatFileItemReader joins the lines of a multi-line field with \n
+                value = value.replace("\r\n", "\n");
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().subSequence(from, to);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ByteField other && toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    private Object writeReplace() {
+        return toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.fabric.batch.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Byte search over (memory-mapped) buffers, eight bytes per step.
+ *
+ * Uses the SWAR "has zero byte" test on little-endian longs: XOR with the broadcast target
+ * turns matches into zero bytes, and {@code (x - 0x01..) & ~x & 0x80..} sets the high bit
+ * of the first zero byte. False positives can only appear above a genuine match, so the
+ * lowest flagged byte is always exact.
+ */
+final class ByteScanner {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private ByteScanner() {
+    }
+
+    /**
+     * @return absolute index of the first {@code target} in {@code [from, to)}, or -1
+     */
+    static int indexOf(ByteBuffer buffer, byte target, int from, int to) {
+        int i = from;
+        if (buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+            long pattern = (target & 0xFFL) * ONES;
+            for (; i + Long.BYTES <= to; i += Long.BYTES) {
+                long word = buffer.getLong(i) ^ pattern;
+                long found = (word - ONES) & ~word & HIGHS;
+                if (found != 0) {
+                    return i + (Long.numberOfTrailingZeros(found) >>> 3);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return number of {@code target} bytes in {@code [from, to)}
+     */
+    static int count(ByteBuffer buffer, byte target, int from, int to) {
+        int count = 0;
+        for (int i = indexOf(buffer, target, from, to); i >= 0; i = indexOf(buffer, target, i + 1, to)) {
+            count++;
+        }
+        return count;
+    }
+}
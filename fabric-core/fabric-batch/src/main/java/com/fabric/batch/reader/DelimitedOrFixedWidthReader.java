@@ -1,6 +1,5 @@
 package com.fabric.batch.reader;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.batch.item.ExecutionContext;
@@ -15,12 +14,16 @@ import org.springframework.batch.item.file.transform.Range;
 import org.springframework.core.io.FileSystemResource;
 
 import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Reads delimited or fixed-width files into a Map<String,Object> per record.
+ * Records are {@link SlotRecord}s sharing one {@link RecordSchema} built from the
+ * configured column names, so no per-line hash map is allocated.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -36,6 +39,7 @@ public class DelimitedOrFixedWidthReader implements ItemStreamReader<Map<String,
 
         DefaultLineMapper<Map<String, Object>> lineMapper = new DefaultLineMapper<>();
         String format = fileConfig.getParams().getOrDefault("format", "delimited").toLowerCase();
+        RecordSchema schema = new RecordSchema(fileConfig.getParams().get("columnNames").split(","));
 
         if ("fixed".equals(format)) {
             FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
@@ -47,24 +51,22 @@ public class DelimitedOrFixedWidthReader implements ItemStreamReader<Map<String,
                 columns[i] = new Range(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
             }
             tokenizer.setColumns(columns);
-            String[] names = fileConfig.getParams().get("columnNames").split(",");
-            tokenizer.setNames(names);
+            tokenizer.setNames(schema.getNames());
             lineMapper.setLineTokenizer(tokenizer);
         } else {
             DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
             tokenizer.setDelimiter(fileConfig.getParams().getOrDefault("delimiter", ","));
-            String[] names = fileConfig.getParams().get("columnNames").split(",");
-            tokenizer.setNames(names);
+            tokenizer.setNames(schema.getNames());
             lineMapper.setLineTokenizer(tokenizer);
         }
 
-        // Map FieldSet to Map<String,Object>
+        // Map FieldSet to slot-indexed record (tokenizer columns follow schema order)
         lineMapper.setFieldSetMapper(fieldSet -> {
-            Map<String, Object> map = new LinkedHashMap<>();
-            for (String name : fieldSet.getNames()) {
-                map.put(name, fieldSet.readString(name));
+            Object[] values = new Object[schema.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = fieldSet.readString(i);
             }
-            return map;
+            return new SlotRecord(schema, values);
         });
 
         delegate.setLineMapper(lineMapper);
@@ -22,8 +22,8 @@ import lombok.extern.slf4j.Slf4j;
  * Supported formats (via adapters):
  * - jdbc: Database tables and custom SQL
  * - rest/api: REST API endpoints
- * - csv: Comma-separated files (via existing DelimitedOrFixedWidthReader)
- * - excel: Excel spreadsheets (via existing ExcelFileReader)
+ * - csv/delimited/fixed: Flat files (memory-mapped via MappedFlatFileReader)
+ * - excel: Excel spreadsheets (.xlsx streamed via StreamingExcelReader, .xls via ExcelFileReader)
  * - And more via the plugin architecture!
  */
 @Slf4j
@@ -1,6 +1,8 @@
 package com.fabric.batch.reader;
 
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.sql.DataSource;
 
@@ -10,7 +12,6 @@ import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
-import org.springframework.jdbc.core.ColumnMapRowMapper;
 
 import com.fabric.batch.model.FileConfig;
 
@@ -19,6 +20,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JdbcRecordReader implements ItemStreamReader<Map<String,Object>> {
 
+  private static final Pattern ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+  private static final Pattern ROW_LIMIT = Pattern.compile("\\b(FETCH|OFFSET|LIMIT)\\b", Pattern.CASE_INSENSITIVE);
+  private static final Pattern QUALIFIER = Pattern.compile("(?<![\\w$#\".])[A-Za-z_][\\w$#]*\\.(?=[A-Za-z_\"])");
+
   private final FileConfig fileConfig;
   private final DataSource dataSource;
   private final String sqlQuery;
@@ -27,13 +32,17 @@ public class JdbcRecordReader implements ItemStreamReader<Map<String,Object>> {
 
   @Override
   public void open(ExecutionContext executionContext) throws ItemStreamException {
+    // Sub-partition predicate set by GenericPartitioner (null = read every row)
+    String partitionFilter = fileConfig.getParams().get("partitionFilter");
+
     // Decide between custom SQL cursor vs. paging reader
     if (sqlQuery != null && !sqlQuery.isBlank()) {
       // Use cursor-based reader for arbitrary queries
       JdbcCursorItemReader<Map<String,Object>> cursor = new JdbcCursorItemReader<>();
       cursor.setDataSource(dataSource);
-      cursor.setSql(sqlQuery);
-      cursor.setRowMapper(new ColumnMapRowMapper());
+      cursor.setSql(partitionFilter != null ? partitionedSql(sqlQuery, partitionFilter) : sqlQuery);
+      cursor.setFetchSize(Integer.parseInt(fileConfig.getParams().getOrDefault("fetchSize","500")));
+      cursor.setRowMapper(new SlotRecordRowMapper());
       try {
         cursor.afterPropertiesSet();
       } catch (Exception e) {
@@ -46,7 +55,7 @@ public class JdbcRecordReader implements ItemStreamReader<Map<String,Object>> {
       paging.setDataSource(dataSource);
       paging.setFetchSize(Integer.parseInt(fileConfig.getParams().getOrDefault("fetchSize","500")));
       paging.setPageSize(Integer.parseInt(fileConfig.getParams().getOrDefault("pageSize","1000")));
-      paging.setRowMapper(new ColumnMapRowMapper());
+      paging.setRowMapper(new SlotRecordRowMapper());
 
       String table     = fileConfig.getTarget();
       String dateParam = fileConfig.getParams().get("batchDateParam");
@@ -54,8 +63,12 @@ public class JdbcRecordReader implements ItemStreamReader<Map<String,Object>> {
       provider.setDataSource(dataSource);
       provider.setSelectClause("SELECT *");
       provider.setFromClause("FROM " + table);
-      if (dateParam != null) {
+      if (dateParam != null && partitionFilter != null) {
+        provider.setWhereClause("WHERE " + dateParam + " = :batchDate AND (" + partitionFilter + ")");
+      } else if (dateParam != null) {
         provider.setWhereClause("WHERE " + dateParam + " = :batchDate");
+      } else if (partitionFilter != null) {
+        provider.setWhereClause("WHERE " + partitionFilter);
       }
       
       // ✅ FIX: Use ACCT_NUM instead of ID for sorting (more generic)
@@ -83,6 +96,62 @@ public class JdbcRecordReader implements ItemStreamReader<Map<String,Object>> {
     }
   }
 
+  /**
+   * Wraps a custom query in the partition filter. SQL does not keep the order of an inline
+   * view, so a trailing ORDER BY of the query is moved to the outer SELECT, with table
+   * qualifiers dropped from its items because they now refer to the view's columns. A row
+   * limit after that ORDER BY would select different rows once moved, so it is rejected.
+   */
+  static String partitionedSql(String query, String partitionFilter) {
+    String sql = query.trim();
+    String masked = topLevel(sql);
+    int orderBy = -1;
+    for (Matcher m = ORDER_BY.matcher(masked); m.find(); ) {
+      orderBy = m.start();
+    }
+    if (orderBy < 0) {
+      return "SELECT * FROM (" + sql + ") fabric_part WHERE " + partitionFilter;
+    }
+    if (ROW_LIMIT.matcher(masked.substring(orderBy)).find()) {
+      throw new IllegalArgumentException(
+          "Partitioned custom queries cannot limit rows after ORDER BY: " + sql);
+    }
+    String sortItems = QUALIFIER.matcher(sql.substring(orderBy)).replaceAll("");
+    return "SELECT * FROM (" + sql.substring(0, orderBy).trim() + ") fabric_part WHERE " + partitionFilter
+        + " " + sortItems;
+  }
+
+  /**
+   * Blanks out quoted text and anything inside parentheses, so only top-level keywords of
+   * {@code sql} remain at their original positions.
+   */
+  private static String topLevel(String sql) {
+    StringBuilder masked = new StringBuilder(sql.length());
+    int depth = 0;
+    char quote = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+        masked.append(' ');
+        continue;
+      }
+      if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+        masked.append(' ');
+        continue;
+      }
+      masked.append(depth > 0 || quote != 0 ? ' ' : c);
+    }
+    return masked.toString();
+  }
+
   @Override
   public Map<String,Object> read() throws Exception {
     return delegate.read();
@@ -0,0 +1,336 @@
+package com.fabric.batch.reader;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads a table or query in pages using keyset ("seek") pagination on one or more key
+ * columns:
+ * <pre>
+ * SELECT cols FROM src WHERE filters AND (k1 > :k1 OR (k1 = :k1 AND k2 > :k2))
+ * ORDER BY k1, k2 FETCH FIRST :pageSize ROWS ONLY
+ * </pre>
+ * Unlike OFFSET or ROWNUM paging every page is an index range scan that starts where the
+ * previous page ended, so late pages cost the same as early ones. Rows are mapped with
+ * {@link SlotRecordRowMapper}; the JDBC fetch size adapts after each page so that one
+ * round trip carries roughly {@code fetchTargetBytes} of row data.
+ *
+ * Key columns that may hold NULL (as reported by the result set metadata at open) are
+ * ordered {@code NULLS LAST} and sought with NULL-aware branches, e.g.
+ * {@code (k1 > :k1 OR k1 IS NULL)}, or {@code k1 IS NULL AND k2 > :k2} after a row whose
+ * k1 was NULL; NOT NULL keys keep the plain comparison. The page SQL therefore depends on
+ * which values of the last key were NULL and is cached per pattern.
+ *
+ * The last key read is saved in the step execution context, so a restarted step resumes
+ * after the last committed row. Not thread-safe; run several readers over disjoint
+ * {@code partitionFilter} slices for parallel cursors.
+ */
+@Slf4j
+public class KeysetPagingRecordReader implements ItemStreamReader<Map<String, Object>> {
+
+    static final String LAST_KEY = "keyset.lastKey";
+    static final String READ_COUNT = "keyset.readCount";
+
+    private static final int MIN_FETCH_SIZE = 50;
+    private static final int SAMPLE_ROWS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final String selectList;
+    private final String relation;
+    private final List<String> filters;
+    private final Map<String, Object> baseParams;
+    private final String[] keyColumns;
+    private final int pageSize;
+    private final boolean adaptiveFetch;
+    private final long fetchTargetBytes;
+    private final SlotRecordRowMapper rowMapper = new SlotRecordRowMapper();
+
+    private boolean[] nullableKeys;
+    private String firstPageSql;
+    // Next-page SQL by the bit mask of NULL values in the last key
+    private final Map<Integer, String> nextPageSql = new HashMap<>();
+
+    private List<Map<String, Object>> page = Collections.emptyList();
+    private int pageIndex;
+    private boolean lastPage;
+    private Object[] lastKey;
+    private int[] keySlots;
+    private RecordSchema keySlotsSchema;
+    private long readCount;
+
+    public KeysetPagingRecordReader(DataSource dataSource, String selectList, String relation,
+                                    List<String> filters, Map<String, Object> params, List<String> keyColumns,
+                                    int pageSize, int fetchSize, boolean adaptiveFetch, long fetchTargetBytes,
+                                    int queryTimeoutSeconds) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Keyset pagination requires at least one key column");
+        }
+        if (keyColumns.size() > Integer.SIZE - 1) {
+            throw new IllegalArgumentException("Keyset pagination supports at most " + (Integer.SIZE - 1) + " key columns");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Math.min(fetchSize, pageSize));
+        if (queryTimeoutSeconds > 0) {
+            this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        }
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.keyColumns = keyColumns.toArray(new String[0]);
+        this.pageSize = pageSize;
+        this.adaptiveFetch = adaptiveFetch;
+        this.fetchTargetBytes = fetchTargetBytes;
+        this.baseParams = new HashMap<>(params);
+        this.baseParams.put("ks_limit", pageSize);
+        this.selectList = selectList;
+        this.relation = relation;
+        this.filters = List.copyOf(filters);
+    }
+
+    static String buildPageSql(String selectList, String relation, List<String> filters,
+                               String[] keyColumns, boolean afterKey) {
+        return buildPageSql(selectList, relation, filters, keyColumns, new boolean[keyColumns.length],
+                afterKey ? new boolean[keyColumns.length] : null);
+    }
+
+    /**
+     * @param nullableKeys which key columns may hold NULL
+     * @param nullInLastKey which values of the last key are NULL; null for the first page
+     */
+    static String buildPageSql(String selectList, String relation, List<String> filters, String[] keyColumns,
+                               boolean[] nullableKeys, boolean[] nullInLastKey) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectList).append(" FROM ").append(relation);
+        List<String> predicates = new ArrayList<>(filters);
+        if (nullInLastKey != null) {
+            predicates.add(keysetPredicate(keyColumns, nullableKeys, nullInLastKey));
+        }
+        for (int i = 0; i < predicates.size(); i++) {
+            sql.append(i == 0 ? " WHERE (" : " AND (").append(predicates.get(i)).append(')');
+        }
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < keyColumns.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(keyColumns[i]).append(nullableKeys[i] ? " NULLS LAST" : "");
+        }
+        sql.append(" FETCH FIRST :ks_limit ROWS ONLY");
+        return sql.toString();
+    }
+
+    static String keysetPredicate(String[] keyColumns) {
+        return keysetPredicate(keyColumns, new boolean[keyColumns.length], new boolean[keyColumns.length]);
+    }
+
+    /**
+     * Expands {@code (k1, k2) > (:ks0, :ks1)} into OR-of-AND form, which every database
+     * (including Oracle) can drive from a composite index. With NULLs sorted last, a NULL
+     * last-key value is matched with IS NULL and has nothing after it, and a nullable
+     * column is also "greater" where it is NULL.
+     */
+    static String keysetPredicate(String[] keyColumns, boolean[] nullableKeys, boolean[] nullInLastKey) {
+        StringBuilder or = new StringBuilder();
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (nullInLastKey[i]) {
+                continue;
+            }
+            if (or.length() > 0) {
+                or.append(" OR ");
+            }
+            or.append('(');
+            for (int j = 0; j < i; j++) {
+                or.append(keyColumns[j]).append(nullInLastKey[j] ? " IS NULL" : " = :ks" + j).append(" AND ");
+            }
+            if (nullableKeys[i]) {
+                or.append('(').append(keyColumns[i]).append(" > :ks").append(i)
+                        .append(" OR ").append(keyColumns[i]).append(" IS NULL))");
+            } else {
+                or.append(keyColumns[i]).append(" > :ks").append(i).append(')');
+            }
+        }
+        // Every value of the last key was NULL: it sorted last
+        return or.length() > 0 ? or.toString() : "1 = 0";
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (nullableKeys == null) {
+            nullableKeys = resolveNullableKeys();
+            firstPageSql = buildPageSql(selectList, relation, filters, keyColumns, nullableKeys, null);
+        }
+        if (executionContext.containsKey(LAST_KEY)) {
+            lastKey = (Object[]) executionContext.get(LAST_KEY);
+            readCount = executionContext.getLong(READ_COUNT, 0L);
+            log.info("🔁 Resuming keyset read after key {} ({} rows already read)", java.util.Arrays.toString(lastKey), readCount);
+        }
+        page = Collections.emptyList();
+        pageIndex = 0;
+        lastPage = false;
+    }
+
+    /**
+     * Reads the nullability of the key columns from the metadata of an empty result; columns
+     * of unknown nullability are treated as nullable.
+     */
+    private boolean[] resolveNullableKeys() {
+        String sql = "SELECT " + String.join(", ", keyColumns) + " FROM " + relation + " WHERE 1 = 0";
+        boolean[] nullable = namedJdbc.query(sql, baseParams, (ResultSetExtractor<boolean[]>) rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            boolean[] result = new boolean[keyColumns.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = metaData.isNullable(i + 1) != ResultSetMetaData.columnNoNulls;
+            }
+            return result;
+        });
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (nullable[i]) {
+                log.info("🗝️  Key column {} is nullable; paging with NULLS LAST", keyColumns[i]);
+            }
+        }
+        return nullable;
+    }
+
+    private String nextPageSql() {
+        int mask = 0;
+        for (int i = 0; i < lastKey.length; i++) {
+            if (lastKey[i] == null) {
+                mask |= 1 << i;
+            }
+        }
+        return nextPageSql.computeIfAbsent(mask, m -> {
+            boolean[] nullInLastKey = new boolean[keyColumns.length];
+            for (int i = 0; i < nullInLastKey.length; i++) {
+                nullInLastKey[i] = (m & (1 << i)) != 0;
+            }
+            return buildPageSql(selectList, relation, filters, keyColumns, nullableKeys, nullInLastKey);
+        });
+    }
+
+    @Override
+    public Map<String, Object> read() {
+        if (pageIndex >= page.size()) {
+            if (lastPage) {
+                return null;
+            }
+            fetchPage();
+            if (page.isEmpty()) {
+                return null;
+            }
+        }
+        Map<String, Object> row = page.get(pageIndex++);
+        lastKey = extractKey(row);
+        readCount++;
+        return row;
+    }
+
+    private void fetchPage() {
+        Map<String, Object> params = new HashMap<>(baseParams);
+        if (lastKey != null) {
+            for (int i = 0; i < lastKey.length; i++) {
+                params.put("ks" + i, lastKey[i]);
+            }
+        }
+        long start = System.nanoTime();
+        page = namedJdbc.query(lastKey != null ? nextPageSql() : firstPageSql, params, rowMapper);
+        pageIndex = 0;
+        lastPage = page.size() < pageSize;
+
+        if (log.isDebugEnabled()) {
+            log.debug("📄 Keyset page: {} rows in {} ms (fetchSize={})",
+                    page.size(), (System.nanoTime() - start) / 1_000_000, jdbcTemplate.getFetchSize());
+        }
+        if (adaptiveFetch && !page.isEmpty()) {
+            adaptFetchSize();
+        }
+    }
+
+    private Object[] extractKey(Map<String, Object> row) {
+        Object[] key = new Object[keyColumns.length];
+        if (row instanceof SlotRecord record) {
+            if (record.getSchema() != keySlotsSchema) {
+                keySlotsSchema = record.getSchema();
+                keySlots = new int[keyColumns.length];
+                for (int i = 0; i < keyColumns.length; i++) {
+                    keySlots[i] = keySlotsSchema.indexOfIgnoreCase(keyColumns[i]);
+                    if (keySlots[i] < 0) {
+                        throw new IllegalStateException("Key column " + keyColumns[i] + " missing from result set");
+                    }
+                }
+            }
+            for (int i = 0; i < key.length; i++) {
+                key[i] = record.getSlot(keySlots[i]);
+            }
+        } else {
+            for (int i = 0; i < key.length; i++) {
+                key[i] = row.get(keyColumns[i]);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Sizes the next round trips from the average width of a sample of the current page.
+     */
+    private void adaptFetchSize() {
+        int sample = Math.min(page.size(), SAMPLE_ROWS);
+        long bytes = 0;
+        for (int i = 0; i < sample; i++) {
+            for (Object value : page.get(i).values()) {
+                bytes += estimateBytes(value);
+            }
+        }
+        long rowBytes = Math.max(bytes / sample, 1);
+        int fetchSize = (int) Math.max(MIN_FETCH_SIZE, Math.min(pageSize, fetchTargetBytes / rowBytes));
+        if (fetchSize != jdbcTemplate.getFetchSize()) {
+            log.debug("⚙️ Adjusting fetch size {} -> {} (~{} bytes/row)", jdbcTemplate.getFetchSize(), fetchSize, rowBytes);
+            jdbcTemplate.setFetchSize(fetchSize);
+        }
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 2L;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.precision() / 2 + 2L;
+        }
+        if (value instanceof java.util.Date || value instanceof java.time.temporal.Temporal) {
+            return 11;
+        }
+        return 8;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (lastKey != null) {
+            executionContext.put(LAST_KEY, lastKey);
+            executionContext.putLong(READ_COUNT, readCount);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        page = Collections.emptyList();
+    }
+}
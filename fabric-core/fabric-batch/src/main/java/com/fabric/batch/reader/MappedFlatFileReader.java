@@ -0,0 +1,309 @@
+package com.fabric.batch.reader;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileFormatException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delimited or fixed-width file reader that works directly on a memory-mapped view of the
+ * file instead of decoding every line into Strings.
+ *
+ * Line and delimiter boundaries are found with {@link ByteScanner} in the mapped bytes, and
+ * each record is a {@link SlotRecord} whose values are {@link ByteField} slices decoded only
+ * when the mapping reads them. Files larger than the map window are mapped window by
+ * window; a window always starts at a line boundary.
+ *
+ * Values match what {@link DelimitedOrFixedWidthReader} produced: trimmed, with quoted
+ * delimited fields unquoted. A quoted field may span lines, as with FlatFileItemReader: while
+ * a record holds an odd number of quotes it continues on the next line, so the whole record
+ * must fit in one map window. Blank lines are skipped. Like the strict tokenizers of that
+ * reader, a delimited record with the wrong number of fields or a fixed-width line shorter
+ * than the column ranges (or longer, when the last range is closed) fails with a
+ * {@link FlatFileParseException}. Fixed-width ranges are byte columns, so the adapter only
+ * uses this reader for single-byte charsets in fixed mode.
+ *
+ * The byte offset of the next unread line is saved in the execution context; a restarted
+ * step maps from that offset instead of re-reading the file.
+ */
+@Slf4j
+public class MappedFlatFileReader implements ItemStreamReader<Map<String, Object>> {
+
+    static final String OFFSET_KEY = "mapped.offset";
+    static final String LINE_KEY = "mapped.lineNumber";
+
+    private static final byte NEWLINE = '\n';
+    private static final String EMPTY = "";
+
+    private final Path path;
+    private final RecordSchema schema;
+    private final Charset charset;
+    private final long windowSize;
+    private final boolean fixedWidth;
+    private final byte delimiter;
+    private final byte quote;
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+    private final int minLineLength;
+    private final int maxLineLength;
+
+    private FileChannel channel;
+    private long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private long lineNumber;
+    private int recordLines;
+
+    private MappedFlatFileReader(Path path, RecordSchema schema, Charset charset, long windowSize,
+                                 boolean fixedWidth, byte delimiter, byte quote, int[] rangeStarts, int[] rangeEnds) {
+        this.path = path;
+        this.schema = schema;
+        this.charset = charset;
+        this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+        this.fixedWidth = fixedWidth;
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.rangeStarts = rangeStarts;
+        this.rangeEnds = rangeEnds;
+        int min = 0;
+        int max = 0;
+        for (int i = 0; rangeStarts != null && i < rangeStarts.length; i++) {
+            // An open range needs its first byte, as FixedLengthTokenizer counts it
+            min = Math.max(min, rangeEnds[i] == Integer.MAX_VALUE ? rangeStarts[i] + 1 : rangeEnds[i]);
+            max = Math.max(max, rangeEnds[i]);
+        }
+        this.minLineLength = min;
+        this.maxLineLength = max;
+    }
+
+    /**
+     * @param quote quote byte, or 0 to disable quote handling
+     */
+    public static MappedFlatFileReader delimited(Path path, RecordSchema schema, Charset charset, long windowSize,
+                                                 byte delimiter, byte quote) {
+        return new MappedFlatFileReader(path, schema, charset, windowSize, false, delimiter, quote, null, null);
+    }
+
+    /**
+     * @param rangeStarts 0-based first byte of each column
+     * @param rangeEnds   0-based exclusive end byte of each column
+     */
+    public static MappedFlatFileReader fixedWidth(Path path, RecordSchema schema, Charset charset, long windowSize,
+                                                  int[] rangeStarts, int[] rangeEnds) {
+        if (rangeStarts.length != schema.size() || rangeEnds.length != schema.size()) {
+            throw new IllegalArgumentException("Expected " + schema.size() + " column ranges but got " + rangeStarts.length);
+        }
+        return new MappedFlatFileReader(path, schema, charset, windowSize, true, (byte) 0, (byte) 0,
+                rangeStarts.clone(), rangeEnds.clone());
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            fileSize = channel.size();
+            long offset = executionContext.getLong(OFFSET_KEY, 0L);
+            lineNumber = executionContext.getLong(LINE_KEY, 0L);
+            if (offset > fileSize) {
+                throw new ItemStreamException("Restart offset " + offset + " is beyond the end of " + path
+                        + " (" + fileSize + " bytes); the file has changed since the failed run");
+            }
+            if (offset > 0) {
+                log.info("🔁 Resuming {} at byte {} (line {})", path, offset, lineNumber);
+            }
+            mapWindow(offset);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to map input file " + path, e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> read() throws Exception {
+        while (windowStart + position < fileSize) {
+            int limit = window.limit();
+            int start = position;
+            int newline = recordEnd(start, limit);
+            if (newline < 0) {
+                if (windowStart + limit < fileSize) {
+                    // Record continues past this window: remap starting at the record
+                    if (start == 0) {
+                        throw new ItemStreamException("Record at line " + (lineNumber + 1) + " of " + path
+                                + " is longer than the map window (" + windowSize + " bytes)"
+                                + (quote != 0 && !fixedWidth ? "; check for an unterminated quote" : ""));
+                    }
+                    mapWindow(windowStart + start);
+                    continue;
+                }
+                if (quote != 0 && !fixedWidth && (ByteScanner.count(window, quote, start, limit) & 1) == 1) {
+                    throw new FlatFileParseException("Unexpected end of file before record complete",
+                            text(start, limit), (int) (lineNumber + 1));
+                }
+                newline = limit;
+            }
+
+            int end = newline;
+            position = Math.min(newline + 1, limit);
+            long recordLine = lineNumber + 1;
+            lineNumber += recordLines;
+            if (end > start && window.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start) {
+                continue;
+            }
+            try {
+                return fixedWidth ? fixedWidthRecord(start, end) : delimitedRecord(start, end);
+            } catch (FlatFileFormatException e) {
+                throw new FlatFileParseException("Parsing error at line: " + recordLine + " in file=[" + path
+                        + "], input=[" + e.getInput() + "]", e, e.getInput(), (int) recordLine);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the newline ending the record that starts at {@code from}, or -1 when the window
+     * ends first, and counts the record's lines in {@link #recordLines}. A newline inside an
+     * open quoted field belongs to the field, as with the default record separator policy of
+     * FlatFileItemReader.
+     */
+    private int recordEnd(int from, int limit) {
+        recordLines = 1;
+        int newline = ByteScanner.indexOf(window, NEWLINE, from, limit);
+        if (fixedWidth || quote == 0) {
+            return newline;
+        }
+        int quotes = 0;
+        int lineStart = from;
+        while (newline >= 0) {
+            quotes += ByteScanner.count(window, quote, lineStart, newline);
+            if ((quotes & 1) == 0) {
+                return newline;
+            }
+            lineStart = newline + 1;
+            recordLines++;
+            newline = ByteScanner.indexOf(window, NEWLINE, lineStart, limit);
+        }
+        return -1;
+    }
+
+    private SlotRecord fixedWidthRecord(int start, int end) {
+        Object[] values = new Object[rangeStarts.length];
+        int length = end - start;
+        if (length < minLineLength) {
+            throw new IncorrectLineLengthException("Line is shorter than max range " + minLineLength,
+                    minLineLength, length, text(start, end));
+        }
+        if (maxLineLength != Integer.MAX_VALUE && length > maxLineLength) {
+            throw new IncorrectLineLengthException("Line is longer than max range " + maxLineLength,
+                    maxLineLength, length, text(start, end));
+        }
+        for (int i = 0; i < values.length; i++) {
+            int from = rangeStarts[i];
+            int to = Math.min(rangeEnds[i], length);
+            values[i] = from < to ? new ByteField(window, start + from, start + to, charset, (byte) 0) : EMPTY;
+        }
+        return new SlotRecord(schema, values);
+    }
+
+    private SlotRecord delimitedRecord(int start, int end) {
+        Object[] values = new Object[schema.size()];
+        int tokens = 0;
+        int p = start;
+        while (p <= end) {
+            int fieldEnd;
+            if (quote != 0 && p < end && window.get(p) == quote) {
+                int close = closingQuote(p + 1, end);
+                if (tokens < values.length) {
+                    values[tokens] = new ByteField(window, p + 1, close, charset, quote);
+                }
+                fieldEnd = ByteScanner.indexOf(window, delimiter, Math.min(close + 1, end), end);
+            } else {
+                fieldEnd = ByteScanner.indexOf(window, delimiter, p, end);
+                if (tokens < values.length) {
+                    values[tokens] = new ByteField(window, p, fieldEnd < 0 ? end : fieldEnd, charset, (byte) 0);
+                }
+            }
+            tokens++;
+            p = fieldEnd < 0 ? end + 1 : fieldEnd + 1;
+        }
+        if (tokens != values.length) {
+            throw new IncorrectTokenCountException("Incorrect number of tokens found in record: expected "
+                    + values.length + " actual " + tokens, values.length, tokens, text(start, end));
+        }
+        return new SlotRecord(schema, values);
+    }
+
+    /**
+     * Finds the quote closing a field opened just before {@code from}, skipping doubled
+     * (escaped) quotes; an unterminated field runs to the end of the record.
+     */
+    private int closingQuote(int from, int end) {
+        int i = from;
+        while (true) {
+            int q = ByteScanner.indexOf(window, quote, i, end);
+            if (q < 0) {
+                return end;
+            }
+            if (q + 1 < end && window.get(q + 1) == quote) {
+                i = q + 2;
+            } else {
+                return q;
+            }
+        }
+    }
+
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    private void mapWindow(long offset) throws IOException {
+        long size = Math.min(windowSize, fileSize - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = offset;
+        position = 0;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (window != null) {
+            executionContext.putLong(OFFSET_KEY, windowStart + position);
+            executionContext.putLong(LINE_KEY, lineNumber);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close " + path, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -5,7 +5,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.stereotype.Component;
@@ -45,6 +44,12 @@ public class MasterQueryDatabaseReader extends JdbcCursorItemReader<Map<String,
     @Value("#{jobParameters['configId']}")
     private String configId;
     
+    @Value("${fabric.batch.master-query-reader.fetch-size:1000}")
+    private int fetchSize;
+    
+    @Value("${fabric.batch.master-query-reader.query-timeout-seconds:30}")
+    private int queryTimeoutSeconds;
+    
     /**
      * Initialize the reader with master query from database
      */
@@ -54,7 +59,7 @@ public class MasterQueryDatabaseReader extends JdbcCursorItemReader<Map<String,
                 sourceSystem, jobName);
         
         this.setDataSource(dataSource);
-        this.setRowMapper(new ColumnMapRowMapper());
+        this.setRowMapper(new SlotRecordRowMapper());
         this.setVerifyCursorPosition(false);
         
         // Retrieve master query from database
@@ -95,9 +100,9 @@ public class MasterQueryDatabaseReader extends JdbcCursorItemReader<Map<String,
             });
         }
         
-        // Set fetch size for performance
-        this.setFetchSize(100);
-        this.setQueryTimeout(30);
+        // Larger fetch sizes cut round trips on wide extracts; both are configurable
+        this.setFetchSize(fetchSize);
+        this.setQueryTimeout(queryTimeoutSeconds);
         
         log.info("MasterQueryDatabaseReader initialized successfully");
     }
@@ -1,111 +1,547 @@
 package com.fabric.batch.reader;
 
-import java.util.Iterator;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemStreamReader;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fabric.batch.model.FileConfig;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Streams JSON records from a REST endpoint, one record at a time.
+ *
+ * The response body is parsed with a Jackson {@link JsonParser} as it arrives, so memory is
+ * bounded by one record plus the HTTP client's buffers rather than by the response size.
+ * Records are the elements of a top-level array, or of the array at {@code itemsPath}
+ * (dot separated, e.g. {@code data.items}); a top-level object without {@code itemsPath}
+ * is read as a single record.
+ *
+ * Pagination ({@code pagination} parameter):
+ * <ul>
+ * <li>{@code none} - a single request (default)</li>
+ * <li>{@code page} - {@code pageParam}/{@code pageSizeParam} query parameters starting at
+ * {@code firstPage}; stops after a page shorter than {@code pageSize}</li>
+ * <li>{@code cursor} - the next cursor is read from {@code cursorPath} in the body and sent
+ * as {@code cursorParam}; stops when the cursor is missing or empty</li>
+ * <li>{@code link} - follows the {@code rel="next"} URL of the Link header</li>
+ * </ul>
+ * Once the next page's URL is known (page numbers and Link headers when a page opens, a
+ * cursor that precedes the records) the next page is requested on a background thread while
+ * the current one is read. An unneeded speculative page request is cancelled.
+ *
+ * Requests are retried on I/O errors, 429 and 5xx responses with exponential backoff
+ * ({@code maxRetries}, {@code retryBackoffMs}), honouring Retry-After, and spaced by
+ * {@code maxRequestsPerSecond} when set. The URL of the page being read and the position
+ * within it are saved in the step execution context, so a restarted step re-requests that
+ * page and skips the records already read. Not thread-safe.
+ */
 @Slf4j
 public class RestApiReader implements ItemStreamReader<Map<String, Object>>, ItemStream {
-    
+
+    static final String PAGE_URL = "rest.page.url";
+    static final String PAGE_OFFSET = "rest.page.offset";
+    static final String PAGE_NUMBER = "rest.page.number";
+    static final String RECORDS_READ = "rest.records.read";
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>[^,]*;\\s*rel=\"?next\"?");
+
+    public enum Pagination { NONE, PAGE, CURSOR, LINK }
+
     private final FileConfig fileConfig;
-    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    
-    private Iterator<Map<String, Object>> dataIterator;
-    private List<Map<String, Object>> dataList;
-    private int currentIndex = 0;
-    
+    private final HttpClient httpClient;
+
+    private final Pagination pagination;
+    private final String[] itemsPath;
+    private final String[] cursorPath;
+    private final String pageParam;
+    private final String pageSizeParam;
+    private final String cursorParam;
+    private final int pageSize;
+    private final int firstPage;
+    private final boolean prefetch;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final long minRequestIntervalNanos;
+    private final Duration requestTimeout;
+
+    private ExecutorService prefetchExecutor;
+    private long lastRequestNanos;
+
+    // Page being read
+    private Page page;
+    private JsonParser parser;
+    private Map<String, Object> singleRecord;
+    private int pageNumber;
+    private int pageOffset;
+    private String nextCursor;
+
+    // Next page, requested while the current one is read
+    private String nextUrl;
+    private CompletableFuture<Page> nextPage;
+
+    private long recordsRead;
+
     public RestApiReader(FileConfig fileConfig) {
+        this(fileConfig, HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(longParam(fileConfig.getParams(), "timeout", 30000)))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+    }
+
+    RestApiReader(FileConfig fileConfig, HttpClient httpClient) {
+        Map<String, String> params = fileConfig.getParams();
         this.fileConfig = fileConfig;
         this.objectMapper = new ObjectMapper();
-        this.restTemplate = new RestTemplate();
+        this.httpClient = httpClient;
+        this.pagination = pagination(params.get("pagination"));
+        this.itemsPath = splitPath(params.get("itemsPath"));
+        this.cursorPath = splitPath(params.getOrDefault("cursorPath", "next_cursor"));
+        this.pageParam = params.getOrDefault("pageParam", "page");
+        this.pageSizeParam = params.getOrDefault("pageSizeParam", "size");
+        this.cursorParam = params.getOrDefault("cursorParam", "cursor");
+        this.pageSize = (int) longParam(params, "pageSize", 100);
+        this.firstPage = (int) longParam(params, "firstPage", 0);
+        this.prefetch = Boolean.parseBoolean(params.getOrDefault("prefetch", "true"));
+        this.maxRetries = (int) longParam(params, "maxRetries", 3);
+        this.retryBackoffMs = longParam(params, "retryBackoffMs", 500);
+        double maxRequestsPerSecond = Double.parseDouble(params.getOrDefault("maxRequestsPerSecond", "0"));
+        this.minRequestIntervalNanos = maxRequestsPerSecond > 0 ? (long) (1_000_000_000L / maxRequestsPerSecond) : 0;
+        this.requestTimeout = Duration.ofMillis(longParam(params, "timeout", 30000));
+        this.lastRequestNanos = System.nanoTime() - minRequestIntervalNanos;
     }
-    
+
     @Override
     public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (prefetch) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rest-prefetch-" + fileConfig.getParams().get("endpoint"));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        pageNumber = firstPage;
+        String url = pagination == Pagination.PAGE ? pageUrl(firstPage) : baseUrl();
+        int skip = 0;
+        if (executionContext.containsKey(PAGE_URL)) {
+            url = executionContext.getString(PAGE_URL);
+            skip = executionContext.getInt(PAGE_OFFSET, 0);
+            pageNumber = executionContext.getInt(PAGE_NUMBER, firstPage);
+            recordsRead = executionContext.getLong(RECORDS_READ, 0L);
+            log.info("🔁 Resuming REST read at {} after {} records of the page ({} records already read)",
+                    url, skip, recordsRead);
+        } else {
+            log.info("🌐 Opening REST API connection to: {} (pagination={})", url, pagination);
+        }
+
         try {
-            log.info("🌐 Opening REST API connection to: {}{}", 
-                fileConfig.getParams().get("baseUrl"), 
-                fileConfig.getParams().get("endpoint"));
-            
-            String response = fetchDataFromApi();
-            this.dataList = parseJsonResponse(response);
-            this.dataIterator = dataList.iterator();
-            
-            log.info("✅ Successfully loaded {} records from REST API", dataList.size());
-            
+            openPage(fetch(url));
+            while (pageOffset < skip && nextRecord() != null) {
+                pageOffset++;
+            }
         } catch (Exception e) {
             log.error("❌ Failed to open REST API connection", e);
             throw new ItemStreamException("Failed to initialize REST API reader", e);
         }
     }
-    
+
     @Override
     public Map<String, Object> read() throws Exception {
-        if (dataIterator != null && dataIterator.hasNext()) {
-            Map<String, Object> item = dataIterator.next();
-            currentIndex++;
-            return item;
+        while (page != null) {
+            Map<String, Object> record = nextRecord();
+            if (record != null) {
+                pageOffset++;
+                recordsRead++;
+                return record;
+            }
+            advancePage();
         }
         return null;
     }
-    
-    private String fetchDataFromApi() {
-        String baseUrl = fileConfig.getParams().get("baseUrl");
-        String endpoint = fileConfig.getParams().get("endpoint");
-        String url = baseUrl + endpoint;
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
-        
+
+    /**
+     * Next record of the current page, or null when the page is exhausted.
+     */
+    private Map<String, Object> nextRecord() throws IOException {
+        if (singleRecord != null) {
+            Map<String, Object> record = singleRecord;
+            singleRecord = null;
+            return record;
+        }
+        if (parser == null) {
+            return null;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return objectMapper.readValue(parser, RECORD_TYPE);
+        }
+        if (token != null && token != JsonToken.END_ARRAY) {
+            throw new IllegalStateException("Expected a JSON object record but found " + token + " in " + page.uri());
+        }
+        // End of the records; a cursor may follow them
+        if (token != null && pagination == Pagination.CURSOR && nextCursor == null) {
+            scanForCursor();
+        }
+        closeParser();
+        return null;
+    }
+
+    private void openPage(Page opened) throws IOException {
+        page = opened;
+        pageOffset = 0;
+        nextCursor = null;
+        nextUrl = null;
+
+        parser = objectMapper.getFactory().createParser(page.body());
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            closeParser();
+        } else if (itemsPath.length == 0 && first == JsonToken.START_OBJECT) {
+            singleRecord = objectMapper.readValue(parser, RECORD_TYPE);
+            closeParser();
+        } else if (itemsPath.length == 0) {
+            expect(first, JsonToken.START_ARRAY);
+        } else {
+            expect(first, JsonToken.START_OBJECT);
+            if (!seekItems(0)) {
+                closeParser();
+            }
+        }
+
+        if (pagination == Pagination.LINK) {
+            nextUrl = page.nextLink();
+        } else if (pagination == Pagination.PAGE) {
+            nextUrl = pageUrl(pageNumber + 1);
+        }
+        if (prefetch && nextUrl != null) {
+            nextPage = requestAsync(nextUrl);
+        }
+    }
+
+    /**
+     * Moves on to the next page once the current one is exhausted, or ends the read.
+     */
+    private void advancePage() throws IOException {
+        boolean hasNext = switch (pagination) {
+            case NONE -> false;
+            case PAGE -> pageOffset >= pageSize;
+            case CURSOR -> nextCursor != null && !nextCursor.isEmpty();
+            case LINK -> nextUrl != null;
+        };
+        if (!hasNext) {
+            cancelPrefetch();
+            page = null;
+            log.info("✅ REST API read complete: {} records from {} page(s)", recordsRead, pageNumber - firstPage + 1);
+            return;
+        }
+
+        Page next;
+        if (nextPage != null) {
+            try {
+                next = nextPage.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            } finally {
+                nextPage = null;
+            }
+        } else {
+            next = fetch(nextUrl);
+        }
+        pageNumber++;
+        openPage(next);
+    }
+
+    /**
+     * Advances the parser to the records array, capturing a cursor that precedes it.
+     * The parser is positioned inside an object at {@code depth} of the items path.
+     */
+    private boolean seekItems(int depth) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (itemsPath[depth].equals(name)) {
+                if (depth == itemsPath.length - 1 && value == JsonToken.START_ARRAY) {
+                    return true;
+                }
+                if (value == JsonToken.START_OBJECT && depth < itemsPath.length - 1) {
+                    if (seekItems(depth + 1)) {
+                        return true;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                continue;
+            }
+            captureCursor(depth, name, value, sharesItemsPath(depth));
+        }
+        return false;
+    }
+
+    /**
+     * Reads the fields that follow the records array, up to the end of the document.
+     */
+    private void scanForCursor() throws IOException {
+        int depth = itemsPath.length - 1;
+        while (depth >= 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token == JsonToken.END_OBJECT) {
+                depth--;
+            } else if (token == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                captureCursor(depth, name, parser.nextToken(), sharesItemsPath(depth));
+            }
+        }
+    }
+
+    /**
+     * Takes the cursor if the field is on the cursor path, otherwise skips the value.
+     */
+    private void captureCursor(int depth, String name, JsonToken value, boolean parentsMatch) throws IOException {
+        boolean onPath = pagination == Pagination.CURSOR && parentsMatch
+                && depth < cursorPath.length && cursorPath[depth].equals(name);
+        if (onPath && depth < cursorPath.length - 1 && value == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String child = parser.currentName();
+                captureCursor(depth + 1, child, parser.nextToken(), true);
+            }
+        } else if (onPath && depth == cursorPath.length - 1 && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+            nextCursor = parser.getText();
+            if (!nextCursor.isEmpty()) {
+                nextUrl = cursorUrl(nextCursor);
+                if (prefetch && nextPage == null) {
+                    nextPage = requestAsync(nextUrl);
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private boolean sharesItemsPath(int depth) {
+        for (int i = 0; i < depth; i++) {
+            if (i >= cursorPath.length || !cursorPath[i].equals(itemsPath[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletableFuture<Page> requestAsync(String url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetch(url);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, prefetchExecutor);
+    }
+
+    /**
+     * GET with retries on I/O errors, 429 and 5xx; the body is returned unread.
+     */
+    private Page fetch(String url) throws IOException {
+        URI uri = URI.create(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
         String authToken = fileConfig.getParams().get("authToken");
         if (authToken != null && !authToken.trim().isEmpty()) {
-            headers.set("Authorization", authToken);
+            builder.header("Authorization", authToken);
+        }
+        HttpRequest request = builder.build();
+
+        for (int attempt = 0; ; attempt++) {
+            long backoffMs = retryBackoffMs << Math.min(attempt, 10);
+            HttpResponse<InputStream> response;
+            try {
+                throttle();
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted requesting " + uri);
+            } catch (IOException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.warn("⚠️ REST request to {} failed ({}), retry {}/{} in {} ms",
+                        uri, e.getMessage(), attempt + 1, maxRetries, backoffMs);
+                sleep(backoffMs);
+                continue;
+            }
+
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                return new Page(uri, response.body(), nextLink(uri, response));
+            }
+            closeQuietly(response.body());
+            if ((status != 429 && status < 500) || attempt >= maxRetries) {
+                throw new IOException("REST request to " + uri + " failed with HTTP " + status);
+            }
+            backoffMs = response.headers().firstValue("Retry-After")
+                    .filter(value -> value.trim().matches("\\d+"))
+                    .map(value -> Long.parseLong(value.trim()) * 1000)
+                    .orElse(backoffMs);
+            log.warn("⚠️ REST request to {} returned HTTP {}, retry {}/{} in {} ms",
+                    uri, status, attempt + 1, maxRetries, backoffMs);
+            sleep(backoffMs);
         }
-        
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-        
-        return response.getBody();
     }
-    
-    private List<Map<String, Object>> parseJsonResponse(String jsonResponse) throws Exception {
-        if (jsonResponse == null || jsonResponse.trim().isEmpty()) {
-            return List.of();
+
+    /**
+     * Spaces request starts to honour maxRequestsPerSecond.
+     */
+    private synchronized void throttle() throws InterruptedException {
+        if (minRequestIntervalNanos > 0) {
+            long wait = lastRequestNanos + minRequestIntervalNanos - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            lastRequestNanos = System.nanoTime();
+        }
+    }
+
+    private static String nextLink(URI uri, HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Link")) {
+            Matcher matcher = NEXT_LINK.matcher(header);
+            if (matcher.find()) {
+                return uri.resolve(matcher.group(1).trim()).toString();
+            }
         }
-        
+        return null;
+    }
+
+    private String baseUrl() {
+        return fileConfig.getParams().get("baseUrl") + fileConfig.getParams().get("endpoint");
+    }
+
+    private String pageUrl(int number) {
+        return UriComponentsBuilder.fromUriString(baseUrl())
+                .replaceQueryParam(pageParam, number)
+                .replaceQueryParam(pageSizeParam, pageSize)
+                .build()
+                .toUriString();
+    }
+
+    private String cursorUrl(String cursor) {
+        return UriComponentsBuilder.fromUriString(baseUrl())
+                .replaceQueryParam(cursorParam, URLEncoder.encode(cursor, StandardCharsets.UTF_8))
+                .build()
+                .toUriString();
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " in response from " + page.uri() + " but found " + actual);
+        }
+    }
+
+    private void cancelPrefetch() {
+        if (nextPage != null) {
+            // A speculative page that is not needed: release its connection once it arrives
+            nextPage.thenAccept(unused -> closeQuietly(unused.body()));
+            nextPage = null;
+        }
+    }
+
+    private void closeParser() throws IOException {
+        if (parser != null) {
+            parser.close();
+            parser = null;
+        }
+        if (page != null) {
+            closeQuietly(page.body());
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
         try {
-            return objectMapper.readValue(jsonResponse, new TypeReference<List<Map<String, Object>>>() {});
-        } catch (Exception e) {
-            Map<String, Object> singleObject = objectMapper.readValue(jsonResponse, 
-                new TypeReference<Map<String, Object>>() {});
-            return List.of(singleObject);
+            body.close();
+        } catch (IOException e) {
+            log.debug("Failed to close REST response body: {}", e.getMessage());
         }
     }
-    
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during REST retry backoff");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown pagination mode
+     */
+    public static Pagination pagination(String value) {
+        return value == null || value.isBlank() ? Pagination.NONE : Pagination.valueOf(value.trim().toUpperCase());
+    }
+
+    static long longParam(Map<String, String> params, String name, long defaultValue) {
+        String value = params.get(name);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static String[] splitPath(String path) {
+        return path == null || path.isBlank() ? new String[0] : path.trim().split("\\.");
+    }
+
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
-        executionContext.putInt("rest.records.read", currentIndex);
+        if (page != null) {
+            executionContext.putString(PAGE_URL, page.uri().toString());
+            executionContext.putInt(PAGE_OFFSET, pageOffset);
+            executionContext.putInt(PAGE_NUMBER, pageNumber);
+        }
+        executionContext.putLong(RECORDS_READ, recordsRead);
     }
-    
+
     @Override
     public void close() throws ItemStreamException {
-        log.info("🔒 Closing REST API reader. Total records processed: {}", currentIndex);
+        try {
+            closeParser();
+        } catch (IOException e) {
+            log.debug("Failed to close REST response parser: {}", e.getMessage());
+        }
+        cancelPrefetch();
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+        log.info("🔒 Closing REST API reader. Total records processed: {}", recordsRead);
+    }
+
+    private record Page(URI uri, InputStream body, String nextLink) {
     }
-}
\ No newline at end of file
+}
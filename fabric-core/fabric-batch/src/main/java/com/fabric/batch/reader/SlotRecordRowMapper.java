@@ -0,0 +1,56 @@
+package com.fabric.batch.reader;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+
+/**
+ * Drop-in replacement for {@code ColumnMapRowMapper} that resolves column labels from
+ * {@link ResultSetMetaData} once and maps every following row into a {@link SlotRecord}
+ * by column index.
+ *
+ * Values are read with {@link JdbcUtils#getResultSetValue(ResultSet, int)} and keys are
+ * matched ignoring case, so records behave like the LinkedCaseInsensitiveMap rows produced
+ * by ColumnMapRowMapper. The schema is re-bound only if a result set with a different
+ * column count is mapped. One instance per reader; not thread-safe.
+ */
+public class SlotRecordRowMapper implements RowMapper<Map<String, Object>> {
+
+    private RecordSchema schema;
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        RecordSchema bound = schema;
+        if (bound == null || rowNum == 0 && bound.size() != rs.getMetaData().getColumnCount()) {
+            bound = bind(rs.getMetaData());
+            schema = bound;
+        }
+        Object[] values = new Object[bound.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JdbcUtils.getResultSetValue(rs, i + 1);
+        }
+        return new SlotRecord(bound, values);
+    }
+
+    /**
+     * @return the schema bound from the last result set, or null before the first row
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    private static RecordSchema bind(ResultSetMetaData metaData) throws SQLException {
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+        }
+        return RecordSchema.caseInsensitive(columns);
+    }
+}
@@ -0,0 +1,295 @@
+package com.fabric.batch.reader;
+
+import com.fabric.batch.model.FileConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemStreamItemReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads .xlsx workbooks row by row without loading them into memory.
+ *
+ * The worksheet XML is pulled with StAX straight from the zip entry, so memory holds one row
+ * at a time plus the shared strings table (one copy of each distinct string). Sheets are
+ * opened one at a time as the previous one is exhausted. The first row of every sheet is its
+ * header; values are typed like {@link ExcelFileReader} (numbers as Double, booleans, strings)
+ * except that formulas yield their cached result. Sheets are chosen with the {@code sheets}
+ * parameter: a comma separated list of sheet names, {@code *} for all, default the first.
+ *
+ * The sheet and row number of the last row read are saved in the step execution context;
+ * a restarted step skips straight past them without decoding the skipped cells.
+ */
+@Slf4j
+public class StreamingExcelReader extends AbstractItemStreamItemReader<Map<String, Object>> {
+
+    private static final String SHEET_INDEX = "sheet.index";
+    private static final String ROW_NUMBER = "row.number";
+    private static final String READ_COUNT = "read.count";
+
+    private final FileConfig fileConfig;
+    private final Set<String> sheetNames;
+    private final boolean allSheets;
+    private final XMLInputFactory xmlInputFactory = XMLHelper.newXMLInputFactory();
+
+    private OPCPackage workbookPackage;
+    private ReadOnlySharedStringsTable sharedStrings;
+    private XSSFReader.SheetIterator sheets;
+
+    // Sheet being read
+    private InputStream sheetStream;
+    private XMLStreamReader xml;
+    private String[] headers;
+    private int sheetIndex = -1;
+    private int rowNumber;
+    private long readCount;
+
+    private int resumeSheetIndex = -1;
+    private int resumeRowNumber;
+
+    public StreamingExcelReader(FileConfig fileConfig) {
+        this.fileConfig = fileConfig;
+        String sheetsParam = fileConfig.getParams() != null ? fileConfig.getParams().get("sheets") : null;
+        this.allSheets = "*".equals(sheetsParam != null ? sheetsParam.trim() : null);
+        this.sheetNames = new HashSet<>();
+        if (sheetsParam != null && !allSheets) {
+            for (String name : sheetsParam.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    sheetNames.add(name.trim());
+                }
+            }
+        }
+        setName("StreamingExcelReader");
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (executionContext.containsKey(getExecutionContextKey(SHEET_INDEX))) {
+            resumeSheetIndex = executionContext.getInt(getExecutionContextKey(SHEET_INDEX));
+            resumeRowNumber = executionContext.getInt(getExecutionContextKey(ROW_NUMBER));
+            readCount = executionContext.getLong(getExecutionContextKey(READ_COUNT), 0L);
+            log.info("🔁 Resuming Excel read of {} after sheet {} row {} ({} rows already read)",
+                    fileConfig.getInputPath(), resumeSheetIndex, resumeRowNumber, readCount);
+        }
+        try {
+            workbookPackage = OPCPackage.open(fileConfig.getInputPath(), PackageAccess.READ);
+            sharedStrings = new ReadOnlySharedStringsTable(workbookPackage, false);
+            sheets = (XSSFReader.SheetIterator) new XSSFReader(workbookPackage).getSheetsData();
+        } catch (Exception e) {
+            close();
+            throw new ItemStreamException("Failed opening Excel file: " + fileConfig.getInputPath(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> read() throws Exception {
+        while (true) {
+            if (xml == null && !openNextSheet()) {
+                return null;
+            }
+            List<Object> values = nextRow(true);
+            if (values != null) {
+                readCount++;
+                return toRecord(values);
+            }
+            closeSheet();
+        }
+    }
+
+    /**
+     * Opens the next selected sheet and reads its header row.
+     */
+    private boolean openNextSheet() throws IOException, XMLStreamException {
+        while (sheets != null && sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            sheetIndex++;
+            String sheetName = sheets.getSheetName();
+            boolean selected = allSheets || (sheetNames.isEmpty() ? sheetIndex == 0 : sheetNames.contains(sheetName));
+            if (!selected || sheetIndex < resumeSheetIndex) {
+                stream.close();
+                continue;
+            }
+
+            sheetStream = stream;
+            xml = xmlInputFactory.createXMLStreamReader(stream);
+            rowNumber = 0;
+            List<Object> headerRow = nextRow(true);
+            headers = new String[headerRow != null ? headerRow.size() : 0];
+            for (int i = 0; i < headers.length; i++) {
+                Object header = headerRow.get(i);
+                headers[i] = header == null || header.toString().isEmpty() ? null : header.toString();
+            }
+
+            if (sheetIndex == resumeSheetIndex) {
+                while (rowNumber < resumeRowNumber && nextRow(false) != null) {
+                    // Skipping rows read before the restart
+                }
+            }
+            log.info("📗 Reading sheet '{}' of {} ({} columns)", sheetName, fileConfig.getInputPath(), headers.length);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next row element of the sheet, or returns null at the end of the sheet data.
+     * Without {@code decode} the cells are skipped and an empty list is returned.
+     */
+    private List<Object> nextRow(boolean decode) throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String r = xml.getAttributeValue(null, "r");
+                rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                return decode ? readCells() : skipElement();
+            }
+            if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private List<Object> readCells() throws XMLStreamException {
+        List<Object> values = new ArrayList<>(headers != null ? headers.length : 16);
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref != null ? columnIndex(ref) : column + 1;
+                Object value = readCell(xml.getAttributeValue(null, "t"));
+                while (values.size() <= column) {
+                    values.add(null);
+                }
+                values.set(column, value);
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads a cell element; types as in the SpreadsheetML "t" attribute.
+     */
+    private Object readCell(String type) throws XMLStreamException {
+        String value = null;
+        StringBuilder inline = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String element = xml.getLocalName();
+                if ("v".equals(element)) {
+                    value = xml.getElementText();
+                } else if ("t".equals(element)) {
+                    // Inline string text, possibly split into rich text runs
+                    inline = inline == null ? new StringBuilder() : inline;
+                    inline.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        if ("inlineStr".equals(type)) {
+            return inline != null ? inline.toString() : "";
+        }
+        if (value == null) {
+            return null;
+        }
+        switch (type != null ? type : "n") {
+            case "s": return sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+            case "b": return "1".equals(value.trim());
+            case "n": return Double.parseDouble(value);
+            default: return value; // str (formula text result), e (error), d (ISO date)
+        }
+    }
+
+    private List<Object> skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private Map<String, Object> toRecord(List<Object> values) {
+        Map<String, Object> record = new LinkedHashMap<>(headers.length * 4 / 3 + 1);
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null) {
+                Object value = i < values.size() ? values.get(i) : null;
+                // Missing cells read as blank, as in the workbook based reader
+                record.put(headers[i], value != null ? value : "");
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Zero-based column of a cell reference such as "AB12".
+     */
+    static int columnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (sheetIndex >= 0) {
+            executionContext.putInt(getExecutionContextKey(SHEET_INDEX), sheetIndex);
+            executionContext.putInt(getExecutionContextKey(ROW_NUMBER), rowNumber);
+            executionContext.putLong(getExecutionContextKey(READ_COUNT), readCount);
+        }
+    }
+
+    private void closeSheet() {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to close sheet of {}: {}", fileConfig.getInputPath(), e.getMessage());
+        }
+        xml = null;
+        sheetStream = null;
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        closeSheet();
+        if (workbookPackage != null) {
+            // Read-only package: discard instead of saving
+            workbookPackage.revert();
+            workbookPackage = null;
+        }
+        log.info("🔒 Closing Excel reader for {}. Total rows read: {}", fileConfig.getInputPath(), readCount);
+    }
+}
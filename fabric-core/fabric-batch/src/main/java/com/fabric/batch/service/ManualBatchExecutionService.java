@@ -2,24 +2,45 @@ package com.fabric.batch.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fabric.batch.entity.BatchConfigurationEntity;
+import com.fabric.batch.mapping.MappingPlan;
 import com.fabric.batch.mapping.YamlMappingService;
 import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+import com.fabric.batch.model.YamlMapping;
 import com.fabric.batch.repository.BatchConfigurationRepository;
+import com.fabric.batch.util.LineBuffer;
+import com.fabric.batch.writer.ChannelLineWriter;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +55,13 @@ import java.util.Map;
  * - Generates fixed-width output files
  * - Provides execution metrics for tracking
  *
+ * STREAMING MODE (fabric.batch.manual.streaming-enabled, default true):
+ * - Master query is read through a forward-only, read-only cursor with a configurable fetch size
+ * - Rows are transformed in bounded chunks with a compiled mapping plan and written through a
+ *   buffered NIO channel, so memory use does not grow with the result size
+ * - No fixed record cap; fabric.batch.manual.max-records (0 = unlimited) limits rows at the driver
+ * - Progress is reported incrementally through {@link ProgressListener}
+ *
  * @author Claude Code
  * @since Phase 2 - Batch Module Separation
  */
@@ -49,7 +77,27 @@ public class ManualBatchExecutionService {
     private final ObjectMapper objectMapper;
 
     private static final int MAX_RECORDS_PER_EXECUTION = 10000;
-    private static final String OUTPUT_DIRECTORY = "/tmp/";
+
+    @Value("${fabric.batch.manual.streaming-enabled:true}")
+    private boolean streamingEnabled = true;
+
+    @Value("${fabric.batch.manual.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @Value("${fabric.batch.manual.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${fabric.batch.manual.max-records:0}")
+    private long maxRecords = 0;
+
+    @Value("${fabric.batch.manual.progress-interval:10000}")
+    private long progressInterval = 10000;
+
+    @Value("${fabric.batch.manual.write-buffer-size:262144}")
+    private int writeBufferSize = ChannelLineWriter.DEFAULT_BUFFER_SIZE;
+
+    @Value("${fabric.batch.manual.output-directory:/tmp/}")
+    private String outputDirectory = "/tmp/";
 
     /**
      * Execute a batch job with the given configuration and parameters
@@ -65,6 +113,20 @@ public class ManualBatchExecutionService {
             String masterQuerySql,
             Map<String, Object> executionParameters,
             String executionId) {
+        return executeBatchJob(batchConfigId, masterQuerySql, executionParameters, executionId, null);
+    }
+
+    /**
+     * Execute a batch job, reporting progress while records are streamed to the output file.
+     *
+     * @param progressListener Optional callback invoked every progress-interval records; may be null
+     */
+    public BatchExecutionResult executeBatchJob(
+            String batchConfigId,
+            String masterQuerySql,
+            Map<String, Object> executionParameters,
+            String executionId,
+            ProgressListener progressListener) {
 
         BatchExecutionResult result = new BatchExecutionResult();
         result.setExecutionId(executionId);
@@ -91,6 +153,27 @@ public class ManualBatchExecutionService {
 
             log.info("Loaded {} field mappings for config: {}", fieldMappings.size(), batchConfigId);
 
+            if (streamingEnabled) {
+                // 3-5. Stream master query rows through transformation into the output file
+                StreamingOutcome outcome = streamOutputFile(batchConfigId, masterQuerySql, executionParameters,
+                        fieldMappings, config.getJobName(), executionId, progressListener);
+
+                long fileSize = getFileSize(outcome.outputFilePath);
+
+                result.setRecordsProcessed(outcome.recordsRead);
+                result.setRecordsSuccess(outcome.recordsWritten);
+                result.setRecordsError(outcome.recordsError);
+                result.setOutputFilePath(outcome.outputFilePath);
+                result.setOutputFileSize(fileSize);
+                result.setStatus("COMPLETED");
+                result.setEndTime(LocalDateTime.now());
+
+                log.info("Batch execution completed successfully: {}", executionId);
+                log.info("Output file: {} ({} bytes)", outcome.outputFilePath, fileSize);
+
+                return result;
+            }
+
             // 3. Execute master query with parameters
             List<Map<String, Object>> sourceData = executeMasterQuery(masterQuerySql, executionParameters);
 
@@ -105,6 +188,7 @@ public class ManualBatchExecutionService {
 
             // 5. Generate output file with Phase 2 transformations
             String outputFilePath = generateOutputFile(
+                    batchConfigId,
                     sourceData,
                     fieldMappings,
                     config.getJobName(),
@@ -137,31 +221,15 @@ public class ManualBatchExecutionService {
     }
 
     /**
-     * Execute master query with parameterized values
+     * Execute master query with its named parameters bound
      */
     private List<Map<String, Object>> executeMasterQuery(
             String sql,
             Map<String, Object> parameters) {
 
         try {
-            // Replace parameters in SQL (basic implementation)
-            String processedSql = sql;
-            for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-                String placeholder = ":" + entry.getKey();
-                String value = entry.getValue().toString();
-
-                // Add quotes for date strings
-                if (entry.getKey().toLowerCase().contains("date")) {
-                    value = "TO_DATE('" + value + "', 'YYYY-MM-DD')";
-                } else if (entry.getValue() instanceof String) {
-                    value = "'" + value + "'";
-                }
-
-                processedSql = processedSql.replace(placeholder, value);
-            }
-
-            log.debug("Executing SQL: {}", processedSql);
-            return jdbcTemplate.queryForList(processedSql);
+            log.debug("Executing SQL: {}", sql);
+            return new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(sql, bindParameters(parameters));
 
         } catch (Exception e) {
             log.error("Failed to execute master query", e);
@@ -170,18 +238,206 @@ public class ManualBatchExecutionService {
     }
 
     /**
-     * Generate fixed-width output file with Phase 2 transformations
+     * Bind values for the :name placeholders of the master query as given. Master queries
+     * convert text dates themselves, e.g. TO_DATE(:batchDate, 'YYYY-MM-DD'), the same as when
+     * they run through the master query API.
+     */
+    private MapSqlParameterSource bindParameters(Map<String, Object> parameters) {
+        return new MapSqlParameterSource(parameters != null ? parameters : Map.of());
+    }
+
+    /**
+     * Streams the master query into a fixed-width output file.
+     * Rows are pulled through a forward-only cursor, buffered into chunks of at most
+     * chunk-size records, transformed with a compiled plan and written through a
+     * {@link ChannelLineWriter}; only one chunk is ever held in memory.
+     */
+    private StreamingOutcome streamOutputFile(
+            String batchConfigId,
+            String masterQuerySql,
+            Map<String, Object> executionParameters,
+            List<Map.Entry<String, FieldMapping>> fieldMappings,
+            String jobName,
+            String executionId,
+            ProgressListener progressListener) throws IOException {
+
+        MappingPlan plan = compilePlan(batchConfigId, fieldMappings);
+        MapSqlParameterSource parameterSource = bindParameters(executionParameters);
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(masterQuerySql);
+        String jdbcSql = NamedParameterUtils.substituteNamedParameters(parsedSql, parameterSource);
+        PreparedStatementSetter parameterSetter = new ArgumentPreparedStatementSetter(
+                NamedParameterUtils.buildValueArray(parsedSql, parameterSource, null));
+        String outputFilePath = buildOutputFilePath(jobName, executionId);
+
+        log.info("Streaming master query to output file: {} (fetchSize={}, chunkSize={}, maxRecords={})",
+                outputFilePath, fetchSize, chunkSize, maxRecords > 0 ? maxRecords : "unlimited");
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(
+                Paths.get(outputFilePath), StandardCharsets.UTF_8, writeBufferSize)) {
+
+            StreamingRowHandler handler = new StreamingRowHandler(plan, writer, executionId, progressListener);
+            try {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(jdbcSql,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    if (maxRecords > 0) {
+                        ps.setMaxRows((int) Math.min(maxRecords, Integer.MAX_VALUE));
+                    }
+                    parameterSetter.setValues(ps);
+                    return ps;
+                }, handler);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (Exception e) {
+                log.error("Failed to execute master query", e);
+                throw new RuntimeException("Master query execution failed: " + e.getMessage(), e);
+            }
+            handler.finish();
+
+            log.info("Output file generated: {} records read, {} written, {} errors",
+                    handler.outcome.recordsRead, handler.outcome.recordsWritten, handler.outcome.recordsError);
+
+            handler.outcome.outputFilePath = outputFilePath;
+            return handler.outcome;
+        }
+    }
+
+    private MappingPlan compilePlan(String batchConfigId, List<Map.Entry<String, FieldMapping>> fieldMappings) {
+        Map<String, FieldMapping> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, FieldMapping> entry : fieldMappings) {
+            fields.put(entry.getKey(), entry.getValue());
+        }
+        YamlMapping mapping = new YamlMapping();
+        mapping.setFields(fields);
+        return yamlMappingService.compilePlan(mapping, batchConfigId, null, 0L);
+    }
+
+    /**
+     * Receives cursor rows, binds column labels once and flushes transformed chunks to the writer.
+     */
+    private final class StreamingRowHandler implements RowCallbackHandler {
+
+        private final MappingPlan plan;
+        private final ChannelLineWriter writer;
+        private final String executionId;
+        private final ProgressListener progressListener;
+        private final List<SlotRecord> chunk;
+        private final StreamingOutcome outcome = new StreamingOutcome();
+        private RecordSchema schema;
+        private long nextProgressAt;
+
+        StreamingRowHandler(MappingPlan plan, ChannelLineWriter writer, String executionId,
+                            ProgressListener progressListener) {
+            this.plan = plan;
+            this.writer = writer;
+            this.executionId = executionId;
+            this.progressListener = progressListener;
+            this.chunk = new ArrayList<>(Math.max(chunkSize, 1));
+            this.nextProgressAt = progressInterval;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (schema == null) {
+                schema = bindSchema(rs.getMetaData());
+            }
+            Object[] values = new Object[schema.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = JdbcUtils.getResultSetValue(rs, i + 1);
+            }
+            chunk.add(new SlotRecord(schema, values));
+            outcome.recordsRead++;
+
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void finish() throws IOException {
+            try {
+                flushChunk();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (progressListener != null) {
+                progressListener.onProgress(executionId, outcome.recordsRead, outcome.recordsWritten, outcome.recordsError);
+            }
+        }
+
+        private RecordSchema bindSchema(ResultSetMetaData metaData) throws SQLException {
+            String[] columns = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+            }
+            // Case-insensitive like the LinkedCaseInsensitiveMap rows returned by queryForList
+            return RecordSchema.caseInsensitive(columns);
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            LineBuffer line = LineBuffer.forCurrentThread();
+            for (SlotRecord row : chunk) {
+                try {
+                    line.clear();
+                    for (int i = 0; i < plan.size(); i++) {
+                        line.append(applyPadding(plan.transform(i, row), plan.getField(i)));
+                    }
+                } catch (Exception e) {
+                    log.warn("Error processing record {}: {}", outcome.recordsWritten + outcome.recordsError + 1, e.getMessage());
+                    outcome.recordsError++;
+                    // Skip row and continue (as per user requirement)
+                    continue;
+                }
+                try {
+                    writer.writeLine(line.asCharBuffer());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                outcome.recordsWritten++;
+            }
+            chunk.clear();
+
+            if (progressListener != null && progressInterval > 0 && outcome.recordsRead >= nextProgressAt) {
+                progressListener.onProgress(executionId, outcome.recordsRead, outcome.recordsWritten, outcome.recordsError);
+                nextProgressAt = (outcome.recordsRead / progressInterval + 1) * progressInterval;
+            }
+        }
+    }
+
+    /**
+     * Counters collected while streaming
+     */
+    private static final class StreamingOutcome {
+        private long recordsRead;
+        private long recordsWritten;
+        private long recordsError;
+        private String outputFilePath;
+    }
+
+    private String buildOutputFilePath(String jobName, String executionId) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = String.format("%s_%s_%s.txt", jobName, executionId, timestamp);
+        return outputDirectory + fileName;
+    }
+
+    /**
+     * Generate fixed-width output file with Phase 2 transformations, using the same compiled
+     * mapping plan as the streaming path
      */
     private String generateOutputFile(
+            String batchConfigId,
             List<Map<String, Object>> sourceData,
             List<Map.Entry<String, FieldMapping>> fieldMappings,
             String jobName,
             String executionId) throws IOException {
 
         // Generate output file name
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = String.format("%s_%s_%s.txt", jobName, executionId, timestamp);
-        String outputFilePath = OUTPUT_DIRECTORY + fileName;
+        MappingPlan plan = compilePlan(batchConfigId, fieldMappings);
+        String outputFilePath = buildOutputFilePath(jobName, executionId);
 
         log.info("Generating output file: {}", outputFilePath);
 
@@ -194,14 +450,12 @@ public class ManualBatchExecutionService {
                     // Apply Phase 2 transformations to each field
                     StringBuilder outputLine = new StringBuilder();
 
-                    for (Map.Entry<String, FieldMapping> entry : fieldMappings) {
-                        FieldMapping mapping = entry.getValue();
-
-                        // Transform field using YamlMappingService (supports all Phase 2 transformations)
-                        String transformedValue = yamlMappingService.transformField(sourceRow, mapping);
+                    for (int i = 0; i < plan.size(); i++) {
+                        // Transform field with the compiled plan (supports all Phase 2 transformations)
+                        String transformedValue = plan.transform(i, sourceRow);
 
                         // Apply padding for fixed-width format
-                        String paddedValue = applyPadding(transformedValue, mapping);
+                        String paddedValue = applyPadding(transformedValue, plan.getField(i));
 
                         outputLine.append(paddedValue);
                     }
@@ -267,6 +521,14 @@ public class ManualBatchExecutionService {
         }
     }
 
+    /**
+     * Callback for incremental progress while a streaming execution is running
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(String executionId, long recordsProcessed, long recordsSuccess, long recordsError);
+    }
+
     /**
      * Result object for batch execution
      */
@@ -276,9 +538,9 @@ public class ManualBatchExecutionService {
         private String jobName;
         private String sourceSystem;
         private String status;
-        private int recordsProcessed;
-        private int recordsSuccess;
-        private int recordsError;
+        private long recordsProcessed;
+        private long recordsSuccess;
+        private long recordsError;
         private String outputFilePath;
         private Long outputFileSize;
         private String errorMessage;
@@ -0,0 +1,165 @@
+package com.fabric.batch.tasklet;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.partition.GenericPartitioner;
+import com.fabric.batch.writer.GenericWriter;
+import com.fabric.batch.writer.PartFileConsolidator;
+import com.fabric.batch.writer.PartFileConsolidator.ConsolidationRequest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consolidates the part files written by partitions into their final output files, in
+ * file then slice order, then removes the parts. Runs after the partition step; a no-op
+ * when no output needed consolidation.
+ *
+ * The part list is rebuilt from the partition step executions of every execution of the
+ * job instance, using the target and order each partition recorded in its execution
+ * context. A restart that skips the completed partition step therefore still merges all
+ * parts, and outputs consolidated before a failure (all parts gone, output present) are
+ * not merged again.
+ *
+ * Optional {@code headerRecord} / {@code trailerRecord} templates are taken from the file
+ * params. Record counts and hash totals ({@code hashTotalField}) come from the counters
+ * each partition's GenericWriter saved in its step execution context, so the parts are
+ * not re-read.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PartFileMergeTasklet implements Tasklet {
+
+    private final JobExplorer jobExplorer;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        JobExecution jobExecution = chunkContext.getStepContext().getStepExecution().getJobExecution();
+
+        for (Map.Entry<String, List<PartFile>> entry : collectPartFiles(stepExecutionsOf(jobExecution)).entrySet()) {
+            String outputPath = entry.getKey();
+            List<PartFile> partFiles = entry.getValue();
+            partFiles.sort(Comparator.comparingLong(PartFile::order));
+
+            List<Path> parts = new ArrayList<>(partFiles.size());
+            int missing = 0;
+            long recordCount = 0;
+            BigDecimal hashTotal = BigDecimal.ZERO;
+            boolean totalsComplete = true;
+            for (PartFile partFile : partFiles) {
+                Path part = Paths.get(partFile.path());
+                parts.add(part);
+                if (!Files.exists(part)) {
+                    missing++;
+                }
+                if (partFile.recordCount() < 0) {
+                    totalsComplete = false;
+                } else {
+                    recordCount += partFile.recordCount();
+                    hashTotal = hashTotal.add(partFile.hashTotal());
+                }
+            }
+            if (missing == parts.size() && Files.exists(Paths.get(outputPath))) {
+                // Merged by an earlier attempt that failed on a later output
+                log.info("🧵 Skipping {} - already consolidated", outputPath);
+                continue;
+            }
+
+            PartFile first = partFiles.get(0);
+            Map<String, String> params = first.params();
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("jobName", first.jobName());
+            attributes.put("sourceSystem", first.sourceSystem());
+
+            PartFileConsolidator.consolidate(ConsolidationRequest.builder()
+                    .target(Paths.get(outputPath))
+                    .parts(parts)
+                    .headerTemplate(params.get("headerRecord"))
+                    .trailerTemplate(params.get("trailerRecord"))
+                    // Fall back to scanning the parts if a partition left no counters behind
+                    .recordCount(totalsComplete ? recordCount : -1)
+                    .hashTotal(totalsComplete ? hashTotal : null)
+                    .attributes(attributes)
+                    .build());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Step executions of this job execution and of earlier executions of the same job
+     * instance; a restart only contains the steps it ran again.
+     */
+    private List<StepExecution> stepExecutionsOf(JobExecution jobExecution) {
+        List<StepExecution> stepExecutions = new ArrayList<>(jobExecution.getStepExecutions());
+        if (jobExplorer != null && jobExecution.getJobInstance() != null) {
+            for (JobExecution previous : jobExplorer.getJobExecutions(jobExecution.getJobInstance())) {
+                if (!previous.getId().equals(jobExecution.getId())) {
+                    stepExecutions.addAll(previous.getStepExecutions());
+                }
+            }
+        }
+        return stepExecutions;
+    }
+
+    /**
+     * Part files per final output path. A part written by several attempts is taken from
+     * the latest one.
+     */
+    static Map<String, List<PartFile>> collectPartFiles(Collection<StepExecution> stepExecutions) {
+        Map<String, StepExecution> latestByPart = new HashMap<>();
+        for (StepExecution stepExecution : stepExecutions) {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            if (!context.containsKey(GenericPartitioner.PART_TARGET_KEY) || !context.containsKey("fileConfig")) {
+                continue;
+            }
+            String part = ((FileConfig) context.get("fileConfig")).getParams().get("outputPath");
+            latestByPart.merge(part, stepExecution, (a, b) -> idOf(b) > idOf(a) ? b : a);
+        }
+
+        Map<String, List<PartFile>> partsByOutput = new TreeMap<>();
+        latestByPart.forEach((part, stepExecution) -> {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            FileConfig fileConfig = (FileConfig) context.get("fileConfig");
+            boolean counted = stepExecution.getStatus() == BatchStatus.COMPLETED
+                    && context.containsKey(GenericWriter.RECORD_COUNT_KEY);
+            partsByOutput.computeIfAbsent(context.getString(GenericPartitioner.PART_TARGET_KEY), k -> new ArrayList<>())
+                    .add(new PartFile(part,
+                            context.getLong(GenericPartitioner.PART_ORDER_KEY, 0L),
+                            fileConfig.getParams(),
+                            context.getString("jobName", null),
+                            context.getString("sourceSystem", null),
+                            counted ? context.getLong(GenericWriter.RECORD_COUNT_KEY) : -1,
+                            counted ? new BigDecimal(context.getString(GenericWriter.HASH_TOTAL_KEY, "0")) : null));
+        });
+        return partsByOutput;
+    }
+
+    private static long idOf(StepExecution stepExecution) {
+        return stepExecution.getId() != null ? stepExecution.getId() : Long.MAX_VALUE;
+    }
+
+    record PartFile(String path, long order, Map<String, String> params, String jobName, String sourceSystem,
+                    long recordCount, BigDecimal hashTotal) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.fabric.batch.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Line-oriented writer that encodes characters straight into a reusable direct
+ * {@link ByteBuffer} and drains it to a {@link FileChannel} when full.
+ *
+ * Unlike {@code BufferedWriter(new FileWriter(..))} no intermediate String or byte[]
+ * is created per line, and the buffer size is configurable so large extracts are
+ * written in a few big sequential writes. Not thread-safe; one instance per output file.
+ */
+public class ChannelLineWriter implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer buffer;
+    private long linesWritten;
+    private boolean closed;
+
+    public ChannelLineWriter(Path path) throws IOException {
+        this(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ChannelLineWriter(Path path, Charset charset, int bufferSize) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 1024));
+    }
+
+    /**
+     * Writes the characters followed by the platform line separator.
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        encode(line instanceof CharBuffer buffered ? buffered : CharBuffer.wrap(line));
+        encode(CharBuffer.wrap(LINE_SEPARATOR));
+        linesWritten++;
+    }
+
+    /**
+     * Writes {@code length} characters of {@code chars} followed by the platform line separator.
+     */
+    public void writeLine(char[] chars, int offset, int length) throws IOException {
+        encode(CharBuffer.wrap(chars, offset, length));
+        encode(CharBuffer.wrap(LINE_SEPARATOR));
+        linesWritten++;
+    }
+
+    public long getLinesWritten() {
+        return linesWritten;
+    }
+
+    /**
+     * @return bytes handed to the channel so far, including buffered bytes not yet written
+     */
+    public long size() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    public void flush() throws IOException {
+        drain();
+    }
+
+    private void encode(CharBuffer chars) throws IOException {
+        // Each call is complete input, so a trailing unpaired surrogate is replaced rather
+        // than left pending in the encoder
+        encoder.reset();
+        CoderResult result;
+        while (!(result = encoder.encode(chars, buffer, true)).isUnderflow()) {
+            handle(result);
+        }
+        while (!(result = encoder.flush(buffer)).isUnderflow()) {
+            handle(result);
+        }
+    }
+
+    private void handle(CoderResult result) throws IOException {
+        if (result.isOverflow()) {
+            drain();
+        } else {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException e) {
+                throw new IOException("Failed to encode output line", e);
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package com.fabric.batch.writer;
 
 import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fabric.batch.mapping.MappingPlan;
 import com.fabric.batch.mapping.YamlMappingService;
-import com.fabric.batch.model.FieldMapping;
 import com.fabric.batch.model.FileConfig;
-import com.fabric.batch.model.YamlMapping;
+import com.fabric.batch.model.SlotRecord;
+import com.fabric.batch.util.LineBuffer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,23 +27,77 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GenericWriter implements ItemWriter<Map<String, Object>>, ItemStream {
 
+    public static final String RECORD_COUNT_KEY = "writer.recordCount";
+    public static final String HASH_TOTAL_KEY = "writer.hashTotal";
+
     private FixedWidthFileWriter delegate;
     private final YamlMappingService yamlMappingService;
     private final FileConfig fileConfig;
-    private List<Map.Entry<String, FieldMapping>> mappings;
+    private MappingPlan plan;
+
+    // Output totals for consolidation trailers, persisted in the step execution context
+    private long recordCount;
+    private BigDecimal hashTotal = BigDecimal.ZERO;
+    private int hashTotalIndex = -1;
+
+    // Totals of the chunk transaction in progress, folded in on commit and dropped on rollback
+    private long pendingRecordCount;
+    private BigDecimal pendingHashTotal = BigDecimal.ZERO;
+    private boolean pendingRegistered;
 
     @Override
     public void write(Chunk<? extends Map<String, Object>> chunk) throws Exception {
-        List<String> lines = chunk.getItems().stream().map(record -> {
-            StringBuilder sb = new StringBuilder();
-            for (Map.Entry<String, FieldMapping> entry : mappings) {
-            	String value = (String) record.get(entry.getValue().getTargetField());
-                sb.append(value != null ? value : "");            }
-            return sb.toString();
-        }).collect(Collectors.toList());
+        List<String> lines = new ArrayList<>(chunk.size());
+        BigDecimal chunkHashTotal = BigDecimal.ZERO;
+        for (Map<String, Object> record : chunk.getItems()) {
+            LineBuffer line = LineBuffer.forCurrentThread().clear();
+            // Records from GenericProcessor share the plan's output schema and are read by slot
+            SlotRecord slots = record instanceof SlotRecord r && r.getSchema() == plan.getOutputSchema() ? r : null;
+            for (int i = 0; i < plan.size(); i++) {
+            	Object value = slots != null ? slots.getSlot(i) : record.get(plan.getTargetField(i));
+                line.append(value);
+                if (i == hashTotalIndex && value != null) {
+                    BigDecimal parsed = PartFileConsolidator.parseHashValue(value.toString());
+                    if (parsed != null) {
+                        chunkHashTotal = chunkHashTotal.add(parsed);
+                    }
+                }
+            }
+            lines.add(line.toString());
+        }
         
         Chunk<String> strChunk = new Chunk<>(lines);
         delegate.write(strChunk);
+
+        // The delegate's lines only reach the file when the chunk commits, and so do the totals
+        pendingRecordCount += lines.size();
+        pendingHashTotal = pendingHashTotal.add(chunkHashTotal);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!pendingRegistered) {
+                TransactionSynchronizationManager.registerSynchronization(new PendingTotalsSynchronization());
+                pendingRegistered = true;
+            }
+        } else {
+            completePending(true);
+        }
+    }
+
+    private void completePending(boolean committed) {
+        if (committed) {
+            recordCount += pendingRecordCount;
+            hashTotal = hashTotal.add(pendingHashTotal);
+        }
+        pendingRecordCount = 0;
+        pendingHashTotal = BigDecimal.ZERO;
+        pendingRegistered = false;
+    }
+
+    private class PendingTotalsSynchronization implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            completePending(status == STATUS_COMMITTED);
+        }
     }
 
     @Override
@@ -70,18 +128,24 @@ public class GenericWriter implements ItemWriter<Map<String, Object>>, ItemStrea
             log.debug("🎯 Loading mapping for template: {}, transactionType: {}", 
                 fileConfig.getTemplate(), transactionType);
             
-            // Get the specific mapping document for this transaction type
-            YamlMapping yamlMapping = yamlMappingService.getMapping(fileConfig.getTemplate(), transactionType);
-            
-            // Convert to sorted list of entries
-            mappings = yamlMapping.getFields().entrySet().stream()
-                .sorted((e1, e2) -> Integer.compare(
-                    e1.getValue().getTargetPosition(), 
-                    e2.getValue().getTargetPosition()))
-                .collect(Collectors.toList());
+            // Get the compiled, pre-sorted plan for this transaction type
+            plan = yamlMappingService.getMappingPlan(fileConfig.getTemplate(), transactionType);
             
             log.debug("📋 Loaded {} field mappings for template: {}, transactionType: {}", 
-                mappings.size(), fileConfig.getTemplate(), transactionType);
+                plan.size(), fileConfig.getTemplate(), transactionType);
+
+            String hashTotalField = fileConfig.getParams().get("hashTotalField");
+            if (hashTotalField != null && !hashTotalField.isBlank()) {
+                hashTotalIndex = plan.getOutputSchema().indexOf(hashTotalField.trim());
+                if (hashTotalIndex < 0) {
+                    throw new IllegalArgumentException("hashTotalField not in mapping: " + hashTotalField);
+                }
+            }
+            if (executionContext.containsKey(RECORD_COUNT_KEY)) {
+                recordCount = executionContext.getLong(RECORD_COUNT_KEY);
+                hashTotal = new BigDecimal(executionContext.getString(HASH_TOTAL_KEY, "0"));
+            }
+            completePending(false);
             
             // Initialize delegate writer
             delegate = new FixedWidthFileWriter(yamlMappingService, fileConfig.getTemplate(), outputPath);
@@ -98,6 +162,9 @@ public class GenericWriter implements ItemWriter<Map<String, Object>>, ItemStrea
         if (delegate != null) {
             delegate.update(executionContext);
         }
+        // Called inside the chunk transaction, so the saved context commits with the chunk
+        executionContext.putLong(RECORD_COUNT_KEY, recordCount + pendingRecordCount);
+        executionContext.putString(HASH_TOTAL_KEY, hashTotal.add(pendingHashTotal).toPlainString());
     }
 
     @Override
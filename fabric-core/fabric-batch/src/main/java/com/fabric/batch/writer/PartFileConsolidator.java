@@ -0,0 +1,282 @@
+package com.fabric.batch.writer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concatenates part files into one output file in the given order, optionally framed by a
+ * header and a trailer record.
+ *
+ * Part contents are copied with {@link FileChannel#transferTo}, so the data never passes
+ * through the JVM heap. Header and trailer records are rendered from templates such as
+ * {@code TRL{recordCount:10}{hashTotal:18}}: {@code {name}} inserts a value and
+ * {@code {name:width}} pads it to a fixed width (numbers zero-filled on the left, text
+ * space-filled on the right). Available names are recordCount, hashTotal, fileName, date,
+ * timestamp and any caller supplied attributes.
+ *
+ * When the caller does not supply a record count and the header or trailer needs one, the
+ * parts are scanned once to count records and, if a hash total column range is given, to
+ * sum it.
+ */
+@Slf4j
+public final class PartFileConsolidator {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)(?::(\\d+))?\\}");
+    private static final int SCAN_BUFFER_SIZE = 1 << 20;
+
+    private PartFileConsolidator() {
+    }
+
+    public static ConsolidationResult consolidate(ConsolidationRequest request) throws IOException {
+        Path target = request.getTarget();
+        List<Path> parts = request.getParts();
+        for (Path part : parts) {
+            if (!Files.exists(part)) {
+                throw new IllegalStateException("Missing part file " + part + " for " + target);
+            }
+        }
+
+        long recordCount = request.getRecordCount();
+        BigDecimal hashTotal = request.getHashTotal();
+        if (recordCount < 0 && (needsTotals(request.getHeaderTemplate()) || needsTotals(request.getTrailerTemplate()))) {
+            ScanTotals totals = new ScanTotals();
+            for (Path part : parts) {
+                scan(part, request.getHashTotalStart(), request.getHashTotalLength(), totals);
+            }
+            recordCount = totals.records;
+            hashTotal = totals.hashTotal;
+        }
+
+        Charset charset = request.getCharset() != null ? request.getCharset() : StandardCharsets.UTF_8;
+        Map<String, Object> values = new HashMap<>();
+        if (request.getAttributes() != null) {
+            values.putAll(request.getAttributes());
+        }
+        values.put("recordCount", Math.max(recordCount, 0));
+        values.put("hashTotal", hashTotal != null ? hashTotal : BigDecimal.ZERO);
+        values.put("fileName", target.getFileName().toString());
+        values.putIfAbsent("date", LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE));
+        values.putIfAbsent("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")));
+
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        long bytes;
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecord(out, request.getHeaderTemplate(), values, charset);
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            writeRecord(out, request.getTrailerTemplate(), values, charset);
+            out.force(false);
+            bytes = out.size();
+        }
+
+        if (request.isDeleteParts()) {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+
+        log.info("🧵 Consolidated {} part files into {} ({} bytes, {} records)",
+                parts.size(), target, bytes, values.get("recordCount"));
+
+        ConsolidationResult result = new ConsolidationResult();
+        result.setTarget(target.toString());
+        result.setPartCount(parts.size());
+        result.setBytes(bytes);
+        result.setRecordCount(recordCount);
+        result.setHashTotal(hashTotal);
+        return result;
+    }
+
+    /**
+     * Renders a header/trailer template; unknown placeholders are left as-is.
+     */
+    public static String render(String template, Map<String, Object> values) {
+        Matcher m = PLACEHOLDER.matcher(template);
+        StringBuilder sb = new StringBuilder(template.length() + 32);
+        while (m.find()) {
+            Object value = values.get(m.group(1));
+            String replacement;
+            if (value == null) {
+                replacement = m.group();
+            } else if (m.group(2) == null) {
+                replacement = toText(value);
+            } else {
+                replacement = fixedWidth(value, Integer.parseInt(m.group(2)));
+            }
+            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Parses a formatted numeric field for hash totals. Accepts leading or trailing signs,
+     * spaces and separators; returns null when the field holds no digits.
+     */
+    public static BigDecimal parseHashValue(CharSequence field) {
+        StringBuilder digits = new StringBuilder(field.length());
+        boolean negative = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c >= '0' && c <= '9' || c == '.') {
+                digits.append(c);
+            } else if (c == '-') {
+                negative = true;
+            }
+        }
+        if (digits.length() == 0 || digits.toString().equals(".")) {
+            return null;
+        }
+        try {
+            BigDecimal value = new BigDecimal(digits.toString());
+            return negative ? value.negate() : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean needsTotals(String template) {
+        return template != null && (template.contains("{recordCount") || template.contains("{hashTotal"));
+    }
+
+    private static void writeRecord(FileChannel out, String template, Map<String, Object> values,
+                                    Charset charset) throws IOException {
+        if (template == null || template.isEmpty()) {
+            return;
+        }
+        ByteBuffer record = charset.encode(render(template, values) + System.lineSeparator());
+        while (record.hasRemaining()) {
+            out.write(record);
+        }
+    }
+
+    private static String toText(Object value) {
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    private static String fixedWidth(Object value, int width) {
+        String text = toText(value);
+        if (value instanceof Number) {
+            boolean negative = text.startsWith("-");
+            String digits = negative ? text.substring(1) : text;
+            int padding = width - digits.length() - (negative ? 1 : 0);
+            String padded = (negative ? "-" : "") + "0".repeat(Math.max(padding, 0)) + digits;
+            // Keep the low-order digits when the value overflows the field
+            return padded.length() > width ? padded.substring(padded.length() - width) : padded;
+        }
+        return text.length() >= width ? text.substring(0, width) : text + " ".repeat(width - text.length());
+    }
+
+    /**
+     * Counts newline-terminated records and sums an optional 1-based column range.
+     */
+    private static void scan(Path part, int hashStart, int hashLength, ScanTotals totals) throws IOException {
+        boolean hashing = hashStart > 0 && hashLength > 0;
+        StringBuilder field = new StringBuilder(Math.max(hashLength, 0));
+        int column = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        totals.endRecord(hashing ? field : null);
+                        field.setLength(0);
+                        column = 0;
+                    } else if (b != '\r') {
+                        column++;
+                        if (hashing && column >= hashStart && column < hashStart + hashLength) {
+                            field.append((char) (b & 0xFF));
+                        }
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        if (column > 0) {
+            totals.endRecord(hashing ? field : null);
+        }
+    }
+
+    private static final class ScanTotals {
+        private long records;
+        private BigDecimal hashTotal;
+
+        void endRecord(CharSequence field) {
+            records++;
+            if (field != null) {
+                BigDecimal value = parseHashValue(field);
+                if (value != null) {
+                    hashTotal = hashTotal != null ? hashTotal.add(value) : value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parts to concatenate and how to frame them.
+     */
+    @Data
+    @Builder
+    public static class ConsolidationRequest {
+        private Path target;
+        private List<Path> parts;
+        private String headerTemplate;
+        private String trailerTemplate;
+        /** Record count from the writers, or -1 to count while scanning when needed */
+        @Builder.Default
+        private long recordCount = -1;
+        private BigDecimal hashTotal;
+        /** 1-based start byte column of the field summed into hashTotal when scanning */
+        private int hashTotalStart;
+        private int hashTotalLength;
+        private Map<String, Object> attributes;
+        private Charset charset;
+        @Builder.Default
+        private boolean deleteParts = true;
+    }
+
+    /**
+     * Outcome of a consolidation
+     */
+    @Data
+    public static class ConsolidationResult {
+        private String target;
+        private int partCount;
+        private long bytes;
+        private long recordCount;
+        private BigDecimal hashTotal;
+    }
+}
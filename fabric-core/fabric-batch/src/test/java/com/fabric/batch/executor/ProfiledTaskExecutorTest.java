@@ -0,0 +1,78 @@
+package com.fabric.batch.executor;
+
+import org.junit.jupiter.api.*;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProfiledTaskExecutor concurrency bounds and saturation statistics.
+ */
+@DisplayName("ProfiledTaskExecutor Tests")
+class ProfiledTaskExecutorTest {
+
+    @Test
+    @DisplayName("Should cap running tasks at the permit count and record queue wait")
+    void shouldCapConcurrencyWithPermits() throws Exception {
+        ExecutorService unbounded = Executors.newCachedThreadPool();
+        Semaphore permits = new Semaphore(2);
+        ProfiledTaskExecutor executor = new ProfiledTaskExecutor("rest-io", "VIRTUAL", unbounded, 2, permits,
+                permits::getQueueLength, unbounded::shutdown);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(executor.getStatistics().get("peakActive")).isEqualTo(2);
+        assertThat(executor.getStatistics().get("submitted")).isEqualTo(6L);
+        assertThat((Long) executor.getStatistics().get("maxQueueWaitMs") > 0).isTrue();
+
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should count rejected tasks and report saturation")
+    void shouldCountRejections() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        ProfiledTaskExecutor executor = new ProfiledTaskExecutor("cpu", "CPU", pool, 1, null,
+                () -> pool.getQueue().size(), pool::shutdown);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> { });
+
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(TaskRejectedException.class);
+        assertThat(executor.getStatistics().get("rejected")).isEqualTo(1L);
+        assertThat(executor.getStatistics().get("saturation")).isEqualTo(1.0);
+        assertThat(executor.getStatistics().get("queued")).isEqualTo(1);
+
+        release.countDown();
+        executor.close();
+    }
+}
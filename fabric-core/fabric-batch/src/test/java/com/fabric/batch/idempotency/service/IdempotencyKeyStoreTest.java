@@ -0,0 +1,126 @@
+package com.fabric.batch.idempotency.service;
+
+import com.fabric.batch.idempotency.config.IdempotencyProperties;
+import com.fabric.batch.idempotency.entity.FabricIdempotencyKeyEntity;
+import com.fabric.batch.idempotency.entity.FabricIdempotencyKeyEntity.ProcessingState;
+import com.fabric.batch.idempotency.repository.FabricIdempotencyAuditRepository;
+import com.fabric.batch.idempotency.repository.FabricIdempotencyKeyRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for claiming idempotency keys from inside a caller's transaction, as the
+ * IdempotencyCheckTasklet does from its step transaction. The repository is mocked with an
+ * INSERT into an H2 table, so the claim runs against a real DataSourceTransactionManager.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyKeyStore Tests")
+class IdempotencyKeyStoreTest {
+
+    @Mock private FabricIdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock private FabricIdempotencyAuditRepository idempotencyAuditRepository;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate stepTransaction;
+    private IdempotencyKeyStore keyStore;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE CLAIMS (IDEMPOTENCY_KEY VARCHAR(128) PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE STEP_WORK (ID INT)");
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        stepTransaction = new TransactionTemplate(transactionManager);
+        keyStore = new IdempotencyKeyStore(idempotencyKeyRepository, idempotencyAuditRepository,
+                new IdempotencyProperties(), transactionManager);
+
+        // Stands in for the entity INSERT that saveAndFlush sends
+        when(idempotencyKeyRepository.saveAndFlush(any(FabricIdempotencyKeyEntity.class))).thenAnswer(invocation -> {
+            FabricIdempotencyKeyEntity entity = invocation.getArgument(0);
+            jdbcTemplate.update("INSERT INTO CLAIMS VALUES (?)", entity.getIdempotencyKey());
+            return entity;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyStore.shutdown();
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should commit the claim before the caller's transaction ends")
+    void shouldCommitClaim_WhenCalledInsideTransaction() {
+        stepTransaction.executeWithoutResult(status -> {
+            IdempotencyKeyStore.ClaimResult result = keyStore.claim(newKey("JOB:20250807:A"));
+
+            assertThat(result.claimed()).isTrue();
+            // Visible to other sessions, i.e. to a racing caller, while the step is still open
+            assertThat(committedClaims()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave the caller's transaction usable when the claim is lost")
+    void shouldKeepCallerTransaction_WhenClaimIsLost() {
+        keyStore.claim(newKey("JOB:20250807:A"));
+        FabricIdempotencyKeyEntity winner = newKey("JOB:20250807:A");
+        when(idempotencyKeyRepository.findById("JOB:20250807:A")).thenReturn(Optional.of(winner));
+
+        stepTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO STEP_WORK VALUES (1)");
+
+            IdempotencyKeyStore.ClaimResult result = keyStore.claim(newKey("JOB:20250807:A"));
+
+            assertThat(result.claimed()).isFalse();
+            assertThat(result.entity()).isSameAs(winner);
+            assertThat(status.isRollbackOnly()).isFalse();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM STEP_WORK", Integer.class)).isEqualTo(1);
+        assertThat(keyStore.getStatistics()).containsEntry("claims", 1L).containsEntry("claimConflicts", 1L);
+    }
+
+    private int committedClaims() {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.createStatement().executeQuery("SELECT COUNT(*) FROM CLAIMS")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FabricIdempotencyKeyEntity newKey(String idempotencyKey) {
+        return FabricIdempotencyKeyEntity.builder()
+                .idempotencyKey(idempotencyKey)
+                .sourceSystem("TEST_SYSTEM")
+                .jobName("TEST_JOB")
+                .correlationId("CORR-1")
+                .createdBy("test")
+                .processingState(ProcessingState.IN_PROGRESS)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.fabric.batch.partition;
+
+import com.fabric.batch.model.FileConfig;
+import org.junit.jupiter.api.*;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for GenericPartitioner sub-partitioning and the SQL slice strategies.
+ */
+@DisplayName("GenericPartitioner Sub-Partitioning Tests")
+class GenericPartitionerTest {
+
+    @Test
+    @DisplayName("Should create one partition per file when no strategy is configured")
+    void shouldCreateOnePartitionPerFile_WithoutStrategy() {
+        GenericPartitioner partitioner = new GenericPartitioner(null, Map.of(),
+                jobConfig(fileParams("/out/a.dat")), "SHAW", "p327");
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(4);
+
+        assertThat(partitions).hasSize(1);
+        assertThat(partitioner.getPartFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should split a file into slices writing ordered part files")
+    void shouldSplitFileIntoOrderedPartFiles() {
+        Map<String, Object> params = fileParams("/out/a.dat");
+        params.put("partitionStrategy", "hash");
+        params.put("partitionColumn", "ACCT_NUM");
+        GenericPartitioner partitioner = new GenericPartitioner(null, Map.of(),
+                jobConfig(params), "SHAW", "p327",
+                new PartitionStrategyRegistry(List.of(new HashPartitionStrategy())));
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(3);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitioner.getPartFiles().get("/out/a.dat")).containsExactly(
+                "/out/a.dat.part-000-00000", "/out/a.dat.part-000-00001", "/out/a.dat.part-000-00002");
+
+        FileConfig slice1 = (FileConfig) partitions.get("partition_0_p327_default_slice1").get("fileConfig");
+        assertThat(slice1.getParams().get("outputPath")).isEqualTo("/out/a.dat.part-000-00001");
+        assertThat(slice1.getParams().get("partitionFilter")).isEqualTo("ORA_HASH(ACCT_NUM, 2) = 1");
+    }
+
+    @Test
+    @DisplayName("Should route files sharing an output path through part files")
+    void shouldRouteSharedOutputPathThroughPartFiles() {
+        Map<String, Object> file0 = Map.of("transactionType", "A", "template", "t", "target", "T", "params", fileParams("/out/a.dat"));
+        Map<String, Object> file1 = Map.of("transactionType", "B", "template", "t", "target", "T", "params", fileParams("/out/a.dat"));
+        GenericPartitioner partitioner = new GenericPartitioner(null, Map.of(),
+                Map.of("files", List.of(file0, file1)), "SHAW", "atoctran");
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(4);
+
+        assertThat(partitions).hasSize(2);
+        assertThat(partitioner.getPartFiles().get("/out/a.dat")).containsExactly(
+                "/out/a.dat.part-000-00000", "/out/a.dat.part-001-00000");
+    }
+
+    @Test
+    @DisplayName("Should build half-open range slices that keep NULL keys")
+    void shouldBuildHalfOpenRangeSlices() {
+        List<PartitionSlice> slices = AbstractSqlPartitionStrategy.rangeSlices("ACCT_NUM", List.of("100", "200"));
+
+        assertThat(slices).extracting(PartitionSlice::getFilter).containsExactly(
+                "(ACCT_NUM < 100 OR ACCT_NUM IS NULL)",
+                "ACCT_NUM >= 100 AND ACCT_NUM < 200",
+                "ACCT_NUM >= 200");
+        assertThat(AbstractSqlPartitionStrategy.rangeSlices("ACCT_NUM", List.of()))
+                .extracting(PartitionSlice::getFilter).containsExactly((String) null);
+    }
+
+    @Test
+    @DisplayName("Should reject partition columns that are not plain identifiers")
+    void shouldRejectUnsafePartitionColumn() {
+        Map<String, Object> params = fileParams("/out/a.dat");
+        params.put("partitionColumn", "ACCT_NUM; DROP TABLE X");
+        FileConfig fileConfig = new com.fasterxml.jackson.databind.ObjectMapper()
+                .convertValue(Map.of("target", "T", "params", params), FileConfig.class);
+
+        assertThatThrownBy(() -> new HashPartitionStrategy().split(fileConfig, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> fileParams(String outputPath) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jdbc");
+        params.put("outputPath", outputPath);
+        params.put("query", "SELECT * FROM T");
+        return params;
+    }
+
+    private static Map<String, Object> jobConfig(Map<String, Object> params) {
+        Map<String, Object> file = new HashMap<>();
+        file.put("template", "p327");
+        file.put("target", "T");
+        file.put("params", params);
+        return Map.of("files", List.of(file));
+    }
+}
@@ -0,0 +1,66 @@
+package com.fabric.batch.processor;
+
+import org.junit.jupiter.api.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming merge digest and record fingerprint set.
+ */
+@DisplayName("RecordSetDigest Tests")
+class RecordSetDigestTest {
+
+    @Test
+    @DisplayName("Should produce the same seal regardless of record and partition order")
+    void shouldBeOrderIndependent() throws Exception {
+        Mac mac = mac();
+        byte[] a = mac.doFinal("ACCT=1|AMT=10".getBytes(StandardCharsets.UTF_8));
+        byte[] b = mac.doFinal("ACCT=2|AMT=20".getBytes(StandardCharsets.UTF_8));
+        byte[] c = mac.doFinal("ACCT=3|AMT=30".getBytes(StandardCharsets.UTF_8));
+
+        RecordSetDigest sequential = new RecordSetDigest();
+        sequential.add(a);
+        sequential.add(b);
+        sequential.add(c);
+
+        RecordSetDigest partition1 = new RecordSetDigest();
+        partition1.add(c);
+        RecordSetDigest partition2 = new RecordSetDigest();
+        partition2.add(b);
+        partition2.add(a);
+        RecordSetDigest folded = new RecordSetDigest();
+        folded.fold(partition2);
+        folded.fold(partition1);
+
+        assertThat(folded.getCount()).isEqualTo(3);
+        assertThat(folded.seal(mac)).isEqualTo(sequential.seal(mac));
+
+        RecordSetDigest missingRecord = new RecordSetDigest();
+        missingRecord.fold(partition2);
+        assertThat(missingRecord.seal(mac)).isNotEqualTo(sequential.seal(mac));
+    }
+
+    @Test
+    @DisplayName("Should detect repeated fingerprints across resizes")
+    void shouldDetectRepeatedFingerprints() {
+        RecordFingerprintSet fingerprints = new RecordFingerprintSet(4);
+
+        for (long i = 0; i < 5000; i++) {
+            assertThat(fingerprints.add(i * 0x9E3779B97F4A7C15L)).isTrue();
+        }
+
+        assertThat(fingerprints.add(0L)).isFalse();
+        assertThat(fingerprints.add(4999 * 0x9E3779B97F4A7C15L)).isFalse();
+        assertThat(fingerprints.size()).isEqualTo(5000);
+    }
+
+    private static Mac mac() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("test-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac;
+    }
+}
@@ -0,0 +1,109 @@
+package com.fabric.batch.processor;
+
+import com.fabric.batch.audit.AuditWriteBuffer;
+import com.fabric.batch.repository.BatchProcessingStatusRepository;
+import com.fabric.batch.repository.BatchTempStagingRepository;
+import com.fabric.batch.repository.ExecutionAuditRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the streaming merge in TransactionResultMerger.
+ */
+@DisplayName("TransactionResultMerger Tests")
+class TransactionResultMergerTest {
+
+    private TransactionResultMerger merger;
+
+    @BeforeEach
+    void setUp() {
+        merger = new TransactionResultMerger();
+        ReflectionTestUtils.setField(merger, "stagingRepository", mock(BatchTempStagingRepository.class));
+        ReflectionTestUtils.setField(merger, "statusRepository", mock(BatchProcessingStatusRepository.class));
+        ReflectionTestUtils.setField(merger, "auditRepository", mock(ExecutionAuditRepository.class));
+        ReflectionTestUtils.setField(merger, "auditBufferCapacity", 100);
+        ReflectionTestUtils.setField(merger, "auditBatchSize", 10);
+        ReflectionTestUtils.setField(merger, "auditLingerMs", 10L);
+        ReflectionTestUtils.setField(merger, "auditOverflowPolicy", AuditWriteBuffer.OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(merger, "auditBlockTimeoutMs", 100L);
+        merger.initializeAuditBuffer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        merger.closeAuditBuffer();
+    }
+
+    @Test
+    @DisplayName("Should keep only partition metadata once a partition is digested")
+    void shouldDropRecordListsAfterDigesting() throws Exception {
+        String sessionId = merger.initiateMergeSession("EXEC-1", 1L, 2);
+
+        assertThat(merger.addPartitionResult(sessionId, partition("p0", 0, 3, 3)).get(10, TimeUnit.SECONDS)).isTrue();
+
+        TransactionResultMerger.MergeSession session = session(sessionId);
+        assertThat(session.getResults()).hasSize(1);
+        assertThat(session.getResults().get(0).getPartitionId()).isEqualTo("p0");
+        assertThat(session.getResults().get(0).getProcessedRecords()).isNull();
+        assertThat(session.getResults().get(0).getErrorRecords()).isNull();
+        assertThat(session.getProcessedDigest().getCount()).isEqualTo(3);
+
+        assertThat(merger.addPartitionResult(sessionId, partition("p1", 3, 2, 2)).get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(session.getStatus()).isEqualTo(TransactionResultMerger.MergeStatus.COMPLETED);
+        assertThat(session.getConsolidatedResult().getTotalProcessed()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should fail verification when a partition reports more records than it sent")
+    void shouldFailVerificationOnReportedCountMismatch() throws Exception {
+        String sessionId = merger.initiateMergeSession("EXEC-2", 1L, 1);
+
+        boolean merged = merger.addPartitionResult(sessionId, partition("p0", 0, 2, 3)).get(10, TimeUnit.SECONDS);
+
+        assertThat(merged).isFalse();
+        assertThat(session(sessionId).getStatus()).isNotEqualTo(TransactionResultMerger.MergeStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should fail verification when a record is merged twice")
+    void shouldFailVerificationOnDuplicateRecords() throws Exception {
+        String sessionId = merger.initiateMergeSession("EXEC-3", 1L, 2);
+
+        merger.addPartitionResult(sessionId, partition("p0", 0, 2, 2)).get(10, TimeUnit.SECONDS);
+        boolean merged = merger.addPartitionResult(sessionId, partition("p1", 1, 2, 2)).get(10, TimeUnit.SECONDS);
+
+        assertThat(merged).isFalse();
+        assertThat(session(sessionId).getDuplicateRecordCount()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionResultMerger.MergeSession session(String sessionId) {
+        return ((Map<String, TransactionResultMerger.MergeSession>)
+                ReflectionTestUtils.getField(merger, "activeSessions")).get(sessionId);
+    }
+
+    private static TransactionResultMerger.PartitionResult partition(String partitionId, int firstAccount,
+                                                                     int records, long reportedRecords) {
+        List<Map<String, Object>> processed = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            processed.add(Map.of("ACCT", firstAccount + i, "AMT", (firstAccount + i) * 10));
+        }
+        TransactionResultMerger.PartitionMetrics metrics = new TransactionResultMerger.PartitionMetrics();
+        metrics.setRecordsProcessed(reportedRecords);
+        return TransactionResultMerger.PartitionResult.builder()
+                .partitionId(partitionId)
+                .executionId("EXEC")
+                .processedRecords(processed)
+                .errorRecords(new ArrayList<>())
+                .metrics(metrics)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.fabric.batch.reader;
+
+import com.fabric.batch.model.FileConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the partitioned custom query SQL built by JdbcRecordReader, and a
+ * partitioned ordered read in H2.
+ */
+@DisplayName("JdbcRecordReader Tests")
+class JdbcRecordReaderTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ACCOUNTS (ID INT, ACCT_NUM VARCHAR(10))");
+        jdbcTemplate.execute("INSERT INTO ACCOUNTS VALUES (1, 'A1'), (2, 'A2'), (3, 'A3'), (4, 'A4'), (5, 'A5'), (6, 'A6')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should wrap a query without ORDER BY unchanged")
+    void shouldWrapUnorderedQuery() {
+        assertThat(JdbcRecordReader.partitionedSql("SELECT * FROM ACCOUNTS ", "MOD(ID, 2) = 0"))
+                .isEqualTo("SELECT * FROM (SELECT * FROM ACCOUNTS) fabric_part WHERE MOD(ID, 2) = 0");
+    }
+
+    @Test
+    @DisplayName("Should move a trailing ORDER BY to the outer query without table qualifiers")
+    void shouldMoveTrailingOrderBy() {
+        String sql = JdbcRecordReader.partitionedSql(
+                "SELECT a.ID, a.ACCT_NUM FROM ACCOUNTS a WHERE a.ACCT_NUM <> 'x ORDER BY y' order by a.ACCT_NUM DESC, 1",
+                "MOD(ID, 2) = 0");
+
+        assertThat(sql).isEqualTo("SELECT * FROM (SELECT a.ID, a.ACCT_NUM FROM ACCOUNTS a"
+                + " WHERE a.ACCT_NUM <> 'x ORDER BY y') fabric_part WHERE MOD(ID, 2) = 0 order by ACCT_NUM DESC, 1");
+    }
+
+    @Test
+    @DisplayName("Should leave ORDER BY inside subqueries and window functions in place")
+    void shouldIgnoreNestedOrderBy() {
+        String query = "SELECT ID, ROW_NUMBER() OVER (ORDER BY ID) RN FROM (SELECT * FROM ACCOUNTS ORDER BY ID) t";
+
+        assertThat(JdbcRecordReader.partitionedSql(query, "MOD(ID, 2) = 0"))
+                .isEqualTo("SELECT * FROM (" + query + ") fabric_part WHERE MOD(ID, 2) = 0");
+    }
+
+    @Test
+    @DisplayName("Should reject a row limit after the ORDER BY")
+    void shouldRejectRowLimitAfterOrderBy() {
+        assertThatThrownBy(() -> JdbcRecordReader.partitionedSql(
+                "SELECT * FROM ACCOUNTS ORDER BY ID FETCH FIRST 10 ROWS ONLY", "MOD(ID, 2) = 0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read a partition of an ordered custom query in that order")
+    void shouldReadPartitionInQueryOrder() throws Exception {
+        FileConfig fileConfig = new FileConfig();
+        Map<String, String> params = new HashMap<>();
+        params.put("partitionFilter", "MOD(ID, 2) = 0");
+        fileConfig.setParams(params);
+
+        JdbcRecordReader reader = new JdbcRecordReader(fileConfig, dataSource,
+                "SELECT a.ID, a.ACCT_NUM FROM ACCOUNTS a ORDER BY a.ID DESC");
+        reader.open(new ExecutionContext());
+        List<Object> accounts = new ArrayList<>();
+        for (Map<String, Object> row = reader.read(); row != null; row = reader.read()) {
+            accounts.add(row.get("ACCT_NUM"));
+        }
+        reader.close();
+
+        assertThat(accounts).containsExactly("A6", "A4", "A2");
+    }
+}
@@ -0,0 +1,133 @@
+package com.fabric.batch.reader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the keyset page SQL built by KeysetPagingRecordReader, and paging over
+ * nullable keys in H2.
+ */
+@DisplayName("KeysetPagingRecordReader Tests")
+class KeysetPagingRecordReaderTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE TXNS (ACCT_NUM VARCHAR(10), TXN_SEQ INT, AMT INT NOT NULL)");
+        jdbcTemplate.execute("INSERT INTO TXNS VALUES ('A', 1, 1), ('A', 2, 2), ('A', NULL, 3), ('B', 1, 4),"
+                + " (NULL, 1, 5), (NULL, 2, 6), (NULL, NULL, 7), ('C', NULL, 8)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should expand a composite key into an OR-of-AND seek predicate")
+    void shouldExpandCompositeKeyPredicate() {
+        String predicate = KeysetPagingRecordReader.keysetPredicate(new String[] {"ACCT_NUM", "TXN_SEQ", "LINE_NO"});
+
+        assertThat(predicate).isEqualTo("(ACCT_NUM > :ks0)"
+                + " OR (ACCT_NUM = :ks0 AND TXN_SEQ > :ks1)"
+                + " OR (ACCT_NUM = :ks0 AND TXN_SEQ = :ks1 AND LINE_NO > :ks2)");
+    }
+
+    @Test
+    @DisplayName("Should only seek past the last key after the first page")
+    void shouldBuildFirstAndNextPageSql() {
+        String[] keys = {"ACCT_NUM"};
+        List<String> filters = List.of("BATCH_DATE = :batchDate", "ORA_HASH(ACCT_NUM, 3) = 1");
+
+        String first = KeysetPagingRecordReader.buildPageSql("ACCT_NUM, BAL", "ACCOUNTS", filters, keys, false);
+        String next = KeysetPagingRecordReader.buildPageSql("ACCT_NUM, BAL", "ACCOUNTS", filters, keys, true);
+
+        assertThat(first).isEqualTo("SELECT ACCT_NUM, BAL FROM ACCOUNTS"
+                + " WHERE (BATCH_DATE = :batchDate) AND (ORA_HASH(ACCT_NUM, 3) = 1)"
+                + " ORDER BY ACCT_NUM FETCH FIRST :ks_limit ROWS ONLY");
+        assertThat(next).contains("AND ((ACCT_NUM > :ks0))").endsWith("ORDER BY ACCT_NUM FETCH FIRST :ks_limit ROWS ONLY");
+    }
+
+    @Test
+    @DisplayName("Should seek past NULL key values of nullable columns, which sort last")
+    void shouldBuildNullAwarePredicate() {
+        String[] keys = {"ACCT_NUM", "TXN_SEQ"};
+        boolean[] nullable = {true, true};
+
+        assertThat(KeysetPagingRecordReader.keysetPredicate(keys, nullable, new boolean[] {false, false}))
+                .isEqualTo("((ACCT_NUM > :ks0 OR ACCT_NUM IS NULL))"
+                        + " OR (ACCT_NUM = :ks0 AND (TXN_SEQ > :ks1 OR TXN_SEQ IS NULL))");
+        assertThat(KeysetPagingRecordReader.keysetPredicate(keys, nullable, new boolean[] {true, false}))
+                .isEqualTo("(ACCT_NUM IS NULL AND (TXN_SEQ > :ks1 OR TXN_SEQ IS NULL))");
+        assertThat(KeysetPagingRecordReader.keysetPredicate(keys, nullable, new boolean[] {true, true}))
+                .isEqualTo("1 = 0");
+        assertThat(KeysetPagingRecordReader.buildPageSql("*", "TXNS", List.of(), keys, nullable, null))
+                .endsWith("ORDER BY ACCT_NUM NULLS LAST, TXN_SEQ NULLS LAST FETCH FIRST :ks_limit ROWS ONLY");
+    }
+
+    @Test
+    @DisplayName("Should read every row across pages when key columns hold NULLs")
+    void shouldReadRowsWithNullKeysAcrossPages() throws Exception {
+        KeysetPagingRecordReader reader = reader();
+        reader.open(new ExecutionContext());
+
+        List<Object> amounts = readAll(reader, Integer.MAX_VALUE);
+        reader.close();
+
+        assertThat(amounts).containsExactly(1, 2, 3, 4, 8, 5, 6, 7);
+    }
+
+    @Test
+    @DisplayName("Should resume after the saved key, including a NULL one, on restart")
+    void shouldResumeFromSavedExecutionContext() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        KeysetPagingRecordReader first = reader();
+        first.open(executionContext);
+        List<Object> amounts = readAll(first, 3);
+        first.update(executionContext);
+        first.close();
+
+        // Last key saved is ('A', NULL)
+        KeysetPagingRecordReader restarted = reader();
+        restarted.open(executionContext);
+        amounts.addAll(readAll(restarted, Integer.MAX_VALUE));
+        restarted.update(executionContext);
+        restarted.close();
+
+        assertThat(amounts).containsExactly(1, 2, 3, 4, 8, 5, 6, 7);
+        assertThat(executionContext.getLong(KeysetPagingRecordReader.READ_COUNT)).isEqualTo(8);
+    }
+
+    private KeysetPagingRecordReader reader() {
+        return new KeysetPagingRecordReader(dataSource, "ACCT_NUM, TXN_SEQ, AMT", "TXNS", List.of(), Map.of(),
+                List.of("ACCT_NUM", "TXN_SEQ"), 2, 2, true, 1 << 20, 0);
+    }
+
+    private static List<Object> readAll(KeysetPagingRecordReader reader, int limit) throws Exception {
+        List<Object> amounts = new ArrayList<>();
+        Map<String, Object> row;
+        while (amounts.size() < limit && (row = reader.read()) != null) {
+            amounts.add(row.get("AMT"));
+        }
+        return amounts;
+    }
+}
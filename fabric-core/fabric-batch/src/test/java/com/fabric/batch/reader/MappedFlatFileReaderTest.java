@@ -0,0 +1,177 @@
+package com.fabric.batch.reader;
+
+import com.fabric.batch.model.RecordSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MappedFlatFileReader tokenizing, strict record checks and byte-offset restart.
+ */
+@DisplayName("MappedFlatFileReader Tests")
+class MappedFlatFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should trim, unquote and resume from the saved byte offset across map windows")
+    void shouldReadDelimitedAndResumeFromOffset() throws Exception {
+        Path file = tempDir.resolve("in.csv");
+        Files.writeString(file, "1, alpha ,\"x,\"\"y\"\"\"\r\n\n2,beta,\n3,gamma,z");
+        RecordSchema schema = new RecordSchema("A", "B", "C");
+        ExecutionContext context = new ExecutionContext();
+
+        // 24-byte windows force a remap in the middle of the file
+        MappedFlatFileReader reader = MappedFlatFileReader.delimited(file, schema, StandardCharsets.UTF_8,
+                24, (byte) ',', (byte) '"');
+        reader.open(context);
+        Map<String, Object> first = reader.read();
+        reader.update(context);
+        reader.close();
+
+        assertThat(first.get("A").toString()).isEqualTo("1");
+        assertThat(first.get("B").toString()).isEqualTo("alpha");
+        assertThat(first.get("C").toString()).isEqualTo("x,\"y\"");
+
+        MappedFlatFileReader restarted = MappedFlatFileReader.delimited(file, schema, StandardCharsets.UTF_8,
+                1 << 20, (byte) ',', (byte) '"');
+        restarted.open(context);
+        Map<String, Object> second = restarted.read();
+        Map<String, Object> third = restarted.read();
+
+        assertThat(second.get("B").toString()).isEqualTo("beta");
+        assertThat(second.get("C").toString()).isEqualTo("");
+        assertThat(third.get("C").toString()).isEqualTo("z");
+        assertThat(restarted.read()).isNull();
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should continue a record while a quoted field is open, across map windows")
+    void shouldReadQuotedFieldsSpanningLines() throws Exception {
+        Path file = tempDir.resolve("multiline.csv");
+        Files.writeString(file, "1,\"first\r\nsecond\",a\n2,\"x\"\"\ny\",b\n3,c,d");
+        RecordSchema schema = new RecordSchema("A", "B", "C");
+        ExecutionContext context = new ExecutionContext();
+
+        // The second record starts 4 bytes before the end of the first 24-byte window
+        MappedFlatFileReader reader = MappedFlatFileReader.delimited(file, schema, StandardCharsets.UTF_8,
+                24, (byte) ',', (byte) '"');
+        reader.open(context);
+        Map<String, Object> first = reader.read();
+        Map<String, Object> second = reader.read();
+        reader.update(context);
+        reader.close();
+
+        assertThat(first.get("B").toString()).isEqualTo("first\nsecond");
+        assertThat(first.get("C").toString()).isEqualTo("a");
+        assertThat(second.get("B").toString()).isEqualTo("x\"\ny");
+        assertThat(second.get("C").toString()).isEqualTo("b");
+        assertThat(context.getLong(MappedFlatFileReader.LINE_KEY)).isEqualTo(4L);
+
+        MappedFlatFileReader restarted = MappedFlatFileReader.delimited(file, schema, StandardCharsets.UTF_8,
+                24, (byte) ',', (byte) '"');
+        restarted.open(context);
+        assertThat(restarted.read().get("A").toString()).isEqualTo("3");
+        assertThat(restarted.read()).isNull();
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should reject delimited records with missing or extra fields and keep reading")
+    void shouldRejectIncorrectTokenCount() throws Exception {
+        Path file = tempDir.resolve("counts.csv");
+        Files.writeString(file, "1,a,b\n2,a\n3,a,b,c\n4,a,\n");
+
+        MappedFlatFileReader reader = MappedFlatFileReader.delimited(file, new RecordSchema("A", "B", "C"),
+                StandardCharsets.UTF_8, 1 << 20, (byte) ',', (byte) '"');
+        reader.open(new ExecutionContext());
+
+        assertThat(reader.read().get("C").toString()).isEqualTo("b");
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("line: 2")
+                .hasCauseInstanceOf(IncorrectTokenCountException.class);
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("line: 3")
+                .hasCauseInstanceOf(IncorrectTokenCountException.class);
+        assertThat(reader.read().get("A").toString()).isEqualTo("4");
+        reader.close();
+    }
+
+    @Test
+    @DisplayName("Should fail when the file ends inside a quoted field")
+    void shouldRejectUnterminatedQuoteAtEndOfFile() throws Exception {
+        Path file = tempDir.resolve("open.csv");
+        Files.writeString(file, "1,a,b\n2,\"open,b\n3,c");
+
+        MappedFlatFileReader reader = MappedFlatFileReader.delimited(file, new RecordSchema("A", "B", "C"),
+                StandardCharsets.UTF_8, 1 << 20, (byte) ',', (byte) '"');
+        reader.open(new ExecutionContext());
+
+        assertThat(reader.read().get("A").toString()).isEqualTo("1");
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("Unexpected end of file");
+        reader.close();
+    }
+
+    @Test
+    @DisplayName("Should slice fixed-width columns up to an open last range")
+    void shouldReadFixedWidthColumns() throws Exception {
+        Path file = tempDir.resolve("in.dat");
+        Files.writeString(file, "0001ABC  XY\n0002D     \n");
+
+        MappedFlatFileReader reader = MappedFlatFileReader.fixedWidth(file, new RecordSchema("ID", "NAME", "REST"),
+                StandardCharsets.ISO_8859_1, 1 << 20, new int[] {0, 4, 9}, new int[] {4, 9, Integer.MAX_VALUE});
+        reader.open(new ExecutionContext());
+
+        Map<String, Object> first = reader.read();
+        Map<String, Object> second = reader.read();
+
+        assertThat(first.get("ID").toString()).isEqualTo("0001");
+        assertThat(first.get("NAME").toString()).isEqualTo("ABC");
+        assertThat(first.get("REST").toString()).isEqualTo("XY");
+        assertThat(second.get("NAME").toString()).isEqualTo("D");
+        assertThat(second.get("REST").toString()).isEqualTo("");
+        assertThat(reader.read()).isNull();
+        reader.close();
+    }
+
+    @Test
+    @DisplayName("Should reject fixed-width lines shorter or longer than the column ranges")
+    void shouldRejectIncorrectLineLength() throws Exception {
+        Path file = tempDir.resolve("lengths.dat");
+        Files.writeString(file, "0001ABCDE\n0002AB\n0003ABCDEFG\n");
+
+        MappedFlatFileReader reader = MappedFlatFileReader.fixedWidth(file, new RecordSchema("ID", "NAME"),
+                StandardCharsets.ISO_8859_1, 1 << 20, new int[] {0, 4}, new int[] {4, 9});
+        reader.open(new ExecutionContext());
+
+        assertThat(reader.read().get("NAME").toString()).isEqualTo("ABCDE");
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("line: 2")
+                .hasCauseInstanceOf(IncorrectLineLengthException.class);
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("line: 3")
+                .hasCauseInstanceOf(IncorrectLineLengthException.class);
+        assertThat(reader.read()).isNull();
+        reader.close();
+    }
+}
@@ -0,0 +1,143 @@
+package com.fabric.batch.reader;
+
+import com.fabric.batch.model.FileConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RestApiReader streaming, pagination, retries and restart.
+ */
+@DisplayName("RestApiReader Tests")
+class RestApiReaderTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should follow cursors that follow the records and resume from a checkpoint")
+    void shouldFollowCursorsAndResume() throws Exception {
+        server.createContext("/accounts", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query == null) {
+                respond(exchange, 200, "{\"data\":{\"items\":[{\"id\":1},{\"id\":2}]},\"meta\":{\"next_cursor\":\"c 2\"}}");
+            } else if (query.equals("cursor=c+2")) {
+                respond(exchange, 200, "{\"meta\":{\"next_cursor\":null},\"data\":{\"items\":[{\"id\":3},{\"id\":4}]}}");
+            } else {
+                respond(exchange, 400, "{}");
+            }
+        });
+        Map<String, String> params = params("/accounts");
+        params.put("itemsPath", "data.items");
+        params.put("pagination", "cursor");
+        params.put("cursorPath", "meta.next_cursor");
+
+        RestApiReader reader = new RestApiReader(config(params));
+        ExecutionContext context = new ExecutionContext();
+        reader.open(context);
+        assertThat(ids(reader, 3)).isEqualTo(List.of(1, 2, 3));
+        reader.update(context);
+        reader.close();
+
+        RestApiReader restarted = new RestApiReader(config(params));
+        restarted.open(context);
+        assertThat(ids(restarted, 10)).isEqualTo(List.of(4));
+        restarted.update(context);
+        restarted.close();
+        assertThat(context.getLong(RestApiReader.RECORDS_READ, 0L)).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should retry server errors and follow Link header pages")
+    void shouldRetryAndFollowLinks() throws Exception {
+        AtomicInteger firstPageCalls = new AtomicInteger();
+        server.createContext("/txns", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query == null && firstPageCalls.incrementAndGet() == 1) {
+                respond(exchange, 503, "busy");
+            } else if (query == null) {
+                exchange.getResponseHeaders().add("Link", "</txns?page=2>; rel=\"next\"");
+                respond(exchange, 200, "[{\"id\":1},{\"id\":2}]");
+            } else {
+                respond(exchange, 200, "[{\"id\":3}]");
+            }
+        });
+        Map<String, String> params = params("/txns");
+        params.put("pagination", "link");
+        params.put("retryBackoffMs", "1");
+
+        RestApiReader reader = new RestApiReader(config(params));
+        reader.open(new ExecutionContext());
+        assertThat(ids(reader, 10)).isEqualTo(List.of(1, 2, 3));
+        reader.close();
+        assertThat(firstPageCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a single object response as one record")
+    void shouldReadSingleObject() throws Exception {
+        server.createContext("/status", exchange -> respond(exchange, 200, "{\"id\":7,\"state\":\"OK\"}"));
+
+        RestApiReader reader = new RestApiReader(config(params("/status")));
+        reader.open(new ExecutionContext());
+        Map<String, Object> record = reader.read();
+        assertThat(record.get("state")).isEqualTo("OK");
+        assertThat(reader.read()).isNull();
+        reader.close();
+    }
+
+    private List<Object> ids(RestApiReader reader, int max) throws Exception {
+        List<Object> ids = new ArrayList<>();
+        Map<String, Object> record;
+        while (ids.size() < max && (record = reader.read()) != null) {
+            ids.add(record.get("id"));
+        }
+        return ids;
+    }
+
+    private Map<String, String> params(String endpoint) {
+        Map<String, String> params = new HashMap<>();
+        params.put("baseUrl", baseUrl);
+        params.put("endpoint", endpoint);
+        return params;
+    }
+
+    private static FileConfig config(Map<String, String> params) {
+        FileConfig config = new FileConfig();
+        config.setParams(params);
+        return config;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.fabric.batch.reader;
+
+import com.fabric.batch.model.FileConfig;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StreamingExcelReader cell typing, sheet selection and row restart.
+ */
+@DisplayName("StreamingExcelReader Tests")
+class StreamingExcelReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should type cells, blank missing cells and resume after the saved row")
+    void shouldReadRowsAndResume() throws Exception {
+        Path file = workbook();
+        ExecutionContext context = new ExecutionContext();
+
+        StreamingExcelReader reader = new StreamingExcelReader(config(file, null));
+        reader.open(context);
+        Map<String, Object> first = reader.read();
+        reader.update(context);
+        reader.close();
+
+        assertThat(first.get("ACCT")).isEqualTo("A-1");
+        assertThat(first.get("BAL")).isEqualTo(10.5);
+        assertThat(first.get("ACTIVE")).isEqualTo(true);
+
+        StreamingExcelReader restarted = new StreamingExcelReader(config(file, null));
+        restarted.open(context);
+        Map<String, Object> second = restarted.read();
+        assertThat(second.get("ACCT")).isEqualTo("A-2");
+        assertThat(second.get("BAL")).isEqualTo("");
+        assertThat(restarted.read()).isNull();
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should read every sheet in order when all sheets are selected")
+    void shouldReadAllSheets() throws Exception {
+        Path file = workbook();
+
+        StreamingExcelReader reader = new StreamingExcelReader(config(file, "*"));
+        reader.open(new ExecutionContext());
+        int rows = 0;
+        Map<String, Object> last = null;
+        for (Map<String, Object> row = reader.read(); row != null; row = reader.read()) {
+            rows++;
+            last = row;
+        }
+        reader.close();
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(last.get("CODE")).isEqualTo("X");
+        assertThat(StreamingExcelReader.columnIndex("AB12")).isEqualTo(27);
+    }
+
+    private Path workbook() throws Exception {
+        Path file = tempDir.resolve("accounts.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet accounts = workbook.createSheet("Accounts");
+            Row header = accounts.createRow(0);
+            header.createCell(0).setCellValue("ACCT");
+            header.createCell(1).setCellValue("BAL");
+            header.createCell(2).setCellValue("ACTIVE");
+            Row first = accounts.createRow(1);
+            first.createCell(0).setCellValue("A-1");
+            first.createCell(1).setCellValue(10.5);
+            first.createCell(2).setCellValue(true);
+            Row second = accounts.createRow(2);
+            second.createCell(0).setCellValue("A-2");
+            second.createCell(2).setCellValue(false);
+
+            Sheet codes = workbook.createSheet("Codes");
+            codes.createRow(0).createCell(0).setCellValue("CODE");
+            codes.createRow(1).createCell(0).setCellValue("X");
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static FileConfig config(Path file, String sheets) {
+        Map<String, String> params = new HashMap<>();
+        params.put("format", "excel");
+        if (sheets != null) {
+            params.put("sheets", sheets);
+        }
+        FileConfig config = new FileConfig();
+        config.setInputPath(file.toString());
+        config.setParams(params);
+        return config;
+    }
+}
@@ -0,0 +1,175 @@
+package com.fabric.batch.service;
+
+import com.fabric.batch.entity.BatchConfigurationEntity;
+import com.fabric.batch.mapping.YamlMappingService;
+import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.repository.BatchConfigurationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for ManualBatchExecutionService reading the master query from an H2 table, through
+ * the streaming cursor and through the list query, into a fixed-width output file.
+ */
+@DisplayName("ManualBatchExecutionService Tests")
+class ManualBatchExecutionServiceTest {
+
+    private static final String CONFIG_ID = "CFG-ACCOUNTS";
+
+    private static final String MASTER_QUERY =
+            "SELECT ACCT_NUM, OWNER FROM ACCOUNTS WHERE STATUS = :status AND OWNER <> :excludedOwner ORDER BY ID";
+
+    @TempDir
+    Path tempDir;
+
+    private EmbeddedDatabase dataSource;
+    private ManualBatchExecutionService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ACCOUNTS (ID INT, ACCT_NUM VARCHAR(10), OWNER VARCHAR(20), STATUS VARCHAR(1))");
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES (1, 'A001', 'O''Brien', 'A')");
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES (2, 'A002', 'Smith', 'B')");
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES (3, 'A003', 'Jones', 'A')");
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES (4, 'A004', 'Closed', 'A')");
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES (5, 'A005', 'Lee', 'A')");
+
+        BatchConfigurationEntity config = new BatchConfigurationEntity();
+        config.setId(CONFIG_ID);
+        config.setJobName("ACCOUNTS");
+        config.setSourceSystem("CORE");
+        config.setEnabled("Y");
+        BatchConfigurationRepository batchConfigRepository = mock(BatchConfigurationRepository.class);
+        when(batchConfigRepository.findById(CONFIG_ID)).thenReturn(Optional.of(config));
+
+        JsonMappingService jsonMappingService = mock(JsonMappingService.class);
+        when(jsonMappingService.loadFieldMappings(CONFIG_ID)).thenReturn(List.of(
+                Map.entry("acct", field("acct", "acct_num", 1, 6, "left", "0")),
+                Map.entry("owner", field("owner", "owner", 2, 8, "right", " "))));
+
+        service = new ManualBatchExecutionService(batchConfigRepository, jsonMappingService,
+                new YamlMappingService(), jdbcTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "outputDirectory", tempDir.toString() + "/");
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "progressInterval", 2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should stream bound query rows in chunks and report progress")
+    void shouldStreamRowsWithBoundParameters() throws Exception {
+        List<long[]> progress = new ArrayList<>();
+
+        ManualBatchExecutionService.BatchExecutionResult result = service.executeBatchJob(CONFIG_ID, MASTER_QUERY,
+                parameters(), "EXEC-1", (executionId, read, written, errors) -> progress.add(new long[] {read, written}));
+
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getRecordsProcessed()).isEqualTo(3);
+        assertThat(result.getRecordsSuccess()).isEqualTo(3);
+        assertThat(result.getRecordsError()).isEqualTo(0);
+        assertThat(Files.readAllLines(Path.of(result.getOutputFilePath())))
+                .containsExactly("00A001O'Brien ", "00A003Jones   ", "00A005Lee     ");
+        assertThat(result.getOutputFileSize()).isEqualTo(Files.size(Path.of(result.getOutputFilePath())));
+        // Once after the first full chunk, once when the query is finished
+        assertThat(progress.stream().map(counts -> counts[0]).toList()).containsExactly(2L, 3L);
+        assertThat(progress.get(1)[1]).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should write the same file through the list query when streaming is disabled")
+    void shouldWriteSameFileWithoutStreaming() throws Exception {
+        ReflectionTestUtils.setField(service, "streamingEnabled", false);
+
+        ManualBatchExecutionService.BatchExecutionResult result =
+                service.executeBatchJob(CONFIG_ID, MASTER_QUERY, parameters(), "EXEC-2");
+
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getRecordsProcessed()).isEqualTo(3);
+        assertThat(Files.readAllLines(Path.of(result.getOutputFilePath())))
+                .containsExactly("00A001O'Brien ", "00A003Jones   ", "00A005Lee     ");
+    }
+
+    @Test
+    @DisplayName("Should stop reading at the configured maximum number of records")
+    void shouldLimitStreamedRows() throws Exception {
+        ReflectionTestUtils.setField(service, "maxRecords", 2L);
+
+        ManualBatchExecutionService.BatchExecutionResult result =
+                service.executeBatchJob(CONFIG_ID, MASTER_QUERY, parameters(), "EXEC-3");
+
+        assertThat(result.getRecordsProcessed()).isEqualTo(2);
+        assertThat(Files.readAllLines(Path.of(result.getOutputFilePath())))
+                .containsExactly("00A001O'Brien ", "00A003Jones   ");
+    }
+
+    @Test
+    @DisplayName("Should fail the execution when a query parameter has no value")
+    void shouldFailOnMissingParameter() {
+        ManualBatchExecutionService.BatchExecutionResult result =
+                service.executeBatchJob(CONFIG_ID, MASTER_QUERY, Map.of("status", "A"), "EXEC-4");
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrorMessage()).contains("excludedOwner");
+    }
+
+    @Test
+    @DisplayName("Should bind parameter values as values, not as SQL text")
+    void shouldBindQuotesInParameterValues() throws Exception {
+        for (boolean streaming : new boolean[] {true, false}) {
+            ReflectionTestUtils.setField(service, "streamingEnabled", streaming);
+
+            ManualBatchExecutionService.BatchExecutionResult quoted = service.executeBatchJob(CONFIG_ID, MASTER_QUERY,
+                    Map.of("status", "A", "excludedOwner", "O'Brien"), "EXEC-5");
+            // Spliced into the SQL, this value would turn the status filter into OR '1'='1'
+            ManualBatchExecutionService.BatchExecutionResult injected = service.executeBatchJob(CONFIG_ID, MASTER_QUERY,
+                    Map.of("status", "B' OR '1'='1", "excludedOwner", "Closed"), "EXEC-6");
+
+            assertThat(Files.readAllLines(Path.of(quoted.getOutputFilePath())))
+                    .containsExactly("00A003Jones   ", "00A004Closed  ", "00A005Lee     ");
+            assertThat(injected.getStatus()).isEqualTo("COMPLETED");
+            assertThat(injected.getRecordsProcessed()).isEqualTo(0);
+        }
+    }
+
+    private static Map<String, Object> parameters() {
+        return Map.of("status", "A", "excludedOwner", "Closed");
+    }
+
+    private static FieldMapping field(String target, String source, int position, int length, String pad, String padChar) {
+        FieldMapping mapping = new FieldMapping();
+        mapping.setTargetField(target);
+        mapping.setTransformationType("source");
+        mapping.setSourceField(source);
+        mapping.setTargetPosition(position);
+        mapping.setLength(length);
+        mapping.setPad(pad);
+        mapping.setPadChar(padChar);
+        return mapping;
+    }
+}
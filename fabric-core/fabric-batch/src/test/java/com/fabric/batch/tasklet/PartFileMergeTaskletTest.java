@@ -0,0 +1,173 @@
+package com.fabric.batch.tasklet;
+
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.partition.GenericPartitioner;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.*;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Restart tests for PartFileMergeTasklet against a real (H2) job repository.
+ */
+@DisplayName("PartFileMergeTasklet Restart Tests")
+class PartFileMergeTaskletTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTransactionManager transactionManager;
+    private JobRepository jobRepository;
+    private JobExplorer jobExplorer;
+    private TaskExecutorJobLauncher jobLauncher;
+
+    private final AtomicInteger mergeAttempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("org/springframework/batch/core/schema-h2.sql")
+                .build();
+        transactionManager = new JdbcTransactionManager(dataSource);
+
+        JobRepositoryFactoryBean repositoryFactory = new JobRepositoryFactoryBean();
+        repositoryFactory.setDataSource(dataSource);
+        repositoryFactory.setTransactionManager(transactionManager);
+        repositoryFactory.afterPropertiesSet();
+        jobRepository = repositoryFactory.getObject();
+
+        JobExplorerFactoryBean explorerFactory = new JobExplorerFactoryBean();
+        explorerFactory.setDataSource(dataSource);
+        explorerFactory.setTransactionManager(transactionManager);
+        explorerFactory.afterPropertiesSet();
+        jobExplorer = explorerFactory.getObject();
+
+        jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should merge all parts when restarted after the merge step failed")
+    void shouldMergePartsWhenRestartedAfterMergeFailure() throws Exception {
+        Path output = tempDir.resolve("atoctran.dat");
+        JobParameters parameters = new JobParametersBuilder().addString("run", "1").toJobParameters();
+
+        JobExecution first = jobLauncher.run(job(output), parameters);
+
+        assertThat(first.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(output).doesNotExist();
+
+        // A new job and partitioner, as after a JVM restart: nothing survives in memory
+        JobExecution restart = jobLauncher.run(job(output), parameters);
+
+        assertThat(restart.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(restart.getStepExecutions()).extracting(StepExecution::getStepName)
+                .containsExactly("mergeStep");
+        assertThat(Files.readAllLines(output)).containsExactly("A-record", "B-record");
+        assertThat(tempDir.toFile().list()).containsExactly("atoctran.dat");
+    }
+
+    @Test
+    @DisplayName("Should skip outputs already consolidated by an earlier attempt")
+    void shouldSkipOutputsAlreadyConsolidated() throws Exception {
+        Path output = tempDir.resolve("atoctran.dat");
+        Files.writeString(output, "A-record\nB-record\n");
+
+        // The partition that wrote the (since merged and removed) part file
+        JobExecution jobExecution = new JobExecution(1L);
+        StepExecution partition = jobExecution.createStepExecution("worker:partition_0");
+        FileConfig fileConfig = new FileConfig();
+        fileConfig.setParams(Map.of("outputPath", output + ".part-000-00000"));
+        partition.getExecutionContext().put("fileConfig", fileConfig);
+        partition.getExecutionContext().putString(GenericPartitioner.PART_TARGET_KEY, output.toString());
+        StepExecution merge = jobExecution.createStepExecution("mergeStep");
+
+        RepeatStatus status = new PartFileMergeTasklet(null)
+                .execute(merge.createStepContribution(), new ChunkContext(new StepContext(merge)));
+
+        assertThat(status).isEqualTo(RepeatStatus.FINISHED);
+        assertThat(Files.readAllLines(output)).containsExactly("A-record", "B-record");
+    }
+
+    private Job job(Path output) {
+        GenericPartitioner partitioner = new GenericPartitioner(null, Map.of(),
+                Map.of("files", List.of(file("A", output), file("B", output))), "SHAW", "atoctran");
+
+        Step worker = new StepBuilder("worker", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    FileConfig fileConfig = (FileConfig) chunkContext.getStepContext().getStepExecution()
+                            .getExecutionContext().get("fileConfig");
+                    Files.writeString(Paths.get(fileConfig.getParams().get("outputPath")),
+                            fileConfig.getTransactionType() + "-record\n");
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+        Step partitionStep = new StepBuilder("partitionStep", jobRepository)
+                .partitioner("worker", partitioner)
+                .step(worker)
+                .gridSize(2)
+                .build();
+
+        PartFileMergeTasklet merge = new PartFileMergeTasklet(jobExplorer);
+        Tasklet failingOnce = (contribution, chunkContext) -> {
+            if (mergeAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Simulated merge failure");
+            }
+            return merge.execute(contribution, chunkContext);
+        };
+        Step mergeStep = new StepBuilder("mergeStep", jobRepository)
+                .tasklet(failingOnce, transactionManager)
+                .build();
+
+        return new JobBuilder("partFileMergeRestartJob", jobRepository)
+                .start(partitionStep)
+                .next(mergeStep)
+                .build();
+    }
+
+    private static Map<String, Object> file(String transactionType, Path output) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jdbc");
+        params.put("outputPath", output.toString());
+        params.put("query", "SELECT * FROM T");
+        Map<String, Object> file = new HashMap<>();
+        file.put("transactionType", transactionType);
+        file.put("template", "atoctran");
+        file.put("target", "T");
+        file.put("params", params);
+        return file;
+    }
+}
@@ -0,0 +1,123 @@
+package com.fabric.batch.writer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for ChannelLineWriter buffering and encoding. The writers use the smallest buffer,
+ * 1024 bytes, so a few lines are enough to cross buffer boundaries.
+ */
+@DisplayName("ChannelLineWriter Tests")
+class ChannelLineWriterTest {
+
+    private static final String SEPARATOR = System.lineSeparator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should write lines longer than the buffer and lines that end on its boundary")
+    void shouldWriteAcrossBufferBoundaries() throws Exception {
+        Path output = tempDir.resolve("boundaries.txt");
+        List<String> lines = new ArrayList<>();
+        lines.add("A".repeat(1024 - SEPARATOR.length()));
+        lines.add("B".repeat(5000));
+        lines.add("");
+        lines.add("C".repeat(1023));
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(output, StandardCharsets.UTF_8, 1024)) {
+            for (String line : lines) {
+                writer.writeLine(line);
+            }
+            assertThat(writer.getLinesWritten()).isEqualTo(4);
+        }
+
+        assertThat(Files.readString(output)).isEqualTo(String.join(SEPARATOR, lines) + SEPARATOR);
+    }
+
+    @Test
+    @DisplayName("Should not split multi-byte characters that cross a buffer boundary")
+    void shouldEncodeMultiByteCharactersAcrossBoundaries() throws Exception {
+        Path output = tempDir.resolve("utf8.txt");
+        // 1022 single-byte characters leave two bytes, too few for the euro sign or the emoji
+        String line = "x".repeat(1022) + "€😀é€".repeat(300);
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(output, StandardCharsets.UTF_8, 1024)) {
+            writer.writeLine(line);
+            writer.writeLine(line.toCharArray(), 1022, 4);
+        }
+
+        assertThat(Files.readString(output, StandardCharsets.UTF_8))
+                .isEqualTo(line + SEPARATOR + "€😀é" + SEPARATOR);
+    }
+
+    @Test
+    @DisplayName("Should replace characters the charset cannot encode")
+    void shouldReplaceUnmappableAndMalformedCharacters() throws Exception {
+        Path output = tempDir.resolve("latin1.txt");
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(output, StandardCharsets.ISO_8859_1, 1024)) {
+            writer.writeLine("café €5");
+            // An unpaired high surrogate at the end of a line
+            writer.writeLine("a\uD800");
+            writer.writeLine(CharBuffer.wrap("next"));
+        }
+
+        assertThat(Files.readAllLines(output, StandardCharsets.ISO_8859_1)).containsExactly("café ?5", "a?", "next");
+    }
+
+    @Test
+    @DisplayName("Should count buffered bytes in size and write them on flush")
+    void shouldFlushBufferedBytes() throws Exception {
+        Path output = tempDir.resolve("flush.txt");
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(output, StandardCharsets.UTF_8, 1024)) {
+            writer.writeLine("é");
+            long expected = 2 + SEPARATOR.length();
+
+            assertThat(writer.size()).isEqualTo(expected);
+            assertThat(Files.size(output)).isZero();
+
+            writer.flush();
+            assertThat(Files.size(output)).isEqualTo(expected);
+            assertThat(writer.size()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write buffered lines on close and ignore a second close")
+    void shouldDrainOnCloseOnce() throws Exception {
+        Path output = tempDir.resolve("nested/dir/close.txt");
+
+        ChannelLineWriter writer = new ChannelLineWriter(output);
+        writer.writeLine("first");
+        writer.writeLine("second");
+        writer.close();
+        writer.close();
+
+        assertThat(Files.readAllLines(output)).containsExactly("first", "second");
+    }
+
+    @Test
+    @DisplayName("Should truncate an existing file")
+    void shouldTruncateExistingFile() throws Exception {
+        Path output = tempDir.resolve("existing.txt");
+        Files.writeString(output, "an older and longer extract" + SEPARATOR);
+
+        try (ChannelLineWriter writer = new ChannelLineWriter(output)) {
+            writer.writeLine("new");
+        }
+
+        assertThat(Files.readAllLines(output)).containsExactly("new");
+    }
+}
@@ -0,0 +1,106 @@
+package com.fabric.batch.writer;
+
+import com.fabric.batch.mapping.MappingPlan;
+import com.fabric.batch.mapping.YamlMappingService;
+import com.fabric.batch.model.FileConfig;
+import com.fabric.batch.model.RecordSchema;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that GenericWriter's record count and hash total follow the chunk transactions.
+ */
+@DisplayName("GenericWriter Totals Tests")
+class GenericWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final TransactionTemplate chunkTransaction = new TransactionTemplate(new ResourcelessTransactionManager());
+    private final ExecutionContext executionContext = new ExecutionContext();
+    private Path output;
+    private GenericWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MappingPlan plan = mock(MappingPlan.class);
+        when(plan.size()).thenReturn(1);
+        when(plan.getTargetField(0)).thenReturn("AMT");
+        when(plan.getOutputSchema()).thenReturn(RecordSchema.caseInsensitive("AMT"));
+        YamlMappingService mappingService = mock(YamlMappingService.class);
+        when(mappingService.getMappingPlan("atoctran", "default")).thenReturn(plan);
+
+        output = tempDir.resolve("atoctran.dat");
+        FileConfig fileConfig = new FileConfig();
+        fileConfig.setTemplate("atoctran");
+        fileConfig.setParams(Map.of("outputPath", output.toString(), "hashTotalField", "AMT"));
+
+        writer = new GenericWriter(mappingService, fileConfig);
+        writer.open(executionContext);
+    }
+
+    @Test
+    @DisplayName("Should not count a chunk whose transaction rolled back and was retried")
+    void shouldCountOnlyCommittedChunks() throws Exception {
+        writeChunk(List.of(100, 250));
+
+        assertThatThrownBy(() -> chunkTransaction.executeWithoutResult(status -> {
+            write(List.of(5));
+            throw new IllegalStateException("Simulated commit failure");
+        })).isInstanceOf(IllegalStateException.class);
+        writer.update(executionContext);
+        assertThat(executionContext.getLong(GenericWriter.RECORD_COUNT_KEY)).isEqualTo(2);
+        assertThat(executionContext.getString(GenericWriter.HASH_TOTAL_KEY)).isEqualTo("350");
+
+        // The retried chunk
+        writeChunk(List.of(5));
+        writer.close();
+
+        assertThat(executionContext.getLong(GenericWriter.RECORD_COUNT_KEY)).isEqualTo(3);
+        assertThat(executionContext.getString(GenericWriter.HASH_TOTAL_KEY)).isEqualTo("355");
+        assertThat(Files.readAllLines(output)).containsExactly("100", "250", "5");
+    }
+
+    @Test
+    @DisplayName("Should save the totals of the chunk being committed in the same transaction")
+    void shouldIncludePendingChunkInUpdate() {
+        chunkTransaction.executeWithoutResult(status -> {
+            write(List.of(7, 8));
+            // As the step does before committing the chunk
+            writer.update(executionContext);
+            assertThat(executionContext.getLong(GenericWriter.RECORD_COUNT_KEY)).isEqualTo(2);
+        });
+        writer.update(executionContext);
+
+        assertThat(executionContext.getLong(GenericWriter.RECORD_COUNT_KEY)).isEqualTo(2);
+        assertThat(executionContext.getString(GenericWriter.HASH_TOTAL_KEY)).isEqualTo("15");
+    }
+
+    private void writeChunk(List<Integer> amounts) {
+        chunkTransaction.executeWithoutResult(status -> {
+            write(amounts);
+            writer.update(executionContext);
+        });
+    }
+
+    private void write(List<Integer> amounts) {
+        try {
+            writer.write(new Chunk<>(amounts.stream().map(amount -> Map.<String, Object>of("AMT", amount)).toList()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
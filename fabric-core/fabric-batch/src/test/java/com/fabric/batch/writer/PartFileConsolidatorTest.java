@@ -0,0 +1,76 @@
+package com.fabric.batch.writer;
+
+import com.fabric.batch.writer.PartFileConsolidator.ConsolidationRequest;
+import com.fabric.batch.writer.PartFileConsolidator.ConsolidationResult;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PartFileConsolidator ordered merge and header/trailer rendering.
+ */
+@DisplayName("PartFileConsolidator Tests")
+class PartFileConsolidatorTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should concatenate parts in order between header and trailer")
+    void shouldConcatenatePartsWithHeaderAndTrailer() throws Exception {
+        Path part0 = Files.writeString(dir.resolve("out.dat.part-000-00000"), "AAA+0000100" + NL + "BBB-0000050" + NL);
+        Path part1 = Files.writeString(dir.resolve("out.dat.part-001-00000"), "CCC+0000025" + NL);
+
+        ConsolidationResult result = PartFileConsolidator.consolidate(ConsolidationRequest.builder()
+                .target(dir.resolve("out.dat"))
+                .parts(List.of(part0, part1))
+                .headerTemplate("HDR{fileName:10}")
+                .trailerTemplate("TRL{recordCount:5}{hashTotal:9}")
+                .recordCount(3)
+                .hashTotal(new BigDecimal("75"))
+                .build());
+
+        assertThat(Files.readAllLines(dir.resolve("out.dat"))).containsExactly(
+                "HDRout.dat   ", "AAA+0000100", "BBB-0000050", "CCC+0000025", "TRL00003000000075");
+        assertThat(result.getPartCount()).isEqualTo(2);
+        assertThat(part0).doesNotExist();
+        assertThat(part1).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should count records and sum hash column when totals are not supplied")
+    void shouldScanPartsWhenTotalsMissing() throws Exception {
+        Path part = Files.writeString(dir.resolve("out.dat.part-000-00000"), "AAA+0000100" + NL + "BBB-0000050");
+
+        ConsolidationResult result = PartFileConsolidator.consolidate(ConsolidationRequest.builder()
+                .target(dir.resolve("out.dat"))
+                .parts(List.of(part))
+                .trailerTemplate("TRL{recordCount:3}{hashTotal}")
+                .hashTotalStart(4)
+                .hashTotalLength(8)
+                .deleteParts(false)
+                .build());
+
+        assertThat(result.getRecordCount()).isEqualTo(2);
+        assertThat(result.getHashTotal()).isEqualByComparingTo("50");
+        assertThat(part).exists();
+    }
+
+    @Test
+    @DisplayName("Should pad numbers with zeros and text with spaces")
+    void shouldRenderFixedWidthPlaceholders() {
+        Map<String, Object> values = Map.of("count", -42, "name", "ABCDEFGH");
+
+        assertThat(PartFileConsolidator.render("{count:6}|{name:4}|{name}|{missing}", values))
+                .isEqualTo("-00042|ABCD|ABCDEFGH|{missing}");
+    }
+}
@@ -6,9 +6,11 @@ import com.fabric.batch.repository.DataLoadAuditRepositoryBridge;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryUsage;
 import java.net.InetAddress;
@@ -41,6 +43,24 @@ public class AuditTrailManager {
     @Value("${audit.async.enabled:true}")
     private boolean asyncAuditEnabled;
     
+    @Value("${audit.async.buffer-capacity:10000}")
+    private int auditBufferCapacity;
+    
+    @Value("${audit.async.batch-size:200}")
+    private int auditBatchSize;
+    
+    @Value("${audit.async.linger-ms:200}")
+    private long auditLingerMs;
+    
+    @Value("${audit.async.overflow-policy:BLOCK}")
+    private AuditWriteBuffer.OverflowPolicy auditOverflowPolicy;
+    
+    @Value("${audit.async.block-timeout-ms:1000}")
+    private long auditBlockTimeoutMs;
+    
+    // Batches audit writes off the processing threads when async audit is enabled
+    private AuditWriteBuffer<DataLoadAuditEntity> auditBuffer;
+    
     // Cache for correlation tracking
     private final Map<String, AuditContext> auditContextCache = new ConcurrentHashMap<>();
     
@@ -52,6 +72,21 @@ public class AuditTrailManager {
         initializeSystemInfo();
     }
     
+    @PostConstruct
+    public void initializeAuditBuffer() {
+        if (asyncAuditEnabled) {
+            auditBuffer = new AuditWriteBuffer<>("data-load", auditRepository::saveAll, auditBufferCapacity,
+                auditBatchSize, auditLingerMs, auditOverflowPolicy, auditBlockTimeoutMs);
+        }
+    }
+    
+    @PreDestroy
+    public void closeAuditBuffer() {
+        if (auditBuffer != null) {
+            auditBuffer.close();
+        }
+    }
+    
     /**
      * Create audit entry for data loading operation start.
      */
@@ -347,6 +382,7 @@ public class AuditTrailManager {
         }
         
         saveAuditEntry(audit);
+        flush();
         
         // Clean up context cache
         auditContextCache.remove(correlationId);
@@ -360,6 +396,8 @@ public class AuditTrailManager {
      */
     private DataLoadAuditEntity createBaseAuditEntity(String configId, String jobExecutionId, String correlationId) {
         DataLoadAuditEntity audit = new DataLoadAuditEntity();
+        // Stamp the event now; buffered entries are written later and must keep their order
+        audit.setAuditTimestamp(LocalDateTime.now());
         audit.setConfigId(configId);
         audit.setJobExecutionId(jobExecutionId);
         audit.setCorrelationId(correlationId);
@@ -394,25 +432,29 @@ public class AuditTrailManager {
      * Save audit entry (async if enabled).
      */
     private void saveAuditEntry(DataLoadAuditEntity audit) {
-        if (asyncAuditEnabled) {
-            saveAuditEntryAsync(audit);
+        if (auditBuffer != null) {
+            auditBuffer.offer(audit);
         } else {
             saveAuditEntrySync(audit);
         }
     }
     
     /**
-     * Save audit entry asynchronously.
+     * Write all buffered audit entries, e.g. before reading back a job's audit trail.
      */
-    @Async
-    public void saveAuditEntryAsync(DataLoadAuditEntity audit) {
-        try {
-            auditRepository.save(audit);
-        } catch (Exception e) {
-            log.error("Error saving audit entry asynchronously: {}", e.getMessage());
+    public void flush() {
+        if (auditBuffer != null) {
+            auditBuffer.flush(auditBlockTimeoutMs + auditLingerMs + 30000);
         }
     }
     
+    /**
+     * Buffer and write statistics of the async audit pipeline.
+     */
+    public Map<String, Object> getAuditBufferStatistics() {
+        return auditBuffer != null ? auditBuffer.getStatistics() : Map.of("enabled", false);
+    }
+    
     /**
      * Save audit entry synchronously.
      */
@@ -454,6 +496,7 @@ public class AuditTrailManager {
      */
     public DataLineageReport getDataLineage(String correlationId) {
         try {
+            flush();
             List<DataLoadAuditEntity> auditEntries = auditRepository.findByCorrelationIdOrderByAuditTimestamp(correlationId);
             return new DataLineageReport(correlationId, auditEntries);
         } catch (Exception e) {
@@ -0,0 +1,250 @@
+package com.fabric.batch.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer that takes audit entries off the processing threads and writes them in
+ * batches from a background thread.
+ *
+ * The flusher writes as soon as {@code batchSize} entries are queued, or when the first
+ * queued entry has waited {@code lingerMillis}. When the buffer is full the overflow policy
+ * decides between back-pressure (block the producer up to a timeout, then drop) and dropping
+ * the newest or oldest entry; every outcome is counted in {@link #getStatistics()}.
+ * {@link #flush(long)} writes everything queued so far on the calling thread, for job
+ * completion and shutdown.
+ *
+ * The writer is called from the flusher and from flushing threads, so it must be thread safe.
+ */
+@Slf4j
+public class AuditWriteBuffer<T> implements AutoCloseable {
+
+    public enum OverflowPolicy {
+        /** Wait for space up to the block timeout, then drop the entry */
+        BLOCK,
+        /** Drop the entry being added */
+        DROP_NEWEST,
+        /** Drop the oldest queued entry to make room */
+        DROP_OLDEST
+    }
+
+    private final String name;
+    private final Consumer<List<T>> writer;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    /** Entries that have left the queue: written, failed or dropped as oldest */
+    private final AtomicLong completed = new AtomicLong();
+    private final Object completion = new Object();
+
+    public AuditWriteBuffer(String name, Consumer<List<T>> writer, int capacity, int batchSize,
+                            long lingerMillis, OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+        this.name = name;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, lingerMillis));
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+
+        this.flusher = new Thread(this::runFlusher, "audit-writer-" + name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue an entry for writing.
+     *
+     * @return false when the entry was dropped
+     */
+    public boolean offer(T entry) {
+        if (!running) {
+            writeBatch(List.of(entry));
+            return true;
+        }
+        if (queue.offer(entry)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                blocked.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    if (queue.offer(entry, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        enqueued.incrementAndGet();
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    blockedNanos.addAndGet(System.nanoTime() - start);
+                }
+                break;
+
+            case DROP_OLDEST:
+                while (!queue.offer(entry)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                        markCompleted(1);
+                    }
+                }
+                enqueued.incrementAndGet();
+                return true;
+
+            default:
+                break;
+        }
+
+        long drops = dropped.incrementAndGet();
+        if (drops == 1 || drops % 1000 == 0) {
+            log.warn("⚠️ Audit buffer {} is full ({} entries), {} entries dropped so far",
+                    name, queue.size(), drops);
+        }
+        return false;
+    }
+
+    /**
+     * Write every entry queued before this call and wait until the flusher has finished the
+     * batch it was writing.
+     *
+     * @return true when everything was written within the timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = enqueued.get();
+        List<T> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (completion) {
+            while (completed.get() < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    log.warn("⚠️ Audit buffer {} flush timed out with {} entries pending",
+                            name, target - completed.get());
+                    return false;
+                }
+                try {
+                    completion.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop the flusher after writing what is queued; later entries are written synchronously.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(lingerNanos) + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(5000);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("name", name);
+        stats.put("queued", queue.size());
+        stats.put("capacity", queue.size() + queue.remainingCapacity());
+        stats.put("batchSize", batchSize);
+        stats.put("lingerMs", TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+        stats.put("overflowPolicy", overflowPolicy.name());
+        stats.put("enqueued", enqueued.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("blocked", blocked.get());
+        stats.put("blockedMs", TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()));
+        stats.put("batches", batches.get());
+        return stats;
+    }
+
+    private void runFlusher() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger for a fuller batch, measured from the first entry
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    T next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void writeBatch(List<T> batch) {
+        try {
+            writer.accept(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("❌ Failed to write {} audit entries from buffer {}: {}", batch.size(), name, e.getMessage());
+        } finally {
+            markCompleted(batch.size());
+        }
+    }
+
+    private void markCompleted(int count) {
+        completed.addAndGet(count);
+        synchronized (completion) {
+            completion.notifyAll();
+        }
+    }
+}
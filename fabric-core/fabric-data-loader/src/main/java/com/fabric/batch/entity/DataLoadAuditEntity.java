@@ -116,7 +116,8 @@ public class DataLoadAuditEntity {
     
     /**
      * Initialize timestamps and default values before saving.
-     * Called manually by repository implementation.
+     * Called manually by repository implementation. Values already set, such as the
+     * event time stamped by AuditTrailManager, are kept.
      */
     public void onCreate() {
         if (createdDate == null) {
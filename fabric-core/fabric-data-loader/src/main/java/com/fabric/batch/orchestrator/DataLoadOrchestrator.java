@@ -6,24 +6,29 @@ import com.fabric.batch.entity.DataLoadConfigEntity;
 import com.fabric.batch.entity.ProcessingJobEntity;
 import com.fabric.batch.entity.ValidationRuleEntity;
 import com.fabric.batch.repository.ProcessingJobRepository;
-import com.fabric.batch.sqlloader.SqlLoaderExecutor;
+import com.fabric.batch.sqlloader.SqlLoaderScheduler;
 import com.fabric.batch.threshold.ErrorThresholdManager;
 import com.fabric.batch.validation.ComprehensiveValidationEngine;
+import com.fabric.batch.validation.FileRangeScanner;
+import com.fabric.batch.validation.ValidationPatterns;
+import com.fabric.batch.validation.ValidationRulePlan;
 import com.fabric.batch.validation.ValidationSummary;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -47,11 +52,23 @@ public class DataLoadOrchestrator {
     private AuditTrailManager auditTrailManager;
     
     @Autowired
-    private SqlLoaderExecutor sqlLoaderExecutor;
+    private SqlLoaderScheduler sqlLoaderScheduler;
     
     @Autowired
     private ProcessingJobRepository processingJobRepository;
     
+    /** Worker threads for pre-load validation; 0 = one per available processor */
+    @Value("${data-loader.validation.parallelism:0}")
+    private int validationParallelism;
+    
+    /** Files are only split into ranges of at least this many MB */
+    @Value("${data-loader.validation.min-range-mb:64}")
+    private long validationMinRangeMb;
+    
+    /** Records validated together so their referential integrity lookups are batched */
+    @Value("${data-loader.validation.chunk-size:1000}")
+    private int validationChunkSize;
+    
     /**
      * Execute complete data loading process for a file.
      */
@@ -162,83 +179,175 @@ public class DataLoadOrchestrator {
     
     /**
      * Process file with comprehensive validation.
+     *
+     * The file is cut into line-aligned byte ranges that are validated in parallel; per-range
+     * summaries are merged in file order and error line numbers are rebased to exact file
+     * line numbers. Small files form a single range. Within a range records are validated in
+     * chunks, so the referential integrity lookups of a chunk are resolved together.
+     *
+     * The error threshold is applied while merging: the result ends at the record where the
+     * file's error count, in line order, reaches the threshold, independent of how the ranges
+     * were scheduled. A range stops early only once its own errors reach the threshold.
      */
-    private FileProcessingResult processFileWithValidation(DataLoadConfigEntity config, 
-                                                         List<ValidationRuleEntity> validationRules,
-                                                         String filePath, String correlationId) throws IOException {
+    FileProcessingResult processFileWithValidation(DataLoadConfigEntity config, 
+                                                 List<ValidationRuleEntity> validationRules,
+                                                 String filePath, String correlationId) throws IOException {
         FileProcessingResult result = new FileProcessingResult();
         ValidationSummary overallSummary = new ValidationSummary();
         overallSummary.setCorrelationId(correlationId);
         
-        // Group validation rules by field name
-        Map<String, List<ValidationRuleEntity>> rulesByField = new HashMap<>();
-        for (ValidationRuleEntity rule : validationRules) {
-            rulesByField.computeIfAbsent(rule.getFieldName(), k -> new ArrayList<>()).add(rule);
+        // Compile the rules once for all records and ranges
+        ValidationRulePlan rulePlan = validationEngine.compileRules(validationRules);
+        Map<Integer, RecordLayout> layouts = new ConcurrentHashMap<>();
+        
+        int headerRows = config.getHeaderRows() != null ? config.getHeaderRows() : 1;
+        Pattern delimiter = ValidationPatterns.literal(config.getFieldDelimiter());
+        Path path = Paths.get(filePath);
+        Charset charset = Charset.defaultCharset();
+        int parallelism = validationParallelism > 0 ? validationParallelism : Runtime.getRuntime().availableProcessors();
+        List<FileRangeScanner.FileRange> ranges = FileRangeScanner.split(path, charset, headerRows, parallelism,
+            Math.max(1, validationMinRangeMb) << 20);
+        log.info("Validating {} in {} range(s) with parallelism {}", filePath, ranges.size(), parallelism);
+        
+        // Each range counts its own errors; the file-wide threshold is applied in line order below
+        int maxErrors = config.getMaxErrors() != null ? config.getMaxErrors() : 0;
+        
+        int chunkSize = Math.max(1, validationChunkSize);
+        
+        // Validates the buffered records of a range; false once the range alone reaches the error threshold
+        Predicate<RangeValidationState> validatePending = state -> {
+            RecordLayout widest = null;
+            for (String[] fields : state.pendingFields) {
+                if (widest == null || fields.length > widest.fieldNames.length) {
+                    widest = layouts.computeIfAbsent(fields.length, width -> new RecordLayout(width, rulePlan));
+                }
+            }
+            if (widest != null) {
+                validationEngine.prefetchReferences(widest.columns, state.pendingFields);
+            }
+            
+            try {
+                for (int i = 0; i < state.pendingFields.size(); i++) {
+                    String[] fields = state.pendingFields.get(i);
+                    long lineInRange = state.pendingLines.get(i);
+                    state.records++;
+                    
+                    try {
+                        RecordLayout layout = layouts.computeIfAbsent(fields.length, width -> new RecordLayout(width, rulePlan));
+                        
+                        // Validate record
+                        ValidationSummary recordSummary = validationEngine.validateRecord(
+                            layout.fieldNames, fields, layout.columns, maxErrors);
+                        
+                        if (recordSummary.hasWarnings()) {
+                            state.warningRecords++;
+                        }
+                        
+                        // Range-relative for now; rebased when the ranges are merged
+                        recordSummary.getAllErrors().forEach(r -> r.setLineNumber(lineInRange));
+                        recordSummary.getAllWarnings().forEach(r -> r.setLineNumber(lineInRange));
+                        state.summary.merge(recordSummary);
+                        
+                        if (recordSummary.isValid()) {
+                            state.validRecords++;
+                        } else if (!recordError(state, lineInRange, config.getConfigId(), maxErrors)) {
+                            return false;
+                        }
+                        
+                    } catch (Exception e) {
+                        state.failures.add(new RecordFailure(lineInRange, e));
+                        if (!recordError(state, lineInRange, config.getConfigId(), maxErrors)) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            } finally {
+                state.pendingFields.clear();
+                state.pendingLines.clear();
+            }
+        };
+        
+        List<FileRangeScanner.RangeResult<RangeValidationState>> rangeResults = FileRangeScanner.scan(
+            path, charset, ranges, parallelism, RangeValidationState::new,
+            (state, lineInRange, line) -> {
+                if (state.stopped) {
+                    return false;
+                }
+                
+                String[] fields;
+                try {
+                    // Parse record fields
+                    fields = parseFieldsFromRecord(delimiter.split(line, -1));
+                } catch (Exception e) {
+                    // Validate the buffered records first, so errors are recorded in line order
+                    if (!state.pendingFields.isEmpty() && !validatePending.test(state)) {
+                        return false;
+                    }
+                    state.records++;
+                    state.failures.add(new RecordFailure(lineInRange, e));
+                    return recordError(state, lineInRange, config.getConfigId(), maxErrors);
+                }
+                state.pendingFields.add(fields);
+                state.pendingLines.add(lineInRange);
+                return state.pendingFields.size() < chunkSize || validatePending.test(state);
+            });
+        
+        // Validate the last partial chunk of each range
+        for (FileRangeScanner.RangeResult<RangeValidationState> rangeResult : rangeResults) {
+            RangeValidationState state = rangeResult.getState();
+            if (!state.pendingFields.isEmpty() && !state.stopped) {
+                validatePending.test(state);
+            }
         }
         
         long recordCount = 0;
         long validRecords = 0;
         long errorRecords = 0;
         long warningRecords = 0;
+        long fileErrors = 0;
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            int lineNumber = 0;
-            int headerRows = config.getHeaderRows() != null ? config.getHeaderRows() : 1;
-            String delimiter = config.getFieldDelimiter();
+        for (FileRangeScanner.RangeResult<RangeValidationState> rangeResult : rangeResults) {
+            RangeValidationState state = rangeResult.getState();
+            long firstLineNumber = headerRows + rangeResult.getFirstLineIndex() + 1;
             
-            // Skip header rows
-            for (int i = 0; i < headerRows && (line = reader.readLine()) != null; i++) {
-                lineNumber++;
-                log.debug("Skipped header row {}: {}", lineNumber, line);
+            // Stop at the record where the whole file reaches the threshold, whatever order the ranges ran in
+            boolean thresholdReached = false;
+            for (int i = 0; i < state.errorMarks.size() && !thresholdReached; i++) {
+                fileErrors++;
+                if (!thresholdManager.shouldContinueProcessing(config.getConfigId(), (int) fileErrors, maxErrors)) {
+                    state.cutOffAfter(i);
+                    thresholdReached = true;
+                    log.warn("Stopping file processing due to error threshold exceeded at line {} ({} errors)",
+                        firstLineNumber + state.errorMarks.get(i).lineInRange(), fileErrors);
+                }
             }
             
-            // Process data rows
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                recordCount++;
-                
-                try {
-                    // Parse record fields
-                    String[] fields = line.split(Pattern.quote(delimiter), -1);
-                    Map<String, String> fieldValues = parseFieldsFromRecord(fields, config);
-                    
-                    // Validate record
-                    ValidationSummary recordSummary = validationEngine.validateFields(
-                        fieldValues, rulesByField, config.getMaxErrors());
-                    
-                    if (recordSummary.isValid()) {
-                        validRecords++;
-                    } else {
-                        errorRecords++;
-                    }
-                    
-                    if (recordSummary.hasWarnings()) {
-                        warningRecords++;
-                    }
-                    
-                    overallSummary.merge(recordSummary);
-                    
-                    // Check if we should continue processing based on threshold
-                    if (!thresholdManager.shouldContinueProcessing(config.getConfigId(), 
-                            (int)errorRecords, config.getMaxErrors())) {
-                        log.warn("Stopping file processing due to error threshold exceeded at record {}", recordCount);
-                        break;
-                    }
-                    
-                    // Audit file processing progress every 1000 records
-                    if (recordCount % 1000 == 0) {
-                        auditTrailManager.auditFileProcessing(correlationId, "RECORD_VALIDATION",
-                            "File processing progress", recordCount, validRecords, errorRecords);
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("Error processing record {} in file {}: {}", lineNumber, filePath, e.getMessage());
-                    errorRecords++;
-                    
-                    auditTrailManager.auditErrorEvent(correlationId, "RECORD_PROCESSING_ERROR",
-                        e.getMessage(), "PARSE_ERROR", getStackTrace(e), 1);
-                }
+            state.summary.getAllErrors().forEach(r -> r.setLineNumber(r.getLineNumber() + firstLineNumber));
+            state.summary.getAllWarnings().forEach(r -> r.setLineNumber(r.getLineNumber() + firstLineNumber));
+            overallSummary.merge(state.summary);
+            
+            for (RecordFailure failure : state.failures) {
+                log.error("Error processing record {} in file {}: {}", 
+                    firstLineNumber + failure.lineInRange, filePath, failure.error.getMessage());
+                auditTrailManager.auditErrorEvent(correlationId, "RECORD_PROCESSING_ERROR",
+                    failure.error.getMessage(), "PARSE_ERROR", getStackTrace(failure.error), 1);
+            }
+            
+            recordCount += state.records;
+            validRecords += state.validRecords;
+            errorRecords += state.errorRecords;
+            warningRecords += state.warningRecords;
+            
+            // Audit file processing progress once per range
+            if (rangeResults.size() > 1) {
+                auditTrailManager.auditFileProcessing(correlationId, "RECORD_VALIDATION",
+                    "File processing progress", recordCount, validRecords, errorRecords);
+            }
+            
+            // Records after the threshold are not part of the result
+            if (thresholdReached) {
+                break;
             }
         }
         
@@ -259,14 +368,90 @@ public class DataLoadOrchestrator {
     }
     
     /**
-     * Parse fields from record based on configuration.
+     * Validation totals accumulated by one file range.
      */
-    private Map<String, String> parseFieldsFromRecord(String[] fields, DataLoadConfigEntity config) {
-        Map<String, String> fieldValues = new HashMap<>();
+    private static final class RangeValidationState {
+        private final ValidationSummary summary = new ValidationSummary();
+        private final List<RecordFailure> failures = new ArrayList<>();
+        private final List<String[]> pendingFields = new ArrayList<>();
+        private final List<Long> pendingLines = new ArrayList<>();
+        /** Error records in line order, kept only when an error threshold is configured */
+        private final List<ErrorMark> errorMarks = new ArrayList<>();
+        private long records;
+        private long validRecords;
+        private long errorRecords;
+        private long warningRecords;
+        private boolean stopped;
         
-        // For now, create generic field names - in production, this would come from field mapping configuration
+        /**
+         * Drop everything after the error record {@code errorIndex}, where the file reached its threshold.
+         */
+        private void cutOffAfter(int errorIndex) {
+            ErrorMark mark = errorMarks.get(errorIndex);
+            records = mark.lineInRange() + 1;
+            errorRecords = errorIndex + 1;
+            validRecords = records - errorRecords;
+            warningRecords = mark.warningRecords();
+            summary.getAllErrors().removeIf(r -> r.getLineNumber() > mark.lineInRange());
+            summary.getAllWarnings().removeIf(r -> r.getLineNumber() > mark.lineInRange());
+            summary.setTotalFields(mark.totalFields());
+            failures.removeIf(failure -> failure.lineInRange > mark.lineInRange());
+        }
+    }
+    
+    /**
+     * An error record and the warning records and fields its range had counted up to it.
+     */
+    private record ErrorMark(long lineInRange, long warningRecords, int totalFields) {
+    }
+    
+    /**
+     * Count an error record of a range; false once the range alone reaches the error threshold,
+     * so the file is cut off at or before this record and the rest of the range need not be validated.
+     */
+    private boolean recordError(RangeValidationState state, long lineInRange, String configId, int maxErrors) {
+        state.errorRecords++;
+        if (maxErrors > 0) {
+            state.errorMarks.add(new ErrorMark(lineInRange, state.warningRecords, state.summary.getTotalFields()));
+        }
+        if (!thresholdManager.shouldContinueProcessing(configId, (int) state.errorRecords, maxErrors)) {
+            state.stopped = true;
+        }
+        return !state.stopped;
+    }
+    
+    private static final class RecordFailure {
+        private final long lineInRange;
+        private final Exception error;
+        
+        private RecordFailure(long lineInRange, Exception error) {
+            this.lineInRange = lineInRange;
+            this.error = error;
+        }
+    }
+    
+    /**
+     * Field names of records with a given number of fields, bound to the compiled rules.
+     */
+    private static final class RecordLayout {
+        private final String[] fieldNames;
+        private final ValidationRulePlan.ColumnRules[] columns;
+        
+        private RecordLayout(int width, ValidationRulePlan rulePlan) {
+            // For now, create generic field names - in production, this would come from field mapping configuration
+            this.fieldNames = new String[width];
+            for (int i = 0; i < width; i++) {
+                fieldNames[i] = "FIELD_" + (i + 1);
+            }
+            this.columns = rulePlan.bind(fieldNames);
+        }
+    }
+    
+    /**
+     * Trim record fields in place and strip optional string delimiters.
+     */
+    private String[] parseFieldsFromRecord(String[] fields) {
         for (int i = 0; i < fields.length; i++) {
-            String fieldName = "FIELD_" + (i + 1);
             String fieldValue = fields[i].trim();
             
             // Handle optional string delimiters
@@ -274,10 +459,10 @@ public class DataLoadOrchestrator {
                 fieldValue = fieldValue.substring(1, fieldValue.length() - 1);
             }
             
-            fieldValues.put(fieldName, fieldValue);
+            fields[i] = fieldValue;
         }
         
-        return fieldValues;
+        return fields;
     }
     
     /**
@@ -293,7 +478,7 @@ public class DataLoadOrchestrator {
             String fileName = java.nio.file.Paths.get(filePath).getFileName().toString();
             
             // Execute SQL*Loader
-            com.fabric.batch.sqlloader.SqlLoaderResult sqlLoaderResult = sqlLoaderExecutor.executeLoad(config, fileName, filePath);
+            com.fabric.batch.sqlloader.SqlLoaderResult sqlLoaderResult = sqlLoaderScheduler.executeLoad(config, fileName, filePath);
             
             // Convert to local result format
             result = convertSqlLoaderResult(sqlLoaderResult);
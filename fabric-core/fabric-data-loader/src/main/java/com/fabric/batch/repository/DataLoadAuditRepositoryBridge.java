@@ -41,6 +41,23 @@ public class DataLoadAuditRepositoryBridge {
         }
     }
 
+    public void saveAll(List<DataLoadAuditEntity> auditEntries) {
+        try {
+            if (jdbcRepository != null) {
+                log.debug("Using JdbcTemplate repository for saveAll operation");
+                jdbcRepository.saveAll(auditEntries);
+            } else if (jpaRepository != null) {
+                log.debug("Using JPA repository for saveAll operation");
+                jpaRepository.saveAll(auditEntries);
+            } else {
+                log.warn("No audit repository available - audit operation will be skipped");
+            }
+        } catch (Exception e) {
+            log.error("Error saving {} audit entries: {}", auditEntries.size(), e.getMessage());
+            throw e;
+        }
+    }
+
     public void deleteAll(List<DataLoadAuditEntity> auditEntries) {
         try {
             if (jdbcRepository != null) {
@@ -16,6 +16,11 @@ public interface DataLoadAuditRepositoryJdbc {
      */
     DataLoadAuditEntity save(DataLoadAuditEntity auditEntity);
     
+    /**
+     * Save audit entries with one JDBC batch; generated IDs are not read back.
+     */
+    void saveAll(List<DataLoadAuditEntity> auditEntities);
+    
     /**
      * Delete audit entries.
      */
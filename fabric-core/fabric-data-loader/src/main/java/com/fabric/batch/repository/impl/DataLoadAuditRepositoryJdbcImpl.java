@@ -165,63 +165,7 @@ public class DataLoadAuditRepositoryJdbcImpl implements DataLoadAuditRepositoryJ
             
             int updated = jdbcTemplate.update(connection -> {
                 PreparedStatement ps = connection.prepareStatement(INSERT_AUDIT_SQL, new String[]{"audit_id"});
-                int paramIndex = 1;
-                
-                ps.setString(paramIndex++, auditEntity.getConfigId());
-                ps.setString(paramIndex++, auditEntity.getJobExecutionId());
-                ps.setString(paramIndex++, auditEntity.getCorrelationId());
-                ps.setString(paramIndex++, auditEntity.getAuditType() != null ? auditEntity.getAuditType().name() : null);
-                ps.setString(paramIndex++, auditEntity.getEventName());
-                ps.setString(paramIndex++, auditEntity.getEventDescription());
-                ps.setString(paramIndex++, auditEntity.getSourceSystem());
-                ps.setString(paramIndex++, auditEntity.getTargetTable());
-                ps.setString(paramIndex++, auditEntity.getFileName());
-                ps.setString(paramIndex++, auditEntity.getFilePath());
-                
-                setLongOrNull(ps, paramIndex++, auditEntity.getRecordCount());
-                setLongOrNull(ps, paramIndex++, auditEntity.getProcessedCount());
-                setLongOrNull(ps, paramIndex++, auditEntity.getErrorCount());
-                
-                ps.setString(paramIndex++, auditEntity.getDataSource());
-                ps.setString(paramIndex++, auditEntity.getDataDestination());
-                ps.setString(paramIndex++, auditEntity.getTransformationApplied());
-                ps.setString(paramIndex++, auditEntity.getValidationRulesApplied());
-                ps.setString(paramIndex++, auditEntity.getBusinessRulesApplied());
-                
-                setDoubleOrNull(ps, paramIndex++, auditEntity.getDataQualityScore());
-                
-                ps.setString(paramIndex++, auditEntity.getComplianceStatus() != null ? auditEntity.getComplianceStatus().name() : null);
-                ps.setString(paramIndex++, auditEntity.getRegulatoryRequirement());
-                setIntegerOrNull(ps, paramIndex++, auditEntity.getRetentionPeriodDays());
-                ps.setString(paramIndex++, auditEntity.getPiiFields());
-                ps.setString(paramIndex++, auditEntity.getSensitiveDataHash());
-                ps.setString(paramIndex++, auditEntity.getEncryptionApplied());
-                ps.setString(paramIndex++, auditEntity.getMaskingApplied());
-                ps.setString(paramIndex++, auditEntity.getAccessControlApplied());
-                ps.setString(paramIndex++, auditEntity.getUserId());
-                ps.setString(paramIndex++, auditEntity.getSessionId());
-                ps.setString(paramIndex++, auditEntity.getIpAddress());
-                ps.setString(paramIndex++, auditEntity.getUserAgent());
-                ps.setString(paramIndex++, auditEntity.getApplicationName());
-                ps.setString(paramIndex++, auditEntity.getApplicationVersion());
-                ps.setString(paramIndex++, auditEntity.getEnvironment());
-                ps.setString(paramIndex++, auditEntity.getHostName());
-                
-                setLongOrNull(ps, paramIndex++, auditEntity.getProcessId());
-                setLongOrNull(ps, paramIndex++, auditEntity.getThreadId());
-                setLongOrNull(ps, paramIndex++, auditEntity.getExecutionTimeMs());
-                setDoubleOrNull(ps, paramIndex++, auditEntity.getMemoryUsageMb());
-                setDoubleOrNull(ps, paramIndex++, auditEntity.getCpuUsagePercent());
-                
-                ps.setString(paramIndex++, auditEntity.getErrorCode());
-                ps.setString(paramIndex++, auditEntity.getErrorMessage());
-                ps.setString(paramIndex++, auditEntity.getStackTrace());
-                ps.setString(paramIndex++, auditEntity.getAdditionalMetadata());
-                setLongOrNull(ps, paramIndex++, auditEntity.getParentAuditId());
-                
-                setTimestampOrNull(ps, paramIndex++, auditEntity.getAuditTimestamp());
-                setTimestampOrNull(ps, paramIndex++, auditEntity.getCreatedDate());
-                
+                bindAuditEntity(ps, auditEntity);
                 return ps;
             }, keyHolder);
 
@@ -238,6 +182,86 @@ public class DataLoadAuditRepositoryJdbcImpl implements DataLoadAuditRepositoryJ
         }
     }
 
+    @Override
+    public void saveAll(List<DataLoadAuditEntity> auditEntities) {
+        if (auditEntities == null || auditEntities.isEmpty()) {
+            return;
+        }
+        
+        try {
+            for (DataLoadAuditEntity auditEntity : auditEntities) {
+                auditEntity.onCreate();
+            }
+            jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, auditEntities, auditEntities.size(), this::bindAuditEntity);
+            log.debug("Saved {} audit entries in one batch", auditEntities.size());
+        } catch (DataAccessException e) {
+            log.error("Error saving {} audit entries: {}", auditEntities.size(), e.getMessage());
+            throw new RuntimeException("Failed to save audit entries", e);
+        }
+    }
+
+    /**
+     * Bind the INSERT_AUDIT_SQL parameters of one audit entry.
+     */
+    private void bindAuditEntity(PreparedStatement ps, DataLoadAuditEntity auditEntity) throws SQLException {
+        int paramIndex = 1;
+        
+        ps.setString(paramIndex++, auditEntity.getConfigId());
+        ps.setString(paramIndex++, auditEntity.getJobExecutionId());
+        ps.setString(paramIndex++, auditEntity.getCorrelationId());
+        ps.setString(paramIndex++, auditEntity.getAuditType() != null ? auditEntity.getAuditType().name() : null);
+        ps.setString(paramIndex++, auditEntity.getEventName());
+        ps.setString(paramIndex++, auditEntity.getEventDescription());
+        ps.setString(paramIndex++, auditEntity.getSourceSystem());
+        ps.setString(paramIndex++, auditEntity.getTargetTable());
+        ps.setString(paramIndex++, auditEntity.getFileName());
+        ps.setString(paramIndex++, auditEntity.getFilePath());
+        
+        setLongOrNull(ps, paramIndex++, auditEntity.getRecordCount());
+        setLongOrNull(ps, paramIndex++, auditEntity.getProcessedCount());
+        setLongOrNull(ps, paramIndex++, auditEntity.getErrorCount());
+        
+        ps.setString(paramIndex++, auditEntity.getDataSource());
+        ps.setString(paramIndex++, auditEntity.getDataDestination());
+        ps.setString(paramIndex++, auditEntity.getTransformationApplied());
+        ps.setString(paramIndex++, auditEntity.getValidationRulesApplied());
+        ps.setString(paramIndex++, auditEntity.getBusinessRulesApplied());
+        
+        setDoubleOrNull(ps, paramIndex++, auditEntity.getDataQualityScore());
+        
+        ps.setString(paramIndex++, auditEntity.getComplianceStatus() != null ? auditEntity.getComplianceStatus().name() : null);
+        ps.setString(paramIndex++, auditEntity.getRegulatoryRequirement());
+        setIntegerOrNull(ps, paramIndex++, auditEntity.getRetentionPeriodDays());
+        ps.setString(paramIndex++, auditEntity.getPiiFields());
+        ps.setString(paramIndex++, auditEntity.getSensitiveDataHash());
+        ps.setString(paramIndex++, auditEntity.getEncryptionApplied());
+        ps.setString(paramIndex++, auditEntity.getMaskingApplied());
+        ps.setString(paramIndex++, auditEntity.getAccessControlApplied());
+        ps.setString(paramIndex++, auditEntity.getUserId());
+        ps.setString(paramIndex++, auditEntity.getSessionId());
+        ps.setString(paramIndex++, auditEntity.getIpAddress());
+        ps.setString(paramIndex++, auditEntity.getUserAgent());
+        ps.setString(paramIndex++, auditEntity.getApplicationName());
+        ps.setString(paramIndex++, auditEntity.getApplicationVersion());
+        ps.setString(paramIndex++, auditEntity.getEnvironment());
+        ps.setString(paramIndex++, auditEntity.getHostName());
+        
+        setLongOrNull(ps, paramIndex++, auditEntity.getProcessId());
+        setLongOrNull(ps, paramIndex++, auditEntity.getThreadId());
+        setLongOrNull(ps, paramIndex++, auditEntity.getExecutionTimeMs());
+        setDoubleOrNull(ps, paramIndex++, auditEntity.getMemoryUsageMb());
+        setDoubleOrNull(ps, paramIndex++, auditEntity.getCpuUsagePercent());
+        
+        ps.setString(paramIndex++, auditEntity.getErrorCode());
+        ps.setString(paramIndex++, auditEntity.getErrorMessage());
+        ps.setString(paramIndex++, auditEntity.getStackTrace());
+        ps.setString(paramIndex++, auditEntity.getAdditionalMetadata());
+        setLongOrNull(ps, paramIndex++, auditEntity.getParentAuditId());
+        
+        setTimestampOrNull(ps, paramIndex++, auditEntity.getAuditTimestamp());
+        setTimestampOrNull(ps, paramIndex++, auditEntity.getCreatedDate());
+    }
+
     @Override
     public void deleteAll(List<DataLoadAuditEntity> auditEntries) {
         if (auditEntries == null || auditEntries.isEmpty()) {
@@ -13,7 +13,7 @@ import java.util.Map;
  * Encapsulates all parameters needed for SQL*Loader control file generation and execution.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SqlLoaderConfig {
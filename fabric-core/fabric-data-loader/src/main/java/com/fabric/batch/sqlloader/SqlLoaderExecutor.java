@@ -7,14 +7,21 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,9 +48,20 @@ public class SqlLoaderExecutor {
     @Value("${sqlloader.retry.delay.seconds:10}")
     private int retryDelaySeconds;
     
+    @Value("${sqlloader.retry.max-delay.seconds:300}")
+    private int retryMaxDelaySeconds;
+    
+    @Value("${sqlloader.log.poll.millis:1000}")
+    private long logPollMillis;
+    
     private static final Pattern RECORD_COUNT_PATTERN = Pattern.compile("Total logical records skipped:\\s*(\\d+)");
     private static final Pattern ERROR_COUNT_PATTERN = Pattern.compile("Total logical records rejected:\\s*(\\d+)");
     private static final Pattern LOAD_COUNT_PATTERN = Pattern.compile("Total logical records read:\\s*(\\d+)");
+    private static final Pattern DISCARD_COUNT_PATTERN = Pattern.compile("Total logical records discarded:\\s*(\\d+)");
+    private static final Pattern COMMIT_COUNT_PATTERN = Pattern.compile("logical record count\\s*(\\d+)");
+    
+    // Sessions currently running, by load id
+    private final Map<String, SqlLoaderProgress> activeLoads = new ConcurrentHashMap<>();
     
     /**
      * Execute data loading with configuration, file name, and file path.
@@ -71,7 +89,7 @@ public class SqlLoaderExecutor {
     /**
      * Convert DataLoadConfigEntity to SqlLoaderConfig.
      */
-    private SqlLoaderConfig convertToSqlLoaderConfig(com.fabric.batch.entity.DataLoadConfigEntity config, String fileName, String filePath) {
+    SqlLoaderConfig convertToSqlLoaderConfig(com.fabric.batch.entity.DataLoadConfigEntity config, String fileName, String filePath) {
         return SqlLoaderConfig.builder()
                 .jobName(config.getJobName())
                 .correlationId(java.util.UUID.randomUUID().toString())
@@ -84,127 +102,199 @@ public class SqlLoaderExecutor {
 
     /**
      * Execute SQL*Loader with the provided configuration.
-     * 
+     *
      * @param config SQL*Loader configuration
      * @param processingJob Processing job entity for tracking
      * @return SQL*Loader execution result
      */
     public SqlLoaderResult executeSqlLoader(SqlLoaderConfig config, ProcessingJobEntity processingJob) {
+        return executeSqlLoader(config, processingJob, maxRetries);
+    }
+
+    /**
+     * Execute SQL*Loader, making at most {@code maxAttempts} attempts.
+     */
+    SqlLoaderResult executeSqlLoader(SqlLoaderConfig config, ProcessingJobEntity processingJob, int maxAttempts) {
         log.info("Starting SQL*Loader execution for job: {}", config.getJobName());
-        
+
         SqlLoaderResult result = new SqlLoaderResult();
         result.setJobExecutionId(processingJob.getJobExecutionId());
         result.setCorrelationId(config.getCorrelationId());
+        result.setDataFilePath(config.getDataFileName());
         result.setStartTime(LocalDateTime.now());
-        
+
+        SqlLoaderProgress progress = new SqlLoaderProgress(
+                processingJob.getJobExecutionId(), config.getJobName(), config.getDataFileName());
+        activeLoads.put(progress.getLoadId(), progress);
+
         try {
             // Generate control file
             ControlFileGenerator generator = new ControlFileGenerator();
             Path controlFile = generator.generateControlFile(config);
             result.setControlFilePath(controlFile.toString());
-            
-            // Execute SQL*Loader with retries
+
+            // Execute SQL*Loader, backing off exponentially between attempts
             int attempt = 0;
             boolean success = false;
-            
-            while (attempt < maxRetries && !success) {
+
+            while (!success && attempt < maxAttempts) {
                 attempt++;
-                log.info("SQL*Loader execution attempt {} of {} for job: {}", attempt, maxRetries, config.getJobName());
-                
+                log.info("SQL*Loader execution attempt {} of {} for job: {}", attempt, maxAttempts, config.getJobName());
+
                 try {
-                    success = executeSqlLoaderCommand(config, controlFile, result, attempt);
-                } catch (Exception e) {
+                    success = executeSqlLoaderCommand(config, controlFile, result, progress, attempt);
+                } catch (IOException e) {
                     log.error("SQL*Loader execution attempt {} failed for job: {}", attempt, config.getJobName(), e);
                     result.addError("Execution attempt " + attempt + " failed: " + e.getMessage());
-                    
-                    if (attempt < maxRetries) {
-                        log.info("Retrying SQL*Loader execution in {} seconds...", retryDelaySeconds);
-                        Thread.sleep(retryDelaySeconds * 1000L);
+                }
+                result.setRetryCount(attempt - 1);
+
+                // max.retries counts attempts, shouldRetry counts retries already made
+                if (!success && attempt < maxAttempts) {
+                    if (!result.shouldRetry(maxAttempts - 1)) {
+                        log.warn("SQL*Loader failure for job: {} is not retryable", config.getJobName());
+                        break;
                     }
+                    long delayMs = retryDelayMs(attempt);
+                    log.info("Retrying SQL*Loader execution in {} ms...", delayMs);
+                    progress.setStatus("RETRY_WAIT");
+                    Thread.sleep(delayMs);
                 }
             }
-            
+
             result.setEndTime(LocalDateTime.now());
             result.setDurationMs(java.time.Duration.between(result.getStartTime(), result.getEndTime()).toMillis());
             result.setSuccessful(success);
-            result.setRetryCount(attempt - 1);
-            
-            // Parse log file for statistics
-            if (result.getLogFilePath() != null) {
-                parseLogFile(result);
-            }
-            
-            log.info("SQL*Loader execution completed for job: {} - Success: {}, Duration: {}ms", 
+            progress.setStatus(success ? "COMPLETED" : "FAILED");
+
+            log.info("SQL*Loader execution completed for job: {} - Success: {}, Duration: {}ms",
                     config.getJobName(), success, result.getDurationMs());
-            
+
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             log.error("Fatal error during SQL*Loader execution for job: {}", config.getJobName(), e);
             result.setSuccessful(false);
             result.setEndTime(LocalDateTime.now());
             result.addError("Fatal execution error: " + e.getMessage());
             result.setErrorDetails(getStackTrace(e));
+        } finally {
+            activeLoads.remove(progress.getLoadId());
         }
-        
+
         return result;
     }
-    
+
+    /**
+     * Backoff before the next attempt: the configured delay doubled per failed attempt, capped.
+     */
+    private long retryDelayMs(int attempt) {
+        long delayMs = retryDelaySeconds * 1000L << Math.min(attempt - 1, 20);
+        return Math.min(delayMs, retryMaxDelaySeconds * 1000L);
+    }
+
+    /**
+     * Live progress of the SQL*Loader sessions currently running in this JVM.
+     */
+    public List<Map<String, Object>> getActiveLoads() {
+        return SqlLoaderProgress.toMaps(activeLoads.values());
+    }
+
     /**
      * Execute the actual SQL*Loader command.
+     * Output is consumed on a separate thread, keeping only its tail, while this thread follows
+     * the log file as sqlldr writes it, so row counts are live and the timeout is enforced even
+     * when the process stops writing.
      */
-    private boolean executeSqlLoaderCommand(SqlLoaderConfig config, Path controlFile, SqlLoaderResult result, int attempt) 
+    private boolean executeSqlLoaderCommand(SqlLoaderConfig config, Path controlFile, SqlLoaderResult result,
+                                            SqlLoaderProgress progress, int attempt)
             throws IOException, InterruptedException {
-        
+
         // Build command
         List<String> command = buildSqlLoaderCommand(config, controlFile);
         log.debug("Executing SQL*Loader command: {}", String.join(" ", command));
-        
+
+        // Set file paths based on control file location
+        String baseFileName = controlFile.toString().replaceAll("\\.ctl$", "");
+        result.setLogFilePath(baseFileName + ".log");
+        result.setBadFilePath(baseFileName + ".bad");
+        result.setDiscardFilePath(baseFileName + ".dsc");
+
+        // sqlldr rewrites the log; drop the previous attempt's so the tail only sees this run
+        Path logFile = Paths.get(result.getLogFilePath());
+        Files.deleteIfExists(logFile);
+        progress.startAttempt(attempt);
+
         // Set up process builder
         ProcessBuilder processBuilder = new ProcessBuilder(command);
         processBuilder.directory(new File(workDirectory));
         processBuilder.redirectErrorStream(true);
-        
+
         // Set environment variables
         setupEnvironmentVariables(processBuilder, config);
-        
+
         // Execute process
         Process process = processBuilder.start();
-        
-        // Capture output
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-                log.debug("SQL*Loader output: {}", line);
+        Thread outputReader = new Thread(() -> readOutput(process, progress),
+                "sqlldr-out-" + progress.getLoadId());
+        outputReader.setDaemon(true);
+        outputReader.start();
+
+        // Follow the log until the process exits or times out
+        LogTail logTail = new LogTail(logFile);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(timeoutMinutes);
+        boolean finished = false;
+        while (!finished) {
+            finished = process.waitFor(logPollMillis, TimeUnit.MILLISECONDS);
+            logTail.poll(line -> parseLogLine(line, result, progress));
+            if (!finished && System.nanoTime() - deadline > 0) {
+                break;
             }
         }
-        
-        // Wait for completion with timeout
-        boolean finished = process.waitFor(timeoutMinutes, TimeUnit.MINUTES);
-        
+
         if (!finished) {
             log.error("SQL*Loader execution timed out after {} minutes", timeoutMinutes);
             process.destroyForcibly();
+            progress.setStatus("TIMED_OUT");
             result.addError("Execution timed out after " + timeoutMinutes + " minutes");
             return false;
         }
-        
+
+        outputReader.join(TimeUnit.SECONDS.toMillis(5));
+        logTail.poll(line -> parseLogLine(line, result, progress));
+        logTail.finish(line -> parseLogLine(line, result, progress));
+
         int exitCode = process.exitValue();
         result.setReturnCode(exitCode);
-        result.setExecutionOutput(output.toString());
-        
-        // Set file paths based on control file location
-        String baseFileName = controlFile.toString().replaceAll("\\.ctl$", "");
-        result.setLogFilePath(baseFileName + ".log");
-        result.setBadFilePath(baseFileName + ".bad");
-        result.setDiscardFilePath(baseFileName + ".dsc");
-        
+        result.setExecutionOutput(progress.getOutput());
+        applyLogStatistics(result, progress);
+
         log.info("SQL*Loader completed with exit code: {} for job: {}", exitCode, config.getJobName());
-        
+
         // Analyze exit code
         return analyzeSqlLoaderExitCode(exitCode, result);
     }
-    
+
+    /**
+     * Consume the process output, taking live record counts from sqlldr's commit point messages.
+     */
+    private void readOutput(Process process, SqlLoaderProgress progress) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                progress.appendOutput(line);
+                log.debug("SQL*Loader output: {}", line);
+                Matcher matcher = COMMIT_COUNT_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    progress.getRecordsRead().accumulateAndGet(Long.parseLong(matcher.group(1)), Math::max);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SQL*Loader output stream closed for load {}: {}", progress.getLoadId(), e.getMessage());
+        }
+    }
+
     /**
      * Build the SQL*Loader command with all parameters.
      */
@@ -241,9 +331,12 @@ public class SqlLoaderExecutor {
             command.addAll(Arrays.asList(options.split("\\s+")));
         }
         
-        // Parallel degree
-        if (config.getParallelDegree() != null && config.getParallelDegree() > 1) {
+        // Parallel direct path session, one of several loading the same table
+        boolean parallelDegree = config.getParallelDegree() != null && config.getParallelDegree() > 1;
+        if (Boolean.TRUE.equals(config.getParallel()) || parallelDegree) {
             command.add("PARALLEL=TRUE");
+        }
+        if (parallelDegree) {
             command.add("DEGREE=" + config.getParallelDegree());
         }
         
@@ -304,71 +397,132 @@ public class SqlLoaderExecutor {
     }
     
     /**
-     * Parse SQL*Loader log file to extract statistics.
+     * Parse one SQL*Loader log line, updating the live counters and collecting errors and warnings.
      */
-    private void parseLogFile(SqlLoaderResult result) {
-        try {
-            Path logFile = Paths.get(result.getLogFilePath());
-            if (!Files.exists(logFile)) {
-                log.warn("SQL*Loader log file not found: {}", result.getLogFilePath());
+    private void parseLogLine(String line, SqlLoaderResult result, SqlLoaderProgress progress) {
+        // Parse record counts
+        Matcher matcher = LOAD_COUNT_PATTERN.matcher(line);
+        if (matcher.find()) {
+            progress.getRecordsRead().set(Long.parseLong(matcher.group(1)));
+            return;
+        }
+
+        matcher = ERROR_COUNT_PATTERN.matcher(line);
+        if (matcher.find()) {
+            progress.getRejectedRecords().set(Long.parseLong(matcher.group(1)));
+            return;
+        }
+
+        matcher = RECORD_COUNT_PATTERN.matcher(line);
+        if (matcher.find()) {
+            progress.getSkippedRecords().set(Long.parseLong(matcher.group(1)));
+            return;
+        }
+
+        matcher = DISCARD_COUNT_PATTERN.matcher(line);
+        if (matcher.find()) {
+            progress.getDiscardedRecords().set(Long.parseLong(matcher.group(1)));
+            return;
+        }
+
+        // Look for error messages
+        if (line.contains("ORA-") || line.contains("SQL*Loader-")) {
+            result.addError(line.trim());
+        }
+
+        // Look for warnings
+        if (line.contains("Warning:") || line.contains("WARNING:")) {
+            result.addWarning(line.trim());
+        }
+    }
+
+    /**
+     * Copy the counts parsed from the log into the result once the process has exited.
+     */
+    private void applyLogStatistics(SqlLoaderResult result, SqlLoaderProgress progress) {
+        if (!Files.exists(Paths.get(result.getLogFilePath()))) {
+            log.warn("SQL*Loader log file not found: {}", result.getLogFilePath());
+            return;
+        }
+
+        result.setTotalRecords(progress.getRecordsRead().get());
+        result.setRejectedRecords(progress.getRejectedRecords().get());
+        result.setSkippedRecords(progress.getSkippedRecords().get());
+        result.setDiscardedRecords(progress.getDiscardedRecords().get());
+
+        // Calculate successful records
+        long successful = result.getTotalRecords() - result.getRejectedRecords() - result.getSkippedRecords();
+        result.setSuccessfulRecords(Math.max(0, successful));
+
+        log.info("Parsed SQL*Loader statistics - Total: {}, Successful: {}, Rejected: {}, Skipped: {}",
+                result.getTotalRecords(), result.getSuccessfulRecords(),
+                result.getRejectedRecords(), result.getSkippedRecords());
+    }
+
+    /**
+     * Follows a log file that another process is appending to, handing over complete lines.
+     * Lines are split on bytes and decoded whole, so multi-byte characters never straddle reads.
+     */
+    static final class LogTail {
+
+        private final Path file;
+        private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        private long position;
+
+        LogTail(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Hand over the lines completed since the last poll.
+         */
+        void poll(Consumer<String> lines) {
+            if (!Files.exists(file)) {
                 return;
             }
-            
-            List<String> lines = Files.readAllLines(logFile);
-            
-            for (String line : lines) {
-                // Parse record counts
-                Matcher matcher = LOAD_COUNT_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    result.setTotalRecords(Long.parseLong(matcher.group(1)));
-                    continue;
+            try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+                if (channel.size() < position) {
+                    // Rewritten from the start
+                    position = 0;
+                    partialLine.reset();
                 }
-                
-                matcher = ERROR_COUNT_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    result.setRejectedRecords(Long.parseLong(matcher.group(1)));
-                    continue;
-                }
-                
-                matcher = RECORD_COUNT_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    result.setSkippedRecords(Long.parseLong(matcher.group(1)));
-                    continue;
-                }
-                
-                // Look for error messages
-                if (line.contains("ORA-") || line.contains("SQL*Loader-")) {
-                    result.addError(line.trim());
-                }
-                
-                // Look for warnings
-                if (line.contains("Warning:") || line.contains("WARNING:")) {
-                    result.addWarning(line.trim());
+                channel.position(position);
+                int read;
+                while ((read = channel.read(buffer)) > 0) {
+                    position += read;
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        byte b = buffer.get();
+                        if (b == '\n') {
+                            lines.accept(takeLine());
+                        } else if (b != '\r') {
+                            partialLine.write(b);
+                        }
+                    }
+                    buffer.clear();
                 }
+            } catch (IOException e) {
+                log.debug("Could not read SQL*Loader log {}: {}", file, e.getMessage());
             }
-            
-            // Calculate successful records
-            if (result.getTotalRecords() != null) {
-                long successful = result.getTotalRecords();
-                if (result.getRejectedRecords() != null) {
-                    successful -= result.getRejectedRecords();
-                }
-                if (result.getSkippedRecords() != null) {
-                    successful -= result.getSkippedRecords();
-                }
-                result.setSuccessfulRecords(Math.max(0, successful));
+        }
+
+        /**
+         * Hand over a last line that was not newline terminated.
+         */
+        void finish(Consumer<String> lines) {
+            if (partialLine.size() > 0) {
+                lines.accept(takeLine());
             }
-            
-            log.info("Parsed SQL*Loader statistics - Total: {}, Successful: {}, Rejected: {}, Skipped: {}", 
-                    result.getTotalRecords(), result.getSuccessfulRecords(), 
-                    result.getRejectedRecords(), result.getSkippedRecords());
-            
-        } catch (Exception e) {
-            log.error("Error parsing SQL*Loader log file: {}", result.getLogFilePath(), e);
-            result.addWarning("Could not parse log file: " + e.getMessage());
+        }
+
+        private String takeLine() {
+            String line = partialLine.toString(StandardCharsets.UTF_8);
+            partialLine.reset();
+            return line;
         }
     }
-    
+
     /**
      * Validate SQL*Loader environment and configuration.
      */
@@ -0,0 +1,103 @@
+package com.fabric.batch.sqlloader;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of one running SQL*Loader session.
+ * Row counts are updated from the sqlldr output and log while the process runs, so monitoring
+ * can report them before the load finishes. Only the last lines of process output are kept.
+ */
+@Getter
+public class SqlLoaderProgress {
+
+    private static final int OUTPUT_TAIL_LINES = 200;
+
+    private final String loadId;
+    private final String jobName;
+    private final String dataFile;
+    private final LocalDateTime startTime = LocalDateTime.now();
+
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong rejectedRecords = new AtomicLong();
+    private final AtomicLong skippedRecords = new AtomicLong();
+    private final AtomicLong discardedRecords = new AtomicLong();
+
+    private volatile int attempt;
+    private volatile String status = "STARTING";
+
+    private final Deque<String> outputTail = new ArrayDeque<>();
+
+    public SqlLoaderProgress(String loadId, String jobName, String dataFile) {
+        this.loadId = loadId;
+        this.jobName = jobName;
+        this.dataFile = dataFile;
+    }
+
+    /**
+     * Reset the counters for a new attempt; sqlldr rewrites its log on every run.
+     */
+    void startAttempt(int attempt) {
+        this.attempt = attempt;
+        this.status = "RUNNING";
+        recordsRead.set(0);
+        rejectedRecords.set(0);
+        skippedRecords.set(0);
+        discardedRecords.set(0);
+        synchronized (outputTail) {
+            outputTail.clear();
+        }
+    }
+
+    void setStatus(String status) {
+        this.status = status;
+    }
+
+    void appendOutput(String line) {
+        synchronized (outputTail) {
+            if (outputTail.size() == OUTPUT_TAIL_LINES) {
+                outputTail.removeFirst();
+            }
+            outputTail.addLast(line);
+        }
+    }
+
+    /**
+     * The retained tail of the process output, oldest line first.
+     */
+    public String getOutput() {
+        synchronized (outputTail) {
+            return String.join("\n", outputTail);
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loadId", loadId);
+        stats.put("jobName", jobName);
+        stats.put("dataFile", dataFile);
+        stats.put("status", status);
+        stats.put("attempt", attempt);
+        stats.put("recordsRead", recordsRead.get());
+        stats.put("rejectedRecords", rejectedRecords.get());
+        stats.put("skippedRecords", skippedRecords.get());
+        stats.put("discardedRecords", discardedRecords.get());
+        stats.put("elapsedMs", Duration.between(startTime, LocalDateTime.now()).toMillis());
+        return stats;
+    }
+
+    static List<Map<String, Object>> toMaps(Iterable<SqlLoaderProgress> loads) {
+        List<Map<String, Object>> maps = new ArrayList<>();
+        loads.forEach(progress -> maps.add(progress.toMap()));
+        return maps;
+    }
+}
@@ -32,6 +32,8 @@ public class SqlLoaderResult {
     private String executionStatus;
     private int returnCode;
     private int retryCount = 0;
+    // Rows of a failed load are already committed, so running it again would load them twice
+    private boolean partiallyCommitted = false;
     
     // File paths
     private String controlFilePath;
@@ -288,6 +290,11 @@ public class SqlLoaderResult {
             return false;
         }
         
+        // Don't retry over rows that are already committed
+        if (partiallyCommitted) {
+            return false;
+        }
+        
         // Don't retry for certain types of errors (configuration errors, permission issues)
         for (String error : errors) {
             if (error.contains("ORA-00942") ||  // Table doesn't exist
@@ -0,0 +1,368 @@
+package com.fabric.batch.sqlloader;
+
+import com.fabric.batch.entity.DataLoadConfigEntity;
+import com.fabric.batch.entity.ProcessingJobEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a data file into line-aligned segments and loads them with concurrent parallel
+ * direct path SQL*Loader sessions (PARALLEL=TRUE) into the same table.
+ *
+ * Sessions run on a pool shared by all loads, so sqlloader.parallel.max-sessions bounds the
+ * number of sqlldr processes (and database sessions) across the JVM. Segments are cut on
+ * newlines, so files whose quoted fields contain line breaks must be loaded with one segment.
+ * Oracle only allows APPEND for parallel direct path loads. INSERT loads, which require an empty
+ * table, run as APPEND only when the target table is empty when the load starts and otherwise
+ * use a single INSERT session; REPLACE and TRUNCATE loads always use a single session. Parallel
+ * direct path sessions do not maintain indexes; the target table's indexes must be rebuilt after
+ * the load.
+ *
+ * Each session commits its own segment, so segments are not retried: when one fails, the rows of
+ * the others stay loaded and the result is marked partially committed, listing the segments that
+ * loaded rows. Those rows must be removed before the file is loaded again.
+ */
+@Slf4j
+@Component
+public class SqlLoaderScheduler {
+
+    @Autowired
+    private SqlLoaderExecutor sqlLoaderExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${sqlloader.parallel.max-sessions:4}")
+    private int maxSessions;
+
+    /** Files are not split into segments smaller than this */
+    @Value("${sqlloader.parallel.min-segment-bytes:67108864}")
+    private long minSegmentBytes;
+
+    @Value("${sqlloader.work.directory:${java.io.tmpdir}}")
+    private String workDirectory;
+
+    private ExecutorService sessionPool;
+
+    @PostConstruct
+    public void initializeSessionPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sessionPool = Executors.newFixedThreadPool(Math.max(1, maxSessions), runnable -> {
+            Thread thread = new Thread(runnable, "sqlldr-session-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("SQL*Loader scheduler initialized with up to {} concurrent sessions", maxSessions);
+    }
+
+    @PreDestroy
+    public void shutdownSessionPool() {
+        if (sessionPool != null) {
+            sessionPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Load a file for a data load configuration, splitting it into the configured parallel degree.
+     */
+    public SqlLoaderResult executeLoad(DataLoadConfigEntity config, String fileName, String filePath) {
+        SqlLoaderConfig sqlConfig = sqlLoaderExecutor.convertToSqlLoaderConfig(config, fileName, filePath);
+
+        ProcessingJobEntity processingJob = new ProcessingJobEntity();
+        processingJob.setJobExecutionId(UUID.randomUUID().toString());
+        processingJob.setConfigId(config.getConfigId());
+        processingJob.setFileName(fileName);
+
+        int segments = config.getParallelDegree() != null ? config.getParallelDegree() : 1;
+        return executeParallel(sqlConfig, processingJob, segments);
+    }
+
+    /**
+     * Load the configured data file with up to {@code segments} concurrent sessions.
+     * Small files, and loads that cannot run in parallel, use a single session.
+     */
+    public SqlLoaderResult executeParallel(SqlLoaderConfig config, ProcessingJobEntity processingJob, int segments) {
+        Path dataFile = Paths.get(config.getDataFileName());
+        int segmentCount = resolveSegmentCount(config, dataFile, segments);
+        if (segmentCount <= 1) {
+            return sqlLoaderExecutor.executeSqlLoader(config, processingJob);
+        }
+
+        LocalDateTime startTime = LocalDateTime.now();
+        String loadId = processingJob.getJobExecutionId();
+        List<Path> segmentFiles = new ArrayList<>();
+        try {
+            segmentFiles = splitDataFile(dataFile, segmentCount, Paths.get(workDirectory), loadId);
+            log.info("Loading {} in {} parallel direct path sessions for job: {}",
+                    dataFile, segmentFiles.size(), config.getJobName());
+
+            List<Future<SqlLoaderResult>> futures = new ArrayList<>();
+            for (int i = 0; i < segmentFiles.size(); i++) {
+                SqlLoaderConfig segmentConfig = segmentConfig(config, segmentFiles.get(i), i, loadId);
+                ProcessingJobEntity segmentJob = new ProcessingJobEntity();
+                segmentJob.setJobExecutionId(loadId + "-seg" + i);
+                segmentJob.setConfigId(processingJob.getConfigId());
+                segmentJob.setFileName(processingJob.getFileName());
+                // A retried segment could load rows its failed attempt already saved
+                futures.add(sessionPool.submit(() -> sqlLoaderExecutor.executeSqlLoader(segmentConfig, segmentJob, 1)));
+            }
+
+            // Segments already committed by their own sessions stay loaded, so wait for all of them
+            List<SqlLoaderResult> results = new ArrayList<>();
+            for (Future<SqlLoaderResult> future : futures) {
+                results.add(future.get());
+            }
+            return aggregate(config, processingJob, results, startTime);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(config, processingJob, startTime, "Parallel load interrupted");
+        } catch (IOException | ExecutionException e) {
+            log.error("Parallel SQL*Loader execution failed for job: {}", config.getJobName(), e);
+            return failed(config, processingJob, startTime, "Parallel load failed: " + e.getMessage());
+        } finally {
+            for (Path segmentFile : segmentFiles) {
+                try {
+                    Files.deleteIfExists(segmentFile);
+                } catch (IOException e) {
+                    log.debug("Could not delete segment file: {}", segmentFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Live progress of all running sessions, including the segments of parallel loads.
+     */
+    public List<Map<String, Object>> getActiveLoads() {
+        return sqlLoaderExecutor.getActiveLoads();
+    }
+
+    private int resolveSegmentCount(SqlLoaderConfig config, Path dataFile, int requested) {
+        if (requested <= 1) {
+            return 1;
+        }
+        String method = config.getLoadMethod();
+        if ("REPLACE".equalsIgnoreCase(method) || "TRUNCATE".equalsIgnoreCase(method)) {
+            log.warn("{} loads cannot use parallel direct path, loading {} in one session", method, dataFile);
+            return 1;
+        }
+        int segments;
+        try {
+            long bySize = Math.max(1, Files.size(dataFile) / Math.max(1, minSegmentBytes));
+            segments = (int) Math.min(requested, bySize);
+        } catch (IOException e) {
+            // Let the single session report the unreadable file
+            return 1;
+        }
+        if (segments > 1 && !"APPEND".equalsIgnoreCase(method) && !isTargetTableEmpty(config)) {
+            // The single INSERT session fails on the loaded table, as a non-parallel load would
+            log.warn("INSERT load into non-empty table {} cannot run as parallel APPEND, loading {} in one session",
+                    config.getTargetTable(), dataFile);
+            return 1;
+        }
+        return segments;
+    }
+
+    /**
+     * Whether the target table has no rows, so an INSERT load may run as parallel APPEND sessions.
+     */
+    private boolean isTargetTableEmpty(SqlLoaderConfig config) {
+        try {
+            Boolean empty = jdbcTemplate.query("SELECT 1 FROM " + config.getTargetTable(),
+                    (ResultSetExtractor<Boolean>) rs -> !rs.next());
+            return Boolean.TRUE.equals(empty);
+        } catch (DataAccessException e) {
+            log.warn("Could not check whether table {} is empty: {}", config.getTargetTable(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Copy the data file into segments that each end on a line boundary.
+     */
+    List<Path> splitDataFile(Path dataFile, int segments, Path directory, String loadId) throws IOException {
+        List<Path> segmentFiles = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            long size = in.size();
+            long start = 0;
+            for (int i = 0; i < segments && start < size; i++) {
+                long end = i == segments - 1 ? size : nextLineStart(in, Math.max(start, size * (i + 1) / segments));
+                Path segmentFile = directory.resolve(dataFile.getFileName() + "." + loadId + ".seg" + i);
+                segmentFiles.add(segmentFile);
+                try (FileChannel out = FileChannel.open(segmentFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    long copied = 0;
+                    while (copied < end - start) {
+                        copied += in.transferTo(start + copied, end - start - copied, out);
+                    }
+                }
+                start = end;
+            }
+        } catch (IOException e) {
+            for (Path segmentFile : segmentFiles) {
+                Files.deleteIfExists(segmentFile);
+            }
+            throw e;
+        }
+        return segmentFiles;
+    }
+
+    /**
+     * Position just after the first newline at or after {@code from}, or the end of the file.
+     */
+    private long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            buffer.flip();
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        return channel.size();
+    }
+
+    private SqlLoaderConfig segmentConfig(SqlLoaderConfig config, Path segmentFile, int segment, String loadId) {
+        String suffix = ".seg" + segment;
+        return config.toBuilder()
+                .dataFileName(segmentFile.toString())
+                .controlFileName(config.getJobName() + "_" + loadId + suffix + ".ctl")
+                .badFileName(config.getBadFileName() != null ? config.getBadFileName() + suffix : null)
+                .discardFileName(config.getDiscardFileName() != null ? config.getDiscardFileName() + suffix : null)
+                // Header rows are only in the first segment
+                .skip(segment == 0 ? config.getSkip() : 0)
+                .loadMethod("APPEND")
+                .directPath(true)
+                .parallel(true)
+                .parallelDegree(1)
+                .build();
+    }
+
+    private SqlLoaderResult aggregate(SqlLoaderConfig config, ProcessingJobEntity processingJob,
+                                      List<SqlLoaderResult> results, LocalDateTime startTime) {
+        SqlLoaderResult result = newResult(config, processingJob, startTime);
+        result.setDirectPathUsed(true);
+        result.setLoadMethod("APPEND");
+        result.setParallelDegree(results.size());
+
+        boolean successful = true;
+        boolean warnings = false;
+        long total = 0, loaded = 0, rejected = 0, skipped = 0, discarded = 0;
+        List<String> controlFiles = new ArrayList<>();
+        List<Integer> committedSegments = new ArrayList<>();
+        List<Map<String, Object>> segments = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            SqlLoaderResult segment = results.get(i);
+            successful &= segment.isSuccessful();
+            warnings |= "SUCCESS_WITH_WARNINGS".equals(segment.getExecutionStatus());
+            total += valueOf(segment.getTotalRecords());
+            loaded += valueOf(segment.getSuccessfulRecords());
+            rejected += valueOf(segment.getRejectedRecords());
+            skipped += valueOf(segment.getSkippedRecords());
+            discarded += valueOf(segment.getDiscardedRecords());
+            result.setReturnCode(Math.max(result.getReturnCode(), segment.getReturnCode()));
+            result.setRetryCount(result.getRetryCount() + segment.getRetryCount());
+            controlFiles.add(segment.getControlFilePath());
+            if (segment.isSuccessful() || valueOf(segment.getSuccessfulRecords()) > 0) {
+                committedSegments.add(i);
+            }
+            for (String error : segment.getErrors()) {
+                result.addError("Segment " + i + ": " + error);
+            }
+            for (String warning : segment.getWarnings()) {
+                result.addWarning("Segment " + i + ": " + warning);
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("segment", i);
+            summary.put("successful", segment.isSuccessful());
+            summary.put("returnCode", segment.getReturnCode());
+            summary.put("totalRecords", segment.getTotalRecords());
+            summary.put("loadedRecords", segment.getSuccessfulRecords());
+            summary.put("rejectedRecords", segment.getRejectedRecords());
+            summary.put("logFile", segment.getLogFilePath());
+            summary.put("durationMs", segment.getDurationMs());
+            segments.add(summary);
+        }
+
+        result.setSuccessful(successful);
+        result.setExecutionStatus(!successful ? "FAILED" : warnings ? "SUCCESS_WITH_WARNINGS" : "SUCCESS");
+        result.setTotalRecords(total);
+        result.setSuccessfulRecords(loaded);
+        result.setRejectedRecords(rejected);
+        result.setSkippedRecords(skipped);
+        result.setDiscardedRecords(discarded);
+        result.setControlFilePath(String.join(",", controlFiles));
+        result.addMetadata("segments", segments);
+        result.calculateThroughput();
+
+        if (!successful && !committedSegments.isEmpty()) {
+            result.setPartiallyCommitted(true);
+            result.addMetadata("committedSegments", committedSegments);
+            result.addError("Segments " + committedSegments + " committed " + loaded + " rows into "
+                    + config.getTargetTable() + "; remove them before loading " + config.getDataFileName() + " again");
+            log.error("Parallel SQL*Loader execution for job: {} failed after segments {} committed {} rows into {}",
+                    config.getJobName(), committedSegments, loaded, config.getTargetTable());
+        }
+
+        log.info("Parallel SQL*Loader execution completed for job: {} - Success: {}, Segments: {}, Total: {}, Rejected: {}, Duration: {}ms",
+                config.getJobName(), successful, results.size(), total, rejected, result.getDurationMs());
+        return result;
+    }
+
+    private SqlLoaderResult failed(SqlLoaderConfig config, ProcessingJobEntity processingJob,
+                                   LocalDateTime startTime, String error) {
+        SqlLoaderResult result = newResult(config, processingJob, startTime);
+        result.setSuccessful(false);
+        result.setExecutionStatus("FAILED");
+        result.addError(error);
+        return result;
+    }
+
+    private SqlLoaderResult newResult(SqlLoaderConfig config, ProcessingJobEntity processingJob, LocalDateTime startTime) {
+        SqlLoaderResult result = new SqlLoaderResult();
+        result.setJobExecutionId(processingJob.getJobExecutionId());
+        result.setCorrelationId(config.getCorrelationId());
+        result.setDataFilePath(config.getDataFileName());
+        result.setStartTime(startTime);
+        result.setEndTime(LocalDateTime.now());
+        result.setDurationMs(java.time.Duration.between(startTime, result.getEndTime()).toMillis());
+        return result;
+    }
+
+    private static long valueOf(Long count) {
+        return count != null ? count : 0L;
+    }
+}
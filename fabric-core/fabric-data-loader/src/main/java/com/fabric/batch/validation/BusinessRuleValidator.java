@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Validator for business rule validations using custom Java classes and methods.
@@ -16,8 +17,9 @@ import java.util.Map;
 public class BusinessRuleValidator {
     
     // Cache for loaded business rule classes
-    private final Map<String, Class<?>> classCache = new HashMap<>();
-    private final Map<String, Object> instanceCache = new HashMap<>();
+    // Concurrent: file ranges are validated in parallel
+    private final Map<String, Class<?>> classCache = new ConcurrentHashMap<>();
+    private final Map<String, Object> instanceCache = new ConcurrentHashMap<>();
     
     /**
      * Validate field value against business rule.
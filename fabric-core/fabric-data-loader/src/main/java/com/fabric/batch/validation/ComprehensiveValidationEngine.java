@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -45,14 +48,122 @@ public class ComprehensiveValidationEngine {
     private static final Pattern INTEGER_PATTERN = Pattern.compile(
         "^-?\\d+$");
     
+    private static final Pattern PHONE_SEPARATORS = Pattern.compile("[\\s\\-\\(\\)\\.]");
+    
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^[A-Za-z0-9]+$");
+    
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    
+    private static final DateTimeFormatter EU_DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    
+    private static final String DEFAULT_DATE_PATTERN = "yyyy-MM-dd";
+    
+    private static final Comparator<ValidationRuleEntity> EXECUTION_ORDER = Comparator.comparing(
+        ValidationRuleEntity::getExecutionOrder, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    /**
+     * Compile rules into a plan that can validate many records without re-reading the rule
+     * configuration. Build one plan per load and share it across records and threads.
+     */
+    public ValidationRulePlan compileRules(List<ValidationRuleEntity> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return ValidationRulePlan.empty();
+        }
+        
+        Map<String, List<ValidationRuleEntity>> rulesByField = new LinkedHashMap<>();
+        for (ValidationRuleEntity rule : rules) {
+            rulesByField.computeIfAbsent(rule.getFieldName(), k -> new ArrayList<>()).add(rule);
+        }
+        
+        Map<String, ValidationRulePlan.ColumnRules> columns = new HashMap<>();
+        int ruleCount = 0;
+        for (Map.Entry<String, List<ValidationRuleEntity>> entry : rulesByField.entrySet()) {
+            ValidationRulePlan.ColumnRules column = compileColumn(entry.getKey(), entry.getValue());
+            columns.put(entry.getKey(), column);
+            ruleCount += column.size();
+        }
+        
+        log.info("Compiled {} validation rules for {} fields", ruleCount, columns.size());
+        return new ValidationRulePlan(columns, ruleCount);
+    }
+    
+    /**
+     * Compile the enabled rules of one field in execution order; the input list is not modified.
+     */
+    private ValidationRulePlan.ColumnRules compileColumn(String fieldName, List<ValidationRuleEntity> rules) {
+        List<ValidationRuleEntity> enabled = new ArrayList<>(rules.size());
+        for (ValidationRuleEntity rule : rules) {
+            if ("Y".equals(rule.getEnabled())) {
+                enabled.add(rule);
+            }
+        }
+        enabled.sort(EXECUTION_ORDER);
+        
+        ValidationRulePlan.CompiledRule[] compiled = new ValidationRulePlan.CompiledRule[enabled.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            ValidationRuleEntity rule = enabled.get(i);
+            compiled[i] = new ValidationRulePlan.CompiledRule(rule, compileCheck(rule));
+        }
+        return new ValidationRulePlan.ColumnRules(fieldName, compiled);
+    }
+    
+    /**
+     * Resolve the configuration a rule needs per value. Rules whose configuration does not
+     * compile keep the per-call path so they report the same errors as before.
+     */
+    private ValidationRulePlan.FieldCheck compileCheck(ValidationRuleEntity rule) {
+        ValidationRulePlan.FieldCheck uncompiled = (name, value) -> validateFieldAgainstRule(name, value, rule);
+        if (rule.getRuleType() == null) {
+            return uncompiled;
+        }
+        
+        try {
+            switch (rule.getRuleType()) {
+                case PATTERN_VALIDATION:
+                    if (isBlank(rule.getPattern())) {
+                        return uncompiled;
+                    }
+                    Pattern pattern = ValidationPatterns.pattern(rule.getPattern());
+                    return (name, value) -> validatePattern(name, value, rule, pattern);
+                    
+                case DATE_FORMAT_VALIDATION:
+                    String datePattern = isBlank(rule.getPattern()) ? DEFAULT_DATE_PATTERN : rule.getPattern();
+                    DateTimeFormatter formatter = ValidationPatterns.formatter(datePattern);
+                    return (name, value) -> validateDateFormat(name, value, rule, datePattern, formatter);
+                    
+                case RANGE_VALIDATION:
+                    BigDecimal[] bounds = parseRange(rule.getValidationExpression());
+                    return (name, value) -> validateRange(name, value, rule, bounds);
+                    
+                default:
+                    return uncompiled;
+            }
+        } catch (Exception e) {
+            log.warn("Validation rule {} for field {} could not be precompiled: {}",
+                    rule.getRuleId(), rule.getFieldName(), e.getMessage());
+            return uncompiled;
+        }
+    }
+    
     /**
      * Validate a single field against all applicable rules.
      */
     public List<FieldValidationResult> validateField(String fieldName, String fieldValue, 
                                                    List<ValidationRuleEntity> rules) {
-        List<FieldValidationResult> results = new ArrayList<>();
-        
         if (rules == null || rules.isEmpty()) {
+            return validateField(fieldName, fieldValue, (ValidationRulePlan.ColumnRules) null);
+        }
+        return validateField(fieldName, fieldValue, compileColumn(fieldName, rules));
+    }
+    
+    /**
+     * Validate a single field against its compiled rules.
+     */
+    public List<FieldValidationResult> validateField(String fieldName, String fieldValue, 
+                                                   ValidationRulePlan.ColumnRules rules) {
+        List<FieldValidationResult> results = new ArrayList<>(rules != null ? rules.size() : 1);
+        
+        if (rules == null) {
             results.add(FieldValidationResult.success(fieldName, fieldValue));
             return results;
         }
@@ -60,19 +171,13 @@ public class ComprehensiveValidationEngine {
         log.debug("Validating field '{}' with value '{}' against {} rules", 
                  fieldName, fieldValue, rules.size());
         
-        // Sort rules by execution order
-        rules.sort((r1, r2) -> Integer.compare(r1.getExecutionOrder(), r2.getExecutionOrder()));
-        
-        for (ValidationRuleEntity rule : rules) {
-            if (!"Y".equals(rule.getEnabled())) {
-                continue;
-            }
-            
-            FieldValidationResult result = validateFieldAgainstRule(fieldName, fieldValue, rule);
+        for (int i = 0; i < rules.size(); i++) {
+            ValidationRulePlan.CompiledRule rule = rules.get(i);
+            FieldValidationResult result = applyRule(fieldName, fieldValue, rule);
             results.add(result);
             
             // Stop on first critical error if configured
-            if (!result.isValid() && "CRITICAL".equals(rule.getSeverity())) {
+            if (!result.isValid() && rule.isCritical()) {
                 log.error("Critical validation error for field {}: {}", fieldName, result.getErrorMessage());
                 break;
             }
@@ -81,6 +186,57 @@ public class ComprehensiveValidationEngine {
         return results;
     }
     
+    /**
+     * Resolve the referential integrity lookups of a chunk of records with set-based queries
+     * before the records are validated one by one. Lookup failures are logged and left to the
+     * per-value checks, which report them against the record.
+     */
+    public void prefetchReferences(ValidationRulePlan.ColumnRules[] columns, List<String[]> records) {
+        for (int c = 0; c < columns.length; c++) {
+            ValidationRulePlan.ColumnRules column = columns[c];
+            if (column == null) {
+                continue;
+            }
+            for (int r = 0; r < column.size(); r++) {
+                ValidationRuleEntity rule = column.get(r).getRule();
+                if (rule.getRuleType() != ValidationRuleEntity.RuleType.REFERENTIAL_INTEGRITY) {
+                    continue;
+                }
+                List<String> values = new ArrayList<>(records.size());
+                for (String[] record : records) {
+                    if (c < record.length) {
+                        values.add(record[c]);
+                    }
+                }
+                try {
+                    referentialIntegrityValidator.prefetch(rule, values);
+                } catch (Exception e) {
+                    log.warn("Batched referential integrity lookup failed for field {} rule {}: {}",
+                            column.getFieldName(), rule.getRuleId(), e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private FieldValidationResult applyRule(String fieldName, String fieldValue, 
+                                            ValidationRulePlan.CompiledRule compiled) {
+        try {
+            return compiled.getCheck().check(fieldName, fieldValue);
+        } catch (Exception e) {
+            ValidationRuleEntity rule = compiled.getRule();
+            log.error("Error validating field {} against rule {}: {}", 
+                     fieldName, rule.getRuleId(), e.getMessage());
+            
+            FieldValidationResult errorResult = new FieldValidationResult();
+            errorResult.setFieldName(fieldName);
+            errorResult.setFieldValue(fieldValue);
+            errorResult.setRuleId(rule.getRuleId());
+            errorResult.setValid(false);
+            errorResult.setErrorMessage("Validation error: " + e.getMessage());
+            return errorResult;
+        }
+    }
+    
     /**
      * Validate a field against a specific rule.
      */
@@ -239,9 +395,9 @@ public class ComprehensiveValidationEngine {
                         LocalDate.parse(fieldValue.trim());
                     } catch (DateTimeParseException e1) {
                         try {
-                            LocalDate.parse(fieldValue.trim(), DateTimeFormatter.ofPattern("MM/dd/yyyy"));
+                            LocalDate.parse(fieldValue.trim(), US_DATE);
                         } catch (DateTimeParseException e2) {
-                            LocalDate.parse(fieldValue.trim(), DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+                            LocalDate.parse(fieldValue.trim(), EU_DATE);
                         }
                     }
                     break;
@@ -294,18 +450,29 @@ public class ComprehensiveValidationEngine {
             return FieldValidationResult.success(fieldName, fieldValue);
         }
         
+        Pattern compiledPattern;
         try {
-            Pattern compiledPattern = Pattern.compile(pattern);
-            if (!compiledPattern.matcher(fieldValue).matches()) {
-                return FieldValidationResult.failure(fieldName, fieldValue,
-                    getErrorMessage(rule, String.format("%s does not match required pattern", fieldName)));
-            }
+            compiledPattern = ValidationPatterns.pattern(pattern);
         } catch (Exception e) {
             log.error("Invalid regex pattern for rule {}: {}", rule.getRuleId(), pattern);
             return FieldValidationResult.failure(fieldName, fieldValue,
                 "Invalid validation pattern configured");
         }
         
+        return validatePattern(fieldName, fieldValue, rule, compiledPattern);
+    }
+    
+    private FieldValidationResult validatePattern(String fieldName, String fieldValue, 
+                                                 ValidationRuleEntity rule, Pattern compiledPattern) {
+        if (fieldValue == null || fieldValue.trim().isEmpty()) {
+            return FieldValidationResult.success(fieldName, fieldValue);
+        }
+        
+        if (!compiledPattern.matcher(fieldValue).matches()) {
+            return FieldValidationResult.failure(fieldName, fieldValue,
+                getErrorMessage(rule, String.format("%s does not match required pattern", fieldName)));
+        }
+        
         return FieldValidationResult.success(fieldName, fieldValue);
     }
     
@@ -336,7 +503,7 @@ public class ComprehensiveValidationEngine {
         }
         
         // Remove common phone number separators for validation
-        String cleanPhone = fieldValue.replaceAll("[\\s\\-\\(\\)\\.]", "");
+        String cleanPhone = PHONE_SEPARATORS.matcher(fieldValue).replaceAll("");
         
         if (!PHONE_PATTERN.matcher(cleanPhone).matches()) {
             return FieldValidationResult.failure(fieldName, fieldValue,
@@ -391,11 +558,20 @@ public class ComprehensiveValidationEngine {
         
         String pattern = rule.getPattern();
         if (pattern == null || pattern.trim().isEmpty()) {
-            pattern = "yyyy-MM-dd"; // Default pattern
+            pattern = DEFAULT_DATE_PATTERN;
+        }
+        
+        return validateDateFormat(fieldName, fieldValue, rule, pattern, ValidationPatterns.formatter(pattern));
+    }
+    
+    private FieldValidationResult validateDateFormat(String fieldName, String fieldValue, 
+                                                    ValidationRuleEntity rule, String pattern,
+                                                    DateTimeFormatter formatter) {
+        if (fieldValue == null || fieldValue.trim().isEmpty()) {
+            return FieldValidationResult.success(fieldName, fieldValue);
         }
         
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
             LocalDate.parse(fieldValue.trim(), formatter);
             return FieldValidationResult.success(fieldName, fieldValue);
         } catch (DateTimeParseException e) {
@@ -413,24 +589,27 @@ public class ComprehensiveValidationEngine {
             return FieldValidationResult.success(fieldName, fieldValue);
         }
         
+        try {
+            return validateRange(fieldName, fieldValue, rule, parseRange(rule.getValidationExpression()));
+        } catch (NumberFormatException e) {
+            return FieldValidationResult.failure(fieldName, fieldValue,
+                getErrorMessage(rule, fieldName + " must be a valid number for range validation"));
+        }
+    }
+    
+    private FieldValidationResult validateRange(String fieldName, String fieldValue, 
+                                               ValidationRuleEntity rule, BigDecimal[] bounds) {
+        if (fieldValue == null || fieldValue.trim().isEmpty()) {
+            return FieldValidationResult.success(fieldName, fieldValue);
+        }
+        
         try {
             BigDecimal value = new BigDecimal(fieldValue.trim());
-            String validationExpression = rule.getValidationExpression();
             
-            if (validationExpression != null && !validationExpression.trim().isEmpty()) {
-                // Parse range expression like "1-100" or ">0" or ">=1,<=100"
-                if (validationExpression.contains("-") && !validationExpression.startsWith("-")) {
-                    String[] range = validationExpression.split("-");
-                    BigDecimal min = new BigDecimal(range[0].trim());
-                    BigDecimal max = new BigDecimal(range[1].trim());
-                    
-                    if (value.compareTo(min) < 0 || value.compareTo(max) > 0) {
-                        return FieldValidationResult.failure(fieldName, fieldValue,
-                            getErrorMessage(rule, String.format("%s must be between %s and %s", 
-                                fieldName, min, max)));
-                    }
-                }
-                // Add more range validation logic as needed
+            if (bounds != null && (value.compareTo(bounds[0]) < 0 || value.compareTo(bounds[1]) > 0)) {
+                return FieldValidationResult.failure(fieldName, fieldValue,
+                    getErrorMessage(rule, String.format("%s must be between %s and %s", 
+                        fieldName, bounds[0], bounds[1])));
             }
             
             return FieldValidationResult.success(fieldName, fieldValue);
@@ -441,6 +620,19 @@ public class ComprehensiveValidationEngine {
         }
     }
     
+    /**
+     * Parse a range expression like "1-100" into its bounds; other forms (">0", ">=1,<=100")
+     * are not evaluated yet and yield null.
+     */
+    private static BigDecimal[] parseRange(String validationExpression) {
+        if (validationExpression == null || validationExpression.trim().isEmpty()
+                || !validationExpression.contains("-") || validationExpression.startsWith("-")) {
+            return null;
+        }
+        String[] range = validationExpression.split("-");
+        return new BigDecimal[] { new BigDecimal(range[0].trim()), new BigDecimal(range[1].trim()) };
+    }
+    
     /**
      * Validate unique field (placeholder - would need database check).
      */
@@ -462,7 +654,7 @@ public class ComprehensiveValidationEngine {
         }
         
         // Basic account number validation - alphanumeric
-        if (!fieldValue.matches("^[A-Za-z0-9]+$")) {
+        if (!ACCOUNT_NUMBER_PATTERN.matcher(fieldValue).matches()) {
             return FieldValidationResult.failure(fieldName, fieldValue,
                 getErrorMessage(rule, fieldName + " must contain only letters and numbers"));
         }
@@ -490,31 +682,44 @@ public class ComprehensiveValidationEngine {
         return (message != null && !message.trim().isEmpty()) ? message : defaultMessage;
     }
     
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+    
     /**
-     * Validate multiple fields with configurable error threshold.
+     * Validate one record by column index. {@code columns} comes from
+     * {@link ValidationRulePlan#bind(String[])} for the record layout; values beyond the
+     * bound columns are validated as having no rules.
      */
-    public ValidationSummary validateFields(Map<String, String> fieldValues, 
-                                          Map<String, List<ValidationRuleEntity>> fieldRules,
-                                          int errorThreshold) {
+    public ValidationSummary validateRecord(String[] fieldNames, String[] fieldValues,
+                                            ValidationRulePlan.ColumnRules[] columns, int errorThreshold) {
         ValidationSummary summary = new ValidationSummary();
+        Map<String, List<FieldValidationResult>> fieldResults = new HashMap<>();
+        summary.setFieldResults(fieldResults);
         int errorCount = 0;
         int warningCount = 0;
+        int fieldsWithErrors = 0;
         
-        for (Map.Entry<String, String> field : fieldValues.entrySet()) {
-            String fieldName = field.getKey();
-            String fieldValue = field.getValue();
-            List<ValidationRuleEntity> rules = fieldRules.get(fieldName);
-            
-            List<FieldValidationResult> results = validateField(fieldName, fieldValue, rules);
-            summary.addFieldResults(fieldName, results);
+        for (int i = 0; i < fieldValues.length; i++) {
+            String fieldName = fieldNames[i];
+            List<FieldValidationResult> results = validateField(fieldName, fieldValues[i],
+                i < columns.length ? columns[i] : null);
+            fieldResults.put(fieldName, results);
             
+            boolean fieldHasErrors = false;
             for (FieldValidationResult result : results) {
                 if (!result.isValid()) {
                     errorCount++;
+                    fieldHasErrors = true;
+                    summary.getAllErrors().add(result);
                 } else if (result.hasWarnings()) {
                     warningCount++;
+                    summary.getAllWarnings().add(result);
                 }
             }
+            if (fieldHasErrors) {
+                fieldsWithErrors++;
+            }
             
             // Check error threshold
             if (errorThreshold > 0 && errorCount >= errorThreshold) {
@@ -527,8 +732,9 @@ public class ComprehensiveValidationEngine {
         
         summary.setTotalErrors(errorCount);
         summary.setTotalWarnings(warningCount);
-        summary.setTotalFields(fieldValues.size());
+        summary.setTotalFields(fieldValues.length);
+        summary.setValidFields(fieldValues.length - fieldsWithErrors);
         
         return summary;
     }
-}
\ No newline at end of file
+}
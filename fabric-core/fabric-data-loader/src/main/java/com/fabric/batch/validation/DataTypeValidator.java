@@ -33,6 +33,8 @@ public class DataTypeValidator {
     private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile(
         "^[0-9]{8,20}$");
     
+    private static final Pattern NUMBER_SEPARATORS = Pattern.compile("[,\\s]");
+    
     /**
      * Validate field value against data type rules.
      */
@@ -130,7 +132,7 @@ public class DataTypeValidator {
         // Check for any specific format requirements
         if (rule.getFormat() != null && !rule.getFormat().trim().isEmpty()) {
             try {
-                Pattern pattern = Pattern.compile(rule.getFormat());
+                Pattern pattern = ValidationPatterns.pattern(rule.getFormat());
                 if (!pattern.matcher(fieldValue).matches()) {
                     result.setValid(false);
                     result.setErrorMessage(getErrorMessage(rule, 
@@ -155,7 +157,7 @@ public class DataTypeValidator {
         
         try {
             // Remove any thousand separators
-            String cleanValue = fieldValue.replaceAll("[,\\s]", "");
+            String cleanValue = NUMBER_SEPARATORS.matcher(fieldValue).replaceAll("");
             
             // Check for decimal point (not allowed in integer)
             if (cleanValue.contains(".")) {
@@ -200,7 +202,7 @@ public class DataTypeValidator {
         
         try {
             // Remove any thousand separators but keep decimal point
-            String cleanValue = fieldValue.replaceAll("[,\\s]", "");
+            String cleanValue = NUMBER_SEPARATORS.matcher(fieldValue).replaceAll("");
             
             BigDecimal decimalValue = new BigDecimal(cleanValue);
             
@@ -265,7 +267,7 @@ public class DataTypeValidator {
         
         try {
             // Try Java 8 LocalDate first
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
+            DateTimeFormatter formatter = ValidationPatterns.formatter(dateFormat);
             LocalDate date = LocalDate.parse(fieldValue, formatter);
             
             // Additional date validations can be added here
@@ -300,7 +302,7 @@ public class DataTypeValidator {
         String dateTimeFormat = rule.getFormat() != null ? rule.getFormat() : "yyyy-MM-dd HH:mm:ss";
         
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateTimeFormat);
+            DateTimeFormatter formatter = ValidationPatterns.formatter(dateTimeFormat);
             LocalDateTime dateTime = LocalDateTime.parse(fieldValue, formatter);
             
             result.setValid(true);
@@ -430,7 +432,7 @@ public class DataTypeValidator {
         
         if (rule.getValidationExpression() != null) {
             try {
-                Pattern pattern = Pattern.compile(rule.getValidationExpression());
+                Pattern pattern = ValidationPatterns.pattern(rule.getValidationExpression());
                 if (pattern.matcher(fieldValue).matches()) {
                     result.setValid(true);
                 } else {
@@ -460,11 +462,9 @@ public class DataTypeValidator {
         
         try {
             // Parse range expression (e.g., "0,100" or "MIN:0,MAX:100")
-            String[] parts = rangeExpression.split(",");
-            if (parts.length == 2) {
-                double min = Double.parseDouble(parts[0].trim());
-                double max = Double.parseDouble(parts[1].trim());
-                return value >= min && value <= max;
+            double[] bounds = ValidationPatterns.bounds(rangeExpression);
+            if (bounds != null) {
+                return value >= bounds[0] && value <= bounds[1];
             }
         } catch (Exception e) {
             log.warn("Invalid range expression: {}", rangeExpression);
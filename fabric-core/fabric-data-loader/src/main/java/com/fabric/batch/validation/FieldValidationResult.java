@@ -19,6 +19,7 @@ public class FieldValidationResult {
     private String transformedValue;  // If rule transforms the value
     private String validationType;    // Type of validation performed
     private com.fabric.batch.entity.ValidationRuleEntity.Severity severity; // Severity level
+    private Long lineNumber;          // File line of the record, when validated from a file
     
     public FieldValidationResult(String fieldName, String fieldValue, boolean valid) {
         this.fieldName = fieldName;
@@ -0,0 +1,250 @@
+package com.fabric.batch.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Splits a line-oriented file into byte ranges that start and end on line boundaries and
+ * scans the ranges in parallel on a fork-join pool.
+ *
+ * Each range is read with its own positional channel and BufferedReader and folds its lines
+ * into a caller supplied state object. Results come back in file order together with the
+ * number of lines each range held, so callers can rebase range-relative line numbers to
+ * exact file line numbers when merging.
+ *
+ * Cuts are found by searching for {@code '\n'} bytes, so splitting requires an ASCII
+ * compatible charset (UTF-8, ISO-8859-x, ...); other charsets are scanned as one range.
+ */
+@Slf4j
+public final class FileRangeScanner {
+
+    public static final long DEFAULT_MIN_RANGE_BYTES = 64L << 20;
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private FileRangeScanner() {
+    }
+
+    /**
+     * Receives the lines of one range. Returning false stops visiting that range; the
+     * remaining lines are still counted so later ranges keep exact line numbers.
+     */
+    @FunctionalInterface
+    public interface LineVisitor<S> {
+        boolean visit(S state, long lineInRange, String line) throws Exception;
+    }
+
+    /**
+     * Byte range {@code [start, end)} of whole lines; the first range may begin with
+     * header lines to skip.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static final class FileRange {
+        private final int index;
+        private final long start;
+        private final long end;
+        private final int skipLines;
+    }
+
+    /**
+     * Outcome of scanning one range.
+     */
+    @Getter
+    @ToString(exclude = "state")
+    public static final class RangeResult<S> {
+        private final FileRange range;
+        private final S state;
+        private final long lineCount;
+        private final boolean stopped;
+        /** 0-based index of the range's first data line among all data lines of the file */
+        private long firstLineIndex;
+
+        RangeResult(FileRange range, S state, long lineCount, boolean stopped) {
+            this.range = range;
+            this.state = state;
+            this.lineCount = lineCount;
+            this.stopped = stopped;
+        }
+    }
+
+    /**
+     * Cuts the file into at most {@code maxRanges} ranges of at least {@code minRangeBytes}.
+     */
+    public static List<FileRange> split(Path file, Charset charset, int headerLines, int maxRanges,
+                                        long minRangeBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) Math.max(1, Math.min(maxRanges, size / Math.max(1, minRangeBytes)));
+            List<FileRange> ranges = new ArrayList<>(count);
+            if (count == 1 || !isAsciiCompatible(charset)) {
+                ranges.add(new FileRange(0, 0, size, headerLines));
+                return ranges;
+            }
+
+            long start = 0;
+            for (int i = 1; i < count; i++) {
+                long cut = nextLineStart(channel, size * i / count, size);
+                if (cut <= start) {
+                    continue;
+                }
+                if (cut >= size) {
+                    break;
+                }
+                ranges.add(new FileRange(ranges.size(), start, cut, ranges.isEmpty() ? headerLines : 0));
+                start = cut;
+            }
+            ranges.add(new FileRange(ranges.size(), start, size, ranges.isEmpty() ? headerLines : 0));
+            return ranges;
+        }
+    }
+
+    /**
+     * Scans the ranges on a pool of {@code parallelism} workers and returns the results in
+     * range order with {@link RangeResult#getFirstLineIndex()} filled in.
+     */
+    public static <S> List<RangeResult<S>> scan(Path file, Charset charset, List<FileRange> ranges, int parallelism,
+                                                Supplier<S> stateFactory, LineVisitor<S> visitor) throws IOException {
+        List<RangeResult<S>> results = new ArrayList<>(ranges.size());
+        if (ranges.size() == 1) {
+            results.add(scanRange(file, charset, ranges.get(0), stateFactory.get(), visitor));
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, ranges.size())));
+            try {
+                List<ForkJoinTask<RangeResult<S>>> tasks = new ArrayList<>(ranges.size());
+                for (FileRange range : ranges) {
+                    tasks.add(pool.submit(() -> scanRange(file, charset, range, stateFactory.get(), visitor)));
+                }
+                for (ForkJoinTask<RangeResult<S>> task : tasks) {
+                    results.add(task.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while scanning " + file, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        long firstLine = 0;
+        for (RangeResult<S> result : results) {
+            result.firstLineIndex = firstLine;
+            firstLine += result.lineCount;
+        }
+        return results;
+    }
+
+    private static <S> RangeResult<S> scanRange(Path file, Charset charset, FileRange range, S state,
+                                                LineVisitor<S> visitor) {
+        long lines = 0;
+        boolean stopped = false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     new RangeInputStream(channel, range.getStart(), range.getEnd()), charset), READ_BUFFER_SIZE)) {
+            for (int i = 0; i < range.getSkipLines() && reader.readLine() != null; i++) {
+                // header line
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!stopped && !visitor.visit(state, lines, line)) {
+                    stopped = true;
+                }
+                lines++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed scanning range " + range, e);
+        }
+        log.debug("Scanned range {} of {}: {} lines{}", range.getIndex(), file, lines, stopped ? " (stopped)" : "");
+        return new RangeResult<>(range, state, lines, stopped);
+    }
+
+    /**
+     * @return offset just after the first {@code '\n'} at or after {@code position - 1}
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long offset = Math.max(0, position - 1);
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        byte[] newline = "\n".getBytes(charset);
+        return newline.length == 1 && newline[0] == '\n';
+    }
+
+    /**
+     * Reads {@code [start, end)} of a channel with positional reads.
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int count = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fabric.batch.validation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size and time bounded cache of referential integrity lookup results.
+ *
+ * Entries are kept in access order and the least recently used entry is evicted once the
+ * cache is full; entries older than the time to live are treated as misses and dropped.
+ * Keys are the lookup (reference table/column or lookup SQL) plus the looked up value, so
+ * all lookups share one bound. Access is synchronized: a lookup costs far less than the
+ * database round trip it saves.
+ */
+public class ReferenceLookupCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public ReferenceLookupCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(Math.min(this.maxEntries, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ReferenceLookupCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached result, or null when the value is not cached or has expired
+     */
+    public Boolean get(String lookup, String value) {
+        Key key = new Key(lookup, value);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.exists;
+        }
+    }
+
+    /**
+     * Whether a live result is cached, without counting a hit or miss. Used to pick the
+     * values a prefetch has to query; the entry is marked as recently used, so the lookup
+     * that follows finds it even if the prefetch evicts older entries.
+     */
+    public boolean contains(String lookup, String value) {
+        Key key = new Key(lookup, value);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                return false;
+            }
+            return entry != null;
+        }
+    }
+
+    public void put(String lookup, String value, boolean exists) {
+        Entry entry = new Entry(exists, System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(new Key(lookup, value), entry);
+        }
+    }
+
+    public void putAll(String lookup, Map<String, Boolean> results) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Map.Entry<String, Boolean> result : results.entrySet()) {
+                entries.put(new Key(lookup, result.getKey()), new Entry(result.getValue(), now));
+            }
+        }
+    }
+
+    /**
+     * Drops expired entries; they are otherwise only dropped when read or evicted.
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (isExpired(iterator.next(), now)) {
+                    iterator.remove();
+                    purged++;
+                }
+            }
+        }
+        expirations.addAndGet(purged);
+        return purged;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMs", ttlMillis);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        return stats;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMillis > 0 && now - entry.cachedAt > ttlMillis;
+    }
+
+    private record Key(String lookup, String value) {
+    }
+
+    private record Entry(boolean exists, long cachedAt) {
+    }
+}
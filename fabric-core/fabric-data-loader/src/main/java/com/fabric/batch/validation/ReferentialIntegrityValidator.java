@@ -3,18 +3,41 @@ package com.fabric.batch.validation;
 import com.fabric.batch.entity.ValidationRuleEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Validator for referential integrity checks against database tables.
  * Includes caching mechanisms for performance optimization.
+ *
+ * Lookup results go to a size and time bounded LRU cache. Callers validating many records
+ * should {@link #prefetch(ValidationRuleEntity, Collection) prefetch} the distinct values
+ * of a chunk first, which resolves them with one {@code IN (...)} query per batch instead of
+ * one query per value. Reference tables with at most {@code preload-max-rows} rows are
+ * loaded into memory once and checked without any query.
+ *
+ * Values matched in Java (prefetched and preloaded ones) are compared in the form the
+ * database would use: numeric columns by numeric value ("0042" matches 42) and CHAR
+ * columns without their blank padding.
  */
 @Slf4j
 @Component
@@ -23,15 +46,42 @@ public class ReferentialIntegrityValidator {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Value("${data-loader.referential-integrity.cache-size:100000}")
+    private int cacheSize;
+    
+    @Value("${data-loader.referential-integrity.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+    
+    /** Maximum number of values per IN list; Oracle allows 1000 */
+    @Value("${data-loader.referential-integrity.batch-size:1000}")
+    private int batchSize;
+    
+    /** Reference tables with at most this many rows are held in memory; 0 disables preloading */
+    @Value("${data-loader.referential-integrity.preload-max-rows:0}")
+    private int preloadMaxRows;
+    
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9_]*$");
+    
+    /** IN list sizes that batches are padded to, so the database sees few distinct statements */
+    private static final int[] IN_LIST_SIZES = {1, 8, 64, 256};
+    
     // Cache for lookup results to improve performance
-    private final Map<String, Map<String, Boolean>> lookupCache = new ConcurrentHashMap<>();
+    private ReferenceLookupCache lookupCache;
+    
+    // Reference tables held in memory, by table.column; null values mark a table too large to preload
+    private final Map<String, PreloadedTable> preloadedTables = new ConcurrentHashMap<>();
     
-    // Cache configuration
-    private static final int MAX_CACHE_SIZE = 10000;
-    private static final long CACHE_EXPIRY_MS = 300000; // 5 minutes
+    // How values of each reference column compare, by table.column
+    private final Map<String, ColumnType> columnTypes = new ConcurrentHashMap<>();
     
-    // Cache metadata
-    private final Map<String, Long> cacheTimestamps = new ConcurrentHashMap<>();
+    private final AtomicLong singleLookups = new AtomicLong();
+    private final AtomicLong batchLookups = new AtomicLong();
+    private final AtomicLong preloadHits = new AtomicLong();
+    
+    @PostConstruct
+    public void initialize() {
+        lookupCache = new ReferenceLookupCache(cacheSize, cacheTtlSeconds * 1000);
+    }
     
     /**
      * Validate field value against referential integrity constraints.
@@ -94,22 +144,24 @@ public class ReferentialIntegrityValidator {
     private boolean executeCustomLookupSql(String fieldValue, String lookupSql, ValidationRuleEntity rule) {
         try {
             // Check cache first
-            String cacheKey = getCacheKey(lookupSql, fieldValue);
-            Boolean cachedResult = getCachedResult(cacheKey);
+            Boolean cachedResult = lookupCache.get(lookupSql, fieldValue);
             if (cachedResult != null) {
-                log.debug("Cache hit for referential integrity check: {}", cacheKey);
+                log.debug("Cache hit for referential integrity check: {}", fieldValue);
                 return cachedResult;
             }
             
             // Replace placeholders in SQL
             String sql = prepareLookupSql(lookupSql, fieldValue);
             
-            // Execute query
-            List<Map<String, Object>> results = jdbcTemplate.queryForList(sql);
+            // Execute query, binding the value to each placeholder
+            Object[] args = new Object[countPlaceholders(sql)];
+            Arrays.fill(args, fieldValue);
+            List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, args);
             boolean exists = !results.isEmpty();
+            singleLookups.incrementAndGet();
             
             // Cache result
-            cacheResult(cacheKey, exists);
+            lookupCache.put(lookupSql, fieldValue, exists);
             
             log.debug("Referential integrity check - SQL: {}, Value: {}, Exists: {}", sql, fieldValue, exists);
             return exists;
@@ -129,11 +181,20 @@ public class ReferentialIntegrityValidator {
     private boolean executeTableColumnLookup(String fieldValue, String referenceTable, 
                                            String referenceColumn, ValidationRuleEntity rule) {
         try {
+            String lookup = referenceTable + "." + referenceColumn;
+            
+            // Small reference tables are checked in memory
+            PreloadedTable preloaded = getPreloadedTable(referenceTable, referenceColumn);
+            if (preloaded != null) {
+                preloadHits.incrementAndGet();
+                String key = normalize(fieldValue, preloaded.kind);
+                return key != null && preloaded.values.contains(key);
+            }
+            
             // Check cache first
-            String cacheKey = getCacheKey(referenceTable + "." + referenceColumn, fieldValue);
-            Boolean cachedResult = getCachedResult(cacheKey);
+            Boolean cachedResult = lookupCache.get(lookup, fieldValue);
             if (cachedResult != null) {
-                log.debug("Cache hit for table/column lookup: {}", cacheKey);
+                log.debug("Cache hit for table/column lookup: {} = {}", lookup, fieldValue);
                 return cachedResult;
             }
             
@@ -143,9 +204,10 @@ public class ReferentialIntegrityValidator {
             // Execute query
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, fieldValue);
             boolean exists = count != null && count > 0;
+            singleLookups.incrementAndGet();
             
             // Cache result
-            cacheResult(cacheKey, exists);
+            lookupCache.put(lookup, fieldValue, exists);
             
             log.debug("Referential integrity check - Table: {}, Column: {}, Value: {}, Exists: {}", 
                      referenceTable, referenceColumn, fieldValue, exists);
@@ -160,6 +222,244 @@ public class ReferentialIntegrityValidator {
         }
     }
     
+    /**
+     * Resolve a chunk of values for a table/column rule with set-based queries and cache the
+     * results, so that the per-value {@link #validate} calls that follow are cache hits.
+     * Rules using custom lookup SQL cannot be batched and are left to per-value lookups.
+     *
+     * @return number of values that had to be queried
+     */
+    public int prefetch(ValidationRuleEntity rule, Collection<String> values) {
+        String referenceTable = rule.getReferenceTable();
+        String referenceColumn = rule.getReferenceColumn();
+        if (referenceTable == null || referenceColumn == null
+                || (rule.getLookupSql() != null && !rule.getLookupSql().trim().isEmpty())) {
+            return 0;
+        }
+        if (getPreloadedTable(referenceTable, referenceColumn) != null) {
+            return 0;
+        }
+        
+        ColumnType columnType = getColumnType(referenceTable, referenceColumn);
+        ColumnKind kind = columnType.kind();
+        String lookup = referenceTable + "." + referenceColumn;
+        List<String> missing = new ArrayList<>();
+        for (String value : new LinkedHashSet<>(values)) {
+            if (value != null && !value.trim().isEmpty() && !lookupCache.contains(lookup, value)) {
+                missing.add(value);
+            }
+        }
+        
+        int chunk = Math.max(1, Math.min(batchSize, 1000));
+        for (int from = 0; from < missing.size(); from += chunk) {
+            List<String> batch = missing.subList(from, Math.min(from + chunk, missing.size()));
+            Map<String, Boolean> results = new HashMap<>(batch.size() * 2);
+            List<Object> args = new ArrayList<>(batch.size());
+            for (String value : batch) {
+                String key = normalize(value, kind);
+                if (key == null) {
+                    // Not a number, so it cannot be in a numeric column
+                    results.put(value, false);
+                } else {
+                    args.add(columnType.bindValue(key));
+                }
+            }
+            Set<String> found = args.isEmpty() ? Set.of() : queryExisting(referenceTable, referenceColumn, args, kind);
+            for (String value : batch) {
+                results.putIfAbsent(value, found.contains(normalize(value, kind)));
+            }
+            lookupCache.putAll(lookup, results);
+        }
+        
+        if (!missing.isEmpty()) {
+            log.debug("Prefetched {} of {} values for {}", missing.size(), values.size(), lookup);
+        }
+        return missing.size();
+    }
+    
+    /**
+     * Return the values of {@code batch} present in the reference column, with one query,
+     * in their normalized form.
+     */
+    private Set<String> queryExisting(String referenceTable, String referenceColumn, List<Object> batch,
+                                      ColumnKind kind) {
+        validateIdentifier(referenceTable, "table");
+        validateIdentifier(referenceColumn, "column");
+        
+        int size = IN_LIST_SIZES[IN_LIST_SIZES.length - 1];
+        for (int candidate : IN_LIST_SIZES) {
+            if (candidate >= batch.size()) {
+                size = candidate;
+                break;
+            }
+        }
+        size = Math.max(size, batch.size());
+        
+        // Pad with the last value so batches of similar size share one statement
+        Object[] args = new Object[size];
+        for (int i = 0; i < size; i++) {
+            args[i] = batch.get(Math.min(i, batch.size() - 1));
+        }
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT ").append(referenceColumn)
+            .append(" FROM ").append(referenceTable)
+            .append(" WHERE ").append(referenceColumn).append(" IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        
+        batchLookups.incrementAndGet();
+        return normalizeAll(jdbcTemplate.queryForList(sql.toString(), Object.class, args), kind);
+    }
+    
+    /**
+     * Return the type of a reference column, reading it once.
+     */
+    private ColumnType getColumnType(String referenceTable, String referenceColumn) {
+        return columnTypes.computeIfAbsent(referenceTable + "." + referenceColumn, key -> {
+            validateIdentifier(referenceTable, "table");
+            validateIdentifier(referenceColumn, "column");
+            return jdbcTemplate.query(
+                String.format("SELECT %s FROM %s WHERE 1 = 0", referenceColumn, referenceTable),
+                (ResultSetExtractor<ColumnType>) rs -> new ColumnType(
+                    columnKindOf(rs.getMetaData().getColumnType(1)), rs.getMetaData().getPrecision(1)));
+        });
+    }
+    
+    static ColumnKind columnKindOf(int sqlType) {
+        switch (sqlType) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return ColumnKind.NUMERIC;
+            case Types.CHAR:
+            case Types.NCHAR:
+                return ColumnKind.FIXED_CHAR;
+            default:
+                return ColumnKind.TEXT;
+        }
+    }
+    
+    /**
+     * Canonical form of a value for comparison with a column of the given kind: numbers
+     * without leading or trailing zeros, CHAR values without trailing blanks. Null when the
+     * value cannot occur in the column.
+     */
+    static String normalize(Object value, ColumnKind kind) {
+        if (value == null) {
+            return null;
+        }
+        switch (kind) {
+            case NUMERIC:
+                try {
+                    BigDecimal number = value instanceof BigDecimal
+                        ? (BigDecimal) value : new BigDecimal(value.toString().trim());
+                    return number.stripTrailingZeros().toPlainString();
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            case FIXED_CHAR:
+                return value.toString().stripTrailing();
+            default:
+                return value.toString();
+        }
+    }
+    
+    private static Set<String> normalizeAll(List<Object> values, ColumnKind kind) {
+        Set<String> normalized = new HashSet<>(values.size() * 2);
+        for (Object value : values) {
+            String key = normalize(value, kind);
+            if (key != null) {
+                normalized.add(key);
+            }
+        }
+        return normalized;
+    }
+    
+    enum ColumnKind {
+        NUMERIC,
+        FIXED_CHAR,
+        TEXT
+    }
+    
+    record ColumnType(ColumnKind kind, int length) {
+        
+        /**
+         * Value to bind for a normalized key. CHAR keys are padded to the column length,
+         * since a string bind is compared without blank padding.
+         */
+        Object bindValue(String key) {
+            switch (kind) {
+                case NUMERIC:
+                    return new BigDecimal(key);
+                case FIXED_CHAR:
+                    return key.length() < length ? key + " ".repeat(length - key.length()) : key;
+                default:
+                    return key;
+            }
+        }
+    }
+    
+    /**
+     * Return the in-memory values of a small reference table, loading them on first use and
+     * again once they are older than the cache time to live; null when preloading is disabled
+     * or the table is too large.
+     */
+    private PreloadedTable getPreloadedTable(String referenceTable, String referenceColumn) {
+        if (preloadMaxRows <= 0) {
+            return null;
+        }
+        String lookup = referenceTable + "." + referenceColumn;
+        long now = System.currentTimeMillis();
+        PreloadedTable table = preloadedTables.get(lookup);
+        if (table == null || isStale(table, now)) {
+            table = preloadedTables.compute(lookup, (key, current) -> current != null && !isStale(current, now)
+                ? current : loadReferenceTable(referenceTable, referenceColumn, now));
+        }
+        return table.values != null ? table : null;
+    }
+    
+    private boolean isStale(PreloadedTable table, long now) {
+        return cacheTtlSeconds > 0 && now - table.loadedAt > cacheTtlSeconds * 1000;
+    }
+    
+    private PreloadedTable loadReferenceTable(String referenceTable, String referenceColumn, long now) {
+        validateIdentifier(referenceTable, "table");
+        validateIdentifier(referenceColumn, "column");
+        
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + referenceTable, Integer.class);
+        if (rows == null || rows > preloadMaxRows) {
+            log.info("Reference table {} has {} rows, above the preload limit of {}; using batched lookups",
+                referenceTable, rows, preloadMaxRows);
+            return new PreloadedTable(null, null, now);
+        }
+        
+        ColumnKind kind = getColumnType(referenceTable, referenceColumn).kind();
+        Set<String> values = normalizeAll(jdbcTemplate.queryForList(
+            String.format("SELECT DISTINCT %s FROM %s", referenceColumn, referenceTable), Object.class), kind);
+        log.info("Preloaded {} values of {}.{} for referential integrity checks",
+            values.size(), referenceTable, referenceColumn);
+        return new PreloadedTable(values, kind, now);
+    }
+    
+    private static final class PreloadedTable {
+        private final Set<String> values;
+        private final ColumnKind kind;
+        private final long loadedAt;
+        
+        private PreloadedTable(Set<String> values, ColumnKind kind, long loadedAt) {
+            this.values = values;
+            this.kind = kind;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
     /**
      * Prepare lookup SQL by replacing placeholders.
      */
@@ -176,6 +476,16 @@ public class ReferentialIntegrityValidator {
         return sql;
     }
     
+    private int countPlaceholders(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+    
     /**
      * Build SQL for table/column lookup.
      */
@@ -220,7 +530,7 @@ public class ReferentialIntegrityValidator {
         }
         
         // Check for valid identifier pattern (letters, numbers, underscores)
-        if (!identifier.matches("^[a-zA-Z][a-zA-Z0-9_]*$")) {
+        if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
             throw new IllegalArgumentException("Invalid " + type + " name: " + identifier);
         }
         
@@ -230,75 +540,6 @@ public class ReferentialIntegrityValidator {
         }
     }
     
-    /**
-     * Generate cache key for lookup result.
-     */
-    private String getCacheKey(String query, String value) {
-        return query.hashCode() + ":" + value;
-    }
-    
-    /**
-     * Get cached result if available and not expired.
-     */
-    private Boolean getCachedResult(String cacheKey) {
-        // Check if cache entry exists
-        Map<String, Boolean> queryCache = lookupCache.get(extractQueryFromKey(cacheKey));
-        if (queryCache == null) {
-            return null;
-        }
-        
-        // Check if result is cached
-        Boolean result = queryCache.get(cacheKey);
-        if (result == null) {
-            return null;
-        }
-        
-        // Check if cache entry is expired
-        Long timestamp = cacheTimestamps.get(cacheKey);
-        if (timestamp != null && (System.currentTimeMillis() - timestamp) > CACHE_EXPIRY_MS) {
-            // Remove expired entry
-            queryCache.remove(cacheKey);
-            cacheTimestamps.remove(cacheKey);
-            return null;
-        }
-        
-        return result;
-    }
-    
-    /**
-     * Cache lookup result.
-     */
-    private void cacheResult(String cacheKey, boolean result) {
-        try {
-            String query = extractQueryFromKey(cacheKey);
-            
-            // Get or create query cache
-            Map<String, Boolean> queryCache = lookupCache.computeIfAbsent(query, k -> new ConcurrentHashMap<>());
-            
-            // Check cache size limits
-            if (queryCache.size() >= MAX_CACHE_SIZE) {
-                // Remove oldest entries (simple FIFO)
-                queryCache.clear();
-                log.debug("Cleared cache for query due to size limit: {}", query);
-            }
-            
-            // Cache result
-            queryCache.put(cacheKey, result);
-            cacheTimestamps.put(cacheKey, System.currentTimeMillis());
-            
-        } catch (Exception e) {
-            log.warn("Error caching referential integrity result: {}", e.getMessage());
-        }
-    }
-    
-    /**
-     * Extract query identifier from cache key.
-     */
-    private String extractQueryFromKey(String cacheKey) {
-        int colonIndex = cacheKey.indexOf(':');
-        return colonIndex > 0 ? cacheKey.substring(0, colonIndex) : cacheKey;
-    }
-    
     /**
      * Get error message for referential integrity failure.
      */
@@ -327,7 +568,8 @@ public class ReferentialIntegrityValidator {
      */
     public void clearCache() {
         lookupCache.clear();
-        cacheTimestamps.clear();
+        preloadedTables.clear();
+        columnTypes.clear();
         log.info("Referential integrity validator cache cleared");
     }
     
@@ -335,18 +577,21 @@ public class ReferentialIntegrityValidator {
      * Get cache statistics for monitoring.
      */
     public Map<String, Object> getCacheStatistics() {
-        Map<String, Object> stats = new HashMap<>();
+        Map<String, Object> stats = new HashMap<>(lookupCache.getStatistics());
         
-        int totalEntries = 0;
-        for (Map<String, Boolean> queryCache : lookupCache.values()) {
-            totalEntries += queryCache.size();
+        int preloadedValues = 0;
+        for (PreloadedTable table : preloadedTables.values()) {
+            preloadedValues += table.values != null ? table.values.size() : 0;
         }
         
-        stats.put("queryCaches", lookupCache.size());
-        stats.put("totalCachedEntries", totalEntries);
-        stats.put("cacheTimestamps", cacheTimestamps.size());
-        stats.put("maxCacheSize", MAX_CACHE_SIZE);
-        stats.put("cacheExpiryMs", CACHE_EXPIRY_MS);
+        stats.put("totalCachedEntries", lookupCache.size());
+        stats.put("maxCacheSize", cacheSize);
+        stats.put("cacheExpiryMs", cacheTtlSeconds * 1000);
+        stats.put("singleLookups", singleLookups.get());
+        stats.put("batchLookups", batchLookups.get());
+        stats.put("preloadedTables", preloadedTables.size());
+        stats.put("preloadedValues", preloadedValues);
+        stats.put("preloadHits", preloadHits.get());
         
         return stats;
     }
@@ -360,6 +605,11 @@ public class ReferentialIntegrityValidator {
         
         for (ValidationRuleEntity rule : referentialRules) {
             if (rule.getRuleType() == ValidationRuleEntity.RuleType.REFERENTIAL_INTEGRITY) {
+                try {
+                    prefetch(rule, commonValues);
+                } catch (Exception e) {
+                    log.debug("Error during batched cache warm-up for rule {}: {}", rule.getRuleId(), e.getMessage());
+                }
                 for (String value : commonValues) {
                     try {
                         checkReferentialIntegrity(value, rule);
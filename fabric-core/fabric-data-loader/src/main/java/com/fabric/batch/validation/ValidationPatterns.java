@@ -0,0 +1,81 @@
+package com.fabric.batch.validation;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Shared cache of compiled regular expressions, date formatters and range bounds taken from validation
+ * rule configuration, so that validators applied to every field of every record never
+ * compile the same rule text twice.
+ *
+ * Rule text comes from configuration and is bounded in practice; the caches are cleared if
+ * they ever grow past {@link #MAX_ENTRIES} so that bad input cannot exhaust memory.
+ * Invalid expressions are not cached and keep failing the way {@code Pattern.compile}
+ * and {@code DateTimeFormatter.ofPattern} fail.
+ */
+public final class ValidationPatterns {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<String, double[]> BOUNDS = new ConcurrentHashMap<>();
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private ValidationPatterns() {
+    }
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException for an invalid expression
+     */
+    public static Pattern pattern(String regex) {
+        return cached(PATTERNS, regex, Pattern::compile);
+    }
+
+    /**
+     * @throws IllegalArgumentException for an invalid formatter pattern
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        return cached(FORMATTERS, pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Pattern matching a literal delimiter, e.g. for {@code Pattern.quote(delimiter)} splits.
+     */
+    public static Pattern literal(String delimiter) {
+        return pattern(Pattern.quote(delimiter));
+    }
+
+    /**
+     * Parses a {@code "min,max"} range expression.
+     *
+     * @return {@code [min, max]}, or null when the expression is not a two-part range
+     * @throws NumberFormatException when either bound is not a number
+     */
+    public static double[] bounds(String expression) {
+        double[] bounds = cached(BOUNDS, expression, ValidationPatterns::parseBounds);
+        return bounds.length == 0 ? null : bounds;
+    }
+
+    private static double[] parseBounds(String expression) {
+        String[] parts = expression.split(",");
+        if (parts.length != 2) {
+            return NO_BOUNDS;
+        }
+        return new double[] { Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()) };
+    }
+
+    private static <T> T cached(Map<String, T> cache, String key, Function<String, T> compiler) {
+        T value = cache.get(key);
+        if (value == null) {
+            if (cache.size() >= MAX_ENTRIES) {
+                cache.clear();
+            }
+            value = cache.computeIfAbsent(key, compiler);
+        }
+        return value;
+    }
+}
@@ -114,6 +114,17 @@ public class ValidationResult {
                               .merge(ruleType, 1, Integer::sum);
     }
     
+    /**
+     * Add the field error counts collected by another (partial) result.
+     */
+    public void mergeFieldErrorCounts(ValidationResult other) {
+        other.fieldErrorCounts.forEach((field, count) -> fieldErrorCounts.merge(field, count, Integer::sum));
+        other.fieldErrorCountsByType.forEach((field, byType) -> {
+            Map<String, Integer> target = fieldErrorCountsByType.computeIfAbsent(field, k -> new HashMap<>());
+            byType.forEach((type, count) -> target.merge(type, count, Integer::sum));
+        });
+    }
+    
     /**
      * Get total error count.
      */
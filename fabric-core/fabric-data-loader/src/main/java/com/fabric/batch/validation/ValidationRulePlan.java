@@ -0,0 +1,119 @@
+package com.fabric.batch.validation;
+
+import com.fabric.batch.entity.ValidationRuleEntity;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable set of validation rules compiled for one data load, built by
+ * {@link ComprehensiveValidationEngine#compileRules(java.util.List)}.
+ *
+ * Rules are grouped per field, filtered to enabled rules and ordered by execution order once;
+ * regular expressions, date formatters and range bounds are resolved up front so that
+ * validating a record does no rule parsing. A plan can be shared by all threads validating
+ * the same file.
+ */
+public final class ValidationRulePlan {
+
+    private static final ValidationRulePlan EMPTY = new ValidationRulePlan(Collections.emptyMap(), 0);
+
+    private final Map<String, ColumnRules> rulesByField;
+    private final int ruleCount;
+
+    ValidationRulePlan(Map<String, ColumnRules> rulesByField, int ruleCount) {
+        this.rulesByField = Collections.unmodifiableMap(rulesByField);
+        this.ruleCount = ruleCount;
+    }
+
+    public static ValidationRulePlan empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the compiled rules of a field, or null when no rules are configured for it
+     */
+    public ColumnRules rulesFor(String fieldName) {
+        return rulesByField.get(fieldName);
+    }
+
+    /**
+     * Resolves the rules of each column once, so records with this layout can be validated
+     * by column index.
+     */
+    public ColumnRules[] bind(String[] fieldNames) {
+        ColumnRules[] bound = new ColumnRules[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            bound[i] = rulesByField.get(fieldNames[i]);
+        }
+        return bound;
+    }
+
+    public int getFieldCount() {
+        return rulesByField.size();
+    }
+
+    /**
+     * Number of enabled rules in the plan.
+     */
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * Enabled rules of one field in execution order.
+     */
+    public static final class ColumnRules {
+        private final String fieldName;
+        private final CompiledRule[] rules;
+
+        ColumnRules(String fieldName, CompiledRule[] rules) {
+            this.fieldName = fieldName;
+            this.rules = rules;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public int size() {
+            return rules.length;
+        }
+
+        CompiledRule get(int index) {
+            return rules[index];
+        }
+    }
+
+    /**
+     * Validates one field value; implementations hold whatever the rule needed precompiled.
+     */
+    @FunctionalInterface
+    interface FieldCheck {
+        FieldValidationResult check(String fieldName, String fieldValue) throws Exception;
+    }
+
+    static final class CompiledRule {
+        private final ValidationRuleEntity rule;
+        private final FieldCheck check;
+        private final boolean critical;
+
+        CompiledRule(ValidationRuleEntity rule, FieldCheck check) {
+            this.rule = rule;
+            this.check = check;
+            this.critical = rule.getSeverity() == ValidationRuleEntity.Severity.CRITICAL;
+        }
+
+        ValidationRuleEntity getRule() {
+            return rule;
+        }
+
+        FieldCheck getCheck() {
+            return check;
+        }
+
+        boolean isCritical() {
+            return critical;
+        }
+    }
+}
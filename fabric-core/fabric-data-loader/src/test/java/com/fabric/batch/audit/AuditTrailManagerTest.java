@@ -0,0 +1,92 @@
+package com.fabric.batch.audit;
+
+import com.fabric.batch.entity.DataLoadAuditEntity;
+import com.fabric.batch.repository.DataLoadAuditRepositoryBridge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the event timestamps of buffered audit entries in AuditTrailManager.
+ */
+@DisplayName("Audit Trail Manager Tests")
+class AuditTrailManagerTest {
+
+    private final List<DataLoadAuditEntity> written = Collections.synchronizedList(new ArrayList<>());
+    private AuditTrailManager manager;
+
+    @BeforeEach
+    void setUp() {
+        DataLoadAuditRepositoryBridge repository = new DataLoadAuditRepositoryBridge() {
+            @Override
+            public void saveAll(List<DataLoadAuditEntity> auditEntries) {
+                auditEntries.forEach(DataLoadAuditEntity::onCreate);
+                written.addAll(auditEntries);
+            }
+        };
+
+        manager = new AuditTrailManager();
+        ReflectionTestUtils.setField(manager, "auditRepository", repository);
+        ReflectionTestUtils.setField(manager, "asyncAuditEnabled", true);
+        ReflectionTestUtils.setField(manager, "auditBufferCapacity", 100);
+        ReflectionTestUtils.setField(manager, "auditBatchSize", 100);
+        // Entries are written no earlier than the linger after the first one was recorded
+        ReflectionTestUtils.setField(manager, "auditLingerMs", 200L);
+        ReflectionTestUtils.setField(manager, "auditOverflowPolicy", AuditWriteBuffer.OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(manager, "auditBlockTimeoutMs", 1000L);
+        manager.initializeAuditBuffer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.closeAuditBuffer();
+    }
+
+    @Test
+    @DisplayName("Should keep the time an event was recorded, not the time it was flushed")
+    void shouldStampEventsWhenRecorded() throws InterruptedException {
+        LocalDateTime before = LocalDateTime.now();
+        String correlationId = manager.auditDataLoadStart("CFG-1", "JOB-1", "accounts.dat", "SHAW", "ACCOUNTS");
+        Thread.sleep(5);
+        manager.auditFileProcessing(correlationId, "parse", "Parse accounts", 10, 10, 0);
+        LocalDateTime recorded = LocalDateTime.now();
+
+        manager.flush();
+
+        assertEquals(2, written.size());
+        DataLoadAuditEntity start = written(DataLoadAuditEntity.AuditType.DATA_LINEAGE);
+        DataLoadAuditEntity processing = written(DataLoadAuditEntity.AuditType.DATA_TRANSFORMATION);
+        assertFalse(start.getAuditTimestamp().isBefore(before));
+        assertTrue(start.getAuditTimestamp().isBefore(processing.getAuditTimestamp()));
+        assertFalse(processing.getAuditTimestamp().isAfter(recorded));
+        assertNotNull(processing.getCreatedDate());
+    }
+
+    @Test
+    @DisplayName("Should not overwrite an audit timestamp that is already set")
+    void shouldKeepExistingAuditTimestamp() {
+        LocalDateTime eventTime = LocalDateTime.of(2024, 1, 15, 10, 30);
+        DataLoadAuditEntity audit = new DataLoadAuditEntity();
+        audit.setAuditTimestamp(eventTime);
+
+        audit.onCreate();
+
+        assertEquals(eventTime, audit.getAuditTimestamp());
+        assertNotNull(audit.getCreatedDate());
+    }
+
+    private DataLoadAuditEntity written(DataLoadAuditEntity.AuditType auditType) {
+        synchronized (written) {
+            return written.stream().filter(audit -> audit.getAuditType() == auditType).findFirst().orElseThrow();
+        }
+    }
+}
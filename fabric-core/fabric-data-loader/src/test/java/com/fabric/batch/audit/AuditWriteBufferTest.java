@@ -0,0 +1,73 @@
+package com.fabric.batch.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for batching, flushing and overflow handling in AuditWriteBuffer.
+ */
+@DisplayName("Audit Write Buffer Tests")
+class AuditWriteBufferTest {
+
+    @Test
+    @DisplayName("Should write queued entries in batches and flush the remainder")
+    void shouldWriteInBatchesAndFlush() {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        AuditWriteBuffer<Integer> buffer = new AuditWriteBuffer<>("test", batch -> batches.add(new ArrayList<>(batch)),
+            100, 4, 60000, AuditWriteBuffer.OverflowPolicy.BLOCK, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertTrue(buffer.flush(5000));
+
+        List<Integer> written = new ArrayList<>();
+        batches.forEach(written::addAll);
+        Collections.sort(written);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), written);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        assertEquals(10L, buffer.getStatistics().get("written"));
+
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("Should drop the newest entries when full and count them")
+    void shouldDropNewestWhenFull() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AuditWriteBuffer<Integer> buffer = new AuditWriteBuffer<>("test", batch -> {
+            writerBlocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 2, 1, 1, AuditWriteBuffer.OverflowPolicy.DROP_NEWEST, 0);
+
+        // First entry occupies the flusher, the next two fill the buffer
+        buffer.offer(0);
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+
+        release.countDown();
+        assertTrue(buffer.flush(5000));
+
+        Map<String, Object> stats = buffer.getStatistics();
+        assertEquals(1L, stats.get("dropped"));
+        assertEquals(3L, stats.get("written"));
+
+        buffer.close();
+    }
+}
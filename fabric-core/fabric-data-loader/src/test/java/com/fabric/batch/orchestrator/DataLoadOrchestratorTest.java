@@ -0,0 +1,102 @@
+package com.fabric.batch.orchestrator;
+
+import com.fabric.batch.audit.AuditTrailManager;
+import com.fabric.batch.entity.DataLoadConfigEntity;
+import com.fabric.batch.entity.ValidationRuleEntity;
+import com.fabric.batch.threshold.ErrorThresholdManager;
+import com.fabric.batch.validation.ComprehensiveValidationEngine;
+import com.fabric.batch.validation.FieldValidationResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the error threshold of the parallel file validation in DataLoadOrchestrator.
+ * The file is large enough to be validated in four 1 MB ranges.
+ */
+@DisplayName("Data Load Orchestrator Tests")
+class DataLoadOrchestratorTest {
+
+    private static final int RECORDS = 300_000;
+
+    // Data line indexes of records whose amount is out of range, spread over the ranges
+    private static final Set<Integer> BAD_RECORDS = Set.of(10, 150_000, 200_000, 290_000, 290_001);
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path dataFile;
+
+    @BeforeAll
+    static void writeDataFile() throws IOException {
+        dataFile = tempDir.resolve("accounts.dat");
+        try (BufferedWriter writer = Files.newBufferedWriter(dataFile, Charset.defaultCharset())) {
+            writer.write("ACCOUNT_ID|AMOUNT\n");
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write(String.format("ACC%07d|%d%n", i, BAD_RECORDS.contains(i) ? 500 : 50));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop at the record where the file reaches the error threshold in line order")
+    void shouldCutOffAtThresholdInLineOrder() throws IOException {
+        for (int parallelism : new int[] {4, 1}) {
+            DataLoadOrchestrator.FileProcessingResult result = validate(parallelism, 3);
+
+            // The third bad record, data line 200000, is the last one counted
+            assertEquals(200_001, result.getTotalRecords(), "parallelism " + parallelism);
+            assertEquals(3, result.getErrorRecords());
+            assertEquals(199_998, result.getValidRecords());
+            assertEquals(List.of(12L, 150_002L, 200_002L), result.getValidationSummary().getAllErrors().stream()
+                    .map(FieldValidationResult::getLineNumber).sorted().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate every range when no error threshold is configured")
+    void shouldValidateWholeFileWithoutThreshold() throws IOException {
+        DataLoadOrchestrator.FileProcessingResult result = validate(4, 0);
+
+        assertEquals(RECORDS, result.getTotalRecords());
+        assertEquals(5, result.getErrorRecords());
+        assertEquals(List.of(12L, 150_002L, 200_002L, 290_002L, 290_003L), result.getValidationSummary().getAllErrors()
+                .stream().map(FieldValidationResult::getLineNumber).sorted().toList());
+    }
+
+    private DataLoadOrchestrator.FileProcessingResult validate(int parallelism, int maxErrors) throws IOException {
+        DataLoadOrchestrator orchestrator = new DataLoadOrchestrator();
+        ReflectionTestUtils.setField(orchestrator, "validationEngine", new ComprehensiveValidationEngine());
+        ReflectionTestUtils.setField(orchestrator, "thresholdManager", new ErrorThresholdManager());
+        ReflectionTestUtils.setField(orchestrator, "auditTrailManager", mock(AuditTrailManager.class));
+        ReflectionTestUtils.setField(orchestrator, "validationParallelism", parallelism);
+        ReflectionTestUtils.setField(orchestrator, "validationMinRangeMb", 1L);
+        ReflectionTestUtils.setField(orchestrator, "validationChunkSize", 1000);
+
+        DataLoadConfigEntity config = new DataLoadConfigEntity();
+        config.setConfigId("ACCOUNTS");
+        config.setMaxErrors(maxErrors);
+
+        ValidationRuleEntity amountRange = new ValidationRuleEntity();
+        amountRange.setRuleId(1L);
+        amountRange.setFieldName("FIELD_2");
+        amountRange.setRuleType(ValidationRuleEntity.RuleType.RANGE_VALIDATION);
+        amountRange.setValidationExpression("1-100");
+        amountRange.setExecutionOrder(1);
+
+        return orchestrator.processFileWithValidation(config, List.of(amountRange), dataFile.toString(), "CORR-1");
+    }
+}
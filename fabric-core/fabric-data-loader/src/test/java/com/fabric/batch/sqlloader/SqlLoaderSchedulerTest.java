@@ -0,0 +1,242 @@
+package com.fabric.batch.sqlloader;
+
+import com.fabric.batch.entity.ProcessingJobEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for segmented parallel SQL*Loader runs against a fake sqlldr script.
+ */
+@DisplayName("SQL*Loader Scheduler Tests")
+@DisabledOnOs(OS.WINDOWS)
+class SqlLoaderSchedulerTest {
+
+    // Reports every line of its data file as read and the SKIP rows as skipped
+    private static final String FAKE_SQLLDR = String.join("\n",
+            "#!/bin/sh",
+            "echo \"$@\" >> \"$(dirname \"$0\")/invocations\"",
+            "for arg in \"$@\"; do",
+            "  case \"$arg\" in",
+            "    CONTROL=*) ctl=\"${arg#CONTROL=}\" ;;",
+            "    LOG=*) log=\"${arg#LOG=}\" ;;",
+            "  esac",
+            "done",
+            "data=$(sed -n \"s/^INFILE '\\(.*\\)'$/\\1/p\" \"$ctl\")",
+            "skip=$(sed -n 's/^ *SKIP=\\([0-9]*\\),$/\\1/p' \"$ctl\")",
+            "rows=$(wc -l < \"$data\")",
+            "echo \"Load completed - logical record count $rows.\"",
+            "echo \"Total logical records skipped: ${skip:-0}\" > \"$log\"",
+            "echo \"Total logical records read: $rows\" >> \"$log\"",
+            "echo \"Total logical records rejected: 0\" >> \"$log\"",
+            "exit 0",
+            "");
+
+    // Like FAKE_SQLLDR, but the session loading the second segment loses its connection
+    private static final String FAILING_SEGMENT_SQLLDR = FAKE_SQLLDR.replace("rows=$(wc -l",
+            "case \"$data\" in *.seg1) echo \"ORA-03113: end-of-file on communication channel\" > \"$log\"; exit 3 ;; esac\n"
+                    + "rows=$(wc -l");
+
+    private static final String MISSING_TABLE_SQLLDR = String.join("\n",
+            "#!/bin/sh",
+            "echo \"$@\" >> \"$(dirname \"$0\")/invocations\"",
+            "for arg in \"$@\"; do case \"$arg\" in LOG=*) log=\"${arg#LOG=}\" ;; esac; done",
+            "echo \"ORA-00942: table or view does not exist\" > \"$log\"",
+            "exit 3",
+            "");
+
+    @TempDir
+    Path tempDir;
+
+    private String previousControlDir;
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SqlLoaderExecutor executor;
+    private SqlLoaderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        previousControlDir = System.getProperty("sqlloader.control.dir");
+        System.setProperty("sqlloader.control.dir", tempDir.toString());
+
+        executor = new SqlLoaderExecutor();
+        ReflectionTestUtils.setField(executor, "timeoutMinutes", 1L);
+        ReflectionTestUtils.setField(executor, "workDirectory", tempDir.toString());
+        ReflectionTestUtils.setField(executor, "maxRetries", 3);
+        ReflectionTestUtils.setField(executor, "retryDelaySeconds", 0);
+        ReflectionTestUtils.setField(executor, "retryMaxDelaySeconds", 0);
+        ReflectionTestUtils.setField(executor, "logPollMillis", 20L);
+
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ACCOUNTS (ACCOUNT_ID VARCHAR(20), AMOUNT NUMERIC(12))");
+
+        scheduler = new SqlLoaderScheduler();
+        ReflectionTestUtils.setField(scheduler, "sqlLoaderExecutor", executor);
+        ReflectionTestUtils.setField(scheduler, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(scheduler, "maxSessions", 2);
+        ReflectionTestUtils.setField(scheduler, "minSegmentBytes", 1L);
+        ReflectionTestUtils.setField(scheduler, "workDirectory", tempDir.toString());
+        scheduler.initializeSessionPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownSessionPool();
+        dataSource.shutdown();
+        if (previousControlDir != null) {
+            System.setProperty("sqlloader.control.dir", previousControlDir);
+        } else {
+            System.clearProperty("sqlloader.control.dir");
+        }
+    }
+
+    @Test
+    @DisplayName("Should load segments in parallel sessions and aggregate their counts")
+    void shouldLoadSegmentsInParallel() throws Exception {
+        useSqlLoader(FAKE_SQLLDR);
+        Path dataFile = dataFile(1000);
+
+        SqlLoaderResult result = scheduler.executeParallel(config(dataFile), job(), 4);
+
+        assertTrue(result.isSuccessful(), () -> String.valueOf(result.getErrors()));
+        assertEquals(4, result.getParallelDegree());
+        assertEquals(1001L, result.getTotalRecords());
+        assertEquals(1L, result.getSkippedRecords());
+        assertEquals(1000L, result.getSuccessfulRecords());
+        assertEquals(4, ((List<?>) result.getAdditionalMetadata().get("segments")).size());
+
+        List<String> invocations = Files.readAllLines(tempDir.resolve("invocations"));
+        assertEquals(4, invocations.size());
+        assertTrue(invocations.stream().allMatch(line -> line.contains("PARALLEL=TRUE")));
+        assertFalse(Files.exists(tempDir.resolve("accounts.dat.job-1.seg0")));
+        assertTrue(executor.getActiveLoads().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should load a non-empty table in one INSERT session instead of parallel APPEND sessions")
+    void shouldKeepInsertSemanticsForNonEmptyTable() throws Exception {
+        useSqlLoader(FAKE_SQLLDR);
+        jdbcTemplate.update("INSERT INTO ACCOUNTS VALUES ('ACC0', 0)");
+
+        SqlLoaderResult result = scheduler.executeParallel(config(dataFile(1000)), job(), 4);
+
+        assertTrue(result.isSuccessful(), () -> String.valueOf(result.getErrors()));
+        List<String> invocations = Files.readAllLines(tempDir.resolve("invocations"));
+        assertEquals(1, invocations.size());
+        assertFalse(invocations.get(0).contains("PARALLEL=TRUE"));
+        assertTrue(Files.readString(Path.of(result.getControlFilePath())).contains("INSERT INTO TABLE ACCOUNTS"));
+    }
+
+    @Test
+    @DisplayName("Should not retry segments and should report the committed ones when a segment fails")
+    void shouldReportCommittedSegmentsWhenSegmentFails() throws Exception {
+        useSqlLoader(FAILING_SEGMENT_SQLLDR);
+
+        SqlLoaderResult result = scheduler.executeParallel(config(dataFile(1000)), job(), 4);
+
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isPartiallyCommitted());
+        assertEquals(List.of(0, 2, 3), result.getAdditionalMetadata().get("committedSegments"));
+        assertTrue(result.getErrors().stream().anyMatch(error -> error.startsWith("Segments [0, 2, 3] committed")),
+                () -> String.valueOf(result.getErrors()));
+        assertFalse(result.shouldRetry(3));
+        // The failure is retryable on its own, but the failed segment ran once
+        assertEquals(4, Files.readAllLines(tempDir.resolve("invocations")).size());
+    }
+
+    @Test
+    @DisplayName("Should not retry a load that failed with a non-retryable error")
+    void shouldNotRetryNonRetryableError() throws Exception {
+        useSqlLoader(MISSING_TABLE_SQLLDR);
+
+        SqlLoaderResult result = scheduler.executeParallel(config(dataFile(10)), job(), 1);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(3, result.getReturnCode());
+        assertEquals(0, result.getRetryCount());
+        assertTrue(result.getErrors().stream().anyMatch(error -> error.contains("ORA-00942")));
+        assertEquals(1, Files.readAllLines(tempDir.resolve("invocations")).size());
+    }
+
+    @Test
+    @DisplayName("Should hand over appended log lines only once they are complete")
+    void shouldTailGrowingLog() throws IOException {
+        Path logFile = tempDir.resolve("growing.log");
+        SqlLoaderExecutor.LogTail tail = new SqlLoaderExecutor.LogTail(logFile);
+        List<String> lines = new ArrayList<>();
+
+        tail.poll(lines::add);
+        Files.writeString(logFile, "Total logical records read: 5\nTotal logical", StandardCharsets.UTF_8);
+        tail.poll(lines::add);
+        assertEquals(List.of("Total logical records read: 5"), lines);
+
+        Files.writeString(logFile, " records rejected: 1\r\nend", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        tail.poll(lines::add);
+        tail.finish(lines::add);
+        assertEquals(List.of("Total logical records read: 5", "Total logical records rejected: 1", "end"), lines);
+    }
+
+    private void useSqlLoader(String script) throws IOException {
+        Path sqlldr = tempDir.resolve("sqlldr");
+        Files.writeString(sqlldr, script, StandardCharsets.UTF_8);
+        assertTrue(sqlldr.toFile().setExecutable(true));
+        ReflectionTestUtils.setField(executor, "sqlLoaderExecutablePath", sqlldr.toString());
+    }
+
+    private Path dataFile(int rows) throws IOException {
+        StringBuilder data = new StringBuilder("ACCOUNT_ID|AMOUNT\n");
+        for (int i = 1; i <= rows; i++) {
+            data.append("ACC").append(i).append('|').append(i * 10).append('\n');
+        }
+        Path dataFile = tempDir.resolve("accounts.dat");
+        Files.writeString(dataFile, data, StandardCharsets.UTF_8);
+        return dataFile;
+    }
+
+    private static SqlLoaderConfig config(Path dataFile) {
+        return SqlLoaderConfig.builder()
+                .jobName("ACCOUNT_LOAD")
+                .targetTable("ACCOUNTS")
+                .dataFileName(dataFile.toString())
+                .fields(List.of(field("ACCOUNT_ID", 1), field("AMOUNT", 2)))
+                .build();
+    }
+
+    private static SqlLoaderConfig.FieldConfig field(String name, int position) {
+        return SqlLoaderConfig.FieldConfig.builder()
+                .fieldName(name)
+                .columnName(name)
+                .position(position)
+                .dataType("CHAR")
+                .build();
+    }
+
+    private static ProcessingJobEntity job() {
+        ProcessingJobEntity job = new ProcessingJobEntity();
+        job.setJobExecutionId("job-1");
+        return job;
+    }
+}
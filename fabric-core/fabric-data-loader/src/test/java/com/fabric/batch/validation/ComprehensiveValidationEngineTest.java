@@ -0,0 +1,92 @@
+package com.fabric.batch.validation;
+
+import com.fabric.batch.entity.ValidationRuleEntity;
+import com.fabric.batch.entity.ValidationRuleEntity.RuleType;
+import com.fabric.batch.entity.ValidationRuleEntity.Severity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiled validation rule plans in ComprehensiveValidationEngine.
+ */
+@DisplayName("Comprehensive Validation Engine Tests")
+class ComprehensiveValidationEngineTest {
+
+    private final ComprehensiveValidationEngine engine = new ComprehensiveValidationEngine();
+
+    @Test
+    @DisplayName("Should compile enabled rules in execution order without reordering the input")
+    void shouldCompileEnabledRulesInExecutionOrder() {
+        ValidationRuleEntity range = rule(1L, "FIELD_2", RuleType.RANGE_VALIDATION, 2);
+        range.setValidationExpression("1-100");
+        ValidationRuleEntity pattern = rule(2L, "FIELD_2", RuleType.PATTERN_VALIDATION, 1);
+        pattern.setPattern("\\d+");
+        ValidationRuleEntity disabled = rule(3L, "FIELD_2", RuleType.REQUIRED_FIELD_VALIDATION, 0);
+        disabled.setEnabled("N");
+        List<ValidationRuleEntity> rules = new ArrayList<>(List.of(range, pattern, disabled));
+
+        ValidationRulePlan plan = engine.compileRules(rules);
+
+        assertEquals(2, plan.getRuleCount());
+        assertEquals(List.of(range, pattern, disabled), rules);
+        assertNull(plan.rulesFor("FIELD_1"));
+
+        ValidationRulePlan.ColumnRules[] columns = plan.bind(new String[] {"FIELD_1", "FIELD_2"});
+        ValidationSummary summary = engine.validateRecord(
+            new String[] {"FIELD_1", "FIELD_2"}, new String[] {"x", "250"}, columns, 0);
+
+        assertEquals(2, summary.getTotalFields());
+        assertEquals(1, summary.getValidFields());
+        assertEquals(1, summary.getTotalErrors());
+        assertEquals("FIELD_2 must be between 1 and 100", summary.getAllErrors().get(0).getErrorMessage());
+        assertEquals(2, summary.getFieldResults("FIELD_2").size());
+    }
+
+    @Test
+    @DisplayName("Should stop at the first failed critical rule and report invalid patterns")
+    void shouldStopAtCriticalRuleAndReportInvalidPattern() {
+        ValidationRuleEntity broken = rule(1L, "CODE", RuleType.PATTERN_VALIDATION, 1);
+        broken.setPattern("[unclosed");
+        broken.setSeverity(Severity.CRITICAL);
+        ValidationRuleEntity length = rule(2L, "CODE", RuleType.LENGTH_VALIDATION, 2);
+        length.setMaxLength(1);
+
+        ValidationRulePlan plan = engine.compileRules(List.of(broken, length));
+        List<FieldValidationResult> results = engine.validateField("CODE", "ABC", plan.rulesFor("CODE"));
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isValid());
+        assertEquals("Invalid validation pattern configured", results.get(0).getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should match patterns the same way through the plan and per rule")
+    void shouldMatchPatternsLikeUncompiledRules() {
+        ValidationRuleEntity pattern = rule(1L, "CODE", RuleType.PATTERN_VALIDATION, 1);
+        pattern.setPattern("[A-Z]{3}");
+        ValidationRulePlan plan = engine.compileRules(List.of(pattern));
+
+        for (String value : List.of("ABC", "AB1", "ABCD")) {
+            FieldValidationResult compiled = engine.validateField("CODE", value, plan.rulesFor("CODE")).get(0);
+            FieldValidationResult uncompiled = engine.validateFieldAgainstRule("CODE", value, pattern);
+
+            assertEquals(uncompiled.isValid(), compiled.isValid(), value);
+            assertEquals(uncompiled.getErrorMessage(), compiled.getErrorMessage(), value);
+        }
+        assertTrue(engine.validateFieldAgainstRule("CODE", "ABC", pattern).isValid());
+    }
+
+    private static ValidationRuleEntity rule(Long id, String fieldName, RuleType type, int executionOrder) {
+        ValidationRuleEntity rule = new ValidationRuleEntity();
+        rule.setRuleId(id);
+        rule.setFieldName(fieldName);
+        rule.setRuleType(type);
+        rule.setExecutionOrder(executionOrder);
+        return rule;
+    }
+}
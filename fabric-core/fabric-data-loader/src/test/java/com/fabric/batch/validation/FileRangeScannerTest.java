@@ -0,0 +1,143 @@
+package com.fabric.batch.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for splitting files into line-aligned ranges and scanning them in FileRangeScanner.
+ */
+@DisplayName("File Range Scanner Tests")
+class FileRangeScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should cut ranges on line boundaries that cover the file without gaps")
+    void shouldSplitOnLineBoundaries() throws IOException {
+        Path file = write("HEADER\n" + lines(1, 1000, "\n"));
+        byte[] bytes = Files.readAllBytes(file);
+
+        List<FileRangeScanner.FileRange> ranges = FileRangeScanner.split(file, StandardCharsets.UTF_8, 1, 4, 1000);
+
+        assertEquals(4, ranges.size());
+        long expectedStart = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            FileRangeScanner.FileRange range = ranges.get(i);
+            assertEquals(i, range.getIndex());
+            assertEquals(expectedStart, range.getStart());
+            assertTrue(bytes[(int) range.getEnd() - 1] == '\n', () -> "range does not end a line: " + range);
+            assertEquals(i == 0 ? 1 : 0, range.getSkipLines());
+            expectedStart = range.getEnd();
+        }
+        assertEquals(bytes.length, expectedStart);
+    }
+
+    @Test
+    @DisplayName("Should keep CRLF line ends together and read a final line without a newline")
+    void shouldAlignCrlfAndUnterminatedLastLine() throws IOException {
+        String content = lines(1, 999, "\r\n") + "REC1000";
+        Path file = write(content);
+
+        List<FileRangeScanner.FileRange> ranges = FileRangeScanner.split(file, StandardCharsets.UTF_8, 0, 3, 1000);
+        List<String> lines = scanAll(file, ranges, 3);
+
+        assertEquals(3, ranges.size());
+        assertEquals(List.of(content.split("\r\n")), lines);
+        assertTrue(lines.stream().noneMatch(line -> line.contains("\r")));
+        assertEquals("REC1000", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should number the lines of each range from its first file line")
+    void shouldRebaseLineNumbersInFileOrder() throws IOException {
+        Path file = write("HEADER\n" + lines(1, 1000, "\n"));
+        List<FileRangeScanner.FileRange> ranges = FileRangeScanner.split(file, StandardCharsets.UTF_8, 1, 4, 1000);
+
+        List<FileRangeScanner.RangeResult<List<String>>> results = FileRangeScanner.scan(
+                file, StandardCharsets.UTF_8, ranges, 4, ArrayList::new,
+                (state, lineInRange, line) -> state.add(lineInRange + ":" + line));
+
+        long firstLine = 0;
+        for (FileRangeScanner.RangeResult<List<String>> result : results) {
+            assertEquals(firstLine, result.getFirstLineIndex());
+            for (String entry : result.getState()) {
+                long lineInRange = Long.parseLong(entry.substring(0, entry.indexOf(':')));
+                // Data line n of the file holds REC(n + 1)
+                assertEquals("REC" + (result.getFirstLineIndex() + lineInRange + 1), entry.substring(entry.indexOf(':') + 1));
+            }
+            firstLine += result.getLineCount();
+        }
+        assertEquals(1000, firstLine);
+    }
+
+    @Test
+    @DisplayName("Should keep counting the lines of a range after its visitor stops")
+    void shouldCountLinesAfterVisitorStops() throws IOException {
+        Path file = write(lines(1, 1000, "\n"));
+        List<FileRangeScanner.FileRange> ranges = FileRangeScanner.split(file, StandardCharsets.UTF_8, 0, 2, 1000);
+
+        List<FileRangeScanner.RangeResult<List<String>>> results = FileRangeScanner.scan(
+                file, StandardCharsets.UTF_8, ranges, 2, ArrayList::new,
+                (state, lineInRange, line) -> state.add(line) && state.size() < 10);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isStopped());
+        assertEquals(10, results.get(0).getState().size());
+        assertEquals(results.get(0).getLineCount(), results.get(1).getFirstLineIndex());
+        assertEquals(1000, results.get(0).getLineCount() + results.get(1).getLineCount());
+    }
+
+    @Test
+    @DisplayName("Should scan files below the minimum range size and non-ASCII charsets as one range")
+    void shouldNotSplitSmallFilesOrIncompatibleCharsets() throws IOException {
+        Path file = write("HEADER\n" + lines(1, 100, "\n"));
+        long size = Files.size(file);
+
+        List<FileRangeScanner.FileRange> small = FileRangeScanner.split(file, StandardCharsets.UTF_8, 1, 8, size / 2 + 1);
+        List<FileRangeScanner.FileRange> utf16 = FileRangeScanner.split(file, StandardCharsets.UTF_16LE, 1, 8, 10);
+        List<FileRangeScanner.FileRange> split = FileRangeScanner.split(file, StandardCharsets.UTF_8, 1, 8, size / 2);
+
+        assertEquals(1, small.size());
+        assertEquals(0, small.get(0).getStart());
+        assertEquals(size, small.get(0).getEnd());
+        assertEquals(1, small.get(0).getSkipLines());
+        assertEquals(1, utf16.size());
+        assertEquals(2, split.size());
+    }
+
+    private List<String> scanAll(Path file, List<FileRangeScanner.FileRange> ranges, int parallelism) throws IOException {
+        List<String> lines = new ArrayList<>();
+        List<FileRangeScanner.RangeResult<List<String>>> results = FileRangeScanner.scan(
+                file, StandardCharsets.UTF_8, ranges, parallelism, ArrayList::new,
+                (state, lineInRange, line) -> state.add(line));
+        for (FileRangeScanner.RangeResult<List<String>> result : results) {
+            lines.addAll(result.getState());
+        }
+        return lines;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("records.dat");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String lines(int from, int to, String lineEnd) {
+        StringBuilder lines = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            lines.append("REC").append(i).append(lineEnd);
+        }
+        return lines.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.fabric.batch.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LRU and TTL bounds of ReferenceLookupCache.
+ */
+@DisplayName("Reference Lookup Cache Tests")
+class ReferenceLookupCacheTest {
+
+    @Test
+    @DisplayName("Should evict the least recently used entry and count hits and misses")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        ReferenceLookupCache cache = new ReferenceLookupCache(2, 0);
+        cache.put("ACCOUNTS.ACCT_ID", "1", true);
+        cache.put("ACCOUNTS.ACCT_ID", "2", false);
+
+        // Touch "1" so "2" becomes the eldest entry
+        assertEquals(Boolean.TRUE, cache.get("ACCOUNTS.ACCT_ID", "1"));
+        cache.put("BRANCHES.BRANCH_ID", "1", true);
+
+        assertNull(cache.get("ACCOUNTS.ACCT_ID", "2"));
+        assertEquals(Boolean.TRUE, cache.get("ACCOUNTS.ACCT_ID", "1"));
+        assertEquals(Boolean.TRUE, cache.get("BRANCHES.BRANCH_ID", "1"));
+
+        Map<String, Object> stats = cache.getStatistics();
+        assertEquals(2, stats.get("size"));
+        assertEquals(3L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(1L, stats.get("evictions"));
+    }
+
+    @Test
+    @DisplayName("Should check for an entry without counting a hit or miss")
+    void shouldCheckEntryWithoutCounting() {
+        ReferenceLookupCache cache = new ReferenceLookupCache(2, 0);
+        cache.put("ACCOUNTS.ACCT_ID", "1", false);
+        cache.put("ACCOUNTS.ACCT_ID", "2", true);
+
+        assertTrue(cache.contains("ACCOUNTS.ACCT_ID", "1"));
+        assertFalse(cache.contains("ACCOUNTS.ACCT_ID", "3"));
+        assertEquals(0L, cache.getStatistics().get("hits"));
+        assertEquals(0L, cache.getStatistics().get("misses"));
+
+        // The check marked "1" as recently used, so "2" is evicted
+        cache.put("ACCOUNTS.ACCT_ID", "3", true);
+        assertEquals(Boolean.FALSE, cache.get("ACCOUNTS.ACCT_ID", "1"));
+        assertNull(cache.get("ACCOUNTS.ACCT_ID", "2"));
+    }
+
+    @Test
+    @DisplayName("Should treat entries older than the time to live as misses")
+    void shouldExpireEntries() throws InterruptedException {
+        ReferenceLookupCache cache = new ReferenceLookupCache(10, 1);
+        cache.put("ACCOUNTS.ACCT_ID", "1", true);
+
+        Thread.sleep(5);
+
+        assertNull(cache.get("ACCOUNTS.ACCT_ID", "1"));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.getStatistics().get("expirations"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.fabric.batch.validation;
+
+import com.fabric.batch.entity.ValidationRuleEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batched (prefetch) and preloaded lookups of ReferentialIntegrityValidator
+ * against NUMBER and CHAR reference columns in H2.
+ */
+@DisplayName("Referential Integrity Validator Tests")
+class ReferentialIntegrityValidatorTest {
+
+    private EmbeddedDatabase dataSource;
+    private ReferentialIntegrityValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE BRANCHES (BRANCH_ID NUMERIC(10))");
+        jdbcTemplate.execute("INSERT INTO BRANCHES VALUES (42), (7)");
+        jdbcTemplate.execute("CREATE TABLE TXN_CODES (TXN_CODE CHAR(4))");
+        jdbcTemplate.execute("INSERT INTO TXN_CODES VALUES ('AB'), ('XYZ')");
+
+        validator = new ReferentialIntegrityValidator();
+        ReflectionTestUtils.setField(validator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(validator, "cacheSize", 1000);
+        ReflectionTestUtils.setField(validator, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(validator, "batchSize", 1000);
+        ReflectionTestUtils.setField(validator, "preloadMaxRows", 0);
+        validator.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should match prefetched values against a numeric column by value")
+    void shouldPrefetchNumericColumnByValue() {
+        ValidationRuleEntity rule = rule("BRANCHES", "BRANCH_ID");
+
+        int queried = validator.prefetch(rule, List.of("0042", "42.0", "7", "8", "abc", "7"));
+
+        assertEquals(5, queried);
+        assertTrue(validator.validate("branch", "0042", rule).isValid());
+        assertTrue(validator.validate("branch", "42.0", rule).isValid());
+        assertTrue(validator.validate("branch", "7", rule).isValid());
+        assertFalse(validator.validate("branch", "8", rule).isValid());
+        assertFalse(validator.validate("branch", "abc", rule).isValid());
+        assertEquals(0L, validator.getCacheStatistics().get("singleLookups"));
+        assertEquals(1L, validator.getCacheStatistics().get("batchLookups"));
+
+        // Prefetch checks the cache without counting; only the validations above count
+        assertEquals(0, validator.prefetch(rule, List.of("0042", "8")));
+        assertEquals(5L, validator.getCacheStatistics().get("hits"));
+        assertEquals(0L, validator.getCacheStatistics().get("misses"));
+    }
+
+    @Test
+    @DisplayName("Should match prefetched values against a CHAR column without blank padding")
+    void shouldPrefetchCharColumnWithoutPadding() {
+        ValidationRuleEntity rule = rule("TXN_CODES", "TXN_CODE");
+
+        validator.prefetch(rule, List.of("AB", "XYZ", "XY"));
+
+        assertTrue(validator.validate("code", "AB", rule).isValid());
+        assertTrue(validator.validate("code", "XYZ", rule).isValid());
+        assertFalse(validator.validate("code", "XY", rule).isValid());
+        assertEquals(0L, validator.getCacheStatistics().get("singleLookups"));
+    }
+
+    @Test
+    @DisplayName("Should check preloaded NUMBER and CHAR reference tables in memory")
+    void shouldCheckPreloadedTablesInMemory() {
+        ReflectionTestUtils.setField(validator, "preloadMaxRows", 10);
+        ValidationRuleEntity branches = rule("BRANCHES", "BRANCH_ID");
+        ValidationRuleEntity codes = rule("TXN_CODES", "TXN_CODE");
+
+        assertEquals(0, validator.prefetch(branches, List.of("0042", "8")));
+        assertTrue(validator.validate("branch", "0042", branches).isValid());
+        assertTrue(validator.validate("branch", "7.00", branches).isValid());
+        assertFalse(validator.validate("branch", "8", branches).isValid());
+        assertFalse(validator.validate("branch", "abc", branches).isValid());
+        assertTrue(validator.validate("code", "AB", codes).isValid());
+        assertTrue(validator.validate("code", "XYZ", codes).isValid());
+        assertFalse(validator.validate("code", "XY", codes).isValid());
+
+        assertEquals(7L, validator.getCacheStatistics().get("preloadHits"));
+        assertEquals(2, validator.getCacheStatistics().get("preloadedTables"));
+        assertEquals(0L, validator.getCacheStatistics().get("singleLookups"));
+        assertEquals(0L, validator.getCacheStatistics().get("batchLookups"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to batched lookups when a reference table is above the preload limit")
+    void shouldNotPreloadLargeTables() {
+        ReflectionTestUtils.setField(validator, "preloadMaxRows", 1);
+        ValidationRuleEntity rule = rule("BRANCHES", "BRANCH_ID");
+
+        assertEquals(2, validator.prefetch(rule, List.of("42", "9")));
+        assertTrue(validator.validate("branch", "42", rule).isValid());
+        assertFalse(validator.validate("branch", "9", rule).isValid());
+
+        assertEquals(0L, validator.getCacheStatistics().get("preloadHits"));
+        assertEquals(1L, validator.getCacheStatistics().get("batchLookups"));
+    }
+
+    private static ValidationRuleEntity rule(String table, String column) {
+        ValidationRuleEntity rule = new ValidationRuleEntity();
+        rule.setRuleId(1L);
+        rule.setRuleType(ValidationRuleEntity.RuleType.REFERENTIAL_INTEGRITY);
+        rule.setReferenceTable(table);
+        rule.setReferenceColumn(column);
+        return rule;
+    }
+}
@@ -0,0 +1,149 @@
+package com.fabric.batch.mapping;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled composite field transformation (SUM, AVG, MIN, MAX, CONCAT, UPPER, LOWER, TRIM).
+ *
+ * The transform name is resolved to an operation and source field names are trimmed once,
+ * so evaluating a row is a loop over a String[] with no stream pipelines or repeated
+ * string comparisons. Results are identical to the stream-based implementation it replaces,
+ * including compensated summation for SUM and AVG.
+ */
+final class CompositeTransform {
+
+    private enum Operation {
+        SUM, AVG, MIN, MAX, CONCAT, UPPER, LOWER, TRIM, NONE
+    }
+
+    private final Operation operation;
+    /** Trimmed source field names; null entries mirror sources without a sourceField. */
+    private final String[] sourceFields;
+    private final String delimiter;
+    private final String defaultValue;
+
+    private CompositeTransform(Operation operation, String[] sourceFields, String delimiter, String defaultValue) {
+        this.operation = operation;
+        this.sourceFields = sourceFields;
+        this.delimiter = delimiter;
+        this.defaultValue = defaultValue;
+    }
+
+    static CompositeTransform compile(List<Map<String, String>> sources, String transform,
+                                      String delimiter, String defaultValue) {
+        String[] fields = new String[sources != null ? sources.size() : 0];
+        for (int i = 0; i < fields.length; i++) {
+            String fieldName = sources.get(i).get("sourceField");
+            fields[i] = fieldName != null ? fieldName.trim() : null;
+        }
+        return new CompositeTransform(resolveOperation(transform), fields,
+                delimiter != null ? delimiter : "", defaultValue);
+    }
+
+    private static Operation resolveOperation(String transform) {
+        if ("sum".equalsIgnoreCase(transform)) {
+            return Operation.SUM;
+        } else if ("avg".equalsIgnoreCase(transform) || "average".equalsIgnoreCase(transform)) {
+            return Operation.AVG;
+        } else if ("min".equalsIgnoreCase(transform) || "minimum".equalsIgnoreCase(transform)) {
+            return Operation.MIN;
+        } else if ("max".equalsIgnoreCase(transform) || "maximum".equalsIgnoreCase(transform)) {
+            return Operation.MAX;
+        } else if ("concat".equalsIgnoreCase(transform)) {
+            return Operation.CONCAT;
+        } else if ("upper".equalsIgnoreCase(transform) || "uppercase".equalsIgnoreCase(transform)) {
+            return Operation.UPPER;
+        } else if ("lower".equalsIgnoreCase(transform) || "lowercase".equalsIgnoreCase(transform)) {
+            return Operation.LOWER;
+        } else if ("trim".equalsIgnoreCase(transform)) {
+            return Operation.TRIM;
+        }
+        return Operation.NONE;
+    }
+
+    String evaluate(Map<String, Object> row) {
+        if (sourceFields.length == 0) {
+            return defaultOrEmpty();
+        }
+        switch (operation) {
+            case SUM:
+                return String.valueOf(statistics(row).getSum());
+            case AVG:
+                return String.valueOf(statistics(row).getAverage());
+            case MIN: {
+                double min = Double.MAX_VALUE;
+                for (String field : sourceFields) {
+                    min = Math.min(min, numericOr(row, field, Double.MAX_VALUE));
+                }
+                return min == Double.MAX_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(min);
+            }
+            case MAX: {
+                double max = Double.MIN_VALUE;
+                for (String field : sourceFields) {
+                    max = Math.max(max, numericOr(row, field, Double.MIN_VALUE));
+                }
+                return max == Double.MIN_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(max);
+            }
+            case CONCAT: {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < sourceFields.length; i++) {
+                    if (i > 0) {
+                        sb.append(delimiter);
+                    }
+                    Object val = sourceFields[i] != null ? row.get(sourceFields[i]) : null;
+                    if (val != null) {
+                        sb.append(val);
+                    }
+                }
+                return sb.toString();
+            }
+            case UPPER: {
+                Object val = firstValue(row);
+                return val != null ? val.toString().toUpperCase() : defaultOrEmpty();
+            }
+            case LOWER: {
+                Object val = firstValue(row);
+                return val != null ? val.toString().toLowerCase() : defaultOrEmpty();
+            }
+            case TRIM: {
+                Object val = firstValue(row);
+                return val != null ? val.toString().trim() : defaultOrEmpty();
+            }
+            default:
+                return defaultOrEmpty();
+        }
+    }
+
+    private DoubleSummaryStatistics statistics(Map<String, Object> row) {
+        DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+        for (String field : sourceFields) {
+            stats.accept(numericOr(row, field, 0.0));
+        }
+        return stats;
+    }
+
+    private static double numericOr(Map<String, Object> row, String field, double fallback) {
+        if (field == null) {
+            return fallback;
+        }
+        Object val = row.get(field);
+        if (val == null) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(val.toString());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private Object firstValue(Map<String, Object> row) {
+        return sourceFields[0] != null ? row.get(sourceFields[0]) : null;
+    }
+
+    private String defaultOrEmpty() {
+        return defaultValue != null ? defaultValue : "";
+    }
+}
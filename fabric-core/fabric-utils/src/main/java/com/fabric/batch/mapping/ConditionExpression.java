@@ -0,0 +1,244 @@
+package com.fabric.batch.mapping;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled form of a conditional mapping expression such as
+ * {@code status IN ('A','P') && amount BETWEEN 100 AND 1000 || !code == 'X'}.
+ *
+ * The expression string is split into OR/AND groups and each term is classified (IN,
+ * BETWEEN, LIKE or comparison) exactly once. Literals are pre-parsed, LIKE patterns are
+ * converted to compiled regexes and numeric bounds become doubles, so evaluation is a
+ * short-circuiting walk over a small predicate tree. Semantics match the original
+ * string-based evaluator in {@link YamlMappingService}.
+ */
+final class ConditionExpression {
+
+    private static final Pattern IN_PATTERN =
+            Pattern.compile("([^\\s]+)\\s+IN\\s*\\((.+)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BETWEEN_PATTERN =
+            Pattern.compile("([^\\s]+)\\s+BETWEEN\\s+([^\\s]+)\\s+AND\\s+([^\\s]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIKE_PATTERN =
+            Pattern.compile("([^\\s]+)\\s+LIKE\\s+('([^']*)'|\"([^\"]*)\"|([^\\s]+))", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMPARISON_PATTERN =
+            Pattern.compile("([^!=<>()\\s]+)\\s*(==|=|!=|>=|<=|<|>)\\s*('([^']*)'|\"([^\"]*)\"|[^\\s]+)");
+
+    private static final ConditionExpression ALWAYS_FALSE = new ConditionExpression(new Predicate[0][]);
+
+    /**
+     * Single term evaluated against a row.
+     */
+    @FunctionalInterface
+    interface Predicate {
+        boolean test(Map<String, Object> row);
+    }
+
+    /** OR of AND-groups; an empty array never matches. */
+    private final Predicate[][] orGroups;
+
+    private ConditionExpression(Predicate[][] orGroups) {
+        this.orGroups = orGroups;
+    }
+
+    static ConditionExpression compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return ALWAYS_FALSE;
+        }
+        List<Predicate[]> groups = new ArrayList<>();
+        for (String orPart : expression.split("\\|\\|")) {
+            String[] terms = orPart.split("&&");
+            Predicate[] and = new Predicate[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                String cond = terms[i].trim();
+                boolean negation = false;
+                if (cond.startsWith("!")) {
+                    negation = true;
+                    cond = cond.substring(1).trim();
+                }
+                Predicate term = compileTerm(cond);
+                and[i] = negation ? row -> !term.test(row) : term;
+            }
+            groups.add(and);
+        }
+        return new ConditionExpression(groups.toArray(new Predicate[0][]));
+    }
+
+    boolean evaluate(Map<String, Object> row) {
+        for (Predicate[] and : orGroups) {
+            boolean matched = true;
+            for (Predicate term : and) {
+                if (!term.test(row)) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Predicate compileTerm(String cond) {
+        Matcher inMatcher = IN_PATTERN.matcher(cond);
+        if (inMatcher.matches()) {
+            return compileIn(inMatcher.group(1).trim(), inMatcher.group(2).trim());
+        }
+
+        Matcher betweenMatcher = BETWEEN_PATTERN.matcher(cond);
+        if (betweenMatcher.matches()) {
+            return compileBetween(betweenMatcher.group(1).trim(),
+                    betweenMatcher.group(2).trim(), betweenMatcher.group(3).trim());
+        }
+
+        Matcher likeMatcher = LIKE_PATTERN.matcher(cond);
+        if (likeMatcher.matches()) {
+            String pattern = likeMatcher.group(3) != null ? likeMatcher.group(3)
+                          : likeMatcher.group(4) != null ? likeMatcher.group(4)
+                          : likeMatcher.group(5);
+            return compileLike(likeMatcher.group(1).trim(), pattern);
+        }
+
+        Matcher m = COMPARISON_PATTERN.matcher(cond);
+        if (!m.matches()) {
+            return row -> false;
+        }
+        String rawVal = m.group(4) != null ? m.group(4)
+                      : m.group(5) != null ? m.group(5)
+                      : m.group(3);
+        return compileComparison(m.group(1), m.group(2), rawVal);
+    }
+
+    private static Predicate compileIn(String field, String valuesStr) {
+        Set<String> values = new HashSet<>();
+        for (String val : valuesStr.split(",")) {
+            val = val.trim();
+            if ((val.startsWith("'") && val.endsWith("'")) || (val.startsWith("\"") && val.endsWith("\""))) {
+                val = val.substring(1, val.length() - 1);
+            }
+            values.add(val);
+        }
+        return row -> {
+            String fieldVal = stringValue(row, field);
+            return fieldVal != null && values.contains(fieldVal);
+        };
+    }
+
+    private static Predicate compileBetween(String field, String lowerBound, String upperBound) {
+        double lower;
+        double upper;
+        try {
+            lower = Double.parseDouble(lowerBound);
+            upper = Double.parseDouble(upperBound);
+        } catch (NumberFormatException e) {
+            return row -> false;
+        }
+        return row -> {
+            Object raw = row.get(field);
+            if (raw == null) {
+                return false;
+            }
+            try {
+                double fv = toDouble(raw);
+                return fv >= lower && fv <= upper;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        };
+    }
+
+    private static Predicate compileLike(String field, String likePattern) {
+        // % matches any sequence of characters, _ matches any single character
+        String regex = likePattern
+            .replace(".", "\\.")
+            .replace("*", "\\*")
+            .replace("+", "\\+")
+            .replace("?", "\\?")
+            .replace("%", ".*")
+            .replace("_", ".");
+        Pattern compiled;
+        try {
+            compiled = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            // Preserve the original behaviour of failing only when a value is matched
+            return row -> {
+                if (stringValue(row, field) == null) {
+                    return false;
+                }
+                throw e;
+            };
+        }
+        return row -> {
+            String fieldVal = stringValue(row, field);
+            return fieldVal != null && compiled.matcher(fieldVal).matches();
+        };
+    }
+
+    private static Predicate compileComparison(String field, String op, String rawVal) {
+        switch (op) {
+            case "=":
+            case "==":
+                if ("null".equals(rawVal)) {
+                    return row -> row.get(field) == null;
+                }
+                return row -> rawVal.equals(stringValue(row, field));
+            case "!=":
+                if ("null".equals(rawVal)) {
+                    return row -> row.get(field) != null;
+                }
+                return row -> !rawVal.equals(stringValue(row, field));
+            case "<":
+            case ">":
+            case "<=":
+            case ">=":
+                return compileNumericComparison(field, op, rawVal);
+            default:
+                return row -> false;
+        }
+    }
+
+    private static Predicate compileNumericComparison(String field, String op, String rawVal) {
+        double literal;
+        try {
+            literal = Double.parseDouble(rawVal);
+        } catch (RuntimeException e) {
+            return row -> false;
+        }
+        return row -> {
+            double fv;
+            try {
+                Object raw = row.get(field);
+                fv = raw != null ? toDouble(raw) : 0;
+            } catch (RuntimeException e) {
+                return false;
+            }
+            switch (op) {
+                case "<":  return fv < literal;
+                case ">":  return fv > literal;
+                case "<=": return fv <= literal;
+                default:   return fv >= literal;
+            }
+        };
+    }
+
+    private static String stringValue(Map<String, Object> row, String field) {
+        Object raw = row.get(field);
+        return raw != null ? raw.toString() : null;
+    }
+
+    private static double toDouble(Object raw) {
+        // Only types whose toString() round-trips exactly take the fast path
+        if (raw instanceof Double || raw instanceof Long
+                || raw instanceof Integer || raw instanceof Short || raw instanceof Byte) {
+            return ((Number) raw).doubleValue();
+        }
+        return Double.parseDouble(raw.toString());
+    }
+}
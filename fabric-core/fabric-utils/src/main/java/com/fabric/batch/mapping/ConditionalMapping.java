@@ -0,0 +1,79 @@
+package com.fabric.batch.mapping;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fabric.batch.model.Condition;
+
+/**
+ * Compiled if / else-if / else chain of a conditional field mapping.
+ *
+ * Each branch expression is compiled to a {@link ConditionExpression} once; evaluation
+ * stops at the first matching branch. Branch results keep the original semantics: a
+ * result that names a source field (case-insensitively) resolves to that field's value,
+ * otherwise it is used as a literal.
+ */
+final class ConditionalMapping {
+
+    private final ConditionExpression[] branchConditions;
+    private final String[] branchResults;
+    private final String elseValue;
+    private final String defaultValue;
+
+    private ConditionalMapping(ConditionExpression[] branchConditions, String[] branchResults,
+                               String elseValue, String defaultValue) {
+        this.branchConditions = branchConditions;
+        this.branchResults = branchResults;
+        this.elseValue = elseValue;
+        this.defaultValue = defaultValue;
+    }
+
+    static ConditionalMapping compile(List<Condition> conditions, String defaultValue,
+                                      ExpressionCompiler compiler) {
+        if (conditions == null || conditions.isEmpty()) {
+            return new ConditionalMapping(new ConditionExpression[0], new String[0], null, defaultValue);
+        }
+        Condition main = conditions.get(0);
+        List<Condition> elseIfs = main.getElseIfExprs();
+        int branches = 1 + (elseIfs != null ? elseIfs.size() : 0);
+        ConditionExpression[] expressions = new ConditionExpression[branches];
+        String[] results = new String[branches];
+
+        expressions[0] = compileBranch(main.getIfExpr(), compiler);
+        results[0] = main.getThen();
+        for (int i = 1; i < branches; i++) {
+            Condition elseIf = elseIfs.get(i - 1);
+            expressions[i] = compileBranch(elseIf.getIfExpr(), compiler);
+            results[i] = elseIf.getThen();
+        }
+        String elseVal = main.getElseExpr();
+        return new ConditionalMapping(expressions, results,
+                elseVal != null && !elseVal.isEmpty() ? elseVal : null, defaultValue);
+    }
+
+    private static ConditionExpression compileBranch(String expression, ExpressionCompiler compiler) {
+        // Branches without an expression never match
+        return expression != null && !expression.isEmpty() ? compiler.compile(expression) : null;
+    }
+
+    String evaluate(Map<String, Object> row) {
+        for (int i = 0; i < branchConditions.length; i++) {
+            ConditionExpression condition = branchConditions[i];
+            if (condition != null && condition.evaluate(row)) {
+                return YamlMappingService.resolveValue(branchResults[i], row, branchResults[i]);
+            }
+        }
+        if (elseValue != null) {
+            return YamlMappingService.resolveValue(elseValue, row, elseValue);
+        }
+        return defaultValue != null ? defaultValue : "";
+    }
+
+    /**
+     * Source of compiled expressions, allowing callers to share a cache.
+     */
+    @FunctionalInterface
+    interface ExpressionCompiler {
+        ConditionExpression compile(String expression);
+    }
+}
@@ -0,0 +1,113 @@
+package com.fabric.batch.mapping;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+
+/**
+ * Immutable, pre-compiled view of one YAML mapping document (template + transaction type).
+ *
+ * A plan is built once by {@link YamlMappingService#getMappingPlan(String, String)} and reused
+ * for every record of a step: the field mappings are already sorted by targetPosition and each
+ * one is bound to a {@link FieldHandler}, so per-record processing is a plain array walk with
+ * no YAML parsing, sorting or stream allocation. Output records are {@link SlotRecord}s
+ * laid out by {@link #getOutputSchema()}, so writers can read values by position.
+ */
+public final class MappingPlan {
+
+    /**
+     * Transforms one input row into the formatted value of a single target field.
+     */
+    @FunctionalInterface
+    public interface FieldHandler {
+        String apply(Map<String, Object> row);
+    }
+
+    private final String template;
+    private final String transactionType;
+    private final long version;
+    private final FieldMapping[] fields;
+    private final String[] targetFields;
+    private final FieldHandler[] handlers;
+    private final RecordSchema outputSchema;
+
+    MappingPlan(String template, String transactionType, long version,
+                FieldMapping[] fields, FieldHandler[] handlers) {
+        this.template = template;
+        this.transactionType = transactionType;
+        this.version = version;
+        this.fields = fields;
+        this.handlers = handlers;
+        this.targetFields = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            targetFields[i] = fields[i].getTargetField();
+        }
+        this.outputSchema = new RecordSchema(targetFields);
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    /**
+     * Version of the YAML resource the plan was compiled from (resource last-modified time,
+     * or 0 when the resource does not expose one).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * Slot layout of the records produced by {@link #transform(Map)}, in output order.
+     */
+    public RecordSchema getOutputSchema() {
+        return outputSchema;
+    }
+
+    public FieldMapping getField(int index) {
+        return fields[index];
+    }
+
+    public String getTargetField(int index) {
+        return targetFields[index];
+    }
+
+    /**
+     * Field mappings in output order (sorted by targetPosition).
+     */
+    public List<FieldMapping> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Applies the handler at the given position to the row.
+     */
+    public String transform(int index, Map<String, Object> row) {
+        String value = handlers[index].apply(row);
+        return value != null ? value : fields[index].getDefaultValue();
+    }
+
+    /**
+     * Transforms a full row into a slot record of formatted values in output order.
+     */
+    public SlotRecord transform(Map<String, Object> row) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = transform(i, row);
+        }
+        return new SlotRecord(outputSchema, values);
+    }
+}
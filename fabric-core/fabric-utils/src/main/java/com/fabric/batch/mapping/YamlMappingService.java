@@ -8,8 +8,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.springframework.core.io.ClassPathResource;
@@ -19,7 +19,10 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 
 import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
 import com.fabric.batch.model.YamlMapping;
+import com.fabric.batch.util.FieldFormatter;
 import com.fabric.batch.util.FormatterUtil;
 
 import lombok.extern.slf4j.Slf4j;
@@ -29,11 +32,18 @@ import lombok.extern.slf4j.Slf4j;
  * Supports multi-document YAML files, providing methods to load mappings,
  * select mappings based on transaction type, and transform fields with
  * padding and formatting according to mapping definitions.
+ *
+ * Parsed documents and compiled {@link MappingPlan}s are cached per template and keyed by the
+ * resource's last-modified time, so a changed YAML file is re-read on the next lookup.
  */
 @Slf4j
 @Service
 public class YamlMappingService {
 
+    private final ConcurrentMap<String, CachedDocuments> documentCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MappingPlan> planCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConditionExpression> expressionCache = new ConcurrentHashMap<>();
+
     /**
      * Loads field mappings from a YAML file located at the given path in the classpath.
      */
@@ -63,8 +73,86 @@ public class YamlMappingService {
      * Loads all YAML documents for the given template path and returns the one matching the specified transaction type.
      */
     public YamlMapping getMapping(String template, String txnType) {
-    	log.info("Loading YAML mapping for template: {}, transaction type: {}", template, txnType);
-        List<YamlMapping> all = loadYamlMappings(template);
+    	log.debug("Loading YAML mapping for template: {}, transaction type: {}", template, txnType);
+        return selectMapping(getCachedDocuments(template).documents, template, txnType);
+    }
+
+    /**
+     * Returns the compiled mapping plan for the given template and transaction type.
+     * The plan is built once and reused until the underlying YAML resource changes;
+     * callers should resolve it once per step rather than once per record.
+     */
+    public MappingPlan getMappingPlan(String template, String txnType) {
+        CachedDocuments docs = getCachedDocuments(template);
+        String key = planKey(template, txnType);
+        MappingPlan plan = planCache.get(key);
+        if (plan != null && plan.getVersion() == docs.version) {
+            return plan;
+        }
+        return planCache.compute(key, (k, existing) -> {
+            if (existing != null && existing.getVersion() == docs.version) {
+                return existing;
+            }
+            MappingPlan compiled = compilePlan(selectMapping(docs.documents, template, txnType), template, txnType, docs.version);
+            log.info("Compiled mapping plan for template: {}, transaction type: {} ({} fields, version {})",
+                    template, txnType, compiled.size(), docs.version);
+            return compiled;
+        });
+    }
+
+    /**
+     * Compiles a mapping document into an immutable plan with fields pre-sorted by targetPosition.
+     */
+    public MappingPlan compilePlan(YamlMapping mapping, String template, String txnType, long version) {
+        if (mapping == null || mapping.getFields() == null) {
+            throw new RuntimeException("No fields defined for " + template + "/" + txnType);
+        }
+        FieldMapping[] fields = mapping.getFields().values().stream()
+                .sorted(Comparator.comparingInt(FieldMapping::getTargetPosition))
+                .toArray(FieldMapping[]::new);
+        MappingPlan.FieldHandler[] handlers = new MappingPlan.FieldHandler[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            FieldMapping field = fields[i];
+            FieldFormatter formatter = field.getLength() > 0 ? FieldFormatter.compile(field) : null;
+            String type = Optional.ofNullable(field.getTransformationType()).orElse("");
+            if ("source".equalsIgnoreCase(type)
+                    && field.getSourceField() != null && !field.getSourceField().isEmpty()) {
+                handlers[i] = new SourceFieldHandler(field, formatter);
+            } else if ("conditional".equalsIgnoreCase(type)) {
+                ConditionalMapping conditional = ConditionalMapping.compile(
+                        field.getConditions(), field.getDefaultValue(), this::compileExpression);
+                handlers[i] = row -> finishValue(conditional.evaluate(row), field, formatter);
+            } else if ("composite".equalsIgnoreCase(type)) {
+                CompositeTransform composite = CompositeTransform.compile(
+                        field.getSources(), field.getTransform(), field.getDelimiter(), field.getDefaultValue());
+                handlers[i] = row -> finishValue(composite.evaluate(row), field, formatter);
+            } else {
+                handlers[i] = row -> finishValue(resolveRawValue(row, field), field, formatter);
+            }
+        }
+        return new MappingPlan(template, txnType, version, fields, handlers);
+    }
+
+    /**
+     * Drops cached documents and plans for one template, forcing a re-read on next access.
+     */
+    public void evictTemplate(String template) {
+        documentCache.remove(template);
+        planCache.keySet().removeIf(k -> k.startsWith(template + "|"));
+        log.info("Evicted cached mappings for template: {}", template);
+    }
+
+    /**
+     * Drops all cached documents and plans.
+     */
+    public void clearCache() {
+        documentCache.clear();
+        planCache.clear();
+        expressionCache.clear();
+        log.info("Cleared YAML mapping cache");
+    }
+
+    private YamlMapping selectMapping(List<YamlMapping> all, String template, String txnType) {
         return all.stream()
             .filter(m -> txnType != null
                       ? txnType.equalsIgnoreCase(m.getTransactionType())
@@ -76,6 +164,82 @@ public class YamlMappingService {
                 .orElseThrow(() -> 
                     new RuntimeException("No mapping for " + template + "/" + txnType)));
     }
+
+    private CachedDocuments getCachedDocuments(String template) {
+        long version = resourceVersion(template);
+        CachedDocuments cached = documentCache.get(template);
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+        return documentCache.compute(template, (k, existing) -> {
+            if (existing != null && existing.version == version) {
+                return existing;
+            }
+            log.info("Parsing YAML mappings for template: {} (version {})", template, version);
+            return new CachedDocuments(version, List.copyOf(loadYamlMappings(template)));
+        });
+    }
+
+    private static long resourceVersion(String yamlPath) {
+        try {
+            return new ClassPathResource(yamlPath).lastModified();
+        } catch (IOException e) {
+            // Resources inside archives may not expose a timestamp; treat them as immutable
+            return 0L;
+        }
+    }
+
+    private static String planKey(String template, String txnType) {
+        return template + "|" + (txnType != null ? txnType.toLowerCase() : "default");
+    }
+
+    /**
+     * Handler for "source" mappings that binds the source field to a slot index the first
+     * time it sees a record schema, so subsequent rows are read by position.
+     */
+    private final class SourceFieldHandler implements MappingPlan.FieldHandler {
+        private final FieldMapping mapping;
+        private final FieldFormatter formatter;
+        private volatile BoundSlot bound;
+
+        SourceFieldHandler(FieldMapping mapping, FieldFormatter formatter) {
+            this.mapping = mapping;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public String apply(Map<String, Object> row) {
+            if (!(row instanceof SlotRecord record)) {
+                return finishValue(resolveRawValue(row, mapping), mapping, formatter);
+            }
+            RecordSchema schema = record.getSchema();
+            BoundSlot slot = bound;
+            if (slot == null || slot.schema != schema) {
+                slot = new BoundSlot(schema, schema.indexOfIgnoreCase(mapping.getSourceField()));
+                bound = slot;
+            }
+            if (slot.index < 0) {
+                return finishValue(resolveRawValue(row, mapping), mapping, formatter);
+            }
+            Object raw = record.getSlot(slot.index);
+            String value = raw != null ? raw.toString()
+                    : (mapping.getDefaultValue() != null ? mapping.getDefaultValue() : "");
+            return finishValue(value, mapping, formatter);
+        }
+    }
+
+    private record BoundSlot(RecordSchema schema, int index) {
+    }
+
+    private static final class CachedDocuments {
+        private final long version;
+        private final List<YamlMapping> documents;
+
+        CachedDocuments(long version, List<YamlMapping> documents) {
+            this.version = version;
+            this.documents = documents;
+        }
+    }
     
     /**
      * Loads multi-document YAML from the specified path.
@@ -100,6 +264,13 @@ public class YamlMappingService {
      * ✅ FIXED: Applies transformation logic to a single field
      */
     public String transformField(Map<String, Object> row, FieldMapping mapping) {
+        return finishValue(resolveRawValue(row, mapping), mapping, null);
+    }
+
+    /**
+     * Resolves the unformatted value of a field according to its transformation type.
+     */
+    private String resolveRawValue(Map<String, Object> row, FieldMapping mapping) {
         String value = "";
 
         String transformationType = Optional.ofNullable(mapping.getTransformationType()).orElse("").toLowerCase();
@@ -134,6 +305,14 @@ public class YamlMappingService {
                 value = mapping.getDefaultValue();
         }
 
+        return value;
+    }
+
+    /**
+     * Applies defaulting, padding and formatting to an already resolved value, using the
+     * field's compiled formatter when one is available.
+     */
+    private String finishValue(String value, FieldMapping mapping, FieldFormatter formatter) {
         // ✅ FIX: Ensure never null and handle empty strings properly
         if (value == null) {
             value = mapping.getDefaultValue() != null ? mapping.getDefaultValue() : "";
@@ -141,7 +320,7 @@ public class YamlMappingService {
 
         // ✅ FIX: Apply padding and formatting only if we have a non-empty value
         if (mapping.getLength() > 0) {
-            return FormatterUtil.pad(value, mapping);
+            return formatter != null ? formatter.format(value) : FormatterUtil.pad(value, mapping);
         }
         
         return value;
@@ -150,7 +329,7 @@ public class YamlMappingService {
     /**
      * ✅ FIXED: Resolves a single value from the input data row using case-insensitive field lookup.
      */
-	private String resolveValue(String sourceField, Map<String, Object> row, String defaultValue) {
+	static String resolveValue(String sourceField, Map<String, Object> row, String defaultValue) {
 		if (sourceField == null || sourceField.isEmpty()) {
 			return defaultValue != null ? defaultValue : "";
 		}
@@ -158,8 +337,12 @@ public class YamlMappingService {
 		// ✅ CASE-INSENSITIVE LOOKUP
 		Object value = null;
 		
+		// Slot records resolve case-insensitive names through their schema index
+		if (row instanceof SlotRecord record) {
+			value = record.getIgnoreCase(sourceField);
+		}
 		// First try exact match (fastest)
-		if (row.containsKey(sourceField)) {
+		else if (row.containsKey(sourceField)) {
 			value = row.get(sourceField);
 		} else {
 			// Case-insensitive search
@@ -181,133 +364,7 @@ public class YamlMappingService {
     */
    private String handleComposite(List<Map<String, String>> sources, Map<String, Object> row,
                                 String transform, String delimiter, String defaultValue) {
-       if (sources == null || sources.isEmpty()) {
-           return defaultValue != null ? defaultValue : "";
-       }
-
-       // Mathematical operations: SUM, AVG, MIN, MAX
-       if ("sum".equalsIgnoreCase(transform)) {
-           double sum = sources.stream()
-               .mapToDouble(s -> {
-                   String fieldName = s.get("sourceField");
-                   if (fieldName == null) return 0.0;
-                   Object val = row.get(fieldName.trim());
-                   try {
-                       return val != null ? Double.parseDouble(val.toString()) : 0.0;
-                   } catch (NumberFormatException e) {
-                       return 0.0;
-                   }
-               }).sum();
-           return String.valueOf(sum);
-       }
-
-       else if ("avg".equalsIgnoreCase(transform) || "average".equalsIgnoreCase(transform)) {
-           List<Double> values = sources.stream()
-               .map(s -> {
-                   String fieldName = s.get("sourceField");
-                   if (fieldName == null) return 0.0;
-                   Object val = row.get(fieldName.trim());
-                   try {
-                       return val != null ? Double.parseDouble(val.toString()) : 0.0;
-                   } catch (NumberFormatException e) {
-                       return 0.0;
-                   }
-               })
-               .collect(Collectors.toList());
-
-           double avg = values.isEmpty() ? 0.0 : values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-           return String.valueOf(avg);
-       }
-
-       else if ("min".equalsIgnoreCase(transform) || "minimum".equalsIgnoreCase(transform)) {
-           double min = sources.stream()
-               .mapToDouble(s -> {
-                   String fieldName = s.get("sourceField");
-                   if (fieldName == null) return Double.MAX_VALUE;
-                   Object val = row.get(fieldName.trim());
-                   try {
-                       return val != null ? Double.parseDouble(val.toString()) : Double.MAX_VALUE;
-                   } catch (NumberFormatException e) {
-                       return Double.MAX_VALUE;
-                   }
-               })
-               .min()
-               .orElse(0.0);
-           return min == Double.MAX_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(min);
-       }
-
-       else if ("max".equalsIgnoreCase(transform) || "maximum".equalsIgnoreCase(transform)) {
-           double max = sources.stream()
-               .mapToDouble(s -> {
-                   String fieldName = s.get("sourceField");
-                   if (fieldName == null) return Double.MIN_VALUE;
-                   Object val = row.get(fieldName.trim());
-                   try {
-                       return val != null ? Double.parseDouble(val.toString()) : Double.MIN_VALUE;
-                   } catch (NumberFormatException e) {
-                       return Double.MIN_VALUE;
-                   }
-               })
-               .max()
-               .orElse(0.0);
-           return max == Double.MIN_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(max);
-       }
-
-       // String operations: CONCAT, UPPER, LOWER, TRIM
-       else if ("concat".equalsIgnoreCase(transform)) {
-           String actualDelimiter = (delimiter != null) ? delimiter : "";
-           return sources.stream()
-                   .map(s -> {
-                       String fieldName = s.get("sourceField");
-                       if (fieldName == null) return "";
-                       return Optional.ofNullable(row.get(fieldName.trim())).map(Object::toString).orElse("");
-                   })
-                   .collect(Collectors.joining(actualDelimiter));
-       }
-
-       else if ("upper".equalsIgnoreCase(transform) || "uppercase".equalsIgnoreCase(transform)) {
-           // Apply UPPER to the first source field
-           if (!sources.isEmpty()) {
-               String fieldName = sources.get(0).get("sourceField");
-               if (fieldName != null) {
-                   Object val = row.get(fieldName.trim());
-                   if (val != null) {
-                       return val.toString().toUpperCase();
-                   }
-               }
-           }
-           return defaultValue != null ? defaultValue : "";
-       }
-
-       else if ("lower".equalsIgnoreCase(transform) || "lowercase".equalsIgnoreCase(transform)) {
-           // Apply LOWER to the first source field
-           if (!sources.isEmpty()) {
-               String fieldName = sources.get(0).get("sourceField");
-               if (fieldName != null) {
-                   Object val = row.get(fieldName.trim());
-                   if (val != null) {
-                       return val.toString().toLowerCase();
-                   }
-               }
-           }
-           return defaultValue != null ? defaultValue : "";
-       }
-
-       else if ("trim".equalsIgnoreCase(transform)) {
-           // Apply TRIM to the first source field
-           if (!sources.isEmpty()) {
-               String fieldName = sources.get(0).get("sourceField");
-               if (fieldName != null) {
-                   Object val = row.get(fieldName.trim());
-                   if (val != null) {
-                       return val.toString().trim();
-                   }
-               }
-           }
-           return defaultValue != null ? defaultValue : "";
-       }
-
-       return defaultValue != null ? defaultValue : "";
+       return CompositeTransform.compile(sources, transform, delimiter, defaultValue).evaluate(row);
    }
 
    /**
@@ -315,217 +372,18 @@ public class YamlMappingService {
     */
    private String evaluateConditional(List<com.fabric.batch.model.Condition> conditions, 
                                     Map<String, Object> row, String defaultValue) {
-       if (conditions == null || conditions.isEmpty()) {
-           return defaultValue != null ? defaultValue : "";
-       }
-
-       com.fabric.batch.model.Condition mainCondition = conditions.get(0);
-       String ifExpr = mainCondition.getIfExpr();
-       String thenVal = mainCondition.getThen(); 
-       String elseVal = mainCondition.getElseExpr(); 
-       List<com.fabric.batch.model.Condition> elseIfConditions = mainCondition.getElseIfExprs();
-
-       // 1. Check the main 'if' condition
-       if (ifExpr != null && !ifExpr.isEmpty() && evaluateExpression(ifExpr, row)) {
-           return resolveValue(thenVal, row, thenVal); 
-       }
-
-       // 2. Check 'else if' conditions
-       if (elseIfConditions != null && !elseIfConditions.isEmpty()) {
-           for (com.fabric.batch.model.Condition elseIfCondition : elseIfConditions) {
-               String elseIfExpr = elseIfCondition.getIfExpr();
-               String elseIfThenVal = elseIfCondition.getThen(); 
-
-               if (elseIfExpr != null && !elseIfExpr.isEmpty() && evaluateExpression(elseIfExpr, row)) {
-                   return resolveValue(elseIfThenVal, row, elseIfThenVal); 
-               }
-           }
-       }
-
-       // 3. Apply 'else' value
-       if (elseVal != null && !elseVal.isEmpty()) { 
-           return resolveValue(elseVal, row, elseVal); 
-       }
-       
-       // 4. Default value
-       return defaultValue != null ? defaultValue : "";
+       return ConditionalMapping.compile(conditions, defaultValue, this::compileExpression).evaluate(row);
    }
 
     /**
-     * ✅ ENHANCED: Evaluates logical expressions with support for IN, BETWEEN, LIKE operators
+     * ✅ ENHANCED: Compiles logical expressions with support for IN, BETWEEN, LIKE operators.
      * Supports: ==, !=, <, >, <=, >=, IN, BETWEEN, LIKE, &&, ||, !
+     * Compiled expressions are cached by expression text, since they come from mapping configuration.
      */
-    private boolean evaluateExpression(String expression, Map<String, Object> row) {
-        if (expression == null || expression.trim().isEmpty()) {
-            return false;
-        }
-
-        // Split on OR (||)
-        for (String orPart : expression.split("\\|\\|")) {
-            boolean andResult = true;
-            // Split on AND (&&)
-            for (String cond : orPart.split("&&")) {
-                cond = cond.trim();
-
-                // Handle unary NOT
-                boolean negation = false;
-                if (cond.startsWith("!")) {
-                    negation = true;
-                    cond = cond.substring(1).trim();
-                }
-
-                boolean thisResult = evaluateSingleCondition(cond, row);
-
-                if (negation) {
-                    thisResult = !thisResult;
-                }
-
-                if (!thisResult) {
-                    andResult = false;
-                    break;
-                }
-            }
-            if (andResult) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Evaluates a single condition supporting: ==, !=, <, >, <=, >=, IN, BETWEEN, LIKE
-     */
-    private boolean evaluateSingleCondition(String cond, Map<String, Object> row) {
-        // Check for IN operator: "status IN ('ACTIVE', 'PENDING')"
-        Matcher inMatcher = Pattern.compile("([^\\s]+)\\s+IN\\s*\\((.+)\\)", Pattern.CASE_INSENSITIVE).matcher(cond);
-        if (inMatcher.matches()) {
-            String field = inMatcher.group(1).trim();
-            String valuesStr = inMatcher.group(2).trim();
-            String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
-
-            if (fieldVal == null) {
-                return false;
-            }
-
-            // Parse the values list: 'value1', 'value2', 'value3'
-            String[] values = valuesStr.split(",");
-            for (String val : values) {
-                val = val.trim();
-                // Remove quotes
-                if ((val.startsWith("'") && val.endsWith("'")) || (val.startsWith("\"") && val.endsWith("\""))) {
-                    val = val.substring(1, val.length() - 1);
-                }
-                if (fieldVal.equals(val)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
-        // Check for BETWEEN operator: "amount BETWEEN 100 AND 1000"
-        Matcher betweenMatcher = Pattern.compile("([^\\s]+)\\s+BETWEEN\\s+([^\\s]+)\\s+AND\\s+([^\\s]+)", Pattern.CASE_INSENSITIVE).matcher(cond);
-        if (betweenMatcher.matches()) {
-            String field = betweenMatcher.group(1).trim();
-            String lowerBound = betweenMatcher.group(2).trim();
-            String upperBound = betweenMatcher.group(3).trim();
-            String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
-
-            if (fieldVal == null) {
-                return false;
-            }
-
-            try {
-                double fv = Double.parseDouble(fieldVal);
-                double lower = Double.parseDouble(lowerBound);
-                double upper = Double.parseDouble(upperBound);
-                return fv >= lower && fv <= upper;
-            } catch (NumberFormatException e) {
-                return false;
-            }
-        }
-
-        // Check for LIKE operator: "name LIKE 'pattern%'"
-        Matcher likeMatcher = Pattern.compile("([^\\s]+)\\s+LIKE\\s+('([^']*)'|\"([^\"]*)\"|([^\\s]+))", Pattern.CASE_INSENSITIVE).matcher(cond);
-        if (likeMatcher.matches()) {
-            String field = likeMatcher.group(1).trim();
-            String pattern = likeMatcher.group(3) != null ? likeMatcher.group(3)
-                          : likeMatcher.group(4) != null ? likeMatcher.group(4)
-                          : likeMatcher.group(5);
-            String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
-
-            if (fieldVal == null) {
-                return false;
-            }
-
-            // Convert SQL LIKE pattern to Java regex pattern
-            // % matches any sequence of characters
-            // _ matches any single character
-            String regexPattern = pattern
-                .replace(".", "\\.")
-                .replace("*", "\\*")
-                .replace("+", "\\+")
-                .replace("?", "\\?")
-                .replace("%", ".*")
-                .replace("_", ".");
-
-            return fieldVal.matches(regexPattern);
-        }
-
-        // Standard comparison operators: ==, !=, <, >, <=, >=
-        Matcher m = Pattern.compile("([^!=<>()\\s]+)\\s*(==|=|!=|>=|<=|<|>)\\s*('([^']*)'|\"([^\"]*)\"|[^\\s]+)")
-                          .matcher(cond);
-        if (!m.matches()) {
-            return false;
-        }
-
-        String field = m.group(1);
-        String op = m.group(2);
-        String rawVal = m.group(4) != null ? m.group(4)
-                      : m.group(5) != null ? m.group(5)
-                      : m.group(3);
-
-        String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
-
-        switch (op) {
-            case "=":
-            case "==":
-                if ("null".equals(rawVal)) {
-                    return fieldVal == null;
-                } else {
-                    return fieldVal != null && fieldVal.equals(rawVal);
-                }
-            case "!=":
-                if ("null".equals(rawVal)) {
-                    return fieldVal != null;
-                } else {
-                    return fieldVal == null || !fieldVal.equals(rawVal);
-                }
-            case "<":
-            case ">":
-            case "<=":
-            case ">=":
-                return compareNumeric(fieldVal, rawVal, op);
-            default:
-                return false;
-        }
-    }
-
-    /**
-     * Helper to compare numeric values represented as strings.
-     */
-    private boolean compareNumeric(String fieldVal, String val, String op) {
-        try {
-            double fv = fieldVal != null ? Double.parseDouble(fieldVal) : 0;
-            double vl = Double.parseDouble(val);
-            switch (op) {
-                case "<":  return fv < vl;
-                case ">":  return fv > vl;
-                case "<=": return fv <= vl;
-                case ">=": return fv >= vl;
-                default:   return false;
-            }
-        } catch (Exception e) {
-            return false;
+    ConditionExpression compileExpression(String expression) {
+        if (expression == null) {
+            return ConditionExpression.compile(null);
         }
+        return expressionCache.computeIfAbsent(expression, ConditionExpression::compile);
     }
 }
\ No newline at end of file
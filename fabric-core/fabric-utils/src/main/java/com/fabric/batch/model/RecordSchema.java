@@ -0,0 +1,92 @@
+package com.fabric.batch.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable column layout shared by every {@link SlotRecord} produced in a step.
+ *
+ * The schema is resolved once (from reader column names or mapping target fields) and maps
+ * field names to slot indices, including a precomputed case-insensitive index so that
+ * per-record lookups never scan entries. Schemas created with {@link #caseInsensitive}
+ * also resolve plain {@code get} lookups ignoring case, matching the behaviour of the
+ * case-insensitive column maps returned by JdbcTemplate.
+ */
+public final class RecordSchema implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] names;
+    private final Map<String, Integer> exactIndex;
+    private final Map<String, Integer> caseInsensitiveIndex;
+    private final boolean ignoreCase;
+
+    public RecordSchema(String... names) {
+        this(false, names);
+    }
+
+    private RecordSchema(boolean ignoreCase, String... names) {
+        this.ignoreCase = ignoreCase;
+        this.names = names.clone();
+        this.exactIndex = new HashMap<>(names.length * 2);
+        this.caseInsensitiveIndex = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            exactIndex.putIfAbsent(names[i], i);
+            if (names[i] != null) {
+                caseInsensitiveIndex.putIfAbsent(names[i].toLowerCase(Locale.ROOT), i);
+            }
+        }
+    }
+
+    /**
+     * Creates a schema whose {@link #indexOf(Object)} lookups ignore case.
+     */
+    public static RecordSchema caseInsensitive(String... names) {
+        return new RecordSchema(true, names);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * @return slot index for the field name (exact, or ignoring case for case-insensitive
+     *         schemas), or -1 when not part of the schema
+     */
+    public int indexOf(Object name) {
+        Integer idx = exactIndex.get(name);
+        if (idx == null && ignoreCase && name instanceof String s) {
+            idx = caseInsensitiveIndex.get(s.toLowerCase(Locale.ROOT));
+        }
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * @return slot index for the field name ignoring case, or -1 when not part of the schema
+     */
+    public int indexOfIgnoreCase(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer idx = exactIndex.get(name);
+        if (idx == null) {
+            idx = caseInsensitiveIndex.get(name.toLowerCase(Locale.ROOT));
+        }
+        return idx != null ? idx : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordSchema" + Arrays.toString(names);
+    }
+}
@@ -0,0 +1,226 @@
+package com.fabric.batch.model;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Slot-indexed record passed between reader, processor and writer.
+ *
+ * Values live in an {@code Object[]} addressed through a shared {@link RecordSchema}, so
+ * creating a record is a single array allocation and stages that know the schema read
+ * values by index without hashing. The class still implements {@code Map<String, Object>}
+ * so existing listeners, validators and skip handlers keep working unchanged; keys that are
+ * not part of the schema are kept in a lazily created overflow map.
+ *
+ * Schema keys are always present: removing one (through {@code remove}, {@code clear} or an
+ * iterator) sets its slot to null, so {@code containsKey} stays true and {@code size} is
+ * unchanged. Overflow keys are removed as in any other map.
+ */
+public final class SlotRecord extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final RecordSchema schema;
+    private final Object[] values;
+    private Map<String, Object> overflow;
+
+    public SlotRecord(RecordSchema schema) {
+        this(schema, new Object[schema.size()]);
+    }
+
+    /**
+     * Wraps the given slot array without copying; its length must match the schema.
+     */
+    public SlotRecord(RecordSchema schema, Object[] values) {
+        if (values.length != schema.size()) {
+            throw new IllegalArgumentException("Expected " + schema.size() + " values but got " + values.length);
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    public Object getSlot(int index) {
+        return values[index];
+    }
+
+    public void setSlot(int index, Object value) {
+        values[index] = value;
+    }
+
+    /**
+     * Case-insensitive lookup backed by the schema's precomputed index.
+     */
+    public Object getIgnoreCase(String name) {
+        int idx = schema.indexOfIgnoreCase(name);
+        if (idx >= 0) {
+            return values[idx];
+        }
+        if (overflow != null) {
+            for (Map.Entry<String, Object> e : overflow.entrySet()) {
+                if (e.getKey().equalsIgnoreCase(name)) {
+                    return e.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int idx = schema.indexOf(key);
+        if (idx >= 0) {
+            return values[idx];
+        }
+        return overflow != null ? overflow.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return schema.indexOf(key) >= 0 || (overflow != null && overflow.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int idx = schema.indexOf(key);
+        if (idx >= 0) {
+            Object previous = values[idx];
+            values[idx] = value;
+            return previous;
+        }
+        if (overflow == null) {
+            overflow = new LinkedHashMap<>();
+        }
+        return overflow.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int idx = schema.indexOf(key);
+        if (idx >= 0) {
+            Object previous = values[idx];
+            values[idx] = null;
+            return previous;
+        }
+        return overflow != null ? overflow.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        overflow = null;
+    }
+
+    @Override
+    public int size() {
+        return values.length + (overflow != null ? overflow.size() : 0);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return SlotRecord.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int slot = 0;
+                    private int last = -1;
+                    private Iterator<Map.Entry<String, Object>> extra;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (slot < values.length) {
+                            return true;
+                        }
+                        if (extra == null) {
+                            extra = overflow != null ? overflow.entrySet().iterator() : null;
+                        }
+                        return extra != null && extra.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        if (slot < values.length) {
+                            last = slot++;
+                            return new SlotEntry(last);
+                        }
+                        last = values.length;
+                        return extra.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        if (last < values.length) {
+                            values[last] = null;
+                        } else {
+                            extra.remove();
+                        }
+                        last = -1;
+                    }
+                };
+            }
+        };
+    }
+
+    private final class SlotEntry implements Map.Entry<String, Object> {
+        private final int index;
+
+        SlotEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return schema.getName(index);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e)) {
+                return false;
+            }
+            return java.util.Objects.equals(getKey(), e.getKey()) && java.util.Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return java.util.Objects.hashCode(getKey()) ^ java.util.Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
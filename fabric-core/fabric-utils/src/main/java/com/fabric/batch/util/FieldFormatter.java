@@ -0,0 +1,256 @@
+package com.fabric.batch.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fabric.batch.model.FieldMapping;
+
+/**
+ * Pre-compiled equivalent of {@link FormatterUtil#pad(String, FieldMapping)} for one field.
+ *
+ * Everything that FormatterUtil derives per call (pad side and character, COBOL picture
+ * clause lengths, input and output date formatters) is resolved once in {@link #compile},
+ * and values are appended straight into a {@link LineBuffer} instead of building padding
+ * strings. Output matches FormatterUtil.pad for the same mapping; input dates are only
+ * recognised when they have exactly the width of one of the known input patterns.
+ */
+public final class FieldFormatter {
+
+	private static final Pattern PICTURE = Pattern.compile("\\+?9\\((\\d+)\\)(V9\\((\\d+)\\))?");
+
+	private static final String[] KNOWN_DATE_PATTERNS = { "yyyy-MM-dd", "MM/dd/yyyy", "dd-MM-yyyy", "yyyyMMdd",
+			"MMddyyyy" };
+	private static final DateTimeFormatter[] KNOWN_DATE_FORMATS = new DateTimeFormatter[KNOWN_DATE_PATTERNS.length];
+
+	static {
+		for (int i = 0; i < KNOWN_DATE_PATTERNS.length; i++) {
+			KNOWN_DATE_FORMATS[i] = DateTimeFormatter.ofPattern(KNOWN_DATE_PATTERNS[i]);
+		}
+	}
+
+	private enum Kind {
+		PAD, DATE, NUMERIC, INVALID
+	}
+
+	private final Kind kind;
+	private final int length;
+	private final boolean padLeft;
+	private final char padChar;
+	private final String padString;
+	private final DateTimeFormatter outputDateFormat;
+	private final int numericDigits;
+	private final boolean numericSigned;
+	private final boolean numericIntegerOnly;
+	private final String error;
+
+	private FieldFormatter(Kind kind, int length, boolean padLeft, String padString,
+			DateTimeFormatter outputDateFormat, int numericDigits, boolean numericSigned,
+			boolean numericIntegerOnly, String error) {
+		this.kind = kind;
+		this.length = length;
+		this.padLeft = padLeft;
+		this.padString = padString;
+		this.padChar = padString.length() == 1 ? padString.charAt(0) : 0;
+		this.outputDateFormat = outputDateFormat;
+		this.numericDigits = numericDigits;
+		this.numericSigned = numericSigned;
+		this.numericIntegerOnly = numericIntegerOnly;
+		this.error = error;
+	}
+
+	/**
+	 * Compiles the formatting rules of a field mapping. Misconfigured date/numeric fields
+	 * compile successfully and fail with the same IllegalArgumentException as FormatterUtil
+	 * when a value is actually formatted.
+	 */
+	public static FieldFormatter compile(FieldMapping mapping) {
+		boolean left = "LEFT".equalsIgnoreCase(mapping.getPad());
+		String padString = String.valueOf(mapping.getPadChar());
+
+		if (StringUtils.equalsIgnoreCase(mapping.getTargetFormat(), "date")) {
+			if (StringUtils.isBlank(mapping.getFormat())) {
+				return invalid("Date format required for field: " + mapping.getTargetField());
+			}
+			DateTimeFormatter output;
+			try {
+				output = DateTimeFormatter.ofPattern(mapping.getFormat());
+			} catch (IllegalArgumentException e) {
+				// FormatterUtil only fails once a value parses; keep that behaviour
+				output = null;
+			}
+			return new FieldFormatter(Kind.DATE, mapping.getLength(), left, padString, output, 0, false, false,
+					"Invalid date format '" + mapping.getFormat() + "' for field: " + mapping.getTargetField());
+		}
+		if (StringUtils.equalsIgnoreCase(mapping.getTargetFormat(), "numeric")) {
+			String picture = mapping.getFormat();
+			if (StringUtils.isBlank(picture)) {
+				return invalid("Numeric format required for field: " + mapping.getTargetField());
+			}
+			int digits = 0;
+			Matcher matcher = PICTURE.matcher(picture);
+			if (matcher.matches()) {
+				digits = Integer.parseInt(matcher.group(1));
+				if (matcher.group(3) != null) {
+					digits += Integer.parseInt(matcher.group(3));
+				}
+			}
+			return new FieldFormatter(Kind.NUMERIC, mapping.getLength(), left, padString, null, digits,
+					picture.startsWith("+"), !picture.contains("V"), null);
+		}
+		return new FieldFormatter(Kind.PAD, mapping.getLength(), left, padString, null, 0, false, false, null);
+	}
+
+	private static FieldFormatter invalid(String error) {
+		return new FieldFormatter(Kind.INVALID, 0, false, " ", null, 0, false, false, error);
+	}
+
+	/**
+	 * Formats the value and returns it as a String, using the calling thread's line buffer
+	 * as scratch space.
+	 */
+	public String format(String value) {
+		LineBuffer buffer = LineBuffer.forCurrentThread();
+		int start = buffer.length();
+		try {
+			appendTo(value, buffer);
+			return buffer.substring(start);
+		} finally {
+			buffer.setLength(start);
+		}
+	}
+
+	/**
+	 * Appends the formatted value to the buffer.
+	 */
+	public void appendTo(String value, LineBuffer out) {
+		switch (kind) {
+		case PAD -> appendPadded(value, out);
+		case DATE -> appendDate(value, out);
+		case NUMERIC -> appendNumeric(value, out);
+		default -> throw new IllegalArgumentException(error);
+		}
+	}
+
+	private void appendPadded(String value, LineBuffer out) {
+		int padLength = length - value.length();
+		if (padLength <= 0) {
+			out.append(value, 0, length);
+			return;
+		}
+		if (!padLeft) {
+			out.append(value);
+		}
+		if (padChar != 0) {
+			out.repeat(padChar, padLength);
+		} else {
+			out.repeat(padString, padLength);
+		}
+		if (padLeft) {
+			out.append(value);
+		}
+	}
+
+	private void appendDate(String value, LineBuffer out) {
+		if (value == null || value.trim().isEmpty()) {
+			return;
+		}
+		for (int i = 0; i < KNOWN_DATE_FORMATS.length; i++) {
+			// Cheap shape check first so that parsing exceptions stay off the common path
+			if (!matchesShape(value, KNOWN_DATE_PATTERNS[i])) {
+				continue;
+			}
+			try {
+				LocalDate date = LocalDate.parse(value, KNOWN_DATE_FORMATS[i]);
+				if (outputDateFormat == null) {
+					throw new IllegalArgumentException(error);
+				}
+				outputDateFormat.formatTo(date, new LineBufferAppendable(out));
+				return;
+			} catch (DateTimeParseException ignored) {
+			}
+		}
+		out.append(value);
+	}
+
+	private void appendNumeric(String value, LineBuffer out) {
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+		int kept = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '.') {
+				if (numericIntegerOnly) {
+					break;
+				}
+			} else if ((c >= '0' && c <= '9') || c == '-') {
+				kept++;
+			}
+		}
+		if (numericSigned) {
+			out.append('+');
+		}
+		out.repeat('0', numericDigits - kept);
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '.') {
+				if (numericIntegerOnly) {
+					break;
+				}
+			} else if ((c >= '0' && c <= '9') || c == '-') {
+				out.append(c);
+			}
+		}
+	}
+
+	/**
+	 * True when every pattern letter position holds a digit and every literal matches.
+	 */
+	private static boolean matchesShape(String value, String pattern) {
+		if (value.length() != pattern.length()) {
+			return false;
+		}
+		for (int i = 0; i < pattern.length(); i++) {
+			char p = pattern.charAt(i);
+			char c = value.charAt(i);
+			if (Character.isLetter(p) ? (c < '0' || c > '9') : c != p) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adapter so DateTimeFormatter can print straight into a LineBuffer.
+	 */
+	private static final class LineBufferAppendable implements Appendable {
+		private final LineBuffer out;
+
+		LineBufferAppendable(LineBuffer out) {
+			this.out = out;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			out.append(csq);
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			out.append(csq, start, end);
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			out.append(c);
+			return this;
+		}
+	}
+}
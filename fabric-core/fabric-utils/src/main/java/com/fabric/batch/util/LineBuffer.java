@@ -0,0 +1,121 @@
+package com.fabric.batch.util;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable {@code char[]} used to assemble fixed-width output lines without intermediate
+ * String or StringBuilder allocations. One instance is kept per thread via
+ * {@link #forCurrentThread()} and reused for every record that thread formats.
+ */
+public final class LineBuffer {
+
+	private static final ThreadLocal<LineBuffer> THREAD_BUFFER = ThreadLocal.withInitial(() -> new LineBuffer(512));
+
+	private char[] chars;
+	private int length;
+
+	public LineBuffer(int initialCapacity) {
+		this.chars = new char[Math.max(16, initialCapacity)];
+	}
+
+	/**
+	 * Returns the reusable buffer bound to the calling thread. Callers must not hold on to
+	 * it across records; use {@link #setLength(int)} to restore any prefix they appended to.
+	 */
+	public static LineBuffer forCurrentThread() {
+		return THREAD_BUFFER.get();
+	}
+
+	public int length() {
+		return length;
+	}
+
+	public void setLength(int newLength) {
+		if (newLength < 0 || newLength > length) {
+			throw new IndexOutOfBoundsException("length " + newLength + " outside [0, " + length + "]");
+		}
+		length = newLength;
+	}
+
+	public LineBuffer clear() {
+		length = 0;
+		return this;
+	}
+
+	public LineBuffer append(char c) {
+		ensureCapacity(length + 1);
+		chars[length++] = c;
+		return this;
+	}
+
+	public LineBuffer append(CharSequence value) {
+		return value == null ? this : append(value, 0, value.length());
+	}
+
+	public LineBuffer append(CharSequence value, int start, int end) {
+		int count = end - start;
+		ensureCapacity(length + count);
+		if (value instanceof String s) {
+			s.getChars(start, end, chars, length);
+			length += count;
+		} else {
+			for (int i = start; i < end; i++) {
+				chars[length++] = value.charAt(i);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Appends {@code value.toString()}, or nothing when the value is null.
+	 */
+	public LineBuffer append(Object value) {
+		if (value instanceof CharSequence cs) {
+			return append(cs);
+		}
+		return value == null ? this : append(value.toString());
+	}
+
+	public LineBuffer repeat(char c, int count) {
+		if (count > 0) {
+			ensureCapacity(length + count);
+			Arrays.fill(chars, length, length + count, c);
+			length += count;
+		}
+		return this;
+	}
+
+	public LineBuffer repeat(String s, int count) {
+		for (int i = 0; i < count; i++) {
+			append(s);
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the characters appended since {@code start} as a new String.
+	 */
+	public String substring(int start) {
+		return new String(chars, start, length - start);
+	}
+
+	/**
+	 * Returns a view of the current contents without copying, for channel encoders.
+	 * The view is only valid until the buffer is next modified.
+	 */
+	public CharBuffer asCharBuffer() {
+		return CharBuffer.wrap(chars, 0, length);
+	}
+
+	@Override
+	public String toString() {
+		return new String(chars, 0, length);
+	}
+
+	private void ensureCapacity(int required) {
+		if (required > chars.length) {
+			chars = Arrays.copyOf(chars, Math.max(required, chars.length * 2));
+		}
+	}
+}
@@ -0,0 +1,380 @@
+package com.fabric.batch.mapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fabric.batch.model.Condition;
+
+/**
+ * Checks that the compiled ConditionExpression, ConditionalMapping and CompositeTransform
+ * return exactly what the string-based evaluator they replaced returned, over a matrix of
+ * expressions, transforms and rows. The replaced evaluator is kept below as the reference.
+ */
+@DisplayName("Compiled Mappings - Equivalence with the String-based Evaluator")
+class CompiledMappingEquivalenceTest {
+
+    private static final List<String> EXPRESSIONS = List.of(
+            "status == 'A'", "status = A", "status == \"A\"", "status != 'A'", "status == null", "status != null",
+            "amount > 100", "amount >= 100", "amount < 100", "amount <= 100", "amount > abc", "missing < 5",
+            "status IN ('A', 'P')", "status in (\"A\",X)", "amount IN (100, 100.0)",
+            "amount BETWEEN 50 AND 150", "amount between 100 and 100", "amount BETWEEN low AND 150",
+            "code LIKE 'AB%'", "code LIKE \"A_C\"", "code like A.C%", "code LIKE '%+1'", "code LIKE '[A'",
+            "!status == 'A'", "! amount > 100", "!code LIKE 'AB%'",
+            "status == 'A' && amount > 100", "status == 'A' || amount > 100",
+            "status == 'X' || amount BETWEEN 50 AND 150 && code LIKE 'AB%'",
+            "status IN ('A','P') && !code == 'ABC' || amount <= 0 && status != null",
+            "status == 'A' && ", "|| status == 'A'", "not an expression", "", "   ");
+
+    private static final List<Map<String, Object>> ROWS = List.of(
+            row("status", "A", "amount", 100, "code", "ABC"),
+            row("status", "P", "amount", 150.5, "code", "AXC+1"),
+            row("status", "X", "amount", new BigDecimal("100.00"), "code", "A.C"),
+            row("status", null, "amount", null, "code", null),
+            row("status", "A", "amount", "abc", "code", "ab"),
+            row("status", "a", "amount", 99L, "code", "[A"),
+            row("amount", " 42 ", "code", "ABD"),
+            row());
+
+    @Test
+    @DisplayName("Expressions match the string-based evaluator for every operator, null and nesting")
+    void expressionsMatchLegacyEvaluator() {
+        for (String expression : EXPRESSIONS) {
+            ConditionExpression compiled = ConditionExpression.compile(expression);
+            for (Map<String, Object> row : ROWS) {
+                assertEquals(outcome(() -> LegacyEvaluator.evaluateExpression(expression, row)),
+                        outcome(() -> compiled.evaluate(row)),
+                        () -> "expression [" + expression + "] on " + row);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Conditional chains match the string-based evaluator for if, else-if, else and default")
+    void conditionalMappingsMatchLegacyEvaluator() {
+        List<List<Condition>> chains = new ArrayList<>();
+        chains.add(null);
+        chains.add(List.of());
+        chains.add(List.of(condition("status == 'A'", "ACTIVE", null)));
+        chains.add(List.of(condition("status == 'A'", "code", "OTHER")));
+        chains.add(List.of(condition("status == 'A'", "ACTIVE", "",
+                condition("status == 'P'", "PENDING"), condition("", "NEVER"),
+                condition("amount > 100 || code LIKE 'AB%'", "amount"))));
+        chains.add(List.of(condition(null, "NEVER", "status",
+                condition("status IN ('X','Y') && !amount < 100", "XY"))));
+
+        for (List<Condition> chain : chains) {
+            for (String defaultValue : new String[] {null, "DFLT"}) {
+                ConditionalMapping compiled = ConditionalMapping.compile(chain, defaultValue, ConditionExpression::compile);
+                for (Map<String, Object> row : ROWS) {
+                    assertEquals(outcome(() -> LegacyEvaluator.evaluateConditional(chain, row, defaultValue)),
+                            outcome(() -> compiled.evaluate(row)),
+                            () -> "conditions " + chain + " default " + defaultValue + " on " + row);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Composite transforms match the string-based evaluator for every operation and null")
+    void compositeTransformsMatchLegacyEvaluator() {
+        List<List<Map<String, String>>> sourceLists = new ArrayList<>();
+        sourceLists.add(null);
+        sourceLists.add(List.of());
+        sourceLists.add(List.of(source("amount"), source(" fee "), source("code")));
+        sourceLists.add(List.of(source("code"), new HashMap<>(), source("missing")));
+        sourceLists.add(List.of(source("missing")));
+        List<String> transforms = java.util.Arrays.asList("sum", "SUM", "avg", "average", "min", "minimum",
+                "max", "Maximum", "concat", "upper", "uppercase", "lower", "lowercase", "trim", "substring", null);
+
+        List<Map<String, Object>> rows = new ArrayList<>(ROWS);
+        rows.add(row("amount", "0.1", "fee", "0.2", "code", "  Mixed Case  "));
+        rows.add(row("amount", -5, "fee", "1e3", "code", "7"));
+
+        for (List<Map<String, String>> sources : sourceLists) {
+            for (String transform : transforms) {
+                for (String delimiter : new String[] {null, "|"}) {
+                    for (String defaultValue : new String[] {null, "DFLT"}) {
+                        CompositeTransform compiled = CompositeTransform.compile(sources, transform, delimiter, defaultValue);
+                        for (Map<String, Object> row : rows) {
+                            assertEquals(
+                                    outcome(() -> LegacyEvaluator.handleComposite(sources, row, transform, delimiter, defaultValue)),
+                                    outcome(() -> compiled.evaluate(row)),
+                                    () -> transform + " of " + sources + " delimiter " + delimiter
+                                            + " default " + defaultValue + " on " + row);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String outcome(Supplier<Object> evaluation) {
+        try {
+            return String.valueOf(evaluation.get());
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static Map<String, Object> row(Object... keyValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            row.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return row;
+    }
+
+    private static Map<String, String> source(String field) {
+        Map<String, String> source = new HashMap<>();
+        source.put("sourceField", field);
+        return source;
+    }
+
+    private static Condition condition(String ifExpr, String then) {
+        Condition condition = new Condition();
+        condition.setIfExpr(ifExpr);
+        condition.setThen(then);
+        return condition;
+    }
+
+    private static Condition condition(String ifExpr, String then, String elseExpr, Condition... elseIfs) {
+        Condition condition = condition(ifExpr, then);
+        condition.setElseExpr(elseExpr);
+        condition.setElseIfExprs(List.of(elseIfs));
+        return condition;
+    }
+
+    /**
+     * The string-based evaluator of YamlMappingService before expressions were compiled.
+     */
+    private static final class LegacyEvaluator {
+
+        static String handleComposite(List<Map<String, String>> sources, Map<String, Object> row,
+                                      String transform, String delimiter, String defaultValue) {
+            if (sources == null || sources.isEmpty()) {
+                return defaultValue != null ? defaultValue : "";
+            }
+            if ("sum".equalsIgnoreCase(transform)) {
+                return String.valueOf(sources.stream().mapToDouble(s -> numericOr(s, row, 0.0)).sum());
+            } else if ("avg".equalsIgnoreCase(transform) || "average".equalsIgnoreCase(transform)) {
+                List<Double> values = sources.stream().map(s -> numericOr(s, row, 0.0)).collect(Collectors.toList());
+                double avg = values.isEmpty() ? 0.0 : values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+                return String.valueOf(avg);
+            } else if ("min".equalsIgnoreCase(transform) || "minimum".equalsIgnoreCase(transform)) {
+                double min = sources.stream().mapToDouble(s -> numericOr(s, row, Double.MAX_VALUE)).min().orElse(0.0);
+                return min == Double.MAX_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(min);
+            } else if ("max".equalsIgnoreCase(transform) || "maximum".equalsIgnoreCase(transform)) {
+                double max = sources.stream().mapToDouble(s -> numericOr(s, row, Double.MIN_VALUE)).max().orElse(0.0);
+                return max == Double.MIN_VALUE ? (defaultValue != null ? defaultValue : "0") : String.valueOf(max);
+            } else if ("concat".equalsIgnoreCase(transform)) {
+                String actualDelimiter = (delimiter != null) ? delimiter : "";
+                return sources.stream()
+                        .map(s -> {
+                            String fieldName = s.get("sourceField");
+                            if (fieldName == null) return "";
+                            return Optional.ofNullable(row.get(fieldName.trim())).map(Object::toString).orElse("");
+                        })
+                        .collect(Collectors.joining(actualDelimiter));
+            } else if ("upper".equalsIgnoreCase(transform) || "uppercase".equalsIgnoreCase(transform)) {
+                Object val = firstValue(sources, row);
+                return val != null ? val.toString().toUpperCase() : (defaultValue != null ? defaultValue : "");
+            } else if ("lower".equalsIgnoreCase(transform) || "lowercase".equalsIgnoreCase(transform)) {
+                Object val = firstValue(sources, row);
+                return val != null ? val.toString().toLowerCase() : (defaultValue != null ? defaultValue : "");
+            } else if ("trim".equalsIgnoreCase(transform)) {
+                Object val = firstValue(sources, row);
+                return val != null ? val.toString().trim() : (defaultValue != null ? defaultValue : "");
+            }
+            return defaultValue != null ? defaultValue : "";
+        }
+
+        private static double numericOr(Map<String, String> source, Map<String, Object> row, double fallback) {
+            String fieldName = source.get("sourceField");
+            if (fieldName == null) return fallback;
+            Object val = row.get(fieldName.trim());
+            try {
+                return val != null ? Double.parseDouble(val.toString()) : fallback;
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+
+        private static Object firstValue(List<Map<String, String>> sources, Map<String, Object> row) {
+            String fieldName = sources.get(0).get("sourceField");
+            return fieldName != null ? row.get(fieldName.trim()) : null;
+        }
+
+        static String evaluateConditional(List<Condition> conditions, Map<String, Object> row, String defaultValue) {
+            if (conditions == null || conditions.isEmpty()) {
+                return defaultValue != null ? defaultValue : "";
+            }
+            Condition mainCondition = conditions.get(0);
+            String ifExpr = mainCondition.getIfExpr();
+            String thenVal = mainCondition.getThen();
+            String elseVal = mainCondition.getElseExpr();
+            List<Condition> elseIfConditions = mainCondition.getElseIfExprs();
+
+            if (ifExpr != null && !ifExpr.isEmpty() && evaluateExpression(ifExpr, row)) {
+                return YamlMappingService.resolveValue(thenVal, row, thenVal);
+            }
+            if (elseIfConditions != null && !elseIfConditions.isEmpty()) {
+                for (Condition elseIfCondition : elseIfConditions) {
+                    String elseIfExpr = elseIfCondition.getIfExpr();
+                    String elseIfThenVal = elseIfCondition.getThen();
+                    if (elseIfExpr != null && !elseIfExpr.isEmpty() && evaluateExpression(elseIfExpr, row)) {
+                        return YamlMappingService.resolveValue(elseIfThenVal, row, elseIfThenVal);
+                    }
+                }
+            }
+            if (elseVal != null && !elseVal.isEmpty()) {
+                return YamlMappingService.resolveValue(elseVal, row, elseVal);
+            }
+            return defaultValue != null ? defaultValue : "";
+        }
+
+        static boolean evaluateExpression(String expression, Map<String, Object> row) {
+            if (expression == null || expression.trim().isEmpty()) {
+                return false;
+            }
+            for (String orPart : expression.split("\\|\\|")) {
+                boolean andResult = true;
+                for (String cond : orPart.split("&&")) {
+                    cond = cond.trim();
+                    boolean negation = false;
+                    if (cond.startsWith("!")) {
+                        negation = true;
+                        cond = cond.substring(1).trim();
+                    }
+                    boolean thisResult = evaluateSingleCondition(cond, row);
+                    if (negation) {
+                        thisResult = !thisResult;
+                    }
+                    if (!thisResult) {
+                        andResult = false;
+                        break;
+                    }
+                }
+                if (andResult) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean evaluateSingleCondition(String cond, Map<String, Object> row) {
+            Matcher inMatcher = Pattern.compile("([^\\s]+)\\s+IN\\s*\\((.+)\\)", Pattern.CASE_INSENSITIVE).matcher(cond);
+            if (inMatcher.matches()) {
+                String field = inMatcher.group(1).trim();
+                String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
+                if (fieldVal == null) {
+                    return false;
+                }
+                for (String val : inMatcher.group(2).trim().split(",")) {
+                    val = val.trim();
+                    if ((val.startsWith("'") && val.endsWith("'")) || (val.startsWith("\"") && val.endsWith("\""))) {
+                        val = val.substring(1, val.length() - 1);
+                    }
+                    if (fieldVal.equals(val)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            Matcher betweenMatcher = Pattern.compile("([^\\s]+)\\s+BETWEEN\\s+([^\\s]+)\\s+AND\\s+([^\\s]+)",
+                    Pattern.CASE_INSENSITIVE).matcher(cond);
+            if (betweenMatcher.matches()) {
+                String field = betweenMatcher.group(1).trim();
+                String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
+                if (fieldVal == null) {
+                    return false;
+                }
+                try {
+                    double fv = Double.parseDouble(fieldVal);
+                    double lower = Double.parseDouble(betweenMatcher.group(2).trim());
+                    double upper = Double.parseDouble(betweenMatcher.group(3).trim());
+                    return fv >= lower && fv <= upper;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+
+            Matcher likeMatcher = Pattern.compile("([^\\s]+)\\s+LIKE\\s+('([^']*)'|\"([^\"]*)\"|([^\\s]+))",
+                    Pattern.CASE_INSENSITIVE).matcher(cond);
+            if (likeMatcher.matches()) {
+                String field = likeMatcher.group(1).trim();
+                String pattern = likeMatcher.group(3) != null ? likeMatcher.group(3)
+                              : likeMatcher.group(4) != null ? likeMatcher.group(4)
+                              : likeMatcher.group(5);
+                String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
+                if (fieldVal == null) {
+                    return false;
+                }
+                String regexPattern = pattern
+                    .replace(".", "\\.")
+                    .replace("*", "\\*")
+                    .replace("+", "\\+")
+                    .replace("?", "\\?")
+                    .replace("%", ".*")
+                    .replace("_", ".");
+                return fieldVal.matches(regexPattern);
+            }
+
+            Matcher m = Pattern.compile("([^!=<>()\\s]+)\\s*(==|=|!=|>=|<=|<|>)\\s*('([^']*)'|\"([^\"]*)\"|[^\\s]+)")
+                              .matcher(cond);
+            if (!m.matches()) {
+                return false;
+            }
+            String field = m.group(1);
+            String op = m.group(2);
+            String rawVal = m.group(4) != null ? m.group(4)
+                          : m.group(5) != null ? m.group(5)
+                          : m.group(3);
+            String fieldVal = row.get(field) != null ? row.get(field).toString() : null;
+
+            switch (op) {
+                case "=":
+                case "==":
+                    return "null".equals(rawVal) ? fieldVal == null : fieldVal != null && fieldVal.equals(rawVal);
+                case "!=":
+                    return "null".equals(rawVal) ? fieldVal != null : fieldVal == null || !fieldVal.equals(rawVal);
+                case "<":
+                case ">":
+                case "<=":
+                case ">=":
+                    return compareNumeric(fieldVal, rawVal, op);
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean compareNumeric(String fieldVal, String val, String op) {
+            try {
+                double fv = fieldVal != null ? Double.parseDouble(fieldVal) : 0;
+                double vl = Double.parseDouble(val);
+                switch (op) {
+                    case "<":  return fv < vl;
+                    case ">":  return fv > vl;
+                    case "<=": return fv <= vl;
+                    case ">=": return fv >= vl;
+                    default:   return false;
+                }
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fabric.batch.mapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fabric.batch.model.FieldMapping;
+import com.fabric.batch.model.RecordSchema;
+import com.fabric.batch.model.SlotRecord;
+import com.fabric.batch.model.YamlMapping;
+
+/**
+ * Unit tests for compiled mapping plans produced by YamlMappingService.
+ */
+@DisplayName("YamlMappingService - Compiled Mapping Plans")
+class MappingPlanTest {
+
+    private final YamlMappingService service = new YamlMappingService();
+
+    @Test
+    @DisplayName("Plan orders fields by targetPosition and transforms rows")
+    void testPlanOrdersAndTransforms() {
+        Map<String, FieldMapping> fields = new LinkedHashMap<>();
+        fields.put("second", field("acct", "source", "acct_num", 2));
+        fields.put("first", field("code", "constant", null, 1));
+        fields.get("first").setValue("X");
+
+        YamlMapping mapping = new YamlMapping();
+        mapping.setTransactionType("default");
+        mapping.setFields(fields);
+
+        MappingPlan plan = service.compilePlan(mapping, "test", "default", 1L);
+
+        assertEquals(2, plan.size());
+        assertEquals("code", plan.getTargetField(0));
+        assertEquals("acct", plan.getTargetField(1));
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("ACCT_NUM", "12345");
+        Map<String, Object> output = plan.transform(row);
+
+        assertEquals(List.of("code", "acct"), List.copyOf(output.keySet()));
+        assertEquals("X", output.get("code"));
+        assertEquals("12345", output.get("acct"));
+    }
+
+    @Test
+    @DisplayName("Source fields bind to slot records case-insensitively")
+    void testPlanReadsSlotRecords() {
+        FieldMapping acct = field("acct", "source", "acct_num", 1);
+        acct.setLength(8);
+        acct.setPad("left");
+        acct.setPadChar("0");
+        YamlMapping mapping = new YamlMapping();
+        mapping.setFields(Map.of("acct", acct));
+        MappingPlan plan = service.compilePlan(mapping, "test", "default", 0L);
+
+        RecordSchema schema = new RecordSchema("ACCT_NUM", "NAME");
+        SlotRecord first = new SlotRecord(schema, new Object[] { "123", "A" });
+        SlotRecord second = new SlotRecord(schema, new Object[] { null, "B" });
+
+        SlotRecord output = plan.transform(first);
+        assertSame(plan.getOutputSchema(), output.getSchema());
+        assertEquals("00000123", output.getSlot(0));
+        assertEquals("00000000", plan.transform(second).get("acct"));
+    }
+
+    @Test
+    @DisplayName("Plan field list is immutable")
+    void testPlanFieldsImmutable() {
+        YamlMapping mapping = new YamlMapping();
+        mapping.setFields(Map.of("a", field("a", "constant", null, 1)));
+
+        MappingPlan plan = service.compilePlan(mapping, "test", null, 0L);
+
+        assertThrows(UnsupportedOperationException.class, () -> plan.getFields().clear());
+    }
+
+    @Test
+    @DisplayName("Compiling a mapping without fields fails fast")
+    void testCompileWithoutFields() {
+        assertThrows(RuntimeException.class, () -> service.compilePlan(new YamlMapping(), "test", "default", 0L));
+    }
+
+    private FieldMapping field(String target, String type, String source, int position) {
+        FieldMapping m = new FieldMapping();
+        m.setTargetField(target);
+        m.setTransformationType(type);
+        m.setSourceField(source);
+        m.setTargetPosition(position);
+        return m;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fabric.batch.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SlotRecord's Map behaviour over schema slots and overflow keys.
+ */
+@DisplayName("SlotRecord - Map Operations")
+class SlotRecordTest {
+
+    private final RecordSchema schema = new RecordSchema("acct_num", "status");
+
+    @Test
+    @DisplayName("Removing a schema key clears its slot and keeps the key")
+    void testRemoveSchemaKeySetsSlotToNull() {
+        SlotRecord record = new SlotRecord(schema, new Object[] { "123", "A" });
+        record.put("extra", "X");
+
+        assertEquals("123", record.remove("acct_num"));
+        assertEquals("X", record.remove("extra"));
+        assertNull(record.remove("missing"));
+
+        assertNull(record.get("acct_num"));
+        assertTrue(record.containsKey("acct_num"));
+        assertFalse(record.containsKey("extra"));
+        assertEquals(2, record.size());
+        assertEquals("A", record.getSlot(1));
+    }
+
+    @Test
+    @DisplayName("Clear empties every slot and drops overflow keys")
+    void testClear() {
+        SlotRecord record = new SlotRecord(schema, new Object[] { "123", "A" });
+        record.put("extra", "X");
+
+        record.clear();
+
+        assertEquals(2, record.size());
+        assertNull(record.get("acct_num"));
+        assertNull(record.get("status"));
+        assertFalse(record.containsKey("extra"));
+
+        record.put("extra", "Y");
+        assertEquals("Y", record.get("extra"));
+    }
+
+    @Test
+    @DisplayName("Removing through views behaves like remove")
+    void testRemoveThroughViews() {
+        SlotRecord record = new SlotRecord(schema, new Object[] { "123", "A" });
+        record.put("extra", "X");
+        record.put("other", "Z");
+
+        record.keySet().remove("status");
+        record.entrySet().removeIf(e -> "X".equals(e.getValue()));
+        record.values().remove("123");
+
+        assertEquals(Arrays.asList(null, null), Arrays.asList(record.getSlot(0), record.getSlot(1)));
+        assertFalse(record.containsKey("extra"));
+        assertEquals("Z", record.get("other"));
+        assertEquals(3, record.size());
+    }
+
+    @Test
+    @DisplayName("Equals a HashMap with the same entries")
+    void testEqualsHashMap() {
+        SlotRecord record = new SlotRecord(schema, new Object[] { "123", null });
+        record.put("extra", "X");
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("acct_num", "123");
+        expected.put("status", null);
+        expected.put("extra", "X");
+
+        assertEquals(expected, record);
+        assertEquals(expected.hashCode(), record.hashCode());
+    }
+}
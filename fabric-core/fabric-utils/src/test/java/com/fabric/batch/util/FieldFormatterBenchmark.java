@@ -0,0 +1,93 @@
+package com.fabric.batch.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fabric.batch.model.FieldMapping;
+
+/**
+ * JMH comparison of {@link FormatterUtil#pad} against the compiled {@link FieldFormatter}
+ * for a representative fixed-width record (padded text, COBOL numeric, date).
+ *
+ * Run from fabric-utils after test-compile:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.fabric.batch.util.FieldFormatterBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldFormatterBenchmark {
+
+	private FieldMapping[] mappings;
+	private FieldFormatter[] formatters;
+	private String[] values;
+
+	@Setup
+	public void setUp() {
+		mappings = new FieldMapping[] {
+				mapping(10, "right", " ", null, null),
+				mapping(12, "left", "0", null, null),
+				mapping(19, "left", "0", "numeric", "+9(12)V9(6)"),
+				mapping(8, "right", " ", "date", "yyyyMMdd"),
+				mapping(30, "right", " ", null, null) };
+		formatters = new FieldFormatter[mappings.length];
+		for (int i = 0; i < mappings.length; i++) {
+			formatters[i] = FieldFormatter.compile(mappings[i]);
+		}
+		values = new String[] { "ACCT", "123456", "1234.56", "2024-03-15", "JOHN Q CUSTOMER" };
+	}
+
+	@Benchmark
+	public String formatterUtilLine() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < mappings.length; i++) {
+			sb.append(FormatterUtil.pad(values[i], mappings[i]));
+		}
+		return sb.toString();
+	}
+
+	@Benchmark
+	public String compiledFormatterLine() {
+		LineBuffer line = LineBuffer.forCurrentThread().clear();
+		for (int i = 0; i < formatters.length; i++) {
+			formatters[i].appendTo(values[i], line);
+		}
+		return line.toString();
+	}
+
+	private static FieldMapping mapping(int length, String pad, String padChar, String targetFormat, String format) {
+		FieldMapping m = new FieldMapping();
+		m.setLength(length);
+		m.setPad(pad);
+		m.setPadChar(padChar);
+		m.setTargetFormat(targetFormat);
+		m.setFormat(format);
+		return m;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(FieldFormatterBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,78 @@
+package com.fabric.batch.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fabric.batch.model.FieldMapping;
+
+/**
+ * Verifies that compiled field formatters produce the same output as FormatterUtil.pad.
+ */
+@DisplayName("FieldFormatter - Compiled Fixed-Width Formatting")
+class FieldFormatterTest {
+
+	@Test
+	@DisplayName("Text padding and truncation match FormatterUtil")
+	void testPadding() {
+		assertFormats("ABC", "ABC       ", mapping(10, "right", " ", null, null));
+		assertFormats("ABC", "0000000ABC", mapping(10, "LEFT", "0", null, null));
+		assertFormats("ABCDEFGHIJKL", "ABCDEFGHIJ", mapping(10, "left", "0", null, null));
+		assertFormats("", "**", mapping(2, "right", "*", null, null));
+	}
+
+	@Test
+	@DisplayName("COBOL numeric pictures match FormatterUtil")
+	void testNumeric() {
+		assertFormats("1234.56", "+000000000000123456", mapping(19, "left", "0", "numeric", "+9(12)V9(6)"));
+		assertFormats("1234.56", "+000001234", mapping(10, "left", "0", "numeric", "+9(9)"));
+		assertFormats("$12,345", "000012345", mapping(9, "left", "0", "numeric", "9(9)"));
+		assertFormats("-42", "+0000-42", mapping(8, "left", "0", "numeric", "+9(7)"));
+		assertFormats("", "", mapping(8, "left", "0", "numeric", "+9(7)"));
+	}
+
+	@Test
+	@DisplayName("Dates are reformatted or passed through like FormatterUtil")
+	void testDates() {
+		FieldMapping date = mapping(8, "right", " ", "date", "yyyyMMdd");
+		assertFormats("2024-03-15", "20240315", date);
+		assertFormats("03/15/2024", "20240315", date);
+		assertFormats("15-03-2024", "20240315", date);
+		assertFormats("20240315", "20240315", date);
+		assertFormats("not a date", "not a date", date);
+		assertFormats("  ", "", date);
+	}
+
+	@Test
+	@DisplayName("Missing formats fail when a value is formatted")
+	void testMissingFormat() {
+		FieldFormatter formatter = FieldFormatter.compile(mapping(8, "right", " ", "numeric", null));
+		assertThrows(IllegalArgumentException.class, () -> formatter.format("1"));
+	}
+
+	@Test
+	@DisplayName("Formatting leaves the shared line buffer untouched")
+	void testThreadBufferRestored() {
+		LineBuffer line = LineBuffer.forCurrentThread().clear().append("PREFIX");
+		FieldFormatter.compile(mapping(5, "left", "0", null, null)).format("1");
+		assertEquals("PREFIX", line.toString());
+		line.clear();
+	}
+
+	private static void assertFormats(String input, String expected, FieldMapping mapping) {
+		assertEquals(expected, FormatterUtil.pad(input, mapping), "FormatterUtil baseline");
+		assertEquals(expected, FieldFormatter.compile(mapping).format(input), "compiled formatter");
+	}
+
+	private static FieldMapping mapping(int length, String pad, String padChar, String targetFormat, String format) {
+		FieldMapping m = new FieldMapping();
+		m.setTargetField("field");
+		m.setLength(length);
+		m.setPad(pad);
+		m.setPadChar(padChar);
+		m.setTargetFormat(targetFormat);
+		m.setFormat(format);
+		return m;
+	}
+}